@@ -0,0 +1,293 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ */
+
+package com.tencent.cloud.metadata.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact metadata codec. The header value is {@link #VERSION_MARKER} followed by the unpadded base64url form of
+ * <pre>
+ * varint(entry count) { varint(key length) key-utf8 varint(value length) value-utf8 }*
+ * </pre>
+ * Encoding and decoding work on thread-local buffers, so only the resulting strings and map are allocated.
+ * URL-encoded JSON written by {@link JsonMetadataCodec} is still accepted when decoding.
+ *
+ * @author Haotian Zhang
+ */
+public class CompactMetadataCodec implements MetadataCodec {
+
+	/**
+	 * Version marker of the compact format. URL-encoded JSON never starts with it.
+	 */
+	public static final String VERSION_MARKER = "v2.";
+
+	/**
+	 * Buffers grown beyond this size are not kept by the thread.
+	 */
+	private static final int MAX_RETAINED_BUFFER_SIZE = 16 * 1024;
+
+	/**
+	 * Max initial capacity of decoded map, as the entry count comes from the request.
+	 */
+	private static final int MAX_INITIAL_CAPACITY = 256;
+
+	private static final char[] BASE64_URL_ALPHABET =
+			"ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+
+	private static final int[] BASE64_URL_INDEX = new int[128];
+
+	private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(Buffer::new);
+
+	static {
+		Arrays.fill(BASE64_URL_INDEX, -1);
+		for (int i = 0; i < BASE64_URL_ALPHABET.length; i++) {
+			BASE64_URL_INDEX[BASE64_URL_ALPHABET[i]] = i;
+		}
+	}
+
+	/**
+	 * Whether the header value is written in compact format.
+	 * @param headerValue header value
+	 * @return true if the header value starts with {@link #VERSION_MARKER}
+	 */
+	public static boolean isCompact(String headerValue) {
+		return headerValue != null && headerValue.startsWith(VERSION_MARKER);
+	}
+
+	@Override
+	public String encode(Map<String, String> metadata) {
+		Buffer buffer = BUFFER.get();
+		try {
+			buffer.size = 0;
+			buffer.writeVarInt(metadata.size());
+			for (Map.Entry<String, String> entry : metadata.entrySet()) {
+				buffer.writeString(entry.getKey());
+				buffer.writeString(String.valueOf(entry.getValue()));
+			}
+			return buffer.toBase64Url();
+		}
+		finally {
+			buffer.trim();
+		}
+	}
+
+	@Override
+	public Map<String, String> decode(String headerValue) {
+		if (isCompact(headerValue)) {
+			return decodeCompact(headerValue);
+		}
+		return JsonMetadataCodec.decodeJson(headerValue);
+	}
+
+	static Map<String, String> decodeCompact(String headerValue) {
+		Buffer buffer = BUFFER.get();
+		try {
+			buffer.fromBase64Url(headerValue, VERSION_MARKER.length());
+			int count = buffer.readVarInt();
+			// Each entry takes at least two bytes for the lengths of key and value.
+			if (count > (buffer.size - buffer.position) / 2) {
+				throw new IllegalArgumentException("Malformed compact metadata: too many entries.");
+			}
+			Map<String, String> result = new HashMap<>(Math.min((int) (count / 0.75f) + 1, MAX_INITIAL_CAPACITY));
+			for (int i = 0; i < count; i++) {
+				String key = buffer.readString();
+				String value = buffer.readString();
+				result.put(key, value);
+			}
+			if (buffer.position != buffer.size) {
+				throw new IllegalArgumentException("Malformed compact metadata: trailing bytes.");
+			}
+			return result;
+		}
+		finally {
+			buffer.trim();
+		}
+	}
+
+	private static final class Buffer {
+
+		private byte[] bytes = new byte[256];
+
+		private char[] chars = new char[344];
+
+		private int size;
+
+		private int position;
+
+		private void ensureCapacity(int extra) {
+			if (size + extra > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(bytes.length << 1, size + extra));
+			}
+		}
+
+		private void writeVarInt(int value) {
+			ensureCapacity(5);
+			while ((value & ~0x7F) != 0) {
+				bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			bytes[size++] = (byte) value;
+		}
+
+		private void writeString(String value) {
+			int length = value.length();
+			int utf8Length = 0;
+			for (int i = 0; i < length; i++) {
+				char c = value.charAt(i);
+				if (c < 0x80) {
+					utf8Length++;
+				}
+				else if (c < 0x800) {
+					utf8Length += 2;
+				}
+				else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+					utf8Length += 4;
+					i++;
+				}
+				else if (Character.isSurrogate(c)) {
+					// Lone surrogate is replaced with '?', the same as String#getBytes.
+					utf8Length++;
+				}
+				else {
+					utf8Length += 3;
+				}
+			}
+			writeVarInt(utf8Length);
+			ensureCapacity(utf8Length);
+			for (int i = 0; i < length; i++) {
+				char c = value.charAt(i);
+				if (c < 0x80) {
+					bytes[size++] = (byte) c;
+				}
+				else if (c < 0x800) {
+					bytes[size++] = (byte) (0xC0 | (c >> 6));
+					bytes[size++] = (byte) (0x80 | (c & 0x3F));
+				}
+				else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+					int codePoint = Character.toCodePoint(c, value.charAt(++i));
+					bytes[size++] = (byte) (0xF0 | (codePoint >> 18));
+					bytes[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+					bytes[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+					bytes[size++] = (byte) (0x80 | (codePoint & 0x3F));
+				}
+				else if (Character.isSurrogate(c)) {
+					bytes[size++] = '?';
+				}
+				else {
+					bytes[size++] = (byte) (0xE0 | (c >> 12));
+					bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+					bytes[size++] = (byte) (0x80 | (c & 0x3F));
+				}
+			}
+		}
+
+		private int readVarInt() {
+			int value = 0;
+			for (int shift = 0; shift < 32; shift += 7) {
+				if (position >= size) {
+					throw new IllegalArgumentException("Malformed compact metadata: truncated varint.");
+				}
+				byte b = bytes[position++];
+				value |= (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					if (value < 0) {
+						break;
+					}
+					return value;
+				}
+			}
+			throw new IllegalArgumentException("Malformed compact metadata: invalid varint.");
+		}
+
+		private String readString() {
+			int length = readVarInt();
+			if (length > size - position) {
+				throw new IllegalArgumentException("Malformed compact metadata: truncated string.");
+			}
+			String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+			position += length;
+			return value;
+		}
+
+		private String toBase64Url() {
+			int length = (size * 4 + 2) / 3;
+			int markerLength = VERSION_MARKER.length();
+			if (chars.length < markerLength + length) {
+				chars = new char[markerLength + length];
+			}
+			VERSION_MARKER.getChars(0, markerLength, chars, 0);
+			int out = markerLength;
+			int i = 0;
+			for (; i + 2 < size; i += 3) {
+				int bits = (bytes[i] & 0xFF) << 16 | (bytes[i + 1] & 0xFF) << 8 | (bytes[i + 2] & 0xFF);
+				chars[out++] = BASE64_URL_ALPHABET[(bits >>> 18) & 0x3F];
+				chars[out++] = BASE64_URL_ALPHABET[(bits >>> 12) & 0x3F];
+				chars[out++] = BASE64_URL_ALPHABET[(bits >>> 6) & 0x3F];
+				chars[out++] = BASE64_URL_ALPHABET[bits & 0x3F];
+			}
+			int remaining = size - i;
+			if (remaining == 1) {
+				int bits = (bytes[i] & 0xFF) << 16;
+				chars[out++] = BASE64_URL_ALPHABET[(bits >>> 18) & 0x3F];
+				chars[out++] = BASE64_URL_ALPHABET[(bits >>> 12) & 0x3F];
+			}
+			else if (remaining == 2) {
+				int bits = (bytes[i] & 0xFF) << 16 | (bytes[i + 1] & 0xFF) << 8;
+				chars[out++] = BASE64_URL_ALPHABET[(bits >>> 18) & 0x3F];
+				chars[out++] = BASE64_URL_ALPHABET[(bits >>> 12) & 0x3F];
+				chars[out++] = BASE64_URL_ALPHABET[(bits >>> 6) & 0x3F];
+			}
+			return new String(chars, 0, out);
+		}
+
+		private void fromBase64Url(String value, int offset) {
+			int length = value.length() - offset;
+			if (length % 4 == 1) {
+				throw new IllegalArgumentException("Malformed compact metadata: invalid base64url length.");
+			}
+			size = 0;
+			position = 0;
+			ensureCapacity(length * 3 / 4);
+			int bits = 0;
+			int bitCount = 0;
+			for (int i = offset; i < value.length(); i++) {
+				char c = value.charAt(i);
+				int index = c < 128 ? BASE64_URL_INDEX[c] : -1;
+				if (index < 0) {
+					throw new IllegalArgumentException("Malformed compact metadata: invalid base64url character.");
+				}
+				bits = (bits << 6) | index;
+				bitCount += 6;
+				if (bitCount >= 8) {
+					bitCount -= 8;
+					bytes[size++] = (byte) (bits >>> bitCount);
+				}
+			}
+		}
+
+		private void trim() {
+			if (bytes.length > MAX_RETAINED_BUFFER_SIZE || chars.length > MAX_RETAINED_BUFFER_SIZE) {
+				BUFFER.remove();
+			}
+		}
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ */
+
+package com.tencent.cloud.metadata.codec;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.util.Map;
+
+import com.tencent.cloud.common.util.JacksonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.util.StringUtils;
+
+import static com.tencent.cloud.common.constant.ContextConstant.UTF_8;
+
+/**
+ * Default metadata codec, which writes URL-encoded JSON. Header values written by
+ * {@link CompactMetadataCodec} are recognized by their version marker and decoded as well.
+ *
+ * @author Haotian Zhang
+ */
+public class JsonMetadataCodec implements MetadataCodec {
+
+	private static final Logger LOG = LoggerFactory.getLogger(JsonMetadataCodec.class);
+
+	@Override
+	public String encode(Map<String, String> metadata) {
+		String encodedMetadata = JacksonUtils.serialize2Json(metadata);
+		try {
+			return URLEncoder.encode(encodedMetadata, UTF_8);
+		}
+		catch (UnsupportedEncodingException e) {
+			LOG.error("Runtime system does not support utf-8 coding.", e);
+			return encodedMetadata;
+		}
+	}
+
+	@Override
+	public Map<String, String> decode(String headerValue) {
+		if (CompactMetadataCodec.isCompact(headerValue)) {
+			return CompactMetadataCodec.decodeCompact(headerValue);
+		}
+		return decodeJson(headerValue);
+	}
+
+	static Map<String, String> decodeJson(String headerValue) {
+		String metadataStr = headerValue;
+		try {
+			if (StringUtils.hasText(metadataStr)) {
+				metadataStr = URLDecoder.decode(metadataStr, UTF_8);
+			}
+		}
+		catch (UnsupportedEncodingException e) {
+			LOG.error("Runtime system does not support utf-8 coding.", e);
+		}
+		LOG.debug("Get upstream metadata string: {}", metadataStr);
+		return JacksonUtils.deserialize2Map(metadataStr);
+	}
+}
@@ -0,0 +1,46 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ */
+
+package com.tencent.cloud.metadata.codec;
+
+import java.util.Map;
+
+/**
+ * Codec of the metadata carried by {@code SCT-CUSTOM-METADATA} and {@code SCT-CUSTOM-DISPOSABLE-METADATA} headers.
+ * <p>
+ * Every implementation must be able to decode all the formats produced by the built-in codecs, so that peers
+ * using different codecs can still talk to each other.
+ *
+ * @author Haotian Zhang
+ */
+public interface MetadataCodec {
+
+	/**
+	 * Encode metadata into a header value.
+	 * @param metadata metadata map, must not be empty
+	 * @return header value
+	 */
+	String encode(Map<String, String> metadata);
+
+	/**
+	 * Decode metadata from a header value.
+	 * @param headerValue header value, may be null or empty
+	 * @return mutable metadata map, never null
+	 */
+	Map<String, String> decode(String headerValue);
+}
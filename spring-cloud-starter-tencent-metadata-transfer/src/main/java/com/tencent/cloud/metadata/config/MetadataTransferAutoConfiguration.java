@@ -23,6 +23,10 @@ import java.util.Collections;
 import java.util.List;
 
 import com.tencent.cloud.common.constant.OrderConstant;
+import com.tencent.cloud.common.metadata.MetadataContextReactorHooks;
+import com.tencent.cloud.metadata.codec.CompactMetadataCodec;
+import com.tencent.cloud.metadata.codec.JsonMetadataCodec;
+import com.tencent.cloud.metadata.codec.MetadataCodec;
 import com.tencent.cloud.metadata.core.DecodeTransferMetadataReactiveFilter;
 import com.tencent.cloud.metadata.core.DecodeTransferMetadataServletFilter;
 import com.tencent.cloud.metadata.core.EncodeTransferMedataFeignInterceptor;
@@ -32,7 +36,10 @@ import com.tencent.cloud.metadata.core.EncodeTransferMedataWebClientFilter;
 
 import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
@@ -56,6 +63,23 @@ import static javax.servlet.DispatcherType.REQUEST;
 @Configuration(proxyBeanMethods = false)
 public class MetadataTransferAutoConfiguration {
 
+	/**
+	 * Compact codec is only used for writing when explicitly enabled, because peers older than this version can
+	 * only read JSON. Both codecs read both formats.
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(value = "spring.cloud.tencent.metadata.codec", havingValue = "compact")
+	public MetadataCodec compactMetadataCodec() {
+		return new CompactMetadataCodec();
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public MetadataCodec jsonMetadataCodec() {
+		return new JsonMetadataCodec();
+	}
+
 	/**
 	 * Create when web application type is SERVLET.
 	 */
@@ -74,8 +98,8 @@ public class MetadataTransferAutoConfiguration {
 		}
 
 		@Bean
-		public DecodeTransferMetadataServletFilter metadataServletFilter() {
-			return new DecodeTransferMetadataServletFilter();
+		public DecodeTransferMetadataServletFilter metadataServletFilter(MetadataCodec metadataCodec) {
+			return new DecodeTransferMetadataServletFilter(metadataCodec);
 		}
 	}
 
@@ -87,8 +111,20 @@ public class MetadataTransferAutoConfiguration {
 	protected static class MetadataReactiveFilterConfig {
 
 		@Bean
-		public DecodeTransferMetadataReactiveFilter metadataReactiveFilter() {
-			return new DecodeTransferMetadataReactiveFilter();
+		public DecodeTransferMetadataReactiveFilter metadataReactiveFilter(MetadataCodec metadataCodec,
+				@Value("${spring.cloud.tencent.metadata.reactor-context.enabled:false}") boolean reactorContextEnabled) {
+			return new DecodeTransferMetadataReactiveFilter(metadataCodec, reactorContextEnabled);
+		}
+
+		/**
+		 * Bind metadata context of Reactor context to thread-local while signals are delivered, for user code
+		 * that still reads {@link com.tencent.cloud.common.metadata.MetadataContextHolder}.
+		 */
+		@Bean
+		@ConditionalOnProperty(value = {"spring.cloud.tencent.metadata.reactor-context.enabled",
+				"spring.cloud.tencent.metadata.reactor-context.thread-local-bridge"}, havingValue = "true")
+		public SmartInitializingSingleton metadataContextThreadLocalBridge() {
+			return MetadataContextReactorHooks::enableThreadLocalBridge;
 		}
 	}
 
@@ -100,8 +136,8 @@ public class MetadataTransferAutoConfiguration {
 	protected static class MetadataTransferScgFilterConfig {
 
 		@Bean
-		public GlobalFilter encodeTransferMedataScgFilter() {
-			return new EncodeTransferMedataScgFilter();
+		public GlobalFilter encodeTransferMedataScgFilter(MetadataCodec metadataCodec) {
+			return new EncodeTransferMedataScgFilter(metadataCodec);
 		}
 	}
 
@@ -113,8 +149,8 @@ public class MetadataTransferAutoConfiguration {
 	protected static class MetadataTransferFeignInterceptorConfig {
 
 		@Bean
-		public EncodeTransferMedataFeignInterceptor encodeTransferMedataFeignInterceptor() {
-			return new EncodeTransferMedataFeignInterceptor();
+		public EncodeTransferMedataFeignInterceptor encodeTransferMedataFeignInterceptor(MetadataCodec metadataCodec) {
+			return new EncodeTransferMedataFeignInterceptor(metadataCodec);
 		}
 	}
 
@@ -129,8 +165,8 @@ public class MetadataTransferAutoConfiguration {
 		private List<RestTemplate> restTemplates = Collections.emptyList();
 
 		@Bean
-		public EncodeTransferMedataRestTemplateInterceptor encodeTransferMedataRestTemplateInterceptor() {
-			return new EncodeTransferMedataRestTemplateInterceptor();
+		public EncodeTransferMedataRestTemplateInterceptor encodeTransferMedataRestTemplateInterceptor(MetadataCodec metadataCodec) {
+			return new EncodeTransferMedataRestTemplateInterceptor(metadataCodec);
 		}
 
 		@Bean
@@ -153,8 +189,8 @@ public class MetadataTransferAutoConfiguration {
 		private List<WebClient.Builder> webClientBuilder = Collections.emptyList();
 
 		@Bean
-		public EncodeTransferMedataWebClientFilter encodeTransferMedataWebClientFilter() {
-			return new EncodeTransferMedataWebClientFilter();
+		public EncodeTransferMedataWebClientFilter encodeTransferMedataWebClientFilter(MetadataCodec metadataCodec) {
+			return new EncodeTransferMedataWebClientFilter(metadataCodec);
 		}
 
 		@Bean
@@ -47,21 +47,9 @@ public final class CustomTransitiveMetadataResolver {
 
 		HttpHeaders headers = exchange.getRequest().getHeaders();
 		for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
-			String key = entry.getKey();
-			if (StringUtils.isBlank(key)) {
-				continue;
-			}
-			// resolve sct transitive header
-			if (StringUtils.startsWithIgnoreCase(key, MetadataConstant.SCT_TRANSITIVE_HEADER_PREFIX)
-					&& !CollectionUtils.isEmpty(entry.getValue())) {
-				String sourceKey = StringUtils.substring(key, MetadataConstant.SCT_TRANSITIVE_HEADER_PREFIX_LENGTH);
-				result.put(sourceKey, entry.getValue().get(0));
-			}
-
-			//resolve polaris transitive header
-			if (StringUtils.startsWithIgnoreCase(key, MetadataConstant.POLARIS_TRANSITIVE_HEADER_PREFIX)
-					&& !CollectionUtils.isEmpty(entry.getValue())) {
-				String sourceKey = StringUtils.substring(key, MetadataConstant.POLARIS_TRANSITIVE_HEADER_PREFIX_LENGTH);
+			// resolve sct and polaris transitive header
+			String sourceKey = resolveSourceKey(entry.getKey());
+			if (sourceKey != null && !CollectionUtils.isEmpty(entry.getValue())) {
 				result.put(sourceKey, entry.getValue().get(0));
 			}
 		}
@@ -74,26 +62,37 @@ public final class CustomTransitiveMetadataResolver {
 
 		Enumeration<String> headers = request.getHeaderNames();
 		while (headers.hasMoreElements()) {
+			// resolve sct and polaris transitive header
 			String key = headers.nextElement();
-			if (StringUtils.isBlank(key)) {
-				continue;
-			}
-
-			// resolve sct transitive header
-			if (StringUtils.startsWithIgnoreCase(key, MetadataConstant.SCT_TRANSITIVE_HEADER_PREFIX)
-					&& StringUtils.isNotBlank(request.getHeader(key))) {
-				String sourceKey = StringUtils.substring(key, MetadataConstant.SCT_TRANSITIVE_HEADER_PREFIX_LENGTH);
-				result.put(sourceKey, request.getHeader(key));
-			}
-
-			// resolve polaris transitive header
-			if (StringUtils.startsWithIgnoreCase(key, MetadataConstant.POLARIS_TRANSITIVE_HEADER_PREFIX)
-					&& StringUtils.isNotBlank(request.getHeader(key))) {
-				String sourceKey = StringUtils.substring(key, MetadataConstant.POLARIS_TRANSITIVE_HEADER_PREFIX_LENGTH);
-				result.put(sourceKey, request.getHeader(key));
+			String sourceKey = resolveSourceKey(key);
+			if (sourceKey != null) {
+				String value = request.getHeader(key);
+				if (StringUtils.isNotBlank(value)) {
+					result.put(sourceKey, value);
+				}
 			}
 		}
 
 		return result;
 	}
+
+	/**
+	 * Get metadata key from transitive header name.
+	 * @param headerName header name
+	 * @return metadata key, or null if the header is not a transitive header
+	 */
+	static String resolveSourceKey(String headerName) {
+		if (headerName == null) {
+			return null;
+		}
+		if (headerName.regionMatches(true, 0, MetadataConstant.SCT_TRANSITIVE_HEADER_PREFIX, 0,
+				MetadataConstant.SCT_TRANSITIVE_HEADER_PREFIX_LENGTH)) {
+			return headerName.substring(MetadataConstant.SCT_TRANSITIVE_HEADER_PREFIX_LENGTH);
+		}
+		if (headerName.regionMatches(true, 0, MetadataConstant.POLARIS_TRANSITIVE_HEADER_PREFIX, 0,
+				MetadataConstant.POLARIS_TRANSITIVE_HEADER_PREFIX_LENGTH)) {
+			return headerName.substring(MetadataConstant.POLARIS_TRANSITIVE_HEADER_PREFIX_LENGTH);
+		}
+		return null;
+	}
 }
@@ -18,30 +18,24 @@
 
 package com.tencent.cloud.metadata.core;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLDecoder;
-import java.util.HashMap;
 import java.util.Map;
 
 import com.tencent.cloud.common.constant.MetadataConstant;
 import com.tencent.cloud.common.constant.OrderConstant;
+import com.tencent.cloud.common.metadata.MetadataContext;
 import com.tencent.cloud.common.metadata.MetadataContextHolder;
-import com.tencent.cloud.common.util.JacksonUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.tencent.cloud.common.metadata.ReactiveMetadataContextHolder;
+import com.tencent.cloud.metadata.codec.JsonMetadataCodec;
+import com.tencent.cloud.metadata.codec.MetadataCodec;
 import reactor.core.publisher.Mono;
 
 import org.springframework.core.Ordered;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 
-import static com.tencent.cloud.common.constant.ContextConstant.UTF_8;
-import static com.tencent.cloud.common.constant.MetadataConstant.HeaderName.CUSTOM_DISPOSABLE_METADATA;
-import static com.tencent.cloud.common.constant.MetadataConstant.HeaderName.CUSTOM_METADATA;
+import static com.tencent.cloud.common.metadata.MetadataContext.FRAGMENT_RAW_TRANSHEADERS;
 
 /**
  * Filter used for storing the metadata from upstream temporarily when web application is
@@ -51,7 +45,25 @@ import static com.tencent.cloud.common.constant.MetadataConstant.HeaderName.CUST
  */
 public class DecodeTransferMetadataReactiveFilter implements WebFilter, Ordered {
 
-	private static final Logger LOG = LoggerFactory.getLogger(DecodeTransferMetadataReactiveFilter.class);
+	private final MetadataCodec metadataCodec;
+
+	/**
+	 * Whether metadata context is propagated by Reactor context instead of thread-local.
+	 */
+	private final boolean reactorContextEnabled;
+
+	public DecodeTransferMetadataReactiveFilter() {
+		this(new JsonMetadataCodec());
+	}
+
+	public DecodeTransferMetadataReactiveFilter(MetadataCodec metadataCodec) {
+		this(metadataCodec, false);
+	}
+
+	public DecodeTransferMetadataReactiveFilter(MetadataCodec metadataCodec, boolean reactorContextEnabled) {
+		this.metadataCodec = metadataCodec;
+		this.reactorContextEnabled = reactorContextEnabled;
+	}
 
 	@Override
 	public int getOrder() {
@@ -60,44 +72,32 @@ public class DecodeTransferMetadataReactiveFilter implements WebFilter, Ordered
 
 	@Override
 	public Mono<Void> filter(ServerWebExchange serverWebExchange, WebFilterChain webFilterChain) {
-		// Get metadata string from http header.
 		ServerHttpRequest serverHttpRequest = serverWebExchange.getRequest();
 
-		Map<String, String> internalTransitiveMetadata = getIntervalMetadata(serverHttpRequest, CUSTOM_METADATA);
-		Map<String, String> customTransitiveMetadata = CustomTransitiveMetadataResolver.resolve(serverWebExchange);
+		// Collect metadata headers in one pass.
+		TransferMetadataHeaders metadataHeaders = TransferMetadataHeaders.scan(serverHttpRequest.getHeaders(),
+				TransHeadersTransfer.getTransHeaderNames(MetadataContextHolder.getMetadataContextTemplate()
+						.getFragmentContext(FRAGMENT_RAW_TRANSHEADERS)));
 
-		Map<String, String> mergedTransitiveMetadata = new HashMap<>();
-		mergedTransitiveMetadata.putAll(internalTransitiveMetadata);
-		mergedTransitiveMetadata.putAll(customTransitiveMetadata);
+		// Decoded maps are fresh, so merge custom metadata into them instead of copying.
+		Map<String, String> mergedTransitiveMetadata = metadataCodec.decode(metadataHeaders.getCustomMetadata());
+		mergedTransitiveMetadata.putAll(metadataHeaders.getTransitiveMetadata());
 
-		Map<String, String> internalDisposableMetadata = getIntervalMetadata(serverHttpRequest, CUSTOM_DISPOSABLE_METADATA);
-		Map<String, String> mergedDisposableMetadata = new HashMap<>(internalDisposableMetadata);
+		Map<String, String> mergedDisposableMetadata = metadataCodec.decode(metadataHeaders.getCustomDisposableMetadata());
 
-		MetadataContextHolder.init(mergedTransitiveMetadata, mergedDisposableMetadata);
+		MetadataContext metadataContext = MetadataContextHolder.create(mergedTransitiveMetadata, mergedDisposableMetadata);
+		metadataHeaders.getTransHeadersKV().forEach(metadataContext::setTransHeadersKV);
 
 		// Save to ServerWebExchange.
-		serverWebExchange.getAttributes().put(
-				MetadataConstant.HeaderName.METADATA_CONTEXT,
-				MetadataContextHolder.get());
+		serverWebExchange.getAttributes().put(MetadataConstant.HeaderName.METADATA_CONTEXT, metadataContext);
 
-		TransHeadersTransfer.transfer(serverHttpRequest);
-		return webFilterChain.filter(serverWebExchange)
-				.doFinally((type) -> MetadataContextHolder.remove());
-	}
-
-	private Map<String, String> getIntervalMetadata(ServerHttpRequest serverHttpRequest, String headerName) {
-		HttpHeaders httpHeaders = serverHttpRequest.getHeaders();
-		String customMetadataStr = httpHeaders.getFirst(headerName);
-		try {
-			if (StringUtils.hasText(customMetadataStr)) {
-				customMetadataStr = URLDecoder.decode(customMetadataStr, UTF_8);
-			}
+		if (reactorContextEnabled) {
+			return webFilterChain.filter(serverWebExchange)
+					.contextWrite(context -> ReactiveMetadataContextHolder.put(context, metadataContext));
 		}
-		catch (UnsupportedEncodingException e) {
-			LOG.error("Runtime system does not support utf-8 coding.", e);
-		}
-		LOG.debug("Get upstream metadata string: {}", customMetadataStr);
 
-		return JacksonUtils.deserialize2Map(customMetadataStr);
+		MetadataContextHolder.set(metadataContext);
+		return webFilterChain.filter(serverWebExchange)
+				.doFinally((type) -> MetadataContextHolder.remove());
 	}
 }
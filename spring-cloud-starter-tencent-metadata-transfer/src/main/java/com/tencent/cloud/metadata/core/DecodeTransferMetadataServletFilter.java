@@ -19,9 +19,6 @@
 package com.tencent.cloud.metadata.core;
 
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.net.URLDecoder;
-import java.util.HashMap;
 import java.util.Map;
 
 import javax.servlet.FilterChain;
@@ -30,19 +27,16 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import com.tencent.cloud.common.constant.OrderConstant;
+import com.tencent.cloud.common.metadata.MetadataContext;
 import com.tencent.cloud.common.metadata.MetadataContextHolder;
-import com.tencent.cloud.common.util.JacksonUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.tencent.cloud.metadata.codec.JsonMetadataCodec;
+import com.tencent.cloud.metadata.codec.MetadataCodec;
 
 import org.springframework.core.annotation.Order;
 import org.springframework.lang.NonNull;
-import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import static com.tencent.cloud.common.constant.ContextConstant.UTF_8;
-import static com.tencent.cloud.common.constant.MetadataConstant.HeaderName.CUSTOM_DISPOSABLE_METADATA;
-import static com.tencent.cloud.common.constant.MetadataConstant.HeaderName.CUSTOM_METADATA;
+import static com.tencent.cloud.common.metadata.MetadataContext.FRAGMENT_RAW_TRANSHEADERS;
 
 /**
  * Filter used for storing the metadata from upstream temporarily when web application is
@@ -53,48 +47,49 @@ import static com.tencent.cloud.common.constant.MetadataConstant.HeaderName.CUST
 @Order(OrderConstant.Server.Servlet.DECODE_TRANSFER_METADATA_FILTER_ORDER)
 public class DecodeTransferMetadataServletFilter extends OncePerRequestFilter {
 
-	private static final Logger LOG = LoggerFactory.getLogger(DecodeTransferMetadataServletFilter.class);
+	private final MetadataCodec metadataCodec;
+
+	public DecodeTransferMetadataServletFilter() {
+		this(new JsonMetadataCodec());
+	}
+
+	public DecodeTransferMetadataServletFilter(MetadataCodec metadataCodec) {
+		this.metadataCodec = metadataCodec;
+	}
 
 	@Override
 	protected void doFilterInternal(@NonNull HttpServletRequest httpServletRequest,
 			@NonNull HttpServletResponse httpServletResponse, FilterChain filterChain)
 			throws ServletException, IOException {
-		Map<String, String> internalTransitiveMetadata = getInternalMetadata(httpServletRequest, CUSTOM_METADATA);
-		Map<String, String> customTransitiveMetadata = CustomTransitiveMetadataResolver.resolve(httpServletRequest);
+		// Collect metadata headers in one pass.
+		TransferMetadataHeaders metadataHeaders = TransferMetadataHeaders.scan(httpServletRequest, getTransHeaderNames());
 
-		Map<String, String> mergedTransitiveMetadata = new HashMap<>();
-		mergedTransitiveMetadata.putAll(internalTransitiveMetadata);
-		mergedTransitiveMetadata.putAll(customTransitiveMetadata);
+		// Decoded maps are fresh, so merge custom metadata into them instead of copying.
+		Map<String, String> mergedTransitiveMetadata = metadataCodec.decode(metadataHeaders.getCustomMetadata());
+		mergedTransitiveMetadata.putAll(metadataHeaders.getTransitiveMetadata());
 
-		Map<String, String> internalDisposableMetadata = getInternalMetadata(httpServletRequest, CUSTOM_DISPOSABLE_METADATA);
-		Map<String, String> mergedDisposableMetadata = new HashMap<>(internalDisposableMetadata);
+		Map<String, String> mergedDisposableMetadata = metadataCodec.decode(metadataHeaders.getCustomDisposableMetadata());
 
-		MetadataContextHolder.init(mergedTransitiveMetadata, mergedDisposableMetadata);
+		MetadataContext metadataContext = MetadataContextHolder.create(mergedTransitiveMetadata, mergedDisposableMetadata);
+		metadataHeaders.getTransHeadersKV().forEach(metadataContext::setTransHeadersKV);
 
-		TransHeadersTransfer.transfer(httpServletRequest);
+		// Metadata context is bound only while the chain runs, and the previous one is restored afterwards.
 		try {
-			filterChain.doFilter(httpServletRequest, httpServletResponse);
+			MetadataContextHolder.call(metadataContext, () -> {
+				filterChain.doFilter(httpServletRequest, httpServletResponse);
+				return null;
+			});
 		}
-		finally {
-			// Clean up ThreadLocal.
-			MetadataContextHolder.remove();
+		catch (ServletException | IOException | RuntimeException e) {
+			throw e;
 		}
-	}
-
-	private Map<String, String> getInternalMetadata(HttpServletRequest httpServletRequest, String headerName) {
-		// Get custom metadata string from http header.
-		String customMetadataStr = httpServletRequest.getHeader(headerName);
-		try {
-			if (StringUtils.hasText(customMetadataStr)) {
-				customMetadataStr = URLDecoder.decode(customMetadataStr, UTF_8);
-			}
+		catch (Exception e) {
+			throw new ServletException(e);
 		}
-		catch (UnsupportedEncodingException e) {
-			LOG.error("Runtime system does not support utf-8 coding.", e);
-		}
-		LOG.debug("Get upstream metadata string: {}", customMetadataStr);
+	}
 
-		// create custom metadata.
-		return JacksonUtils.deserialize2Map(customMetadataStr);
+	private Map<String, String> getTransHeaderNames() {
+		return TransHeadersTransfer.getTransHeaderNames(MetadataContextHolder.getMetadataContextTemplate()
+				.getFragmentContext(FRAGMENT_RAW_TRANSHEADERS));
 	}
 }
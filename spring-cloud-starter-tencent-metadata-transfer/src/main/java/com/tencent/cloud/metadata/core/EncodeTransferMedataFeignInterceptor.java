@@ -18,26 +18,22 @@
 
 package com.tencent.cloud.metadata.core;
 
-import java.io.UnsupportedEncodingException;
 import java.util.Map;
 
 import com.tencent.cloud.common.constant.OrderConstant;
 import com.tencent.cloud.common.metadata.MetadataContext;
 import com.tencent.cloud.common.metadata.MetadataContextHolder;
-import com.tencent.cloud.common.util.JacksonUtils;
+import com.tencent.cloud.metadata.codec.JsonMetadataCodec;
+import com.tencent.cloud.metadata.codec.MetadataCodec;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import org.springframework.core.Ordered;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.client.RestTemplate;
 
-import static com.tencent.cloud.common.constant.ContextConstant.UTF_8;
 import static com.tencent.cloud.common.constant.MetadataConstant.HeaderName.CUSTOM_DISPOSABLE_METADATA;
 import static com.tencent.cloud.common.constant.MetadataConstant.HeaderName.CUSTOM_METADATA;
-import static java.net.URLEncoder.encode;
 
 /**
  * Interceptor used for adding the metadata in http headers from context when web client
@@ -47,7 +43,15 @@ import static java.net.URLEncoder.encode;
  */
 public class EncodeTransferMedataFeignInterceptor implements RequestInterceptor, Ordered {
 
-	private static final Logger LOG = LoggerFactory.getLogger(EncodeTransferMedataFeignInterceptor.class);
+	private final MetadataCodec metadataCodec;
+
+	public EncodeTransferMedataFeignInterceptor() {
+		this(new JsonMetadataCodec());
+	}
+
+	public EncodeTransferMedataFeignInterceptor(MetadataCodec metadataCodec) {
+		this.metadataCodec = metadataCodec;
+	}
 
 	@Override
 	public int getOrder() {
@@ -88,15 +92,8 @@ public class EncodeTransferMedataFeignInterceptor implements RequestInterceptor,
 	 */
 	private void buildMetadataHeader(RequestTemplate requestTemplate, Map<String, String> metadata, String headerName) {
 		if (!CollectionUtils.isEmpty(metadata)) {
-			String encodedMetadata = JacksonUtils.serialize2Json(metadata);
 			requestTemplate.removeHeader(headerName);
-			try {
-				requestTemplate.header(headerName, encode(encodedMetadata, UTF_8));
-			}
-			catch (UnsupportedEncodingException e) {
-				LOG.error("Set header failed.", e);
-				requestTemplate.header(headerName, encodedMetadata);
-			}
+			requestTemplate.header(headerName, metadataCodec.encode(metadata));
 		}
 	}
 }
@@ -19,14 +19,13 @@
 package com.tencent.cloud.metadata.core;
 
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
 import java.util.Map;
 
 import com.tencent.cloud.common.constant.OrderConstant;
 import com.tencent.cloud.common.metadata.MetadataContext;
 import com.tencent.cloud.common.metadata.MetadataContextHolder;
-import com.tencent.cloud.common.util.JacksonUtils;
+import com.tencent.cloud.metadata.codec.JsonMetadataCodec;
+import com.tencent.cloud.metadata.codec.MetadataCodec;
 
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpRequest;
@@ -36,7 +35,6 @@ import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.NonNull;
 import org.springframework.util.CollectionUtils;
 
-import static com.tencent.cloud.common.constant.ContextConstant.UTF_8;
 import static com.tencent.cloud.common.constant.MetadataConstant.HeaderName.CUSTOM_DISPOSABLE_METADATA;
 import static com.tencent.cloud.common.constant.MetadataConstant.HeaderName.CUSTOM_METADATA;
 
@@ -48,6 +46,16 @@ import static com.tencent.cloud.common.constant.MetadataConstant.HeaderName.CUST
  */
 public class EncodeTransferMedataRestTemplateInterceptor implements ClientHttpRequestInterceptor, Ordered {
 
+	private final MetadataCodec metadataCodec;
+
+	public EncodeTransferMedataRestTemplateInterceptor() {
+		this(new JsonMetadataCodec());
+	}
+
+	public EncodeTransferMedataRestTemplateInterceptor(MetadataCodec metadataCodec) {
+		this.metadataCodec = metadataCodec;
+	}
+
 	@Override
 	public int getOrder() {
 		return OrderConstant.Client.RestTemplate.ENCODE_TRANSFER_METADATA_INTERCEPTOR_ORDER;
@@ -91,13 +99,7 @@ public class EncodeTransferMedataRestTemplateInterceptor implements ClientHttpRe
 	 */
 	private void buildMetadataHeader(HttpRequest request, Map<String, String> metadata, String headerName) {
 		if (!CollectionUtils.isEmpty(metadata)) {
-			String encodedMetadata = JacksonUtils.serialize2Json(metadata);
-			try {
-				request.getHeaders().set(headerName, URLEncoder.encode(encodedMetadata, UTF_8));
-			}
-			catch (UnsupportedEncodingException e) {
-				request.getHeaders().set(headerName, encodedMetadata);
-			}
+			request.getHeaders().set(headerName, metadataCodec.encode(metadata));
 		}
 	}
 }
@@ -18,15 +18,13 @@
 
 package com.tencent.cloud.metadata.core;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
 import java.util.Map;
 
-import com.tencent.cloud.common.constant.MetadataConstant;
 import com.tencent.cloud.common.constant.OrderConstant;
 import com.tencent.cloud.common.metadata.MetadataContext;
-import com.tencent.cloud.common.metadata.MetadataContextHolder;
-import com.tencent.cloud.common.util.JacksonUtils;
+import com.tencent.cloud.common.metadata.ReactiveMetadataContextHolder;
+import com.tencent.cloud.metadata.codec.JsonMetadataCodec;
+import com.tencent.cloud.metadata.codec.MetadataCodec;
 import reactor.core.publisher.Mono;
 
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
@@ -36,7 +34,6 @@ import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.server.ServerWebExchange;
 
-import static com.tencent.cloud.common.constant.ContextConstant.UTF_8;
 import static com.tencent.cloud.common.constant.MetadataConstant.HeaderName.CUSTOM_DISPOSABLE_METADATA;
 import static com.tencent.cloud.common.constant.MetadataConstant.HeaderName.CUSTOM_METADATA;
 
@@ -47,6 +44,16 @@ import static com.tencent.cloud.common.constant.MetadataConstant.HeaderName.CUST
  */
 public class EncodeTransferMedataScgFilter implements GlobalFilter, Ordered {
 
+	private final MetadataCodec metadataCodec;
+
+	public EncodeTransferMedataScgFilter() {
+		this(new JsonMetadataCodec());
+	}
+
+	public EncodeTransferMedataScgFilter(MetadataCodec metadataCodec) {
+		this.metadataCodec = metadataCodec;
+	}
+
 	@Override
 	public int getOrder() {
 		return OrderConstant.Client.Scg.ENCODE_TRANSFER_METADATA_FILTER_ORDER;
@@ -58,10 +65,7 @@ public class EncodeTransferMedataScgFilter implements GlobalFilter, Ordered {
 		ServerHttpRequest.Builder builder = exchange.getRequest().mutate();
 
 		// get metadata of current thread
-		MetadataContext metadataContext = exchange.getAttribute(MetadataConstant.HeaderName.METADATA_CONTEXT);
-		if (metadataContext == null) {
-			metadataContext = MetadataContextHolder.get();
-		}
+		MetadataContext metadataContext = ReactiveMetadataContextHolder.get(exchange);
 
 		Map<String, String> customMetadata = metadataContext.getCustomMetadata();
 		Map<String, String> disposableMetadata = metadataContext.getDisposableMetadata();
@@ -69,7 +73,7 @@ public class EncodeTransferMedataScgFilter implements GlobalFilter, Ordered {
 		this.buildMetadataHeader(builder, customMetadata, CUSTOM_METADATA);
 		this.buildMetadataHeader(builder, disposableMetadata, CUSTOM_DISPOSABLE_METADATA);
 
-		TransHeadersTransfer.transfer(exchange.getRequest());
+		TransHeadersTransfer.transfer(exchange.getRequest(), metadataContext);
 		return chain.filter(exchange.mutate().request(builder.build()).build());
 	}
 
@@ -81,13 +85,7 @@ public class EncodeTransferMedataScgFilter implements GlobalFilter, Ordered {
 	 */
 	private void buildMetadataHeader(ServerHttpRequest.Builder builder, Map<String, String> metadata, String headerName) {
 		if (!CollectionUtils.isEmpty(metadata)) {
-			String encodedMetadata = JacksonUtils.serialize2Json(metadata);
-			try {
-				builder.header(headerName, URLEncoder.encode(encodedMetadata, UTF_8));
-			}
-			catch (UnsupportedEncodingException e) {
-				builder.header(headerName, encodedMetadata);
-			}
+			builder.header(headerName, metadataCodec.encode(metadata));
 		}
 	}
 }
@@ -18,13 +18,12 @@
 
 package com.tencent.cloud.metadata.core;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
 import java.util.Map;
 
 import com.tencent.cloud.common.metadata.MetadataContext;
-import com.tencent.cloud.common.metadata.MetadataContextHolder;
-import com.tencent.cloud.common.util.JacksonUtils;
+import com.tencent.cloud.common.metadata.ReactiveMetadataContextHolder;
+import com.tencent.cloud.metadata.codec.JsonMetadataCodec;
+import com.tencent.cloud.metadata.codec.MetadataCodec;
 import reactor.core.publisher.Mono;
 
 import org.springframework.util.CollectionUtils;
@@ -33,7 +32,6 @@ import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.ExchangeFunction;
 
-import static com.tencent.cloud.common.constant.ContextConstant.UTF_8;
 import static com.tencent.cloud.common.constant.MetadataConstant.HeaderName.CUSTOM_DISPOSABLE_METADATA;
 import static com.tencent.cloud.common.constant.MetadataConstant.HeaderName.CUSTOM_METADATA;
 
@@ -44,9 +42,23 @@ import static com.tencent.cloud.common.constant.MetadataConstant.HeaderName.CUST
  */
 public class EncodeTransferMedataWebClientFilter implements ExchangeFilterFunction {
 
+	private final MetadataCodec metadataCodec;
+
+	public EncodeTransferMedataWebClientFilter() {
+		this(new JsonMetadataCodec());
+	}
+
+	public EncodeTransferMedataWebClientFilter(MetadataCodec metadataCodec) {
+		this.metadataCodec = metadataCodec;
+	}
+
 	@Override
 	public Mono<ClientResponse> filter(ClientRequest clientRequest, ExchangeFunction next) {
-		MetadataContext metadataContext = MetadataContextHolder.get();
+		return Mono.deferContextual(contextView -> next.exchange(
+				buildRequest(clientRequest, ReactiveMetadataContextHolder.get(contextView))));
+	}
+
+	private ClientRequest buildRequest(ClientRequest clientRequest, MetadataContext metadataContext) {
 		Map<String, String> customMetadata = metadataContext.getCustomMetadata();
 		Map<String, String> disposableMetadata = metadataContext.getDisposableMetadata();
 		Map<String, String> transHeaders = metadataContext.getTransHeadersKV();
@@ -57,9 +69,7 @@ public class EncodeTransferMedataWebClientFilter implements ExchangeFilterFuncti
 		this.buildMetadataHeader(requestBuilder, disposableMetadata, CUSTOM_DISPOSABLE_METADATA);
 		this.buildTransmittedHeader(requestBuilder, transHeaders);
 
-		ClientRequest request = requestBuilder.build();
-
-		return next.exchange(request);
+		return requestBuilder.build();
 	}
 
 	private void buildTransmittedHeader(ClientRequest.Builder requestBuilder, Map<String, String> transHeaders) {
@@ -77,13 +87,7 @@ public class EncodeTransferMedataWebClientFilter implements ExchangeFilterFuncti
 	 */
 	private void buildMetadataHeader(ClientRequest.Builder requestBuilder, Map<String, String> metadata, String headerName) {
 		if (!CollectionUtils.isEmpty(metadata)) {
-			String encodedMetadata = JacksonUtils.serialize2Json(metadata);
-			try {
-				requestBuilder.header(headerName, URLEncoder.encode(encodedMetadata, UTF_8));
-			}
-			catch (UnsupportedEncodingException e) {
-				requestBuilder.header(headerName, encodedMetadata);
-			}
+			requestBuilder.header(headerName, metadataCodec.encode(metadata));
 		}
 	}
 
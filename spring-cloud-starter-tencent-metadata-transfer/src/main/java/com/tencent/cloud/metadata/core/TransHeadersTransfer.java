@@ -15,23 +15,24 @@
  * specific language governing permissions and limitations under the License.
  *
  */
-
 package com.tencent.cloud.metadata.core;
 
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.TreeMap;
 
 import javax.servlet.http.HttpServletRequest;
 
+import com.tencent.cloud.common.metadata.MetadataContext;
 import com.tencent.cloud.common.metadata.MetadataContextHolder;
 import com.tencent.cloud.common.util.JacksonUtils;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 
 /**
  * According to request and trans-headers(key list in string type) in metadata, build
@@ -41,6 +42,11 @@ import org.springframework.util.CollectionUtils;
  */
 public final class TransHeadersTransfer {
 
+	/**
+	 * Trans-header names parsed last time. Trans-headers come from static metadata, so they rarely change.
+	 */
+	private static volatile TransHeaderNames transHeaderNames;
+
 	private TransHeadersTransfer() {
 	}
 
@@ -51,21 +57,29 @@ public final class TransHeadersTransfer {
 	 * @param httpServletRequest httpServletRequest
 	 */
 	public static void transfer(HttpServletRequest httpServletRequest) {
+		transfer(httpServletRequest, MetadataContextHolder.get());
+	}
+
+	/**
+	 * According to {@link HttpServletRequest} and trans-headers(key list in string type) in metadata, build
+	 * the complete headers(key-value list in map type) into the given metadata context.
+	 *
+	 * @param httpServletRequest httpServletRequest
+	 * @param metadataContext metadata context of the request
+	 */
+	public static void transfer(HttpServletRequest httpServletRequest, MetadataContext metadataContext) {
 		// transHeaderMetadata: for example, {"trans-headers" : {"header1,header2,header3":""}}
-		Map<String, String> transHeaderMetadata = MetadataContextHolder.get().getTransHeaders();
-		if (!CollectionUtils.isEmpty(transHeaderMetadata)) {
-			String transHeaders = transHeaderMetadata.keySet().stream().findFirst().orElse("");
-			String[] transHeaderArray = transHeaders.split(",");
-			Enumeration<String> httpHeaders = httpServletRequest.getHeaderNames();
-			while (httpHeaders.hasMoreElements()) {
-				String httpHeader = httpHeaders.nextElement();
-				Arrays.stream(transHeaderArray).forEach(transHeader -> {
-					if (transHeader.equals(httpHeader)) {
-						String httpHeaderValue = httpServletRequest.getHeader(httpHeader);
-						// for example, {"trans-headers-kv" : {"header1":"v1","header2":"v2"...}}
-						MetadataContextHolder.get().setTransHeadersKV(httpHeader, httpHeaderValue);
-					}
-				});
+		Map<String, String> transHeaders = getTransHeaderNames(metadataContext.getTransHeaders());
+		if (transHeaders.isEmpty()) {
+			return;
+		}
+		Enumeration<String> httpHeaders = httpServletRequest.getHeaderNames();
+		while (httpHeaders.hasMoreElements()) {
+			String httpHeader = httpHeaders.nextElement();
+			String transHeader = transHeaders.get(httpHeader);
+			if (transHeader != null) {
+				// for example, {"trans-headers-kv" : {"header1":"v1","header2":"v2"...}}
+				metadataContext.setTransHeadersKV(transHeader, httpServletRequest.getHeader(httpHeader));
 			}
 		}
 	}
@@ -77,23 +91,67 @@ public final class TransHeadersTransfer {
 	 * @param serverHttpRequest serverHttpRequest
 	 */
 	public static void transfer(ServerHttpRequest serverHttpRequest) {
+		transfer(serverHttpRequest, MetadataContextHolder.get());
+	}
+
+	/**
+	 * According to {@link ServerHttpRequest} and trans-headers(key list in string type) in metadata, build
+	 * the complete headers(key-value list in map type) into the given metadata context.
+	 *
+	 * @param serverHttpRequest serverHttpRequest
+	 * @param metadataContext metadata context of the request
+	 */
+	public static void transfer(ServerHttpRequest serverHttpRequest, MetadataContext metadataContext) {
 		// transHeaderMetadata: for example, {"trans-headers" : {"header1,header2,header3":""}}
-		Map<String, String> transHeaderMetadata = MetadataContextHolder.get().getTransHeaders();
-		if (!CollectionUtils.isEmpty(transHeaderMetadata)) {
-			String transHeaders = transHeaderMetadata.keySet().stream().findFirst().orElse("");
-			String[] transHeaderArray = transHeaders.split(",");
-			HttpHeaders headers = serverHttpRequest.getHeaders();
-			Set<String> headerKeys = headers.keySet();
-			for (String httpHeader : headerKeys) {
-				Arrays.stream(transHeaderArray).forEach(transHeader -> {
-					if (transHeader.equals(httpHeader)) {
-						List<String> list = headers.get(httpHeader);
-						String httpHeaderValue = JacksonUtils.serialize2Json(list);
-						// for example, {"trans-headers-kv" : {"header1":"v1","header2":"v2"...}}
-						MetadataContextHolder.get().setTransHeadersKV(httpHeader, httpHeaderValue);
-					}
-				});
+		Map<String, String> transHeaders = getTransHeaderNames(metadataContext.getTransHeaders());
+		if (transHeaders.isEmpty()) {
+			return;
+		}
+		HttpHeaders headers = serverHttpRequest.getHeaders();
+		for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+			String transHeader = transHeaders.get(entry.getKey());
+			if (transHeader != null) {
+				// for example, {"trans-headers-kv" : {"header1":"v1","header2":"v2"...}}
+				metadataContext.setTransHeadersKV(transHeader, JacksonUtils.serialize2Json(entry.getValue()));
+			}
+		}
+	}
+
+	/**
+	 * Get configured trans-header names as a case-insensitive lookup, from header name to configured name.
+	 *
+	 * @param transHeaderMetadata trans-headers in metadata, for example {"header1,header2,header3":""}
+	 * @return case-insensitive lookup of trans-header names
+	 */
+	static Map<String, String> getTransHeaderNames(Map<String, String> transHeaderMetadata) {
+		if (CollectionUtils.isEmpty(transHeaderMetadata)) {
+			return Collections.emptyMap();
+		}
+		String source = transHeaderMetadata.keySet().iterator().next();
+		TransHeaderNames names = transHeaderNames;
+		if (names == null || !names.source.equals(source)) {
+			names = new TransHeaderNames(source);
+			transHeaderNames = names;
+		}
+		return names.names;
+	}
+
+	private static final class TransHeaderNames {
+
+		private final String source;
+
+		private final Map<String, String> names;
+
+		private TransHeaderNames(String source) {
+			this.source = source;
+			Map<String, String> names = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+			for (String transHeader : StringUtils.commaDelimitedListToStringArray(source)) {
+				String name = transHeader.trim();
+				if (!name.isEmpty()) {
+					names.putIfAbsent(name, name);
+				}
 			}
+			this.names = Collections.unmodifiableMap(names);
 		}
 	}
 }
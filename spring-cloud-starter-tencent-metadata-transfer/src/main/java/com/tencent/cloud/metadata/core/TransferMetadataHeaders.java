@@ -0,0 +1,157 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ */
+package com.tencent.cloud.metadata.core;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+
+import com.tencent.cloud.common.util.JacksonUtils;
+import org.apache.commons.lang.StringUtils;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.CollectionUtils;
+
+import static com.tencent.cloud.common.constant.MetadataConstant.HeaderName.CUSTOM_DISPOSABLE_METADATA;
+import static com.tencent.cloud.common.constant.MetadataConstant.HeaderName.CUSTOM_METADATA;
+
+/**
+ * Metadata carried by request headers, collected in one pass over the headers: the encoded custom metadata
+ * headers, the transitive metadata headers with prefix and the trans-headers.
+ *
+ * @author Haotian Zhang
+ */
+final class TransferMetadataHeaders {
+
+	private String customMetadata;
+
+	private String customDisposableMetadata;
+
+	private Map<String, String> transitiveMetadata = Collections.emptyMap();
+
+	private Map<String, String> transHeadersKV = Collections.emptyMap();
+
+	private TransferMetadataHeaders() {
+	}
+
+	/**
+	 * Scan headers of servlet request.
+	 * @param request servlet request
+	 * @param transHeaderNames case-insensitive lookup of trans-header names
+	 * @return metadata headers
+	 */
+	static TransferMetadataHeaders scan(HttpServletRequest request, Map<String, String> transHeaderNames) {
+		TransferMetadataHeaders result = new TransferMetadataHeaders();
+		Enumeration<String> headerNames = request.getHeaderNames();
+		while (headerNames.hasMoreElements()) {
+			String headerName = headerNames.nextElement();
+			if (headerName == null || headerName.isEmpty()) {
+				continue;
+			}
+			boolean custom = CUSTOM_METADATA.equalsIgnoreCase(headerName);
+			boolean customDisposable = !custom && CUSTOM_DISPOSABLE_METADATA.equalsIgnoreCase(headerName);
+			String sourceKey = CustomTransitiveMetadataResolver.resolveSourceKey(headerName);
+			String transHeader = transHeaderNames.get(headerName);
+			if (!custom && !customDisposable && sourceKey == null && transHeader == null) {
+				continue;
+			}
+
+			// Read the header value only once.
+			String value = request.getHeader(headerName);
+			if (custom) {
+				result.customMetadata = value;
+			}
+			else if (customDisposable) {
+				result.customDisposableMetadata = value;
+			}
+			if (sourceKey != null && StringUtils.isNotBlank(value)) {
+				result.putTransitiveMetadata(sourceKey, value);
+			}
+			if (transHeader != null) {
+				result.putTransHeadersKV(transHeader, value);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Scan headers of reactive request.
+	 * @param headers http headers
+	 * @param transHeaderNames case-insensitive lookup of trans-header names
+	 * @return metadata headers
+	 */
+	static TransferMetadataHeaders scan(HttpHeaders headers, Map<String, String> transHeaderNames) {
+		TransferMetadataHeaders result = new TransferMetadataHeaders();
+		for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+			String headerName = entry.getKey();
+			List<String> values = entry.getValue();
+			if (headerName == null || headerName.isEmpty() || CollectionUtils.isEmpty(values)) {
+				continue;
+			}
+			if (CUSTOM_METADATA.equalsIgnoreCase(headerName)) {
+				result.customMetadata = values.get(0);
+			}
+			else if (CUSTOM_DISPOSABLE_METADATA.equalsIgnoreCase(headerName)) {
+				result.customDisposableMetadata = values.get(0);
+			}
+			String sourceKey = CustomTransitiveMetadataResolver.resolveSourceKey(headerName);
+			if (sourceKey != null) {
+				result.putTransitiveMetadata(sourceKey, values.get(0));
+			}
+			String transHeader = transHeaderNames.get(headerName);
+			if (transHeader != null) {
+				result.putTransHeadersKV(transHeader, JacksonUtils.serialize2Json(values));
+			}
+		}
+		return result;
+	}
+
+	private void putTransitiveMetadata(String key, String value) {
+		if (transitiveMetadata.isEmpty()) {
+			transitiveMetadata = new HashMap<>();
+		}
+		transitiveMetadata.put(key, value);
+	}
+
+	private void putTransHeadersKV(String key, String value) {
+		if (transHeadersKV.isEmpty()) {
+			transHeadersKV = new HashMap<>();
+		}
+		transHeadersKV.put(key, value);
+	}
+
+	String getCustomMetadata() {
+		return customMetadata;
+	}
+
+	String getCustomDisposableMetadata() {
+		return customDisposableMetadata;
+	}
+
+	Map<String, String> getTransitiveMetadata() {
+		return transitiveMetadata;
+	}
+
+	Map<String, String> getTransHeadersKV() {
+		return transHeadersKV;
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ */
+
+package com.tencent.cloud.metadata.codec;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for {@link CompactMetadataCodec} and {@link JsonMetadataCodec}.
+ *
+ * @author Haotian Zhang
+ */
+public class CompactMetadataCodecTest {
+
+	private final CompactMetadataCodec compactMetadataCodec = new CompactMetadataCodec();
+
+	private final JsonMetadataCodec jsonMetadataCodec = new JsonMetadataCodec();
+
+	@Test
+	public void testRoundTrip() {
+		Map<String, String> metadata = new HashMap<>();
+		metadata.put("a", "1");
+		metadata.put("b", "");
+		metadata.put("中文", "值😀");
+		metadata.put("long", repeat('x', 300));
+
+		String headerValue = compactMetadataCodec.encode(metadata);
+		assertThat(headerValue).startsWith(CompactMetadataCodec.VERSION_MARKER);
+		assertThat(headerValue.substring(CompactMetadataCodec.VERSION_MARKER.length())).matches("[A-Za-z0-9_-]+");
+		assertThat(compactMetadataCodec.decode(headerValue)).isEqualTo(metadata);
+	}
+
+	@Test
+	public void testInteroperateWithJson() {
+		Map<String, String> metadata = new HashMap<>();
+		metadata.put("a", "1");
+		metadata.put("b", "2");
+
+		assertThat(compactMetadataCodec.decode(jsonMetadataCodec.encode(metadata))).isEqualTo(metadata);
+		assertThat(jsonMetadataCodec.decode(compactMetadataCodec.encode(metadata))).isEqualTo(metadata);
+		assertThat(compactMetadataCodec.decode("{\"a\": \"1\"}")).containsEntry("a", "1");
+		assertThat(compactMetadataCodec.decode(null)).isEmpty();
+	}
+
+	@Test
+	public void testMalformed() {
+		assertThatThrownBy(() -> compactMetadataCodec.decode(CompactMetadataCodec.VERSION_MARKER + "A"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> compactMetadataCodec.decode(CompactMetadataCodec.VERSION_MARKER + "AQ=="))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> compactMetadataCodec.decode(CompactMetadataCodec.VERSION_MARKER + "AgE"))
+				.isInstanceOf(IllegalArgumentException.class);
+		// entry count far beyond the remaining bytes
+		assertThatThrownBy(() -> compactMetadataCodec.decode(CompactMetadataCodec.VERSION_MARKER + "_____wc"))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("too many entries");
+		assertThatThrownBy(() -> compactMetadataCodec.decode(CompactMetadataCodec.VERSION_MARKER + "gAgAAA"))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("too many entries");
+	}
+
+	private static String repeat(char c, int count) {
+		StringBuilder builder = new StringBuilder(count);
+		for (int i = 0; i < count; i++) {
+			builder.append(c);
+		}
+		return builder.toString();
+	}
+}
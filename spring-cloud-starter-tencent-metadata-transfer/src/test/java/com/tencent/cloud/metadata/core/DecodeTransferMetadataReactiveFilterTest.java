@@ -19,11 +19,16 @@ package com.tencent.cloud.metadata.core;
 
 import com.tencent.cloud.common.constant.MetadataConstant;
 import com.tencent.cloud.common.constant.OrderConstant;
+import com.tencent.cloud.common.metadata.MetadataContext;
+import com.tencent.cloud.common.metadata.MetadataContextHolder;
+import com.tencent.cloud.common.metadata.ReactiveMetadataContextHolder;
 import com.tencent.cloud.common.metadata.config.MetadataLocalProperties;
+import com.tencent.cloud.metadata.codec.JsonMetadataCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -79,4 +84,31 @@ public class DecodeTransferMetadataReactiveFilterTest {
 		assertThat(metadataLocalProperties.getContent().get("b")).isEqualTo("2");
 		assertThat(metadataLocalProperties.getContent().get("c")).isNull();
 	}
+
+	@Test
+	public void testReactorContext() {
+		DecodeTransferMetadataReactiveFilter filter = new DecodeTransferMetadataReactiveFilter(new JsonMetadataCodec(), true);
+		MetadataContextHolder.remove();
+
+		// Metadata context is read from Reactor context on another thread.
+		WebFilterChain webFilterChain = serverWebExchange -> ReactiveMetadataContextHolder.get()
+				.publishOn(Schedulers.boundedElastic())
+				.doOnNext(metadataContext -> {
+					assertThat(metadataContext.getTransitiveMetadata()).containsEntry("c", "3");
+					assertThat(metadataContext).isSameAs(serverWebExchange.getAttribute(MetadataConstant.HeaderName.METADATA_CONTEXT));
+				})
+				.then();
+
+		MockServerHttpRequest request = MockServerHttpRequest.get("test")
+				.header(MetadataConstant.HeaderName.CUSTOM_METADATA, "{\"c\": \"3\"}")
+				.build();
+		ServerWebExchange exchange = MockServerWebExchange.from(request);
+
+		filter.filter(exchange, webFilterChain).block();
+		assertThat(exchange.<MetadataContext>getAttribute(MetadataConstant.HeaderName.METADATA_CONTEXT)
+				.getTransitiveMetadata()).containsEntry("c", "3");
+		// Thread-local is never touched.
+		assertThat(MetadataContextHolder.get().getTransitiveMetadata()).doesNotContainKey("c");
+		MetadataContextHolder.remove();
+	}
 }
@@ -0,0 +1,76 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ */
+package com.tencent.cloud.metadata.core;
+
+import java.util.Collections;
+import java.util.Map;
+
+import com.tencent.cloud.common.constant.MetadataConstant;
+import com.tencent.cloud.common.util.JacksonUtils;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for {@link TransferMetadataHeaders}.
+ *
+ * @author Haotian Zhang
+ */
+public class TransferMetadataHeadersTest {
+
+	private final Map<String, String> transHeaderNames = TransHeadersTransfer.getTransHeaderNames(
+			Collections.singletonMap("header1, Header2", ""));
+
+	@Test
+	public void testScanServlet() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader(MetadataConstant.HeaderName.CUSTOM_METADATA.toLowerCase(), "{\"a\": \"1\"}");
+		request.addHeader(MetadataConstant.HeaderName.CUSTOM_DISPOSABLE_METADATA, "{\"b\": \"2\"}");
+		request.addHeader("x-sct-metadata-transitive-c", "3");
+		request.addHeader("X-Polaris-Metadata-Transitive-d", "4");
+		request.addHeader("X-Polaris-Metadata-Transitive-e", " ");
+		request.addHeader("HEADER1", "v1");
+		request.addHeader("header2", "v2");
+		request.addHeader("header3", "v3");
+
+		TransferMetadataHeaders metadataHeaders = TransferMetadataHeaders.scan(request, transHeaderNames);
+		assertThat(metadataHeaders.getCustomMetadata()).isEqualTo("{\"a\": \"1\"}");
+		assertThat(metadataHeaders.getCustomDisposableMetadata()).isEqualTo("{\"b\": \"2\"}");
+		assertThat(metadataHeaders.getTransitiveMetadata()).hasSize(2).containsEntry("c", "3").containsEntry("d", "4");
+		assertThat(metadataHeaders.getTransHeadersKV()).hasSize(2).containsEntry("header1", "v1").containsEntry("Header2", "v2");
+	}
+
+	@Test
+	public void testScanReactive() {
+		MockServerHttpRequest request = MockServerHttpRequest.get("/test")
+				.header(MetadataConstant.HeaderName.CUSTOM_METADATA, "{\"a\": \"1\"}")
+				.header("X-SCT-Metadata-Transitive-c", "3")
+				.header("header1", "v1", "v11")
+				.build();
+
+		TransferMetadataHeaders metadataHeaders = TransferMetadataHeaders.scan(request.getHeaders(), transHeaderNames);
+		assertThat(metadataHeaders.getCustomMetadata()).isEqualTo("{\"a\": \"1\"}");
+		assertThat(metadataHeaders.getCustomDisposableMetadata()).isNull();
+		assertThat(metadataHeaders.getTransitiveMetadata()).hasSize(1).containsEntry("c", "3");
+		assertThat(metadataHeaders.getTransHeadersKV()).hasSize(1)
+				.containsEntry("header1", JacksonUtils.serialize2Json(new String[] {"v1", "v11"}));
+	}
+}
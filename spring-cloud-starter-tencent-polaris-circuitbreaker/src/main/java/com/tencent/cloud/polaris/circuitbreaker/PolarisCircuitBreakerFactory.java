@@ -17,8 +17,10 @@
 
 package com.tencent.cloud.polaris.circuitbreaker;
 
+import java.util.function.Consumer;
 import java.util.function.Function;
 
+import com.tencent.cloud.polaris.circuitbreaker.common.CircuitBreakerCache;
 import com.tencent.cloud.polaris.circuitbreaker.common.PolarisCircuitBreakerConfigBuilder;
 import com.tencent.cloud.polaris.circuitbreaker.util.PolarisCircuitBreakerUtils;
 import com.tencent.polaris.api.core.ConsumerAPI;
@@ -50,18 +52,38 @@ public class PolarisCircuitBreakerFactory
 
 	private final ConsumerAPI consumerAPI;
 
+	private final CircuitBreakerCache<CircuitBreaker> circuitBreakerCache;
+
 	public PolarisCircuitBreakerFactory(CircuitBreakAPI circuitBreakAPI, ConsumerAPI consumerAPI) {
+		this(circuitBreakAPI, consumerAPI, CircuitBreakerCache.DEFAULT_MAX_SIZE);
+	}
+
+	public PolarisCircuitBreakerFactory(CircuitBreakAPI circuitBreakAPI, ConsumerAPI consumerAPI, int cacheMaxSize) {
 		this.circuitBreakAPI = circuitBreakAPI;
 		this.consumerAPI = consumerAPI;
+		this.circuitBreakerCache = new CircuitBreakerCache<>(cacheMaxSize);
 	}
 
 	@Override
 	public CircuitBreaker create(String id) {
-		PolarisCircuitBreakerConfigBuilder.PolarisCircuitBreakerConfiguration conf = getConfigurations()
-				.computeIfAbsent(id, defaultConfiguration);
+		return circuitBreakerCache.get(id, this::doCreate);
+	}
+
+	private CircuitBreaker doCreate(String id) {
+		// Default configuration is not put into configurations, so that they are bounded by the cache.
+		PolarisCircuitBreakerConfigBuilder.PolarisCircuitBreakerConfiguration conf = getConfigurations().get(id);
+		if (conf == null) {
+			conf = defaultConfiguration.apply(id);
+		}
 		return new PolarisCircuitBreaker(conf, consumerAPI, circuitBreakAPI);
 	}
 
+	@Override
+	public void configure(Consumer<PolarisCircuitBreakerConfigBuilder> consumer, String... ids) {
+		super.configure(consumer, ids);
+		circuitBreakerCache.invalidate(ids);
+	}
+
 	@Override
 	protected PolarisCircuitBreakerConfigBuilder configBuilder(String id) {
 		String[] metadata = PolarisCircuitBreakerUtils.resolveCircuitBreakerId(id);
@@ -71,6 +93,11 @@ public class PolarisCircuitBreakerFactory
 	@Override
 	public void configureDefault(Function<String, PolarisCircuitBreakerConfigBuilder.PolarisCircuitBreakerConfiguration> defaultConfiguration) {
 		this.defaultConfiguration = defaultConfiguration;
+		circuitBreakerCache.invalidateAll();
+	}
+
+	public CircuitBreakerCache<CircuitBreaker> getCircuitBreakerCache() {
+		return circuitBreakerCache;
 	}
 
 }
@@ -17,8 +17,10 @@
 
 package com.tencent.cloud.polaris.circuitbreaker;
 
+import java.util.function.Consumer;
 import java.util.function.Function;
 
+import com.tencent.cloud.polaris.circuitbreaker.common.CircuitBreakerCache;
 import com.tencent.cloud.polaris.circuitbreaker.common.PolarisCircuitBreakerConfigBuilder;
 import com.tencent.cloud.polaris.circuitbreaker.util.PolarisCircuitBreakerUtils;
 import com.tencent.polaris.api.core.ConsumerAPI;
@@ -49,19 +51,39 @@ public class ReactivePolarisCircuitBreakerFactory extends
 
 	private final ConsumerAPI consumerAPI;
 
+	private final CircuitBreakerCache<ReactiveCircuitBreaker> circuitBreakerCache;
+
 	public ReactivePolarisCircuitBreakerFactory(CircuitBreakAPI circuitBreakAPI, ConsumerAPI consumerAPI) {
+		this(circuitBreakAPI, consumerAPI, CircuitBreakerCache.DEFAULT_MAX_SIZE);
+	}
+
+	public ReactivePolarisCircuitBreakerFactory(CircuitBreakAPI circuitBreakAPI, ConsumerAPI consumerAPI, int cacheMaxSize) {
 		this.circuitBreakAPI = circuitBreakAPI;
 		this.consumerAPI = consumerAPI;
+		this.circuitBreakerCache = new CircuitBreakerCache<>(cacheMaxSize);
 	}
 
 
 	@Override
 	public ReactiveCircuitBreaker create(String id) {
-		PolarisCircuitBreakerConfigBuilder.PolarisCircuitBreakerConfiguration conf = getConfigurations()
-				.computeIfAbsent(id, defaultConfiguration);
+		return circuitBreakerCache.get(id, this::doCreate);
+	}
+
+	private ReactiveCircuitBreaker doCreate(String id) {
+		// Default configuration is not put into configurations, so that they are bounded by the cache.
+		PolarisCircuitBreakerConfigBuilder.PolarisCircuitBreakerConfiguration conf = getConfigurations().get(id);
+		if (conf == null) {
+			conf = defaultConfiguration.apply(id);
+		}
 		return new ReactivePolarisCircuitBreaker(conf, consumerAPI, circuitBreakAPI);
 	}
 
+	@Override
+	public void configure(Consumer<PolarisCircuitBreakerConfigBuilder> consumer, String... ids) {
+		super.configure(consumer, ids);
+		circuitBreakerCache.invalidate(ids);
+	}
+
 	@Override
 	protected PolarisCircuitBreakerConfigBuilder configBuilder(String id) {
 		String[] metadata = PolarisCircuitBreakerUtils.resolveCircuitBreakerId(id);
@@ -72,6 +94,11 @@ public class ReactivePolarisCircuitBreakerFactory extends
 	public void configureDefault(
 			Function<String, PolarisCircuitBreakerConfigBuilder.PolarisCircuitBreakerConfiguration> defaultConfiguration) {
 		this.defaultConfiguration = defaultConfiguration;
+		circuitBreakerCache.invalidateAll();
+	}
+
+	public CircuitBreakerCache<ReactiveCircuitBreaker> getCircuitBreakerCache() {
+		return circuitBreakerCache;
 	}
 
 }
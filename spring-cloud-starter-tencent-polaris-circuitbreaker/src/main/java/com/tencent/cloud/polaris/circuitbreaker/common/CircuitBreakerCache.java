@@ -0,0 +1,106 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.polaris.circuitbreaker.common;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * Bounded cache of circuit breakers by circuit breaker id, so that the decorator of Polaris SDK is made once per id
+ * instead of once per call. Least recently used circuit breakers are evicted when the cache is full.
+ *
+ * @param <T> type of circuit breaker
+ * @author Haotian Zhang
+ */
+public class CircuitBreakerCache<T> {
+
+	/**
+	 * Default max count of cached circuit breakers.
+	 */
+	public static final int DEFAULT_MAX_SIZE = 1024;
+
+	private final Cache<String, T> cache;
+
+	public CircuitBreakerCache(int maxSize) {
+		this.cache = CacheBuilder.newBuilder()
+				.maximumSize(maxSize)
+				.recordStats()
+				.build();
+	}
+
+	/**
+	 * Get circuit breaker of id, create it if absent.
+	 * @param id circuit breaker id
+	 * @param creator creator of circuit breaker
+	 * @return circuit breaker
+	 */
+	public T get(String id, Function<String, T> creator) {
+		try {
+			return cache.get(id, () -> creator.apply(id));
+		}
+		catch (ExecutionException | UncheckedExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException("Create circuit breaker " + id + " failed.", e.getCause());
+		}
+	}
+
+	/**
+	 * Invalidate circuit breakers, for example when their configurations change.
+	 * @param ids circuit breaker ids
+	 */
+	public void invalidate(String... ids) {
+		for (String id : ids) {
+			cache.invalidate(id);
+		}
+	}
+
+	/**
+	 * Invalidate all circuit breakers.
+	 */
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	public long getSize() {
+		return cache.size();
+	}
+
+	/**
+	 * Get size, hit, miss and eviction metrics of the cache.
+	 * @return metrics
+	 */
+	public Map<String, Object> getMetrics() {
+		CacheStats stats = cache.stats();
+		Map<String, Object> metrics = new HashMap<>();
+		metrics.put("size", cache.size());
+		metrics.put("hitCount", stats.hitCount());
+		metrics.put("missCount", stats.missCount());
+		metrics.put("evictionCount", stats.evictionCount());
+		metrics.put("hitRatio", stats.hitRate());
+		return metrics;
+	}
+}
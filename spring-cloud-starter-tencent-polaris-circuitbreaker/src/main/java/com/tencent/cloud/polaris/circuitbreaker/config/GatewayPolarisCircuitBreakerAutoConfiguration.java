@@ -19,6 +19,7 @@ package com.tencent.cloud.polaris.circuitbreaker.config;
 
 import com.tencent.cloud.polaris.circuitbreaker.ReactivePolarisCircuitBreakerFactory;
 import com.tencent.cloud.polaris.circuitbreaker.gateway.PolarisCircuitBreakerFilterFactory;
+import com.tencent.cloud.rpc.enhancement.plugin.PathTemplateResolver;
 
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -56,9 +57,11 @@ public class GatewayPolarisCircuitBreakerAutoConfiguration {
 			ReactiveCircuitBreakerFactory reactiveCircuitBreakerFactory,
 			ObjectProvider<DispatcherHandler> dispatcherHandler,
 			@Autowired(required = false) ReactiveDiscoveryClient discoveryClient,
-			@Autowired(required = false) DiscoveryLocatorProperties properties
+			@Autowired(required = false) DiscoveryLocatorProperties properties,
+			ObjectProvider<PathTemplateResolver> pathTemplateResolver
 	) {
-		return new PolarisCircuitBreakerFilterFactory(reactiveCircuitBreakerFactory, dispatcherHandler, discoveryClient, properties);
+		return new PolarisCircuitBreakerFilterFactory(reactiveCircuitBreakerFactory, dispatcherHandler, discoveryClient,
+				properties, pathTemplateResolver.getIfAvailable());
 	}
 
 	@Bean
@@ -27,8 +27,12 @@ import com.tencent.cloud.polaris.circuitbreaker.reporter.SuccessCircuitBreakerRe
 import com.tencent.cloud.polaris.context.PolarisSDKContextManager;
 import com.tencent.cloud.rpc.enhancement.config.RpcEnhancementAutoConfiguration;
 import com.tencent.cloud.rpc.enhancement.config.RpcEnhancementReporterProperties;
+import com.tencent.cloud.rpc.enhancement.plugin.FailureStatusClassifier;
+import com.tencent.cloud.rpc.enhancement.plugin.reporter.AsyncReportExecutor;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -54,22 +58,29 @@ public class ReactivePolarisCircuitBreakerAutoConfiguration {
 	@Bean
 	@ConditionalOnMissingBean(SuccessCircuitBreakerReporter.class)
 	public SuccessCircuitBreakerReporter successCircuitBreakerReporter(RpcEnhancementReporterProperties properties,
-			PolarisSDKContextManager polarisSDKContextManager) {
-		return new SuccessCircuitBreakerReporter(properties, polarisSDKContextManager.getCircuitBreakAPI());
+			PolarisSDKContextManager polarisSDKContextManager, ObjectProvider<FailureStatusClassifier> failureStatusClassifier,
+			ObjectProvider<AsyncReportExecutor> asyncReportExecutor) {
+		return new SuccessCircuitBreakerReporter(properties, polarisSDKContextManager.getCircuitBreakAPI(),
+				failureStatusClassifier.getIfAvailable(() -> new FailureStatusClassifier(properties)),
+				asyncReportExecutor.getIfAvailable());
 	}
 
 	@Bean
 	@ConditionalOnMissingBean(ExceptionCircuitBreakerReporter.class)
 	public ExceptionCircuitBreakerReporter exceptionCircuitBreakerReporter(RpcEnhancementReporterProperties properties,
-			PolarisSDKContextManager polarisSDKContextManager) {
-		return new ExceptionCircuitBreakerReporter(properties, polarisSDKContextManager.getCircuitBreakAPI());
+			PolarisSDKContextManager polarisSDKContextManager, ObjectProvider<FailureStatusClassifier> failureStatusClassifier,
+			ObjectProvider<AsyncReportExecutor> asyncReportExecutor) {
+		return new ExceptionCircuitBreakerReporter(properties, polarisSDKContextManager.getCircuitBreakAPI(),
+				failureStatusClassifier.getIfAvailable(() -> new FailureStatusClassifier(properties)),
+				asyncReportExecutor.getIfAvailable());
 	}
 
 	@Bean
 	@ConditionalOnMissingBean(ReactiveCircuitBreakerFactory.class)
-	public ReactiveCircuitBreakerFactory polarisReactiveCircuitBreakerFactory(PolarisSDKContextManager polarisSDKContextManager) {
+	public ReactiveCircuitBreakerFactory polarisReactiveCircuitBreakerFactory(PolarisSDKContextManager polarisSDKContextManager,
+			@Value("${spring.cloud.polaris.circuitbreaker.cache-max-size:1024}") int cacheMaxSize) {
 		ReactivePolarisCircuitBreakerFactory factory = new ReactivePolarisCircuitBreakerFactory(
-				polarisSDKContextManager.getCircuitBreakAPI(), polarisSDKContextManager.getConsumerAPI());
+				polarisSDKContextManager.getCircuitBreakAPI(), polarisSDKContextManager.getConsumerAPI(), cacheMaxSize);
 		customizers.forEach(customizer -> customizer.customize(factory));
 		return factory;
 	}
@@ -26,6 +26,8 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.util.JsonFormat;
 import com.tencent.cloud.common.metadata.MetadataContext;
 import com.tencent.cloud.common.util.JacksonUtils;
+import com.tencent.cloud.polaris.circuitbreaker.PolarisCircuitBreakerFactory;
+import com.tencent.cloud.polaris.circuitbreaker.ReactivePolarisCircuitBreakerFactory;
 import com.tencent.cloud.polaris.context.ServiceRuleManager;
 import com.tencent.polaris.api.utils.CollectionUtils;
 import com.tencent.polaris.specification.api.v1.fault.tolerance.CircuitBreakerProto;
@@ -35,9 +37,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
 import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.lang.Nullable;
 
 /**
- * Endpoint of polaris circuit breaker, include circuit breaker rules.
+ * Endpoint of polaris circuit breaker, include circuit breaker rules and metrics of cached circuit breakers.
  *
  * @author wenxuan70
  */
@@ -48,8 +53,34 @@ public class PolarisCircuitBreakerEndpoint {
 
 	private final ServiceRuleManager serviceRuleManager;
 
+	private final CircuitBreakerFactory<?, ?> circuitBreakerFactory;
+
+	private final ReactiveCircuitBreakerFactory<?, ?> reactiveCircuitBreakerFactory;
+
 	public PolarisCircuitBreakerEndpoint(ServiceRuleManager serviceRuleManager) {
+		this(serviceRuleManager, null, null);
+	}
+
+	public PolarisCircuitBreakerEndpoint(ServiceRuleManager serviceRuleManager,
+			@Nullable CircuitBreakerFactory<?, ?> circuitBreakerFactory,
+			@Nullable ReactiveCircuitBreakerFactory<?, ?> reactiveCircuitBreakerFactory) {
 		this.serviceRuleManager = serviceRuleManager;
+		this.circuitBreakerFactory = circuitBreakerFactory;
+		this.reactiveCircuitBreakerFactory = reactiveCircuitBreakerFactory;
+	}
+
+	@ReadOperation
+	public Map<String, Object> circuitBreakerCache() {
+		Map<String, Object> polarisCircuitBreakerCacheInfo = new HashMap<>();
+		if (circuitBreakerFactory instanceof PolarisCircuitBreakerFactory) {
+			polarisCircuitBreakerCacheInfo.put("circuitBreakerCache",
+					((PolarisCircuitBreakerFactory) circuitBreakerFactory).getCircuitBreakerCache().getMetrics());
+		}
+		if (reactiveCircuitBreakerFactory instanceof ReactivePolarisCircuitBreakerFactory) {
+			polarisCircuitBreakerCacheInfo.put("reactiveCircuitBreakerCache",
+					((ReactivePolarisCircuitBreakerFactory) reactiveCircuitBreakerFactory).getCircuitBreakerCache().getMetrics());
+		}
+		return polarisCircuitBreakerCacheInfo;
 	}
 
 	@ReadOperation
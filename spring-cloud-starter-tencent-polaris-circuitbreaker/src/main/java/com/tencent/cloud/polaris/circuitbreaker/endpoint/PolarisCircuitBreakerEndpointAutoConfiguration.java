@@ -20,11 +20,14 @@ package com.tencent.cloud.polaris.circuitbreaker.endpoint;
 import com.tencent.cloud.polaris.circuitbreaker.config.ConditionalOnPolarisCircuitBreakerEnabled;
 import com.tencent.cloud.polaris.context.ServiceRuleManager;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -42,8 +45,11 @@ public class PolarisCircuitBreakerEndpointAutoConfiguration {
 	@ConditionalOnBean(ServiceRuleManager.class)
 	@ConditionalOnMissingBean
 	@ConditionalOnAvailableEndpoint
-	public PolarisCircuitBreakerEndpoint polarisCircuitBreakerEndpoint(ServiceRuleManager serviceRuleManager) {
-		return new PolarisCircuitBreakerEndpoint(serviceRuleManager);
+	public PolarisCircuitBreakerEndpoint polarisCircuitBreakerEndpoint(ServiceRuleManager serviceRuleManager,
+			ObjectProvider<CircuitBreakerFactory> circuitBreakerFactory,
+			ObjectProvider<ReactiveCircuitBreakerFactory> reactiveCircuitBreakerFactory) {
+		return new PolarisCircuitBreakerEndpoint(serviceRuleManager, circuitBreakerFactory.getIfAvailable(),
+				reactiveCircuitBreakerFactory.getIfAvailable());
 	}
 
 }
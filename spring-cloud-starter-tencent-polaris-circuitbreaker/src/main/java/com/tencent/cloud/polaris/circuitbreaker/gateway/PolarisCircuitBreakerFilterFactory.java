@@ -28,6 +28,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import com.tencent.cloud.rpc.enhancement.plugin.PathTemplateResolver;
 import com.tencent.polaris.api.pojo.CircuitBreakerStatus;
 import com.tencent.polaris.circuitbreak.client.exception.CallAbortedException;
 import reactor.core.publisher.Flux;
@@ -49,6 +50,7 @@ import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.lang.Nullable;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.DispatcherHandler;
@@ -78,6 +80,8 @@ public class PolarisCircuitBreakerFilterFactory extends SpringCloudCircuitBreake
 
 	private final ObjectProvider<DispatcherHandler> dispatcherHandlerProvider;
 
+	private final PathTemplateResolver pathTemplateResolver;
+
 	// do not use this dispatcherHandler directly, use getDispatcherHandler() instead.
 	private volatile DispatcherHandler dispatcherHandler;
 
@@ -86,10 +90,21 @@ public class PolarisCircuitBreakerFilterFactory extends SpringCloudCircuitBreake
 			ObjectProvider<DispatcherHandler> dispatcherHandlerProvider,
 			ReactiveDiscoveryClient discoveryClient,
 			DiscoveryLocatorProperties properties
+	) {
+		this(reactiveCircuitBreakerFactory, dispatcherHandlerProvider, discoveryClient, properties, null);
+	}
+
+	public PolarisCircuitBreakerFilterFactory(
+			ReactiveCircuitBreakerFactory reactiveCircuitBreakerFactory,
+			ObjectProvider<DispatcherHandler> dispatcherHandlerProvider,
+			ReactiveDiscoveryClient discoveryClient,
+			DiscoveryLocatorProperties properties,
+			@Nullable PathTemplateResolver pathTemplateResolver
 	) {
 		super(reactiveCircuitBreakerFactory, dispatcherHandlerProvider);
 		this.reactiveCircuitBreakerFactory = reactiveCircuitBreakerFactory;
 		this.dispatcherHandlerProvider = dispatcherHandlerProvider;
+		this.pathTemplateResolver = pathTemplateResolver;
 		if (discoveryClient != null && properties != null) {
 			if (StringUtils.hasText(properties.getRouteIdPrefix())) {
 				routeIdPrefix = properties.getRouteIdPrefix();
@@ -189,6 +204,9 @@ public class PolarisCircuitBreakerFilterFactory extends SpringCloudCircuitBreake
 					serviceName = route.getUri().getHost();
 				}
 				String path = exchange.getRequest().getPath().value();
+				if (pathTemplateResolver != null) {
+					path = pathTemplateResolver.resolve(null, path);
+				}
 				ReactiveCircuitBreaker cb = reactiveCircuitBreakerFactory.create(serviceName + "#" + path);
 				return cb.run(
 						chain.filter(exchange)
@@ -18,12 +18,14 @@
 package com.tencent.cloud.polaris.circuitbreaker.reporter;
 
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import com.tencent.cloud.rpc.enhancement.config.RpcEnhancementReporterProperties;
 import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPlugin;
 import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPluginContext;
 import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPluginType;
 import com.tencent.cloud.rpc.enhancement.plugin.EnhancedRequestContext;
+import com.tencent.cloud.rpc.enhancement.plugin.FailureStatusClassifier;
 import com.tencent.cloud.rpc.enhancement.plugin.PolarisEnhancedPluginUtils;
 import com.tencent.polaris.api.plugin.circuitbreaker.ResourceStat;
 import com.tencent.polaris.circuitbreak.api.CircuitBreakAPI;
@@ -48,10 +50,21 @@ public class ExceptionCircuitBreakerReporter implements EnhancedPlugin {
 
 	private final RpcEnhancementReporterProperties reportProperties;
 
+	private final FailureStatusClassifier failureStatusClassifier;
+
+	private final Executor reportExecutor;
+
 	public ExceptionCircuitBreakerReporter(RpcEnhancementReporterProperties reportProperties,
 			CircuitBreakAPI circuitBreakAPI) {
+		this(reportProperties, circuitBreakAPI, new FailureStatusClassifier(reportProperties), null);
+	}
+
+	public ExceptionCircuitBreakerReporter(RpcEnhancementReporterProperties reportProperties,
+			CircuitBreakAPI circuitBreakAPI, FailureStatusClassifier failureStatusClassifier, Executor reportExecutor) {
 		this.reportProperties = reportProperties;
 		this.circuitBreakAPI = circuitBreakAPI;
+		this.failureStatusClassifier = failureStatusClassifier;
+		this.reportExecutor = reportExecutor == null ? Runnable::run : reportExecutor;
 	}
 
 	@Override
@@ -80,13 +93,14 @@ public class ExceptionCircuitBreakerReporter implements EnhancedPlugin {
 				request.getUrl(),
 				null,
 				context.getDelay(),
-				context.getThrowable()
+				context.getThrowable(),
+				failureStatusClassifier
 		);
 
 		LOG.debug("Will report CircuitBreaker ResourceStat of {}. Request=[{} {}]. Response=[{}]. Delay=[{}]ms.",
 				resourceStat.getRetStatus().name(), request.getHttpMethod().name(), request.getUrl().getPath(), context.getThrowable().getMessage(), context.getDelay());
 
-		circuitBreakAPI.report(resourceStat);
+		reportExecutor.execute(() -> circuitBreakAPI.report(resourceStat));
 
 	}
 
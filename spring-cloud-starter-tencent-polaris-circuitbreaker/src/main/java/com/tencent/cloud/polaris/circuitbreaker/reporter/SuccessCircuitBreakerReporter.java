@@ -18,6 +18,7 @@
 package com.tencent.cloud.polaris.circuitbreaker.reporter;
 
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import com.tencent.cloud.rpc.enhancement.config.RpcEnhancementReporterProperties;
 import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPlugin;
@@ -25,6 +26,7 @@ import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPluginContext;
 import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPluginType;
 import com.tencent.cloud.rpc.enhancement.plugin.EnhancedRequestContext;
 import com.tencent.cloud.rpc.enhancement.plugin.EnhancedResponseContext;
+import com.tencent.cloud.rpc.enhancement.plugin.FailureStatusClassifier;
 import com.tencent.cloud.rpc.enhancement.plugin.PolarisEnhancedPluginUtils;
 import com.tencent.cloud.rpc.enhancement.plugin.reporter.SuccessPolarisReporter;
 import com.tencent.polaris.api.plugin.circuitbreaker.ResourceStat;
@@ -50,10 +52,21 @@ public class SuccessCircuitBreakerReporter implements EnhancedPlugin {
 
 	private final RpcEnhancementReporterProperties reportProperties;
 
+	private final FailureStatusClassifier failureStatusClassifier;
+
+	private final Executor reportExecutor;
+
 	public SuccessCircuitBreakerReporter(RpcEnhancementReporterProperties reportProperties,
 			CircuitBreakAPI circuitBreakAPI) {
+		this(reportProperties, circuitBreakAPI, new FailureStatusClassifier(reportProperties), null);
+	}
+
+	public SuccessCircuitBreakerReporter(RpcEnhancementReporterProperties reportProperties,
+			CircuitBreakAPI circuitBreakAPI, FailureStatusClassifier failureStatusClassifier, Executor reportExecutor) {
 		this.reportProperties = reportProperties;
 		this.circuitBreakAPI = circuitBreakAPI;
+		this.failureStatusClassifier = failureStatusClassifier;
+		this.reportExecutor = reportExecutor == null ? Runnable::run : reportExecutor;
 	}
 
 	@Override
@@ -82,13 +95,14 @@ public class SuccessCircuitBreakerReporter implements EnhancedPlugin {
 				request.getUrl(),
 				response.getHttpStatus(),
 				context.getDelay(),
-				null
+				null,
+				failureStatusClassifier
 		);
 
 		LOG.debug("Will report CircuitBreaker ResourceStat of {}. Request=[{} {}]. Response=[{}]. Delay=[{}]ms.",
 				resourceStat.getRetStatus().name(), request.getHttpMethod().name(), request.getUrl().getPath(), response.getHttpStatus(), context.getDelay());
 
-		circuitBreakAPI.report(resourceStat);
+		reportExecutor.execute(() -> circuitBreakAPI.report(resourceStat));
 	}
 
 	@Override
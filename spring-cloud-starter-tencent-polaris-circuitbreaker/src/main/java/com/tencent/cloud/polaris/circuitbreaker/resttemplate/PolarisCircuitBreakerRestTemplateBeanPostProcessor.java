@@ -19,6 +19,9 @@ package com.tencent.cloud.polaris.circuitbreaker.resttemplate;
 
 import java.util.concurrent.ConcurrentHashMap;
 
+import com.tencent.cloud.rpc.enhancement.config.RpcEnhancementPathTemplateProperties;
+import com.tencent.cloud.rpc.enhancement.plugin.PathTemplateResolver;
+
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
@@ -89,7 +92,10 @@ public class PolarisCircuitBreakerRestTemplateBeanPostProcessor implements Merge
 			RestTemplate restTemplate = (RestTemplate) bean;
 			String interceptorBeanName = interceptorBeanNamePrefix + "@" + bean;
 			CircuitBreakerFactory circuitBreakerFactory = this.applicationContext.getBean(CircuitBreakerFactory.class);
-			registerBean(interceptorBeanName, polarisCircuitBreaker, applicationContext, circuitBreakerFactory, restTemplate);
+			PathTemplateResolver pathTemplateResolver = this.applicationContext.getBeanProvider(PathTemplateResolver.class)
+					.getIfAvailable(() -> new PathTemplateResolver(new RpcEnhancementPathTemplateProperties()));
+			registerBean(interceptorBeanName, polarisCircuitBreaker, applicationContext, circuitBreakerFactory, restTemplate,
+					pathTemplateResolver);
 			PolarisCircuitBreakerRestTemplateInterceptor polarisCircuitBreakerRestTemplateInterceptor = applicationContext
 					.getBean(interceptorBeanName, PolarisCircuitBreakerRestTemplateInterceptor.class);
 			restTemplate.getInterceptors().add(0, polarisCircuitBreakerRestTemplateInterceptor);
@@ -106,7 +112,8 @@ public class PolarisCircuitBreakerRestTemplateBeanPostProcessor implements Merge
 	}
 
 	private void registerBean(String interceptorBeanName, PolarisCircuitBreaker polarisCircuitBreaker,
-			ApplicationContext applicationContext, CircuitBreakerFactory circuitBreakerFactory, RestTemplate restTemplate) {
+			ApplicationContext applicationContext, CircuitBreakerFactory circuitBreakerFactory, RestTemplate restTemplate,
+			PathTemplateResolver pathTemplateResolver) {
 		// register PolarisCircuitBreakerRestTemplateInterceptor bean
 		DefaultListableBeanFactory beanFactory = (DefaultListableBeanFactory) applicationContext
 				.getAutowireCapableBeanFactory();
@@ -116,6 +123,7 @@ public class PolarisCircuitBreakerRestTemplateBeanPostProcessor implements Merge
 		beanDefinitionBuilder.addConstructorArgValue(applicationContext);
 		beanDefinitionBuilder.addConstructorArgValue(circuitBreakerFactory);
 		beanDefinitionBuilder.addConstructorArgValue(restTemplate);
+		beanDefinitionBuilder.addConstructorArgValue(pathTemplateResolver);
 		BeanDefinition interceptorBeanDefinition = beanDefinitionBuilder
 				.getRawBeanDefinition();
 		beanFactory.registerBeanDefinition(interceptorBeanName,
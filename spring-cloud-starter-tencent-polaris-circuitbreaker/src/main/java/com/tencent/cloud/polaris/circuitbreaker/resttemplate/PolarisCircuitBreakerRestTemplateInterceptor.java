@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.lang.reflect.Method;
 
 import com.tencent.cloud.polaris.circuitbreaker.exception.FallbackWrapperException;
+import com.tencent.cloud.rpc.enhancement.plugin.PathTemplateResolver;
 import com.tencent.polaris.api.pojo.CircuitBreakerStatus;
 import com.tencent.polaris.circuitbreak.client.exception.CallAbortedException;
 
@@ -30,6 +31,7 @@ import org.springframework.http.HttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.client.ResponseErrorHandler;
@@ -50,22 +52,39 @@ public class PolarisCircuitBreakerRestTemplateInterceptor implements ClientHttpR
 
 	private final RestTemplate restTemplate;
 
+	private final PathTemplateResolver pathTemplateResolver;
+
 	public PolarisCircuitBreakerRestTemplateInterceptor(
 			PolarisCircuitBreaker polarisCircuitBreaker,
 			ApplicationContext applicationContext,
 			CircuitBreakerFactory circuitBreakerFactory,
 			RestTemplate restTemplate
+	) {
+		this(polarisCircuitBreaker, applicationContext, circuitBreakerFactory, restTemplate, null);
+	}
+
+	public PolarisCircuitBreakerRestTemplateInterceptor(
+			PolarisCircuitBreaker polarisCircuitBreaker,
+			ApplicationContext applicationContext,
+			CircuitBreakerFactory circuitBreakerFactory,
+			RestTemplate restTemplate,
+			@Nullable PathTemplateResolver pathTemplateResolver
 	) {
 		this.polarisCircuitBreaker = polarisCircuitBreaker;
 		this.applicationContext = applicationContext;
 		this.circuitBreakerFactory = circuitBreakerFactory;
 		this.restTemplate =  restTemplate;
+		this.pathTemplateResolver = pathTemplateResolver;
 	}
 
 	@Override
 	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
 		try {
-			return circuitBreakerFactory.create(request.getURI().getHost() + "#" + request.getURI().getPath()).run(
+			String path = request.getURI().getPath();
+			if (pathTemplateResolver != null) {
+				path = pathTemplateResolver.resolve(null, path);
+			}
+			return circuitBreakerFactory.create(request.getURI().getHost() + "#" + path).run(
 					() -> {
 						try {
 							ClientHttpResponse response = execution.execute(request, body);
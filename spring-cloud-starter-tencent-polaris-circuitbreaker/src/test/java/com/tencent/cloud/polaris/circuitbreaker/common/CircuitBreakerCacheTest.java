@@ -0,0 +1,89 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.polaris.circuitbreaker.common;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for {@link CircuitBreakerCache}.
+ *
+ * @author Haotian Zhang
+ */
+public class CircuitBreakerCacheTest {
+
+	@Test
+	public void testGet() {
+		CircuitBreakerCache<Object> cache = new CircuitBreakerCache<>(16);
+		AtomicInteger created = new AtomicInteger();
+
+		Object first = cache.get("svc#method", id -> {
+			created.incrementAndGet();
+			return new Object();
+		});
+		Object second = cache.get("svc#method", id -> {
+			created.incrementAndGet();
+			return new Object();
+		});
+
+		assertThat(second).isSameAs(first);
+		assertThat(created.get()).isEqualTo(1);
+		assertThat(cache.getMetrics())
+				.containsEntry("size", 1L)
+				.containsEntry("hitCount", 1L)
+				.containsEntry("missCount", 1L)
+				.containsEntry("hitRatio", 0.5D);
+	}
+
+	@Test
+	public void testEviction() {
+		CircuitBreakerCache<String> cache = new CircuitBreakerCache<>(2);
+		for (int i = 0; i < 10; i++) {
+			cache.get("svc" + i, id -> id);
+		}
+
+		assertThat(cache.getSize()).isLessThanOrEqualTo(2);
+		assertThat((Long) cache.getMetrics().get("evictionCount")).isGreaterThanOrEqualTo(8L);
+	}
+
+	@Test
+	public void testInvalidate() {
+		CircuitBreakerCache<Object> cache = new CircuitBreakerCache<>(16);
+		Object first = cache.get("a", id -> new Object());
+		cache.get("b", id -> new Object());
+
+		cache.invalidate("a");
+		assertThat(cache.getSize()).isEqualTo(1);
+		assertThat(cache.get("a", id -> new Object())).isNotSameAs(first);
+
+		cache.invalidateAll();
+		assertThat(cache.getSize()).isEqualTo(0);
+	}
+
+	@Test
+	public void testCreateFailed() {
+		CircuitBreakerCache<Object> cache = new CircuitBreakerCache<>(16);
+		assertThatThrownBy(() -> cache.get("a", id -> {
+			throw new IllegalArgumentException("bad id");
+		})).isInstanceOf(IllegalArgumentException.class).hasMessage("bad id");
+	}
+}
@@ -21,7 +21,10 @@ import java.util.Map;
 
 import com.google.protobuf.StringValue;
 import com.tencent.cloud.common.util.ApplicationContextAwareUtils;
+import com.tencent.cloud.polaris.circuitbreaker.PolarisCircuitBreakerFactory;
 import com.tencent.cloud.polaris.context.ServiceRuleManager;
+import com.tencent.polaris.api.core.ConsumerAPI;
+import com.tencent.polaris.circuitbreak.api.CircuitBreakAPI;
 import com.tencent.polaris.specification.api.v1.fault.tolerance.CircuitBreakerProto;
 import com.tencent.polaris.specification.api.v1.model.ModelProto;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,6 +33,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreaker;
 
 import static com.tencent.polaris.test.common.Consts.NAMESPACE_TEST;
 import static com.tencent.polaris.test.common.Consts.SERVICE_PROVIDER;
@@ -81,4 +85,26 @@ public class PolarisCircuitBreakerEndpointTest {
 			assertThat(circuitBreakerInfo.get("circuitBreakerRules")).asList().isNotEmpty();
 		});
 	}
+
+	@Test
+	public void testCircuitBreakerCache() {
+		contextRunner.run(context -> {
+			PolarisCircuitBreakerFactory factory = new PolarisCircuitBreakerFactory(mock(CircuitBreakAPI.class),
+					mock(ConsumerAPI.class), 1);
+			PolarisCircuitBreakerEndpoint endpoint = new PolarisCircuitBreakerEndpoint(serviceRuleManager, factory, null);
+			assertThat(endpoint.circuitBreaker("svc1").get("circuitBreakerRules")).asList().isNotEmpty();
+
+			CircuitBreaker circuitBreaker = factory.create("svc1#method");
+			assertThat(factory.create("svc1#method")).isSameAs(circuitBreaker);
+			factory.create("svc2#method");
+
+			Map<String, Object> cacheInfo = endpoint.circuitBreakerCache();
+			assertThat(cacheInfo).containsOnlyKeys("circuitBreakerCache");
+			assertThat((Map<String, Object>) cacheInfo.get("circuitBreakerCache"))
+					.containsEntry("size", 1L)
+					.containsEntry("hitCount", 1L)
+					.containsEntry("missCount", 2L)
+					.containsEntry("evictionCount", 1L);
+		});
+	}
 }
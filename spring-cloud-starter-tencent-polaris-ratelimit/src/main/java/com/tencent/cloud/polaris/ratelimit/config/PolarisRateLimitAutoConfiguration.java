@@ -24,15 +24,19 @@ import com.tencent.cloud.polaris.context.ServiceRuleManager;
 import com.tencent.cloud.polaris.context.config.PolarisContextAutoConfiguration;
 import com.tencent.cloud.polaris.ratelimit.filter.QuotaCheckReactiveFilter;
 import com.tencent.cloud.polaris.ratelimit.filter.QuotaCheckServletFilter;
+import com.tencent.cloud.polaris.ratelimit.filter.ReactiveQuotaAcquirer;
+import com.tencent.cloud.polaris.ratelimit.filter.UnirateWaitScheduler;
 import com.tencent.cloud.polaris.ratelimit.resolver.RateLimitRuleArgumentReactiveResolver;
 import com.tencent.cloud.polaris.ratelimit.resolver.RateLimitRuleArgumentServletResolver;
 import com.tencent.cloud.polaris.ratelimit.spi.PolarisRateLimiterLabelReactiveResolver;
 import com.tencent.cloud.polaris.ratelimit.spi.PolarisRateLimiterLabelServletResolver;
 import com.tencent.cloud.polaris.ratelimit.spi.PolarisRateLimiterLimitedFallback;
+import com.tencent.cloud.rpc.enhancement.plugin.PathTemplateResolver;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
@@ -74,9 +78,19 @@ public class PolarisRateLimitAutoConfiguration {
 		public QuotaCheckServletFilter quotaCheckFilter(PolarisSDKContextManager polarisSDKContextManager,
 				PolarisRateLimitProperties polarisRateLimitProperties,
 				RateLimitRuleArgumentServletResolver rateLimitRuleArgumentResolver,
-				@Autowired(required = false) PolarisRateLimiterLimitedFallback polarisRateLimiterLimitedFallback) {
+				@Autowired(required = false) PolarisRateLimiterLimitedFallback polarisRateLimiterLimitedFallback,
+				@Autowired(required = false) PathTemplateResolver pathTemplateResolver,
+				@Autowired(required = false) UnirateWaitScheduler unirateWaitScheduler) {
 			return new QuotaCheckServletFilter(polarisSDKContextManager.getLimitAPI(), polarisRateLimitProperties,
-					rateLimitRuleArgumentResolver, polarisRateLimiterLimitedFallback);
+					rateLimitRuleArgumentResolver, polarisRateLimiterLimitedFallback, pathTemplateResolver,
+					unirateWaitScheduler);
+		}
+
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnProperty(value = "spring.cloud.polaris.ratelimit.async-queuing", havingValue = "true")
+		public UnirateWaitScheduler unirateWaitScheduler() {
+			return new UnirateWaitScheduler();
 		}
 
 		@Bean
@@ -109,9 +123,23 @@ public class PolarisRateLimitAutoConfiguration {
 		public QuotaCheckReactiveFilter quotaCheckReactiveFilter(PolarisSDKContextManager polarisSDKContextManager,
 				PolarisRateLimitProperties polarisRateLimitProperties,
 				RateLimitRuleArgumentReactiveResolver rateLimitRuleArgumentResolver,
-				@Nullable PolarisRateLimiterLimitedFallback polarisRateLimiterLimitedFallback) {
+				@Nullable PolarisRateLimiterLimitedFallback polarisRateLimiterLimitedFallback,
+				@Autowired(required = false) PathTemplateResolver pathTemplateResolver,
+				@Autowired(required = false) ReactiveQuotaAcquirer reactiveQuotaAcquirer) {
 			return new QuotaCheckReactiveFilter(polarisSDKContextManager.getLimitAPI(), polarisRateLimitProperties,
-					rateLimitRuleArgumentResolver, polarisRateLimiterLimitedFallback);
+					rateLimitRuleArgumentResolver, polarisRateLimiterLimitedFallback, pathTemplateResolver,
+					reactiveQuotaAcquirer);
+		}
+
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnProperty(value = "spring.cloud.polaris.ratelimit.prefetch.enabled", havingValue = "true")
+		public ReactiveQuotaAcquirer reactiveQuotaAcquirer(PolarisSDKContextManager polarisSDKContextManager,
+				PolarisRateLimitProperties polarisRateLimitProperties, ServiceRuleManager serviceRuleManager) {
+			PolarisRateLimitProperties.Prefetch prefetch = polarisRateLimitProperties.getPrefetch();
+			return new ReactiveQuotaAcquirer(polarisSDKContextManager.getLimitAPI(), prefetch.getBatchSize(),
+					prefetch.getClusterBatchSize(), prefetch.getExpireMs(), prefetch.getMaxBuckets(),
+					serviceRuleManager);
 		}
 	}
 }
@@ -49,6 +49,21 @@ public class PolarisRateLimitProperties {
 	 */
 	private long maxQueuingTime = 1000L;
 
+	/**
+	 * Whether servlet requests queuing for unirate quota are suspended asynchronously instead of sleeping.
+	 */
+	private boolean asyncQueuing = false;
+
+	/**
+	 * Whether requests whose path no rate limit rule covers skip quota checking.
+	 */
+	private boolean preFilter = false;
+
+	/**
+	 * Quota prefetching of reactive filter.
+	 */
+	private Prefetch prefetch = new Prefetch();
+
 	public String getRejectRequestTips() {
 		return rejectRequestTips;
 	}
@@ -80,4 +95,101 @@ public class PolarisRateLimitProperties {
 	public void setMaxQueuingTime(long maxQueuingTime) {
 		this.maxQueuingTime = maxQueuingTime;
 	}
+
+	public boolean isAsyncQueuing() {
+		return asyncQueuing;
+	}
+
+	public void setAsyncQueuing(boolean asyncQueuing) {
+		this.asyncQueuing = asyncQueuing;
+	}
+
+	public boolean isPreFilter() {
+		return preFilter;
+	}
+
+	public void setPreFilter(boolean preFilter) {
+		this.preFilter = preFilter;
+	}
+
+	public Prefetch getPrefetch() {
+		return prefetch;
+	}
+
+	public void setPrefetch(Prefetch prefetch) {
+		this.prefetch = prefetch;
+	}
+
+	/**
+	 * Properties of quota prefetching, which makes reactive filter not call limit API on the event loop.
+	 */
+	public static class Prefetch {
+
+		/**
+		 * Whether pre-fetch quota in batches for reactive filter.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * Count of quota pre-fetched in one batch. Quota which expires unused has already been counted by the limit
+		 * server, so a larger batch wastes more quota of the window.
+		 */
+		private int batchSize = 10;
+
+		/**
+		 * Count of quota pre-fetched in one batch for a service with cluster rule, whose quota is shared by all
+		 * instances. It is capped by {@link #batchSize}.
+		 */
+		private int clusterBatchSize = 1;
+
+		/**
+		 * Expiration of pre-fetched quota in milliseconds, which should not be longer than the limit window.
+		 */
+		private long expireMs = 1000L;
+
+		/**
+		 * Max count of local buckets of pre-fetched quota.
+		 */
+		private int maxBuckets = 1024;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getBatchSize() {
+			return batchSize;
+		}
+
+		public void setBatchSize(int batchSize) {
+			this.batchSize = batchSize;
+		}
+
+		public int getClusterBatchSize() {
+			return clusterBatchSize;
+		}
+
+		public void setClusterBatchSize(int clusterBatchSize) {
+			this.clusterBatchSize = clusterBatchSize;
+		}
+
+		public long getExpireMs() {
+			return expireMs;
+		}
+
+		public void setExpireMs(long expireMs) {
+			this.expireMs = expireMs;
+		}
+
+		public int getMaxBuckets() {
+			return maxBuckets;
+		}
+
+		public void setMaxBuckets(int maxBuckets) {
+			this.maxBuckets = maxBuckets;
+		}
+	}
 }
@@ -30,11 +30,15 @@ import javax.annotation.PostConstruct;
 import com.tencent.cloud.common.constant.HeaderConstant;
 import com.tencent.cloud.common.constant.OrderConstant;
 import com.tencent.cloud.common.metadata.MetadataContext;
+import com.tencent.cloud.common.metadata.MetadataContextReactorHooks;
+import com.tencent.cloud.common.metadata.ReactiveMetadataContextHolder;
 import com.tencent.cloud.polaris.ratelimit.config.PolarisRateLimitProperties;
+import com.tencent.cloud.polaris.ratelimit.resolver.RateLimitArgumentPlan;
 import com.tencent.cloud.polaris.ratelimit.resolver.RateLimitRuleArgumentReactiveResolver;
 import com.tencent.cloud.polaris.ratelimit.spi.PolarisRateLimiterLimitedFallback;
 import com.tencent.cloud.polaris.ratelimit.utils.QuotaCheckUtils;
 import com.tencent.cloud.polaris.ratelimit.utils.RateLimitUtils;
+import com.tencent.cloud.rpc.enhancement.plugin.PathTemplateResolver;
 import com.tencent.polaris.api.pojo.RetStatus;
 import com.tencent.polaris.ratelimit.api.core.LimitAPI;
 import com.tencent.polaris.ratelimit.api.rpc.Argument;
@@ -72,6 +76,10 @@ public class QuotaCheckReactiveFilter implements WebFilter, Ordered {
 
 	private final PolarisRateLimiterLimitedFallback polarisRateLimiterLimitedFallback;
 
+	private final PathTemplateResolver pathTemplateResolver;
+
+	private final ReactiveQuotaAcquirer reactiveQuotaAcquirer;
+
 
 	private String rejectTips;
 
@@ -79,10 +87,22 @@ public class QuotaCheckReactiveFilter implements WebFilter, Ordered {
 			PolarisRateLimitProperties polarisRateLimitProperties,
 			RateLimitRuleArgumentReactiveResolver rateLimitRuleArgumentResolver,
 			@Nullable PolarisRateLimiterLimitedFallback polarisRateLimiterLimitedFallback) {
+		this(limitAPI, polarisRateLimitProperties, rateLimitRuleArgumentResolver, polarisRateLimiterLimitedFallback,
+				null, null);
+	}
+
+	public QuotaCheckReactiveFilter(LimitAPI limitAPI,
+			PolarisRateLimitProperties polarisRateLimitProperties,
+			RateLimitRuleArgumentReactiveResolver rateLimitRuleArgumentResolver,
+			@Nullable PolarisRateLimiterLimitedFallback polarisRateLimiterLimitedFallback,
+			@Nullable PathTemplateResolver pathTemplateResolver,
+			@Nullable ReactiveQuotaAcquirer reactiveQuotaAcquirer) {
 		this.limitAPI = limitAPI;
 		this.polarisRateLimitProperties = polarisRateLimitProperties;
 		this.rateLimitRuleArgumentResolver = rateLimitRuleArgumentResolver;
 		this.polarisRateLimiterLimitedFallback = polarisRateLimiterLimitedFallback;
+		this.pathTemplateResolver = pathTemplateResolver;
+		this.reactiveQuotaAcquirer = reactiveQuotaAcquirer;
 	}
 
 	@PostConstruct
@@ -100,13 +120,37 @@ public class QuotaCheckReactiveFilter implements WebFilter, Ordered {
 		String localNamespace = MetadataContext.LOCAL_NAMESPACE;
 		String localService = MetadataContext.LOCAL_SERVICE;
 
-		Set<Argument> arguments = rateLimitRuleArgumentResolver.getArguments(exchange, localNamespace, localService);
+		RateLimitArgumentPlan argumentPlan = rateLimitRuleArgumentResolver.getArgumentPlan(localNamespace, localService);
+		String requestPath = exchange.getRequest().getURI().getPath();
+		String path = pathTemplateResolver == null ? requestPath : pathTemplateResolver.collapse(requestPath);
+		if (polarisRateLimitProperties.isPreFilter() && !argumentPlan.getPathIndex().matches(path)) {
+			// No rule covers the path.
+			return chain.filter(exchange);
+		}
+		Set<Argument> arguments = rateLimitRuleArgumentResolver.getArguments(exchange, argumentPlan);
+
+		QuotaResponse quotaResponse;
+		if (reactiveQuotaAcquirer == null) {
+			quotaResponse = QuotaCheckUtils.getQuota(limitAPI, localNamespace, localService, 1, arguments, path);
+		}
+		else {
+			quotaResponse = reactiveQuotaAcquirer.tryAcquire(localNamespace, localService, arguments, path);
+			if (quotaResponse == null) {
+				// No pre-fetched quota, acquire it without blocking the event loop. The rest of the chain continues
+				// on the thread of the acquirer, so metadata context of the request is bound to it.
+				MetadataContext metadataContext = ReactiveMetadataContextHolder.get(exchange);
+				return MetadataContextReactorHooks.bindThreadLocal(
+						reactiveQuotaAcquirer.acquire(localNamespace, localService, arguments, path), metadataContext)
+						.flatMap(response -> checkQuota(exchange, chain, path, response));
+			}
+		}
+		return checkQuota(exchange, chain, path, quotaResponse);
+	}
+
+	private Mono<Void> checkQuota(ServerWebExchange exchange, WebFilterChain chain, String path,
+			QuotaResponse quotaResponse) {
 		long waitMs = -1;
 		try {
-			String path = exchange.getRequest().getURI().getPath();
-			QuotaResponse quotaResponse = QuotaCheckUtils.getQuota(
-					limitAPI, localNamespace, localService, 1, arguments, path);
-
 			if (quotaResponse.getCode() == QuotaResultCode.QuotaResultLimited) {
 				ServerHttpResponse response = exchange.getResponse();
 				DataBuffer dataBuffer;
@@ -147,11 +191,13 @@ public class QuotaCheckReactiveFilter implements WebFilter, Ordered {
 		catch (Throwable t) {
 			// An exception occurs in the rate limiting API call,
 			// which should not affect the call of the business process.
-			LOG.error("fail to invoke getQuota, service is " + localService, t);
+			LOG.error("fail to invoke getQuota, service is " + MetadataContext.LOCAL_SERVICE, t);
 		}
 
 		if (waitMs > 0) {
-			return Mono.delay(Duration.ofMillis(waitMs)).flatMap(e -> chain.filter(exchange));
+			MetadataContext metadataContext = ReactiveMetadataContextHolder.get(exchange);
+			return MetadataContextReactorHooks.bindThreadLocal(Mono.delay(Duration.ofMillis(waitMs)), metadataContext)
+					.flatMap(e -> chain.filter(exchange));
 		}
 		else {
 			return chain.filter(exchange);
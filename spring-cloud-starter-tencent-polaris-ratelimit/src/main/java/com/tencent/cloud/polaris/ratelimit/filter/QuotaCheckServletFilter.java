@@ -23,8 +23,10 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.annotation.PostConstruct;
+import javax.servlet.AsyncContext;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -33,11 +35,14 @@ import javax.servlet.http.HttpServletResponse;
 import com.tencent.cloud.common.constant.HeaderConstant;
 import com.tencent.cloud.common.constant.OrderConstant;
 import com.tencent.cloud.common.metadata.MetadataContext;
+import com.tencent.cloud.common.metadata.MetadataContextHolder;
 import com.tencent.cloud.polaris.ratelimit.config.PolarisRateLimitProperties;
+import com.tencent.cloud.polaris.ratelimit.resolver.RateLimitArgumentPlan;
 import com.tencent.cloud.polaris.ratelimit.resolver.RateLimitRuleArgumentServletResolver;
 import com.tencent.cloud.polaris.ratelimit.spi.PolarisRateLimiterLimitedFallback;
 import com.tencent.cloud.polaris.ratelimit.utils.QuotaCheckUtils;
 import com.tencent.cloud.polaris.ratelimit.utils.RateLimitUtils;
+import com.tencent.cloud.rpc.enhancement.plugin.PathTemplateResolver;
 import com.tencent.polaris.api.pojo.RetStatus;
 import com.tencent.polaris.ratelimit.api.core.LimitAPI;
 import com.tencent.polaris.ratelimit.api.rpc.Argument;
@@ -56,6 +61,11 @@ import static com.tencent.cloud.common.constant.ContextConstant.UTF_8;
 
 /**
  * Servlet filter to check quota.
+ * <p>
+ * Requests queuing for unirate quota sleep on the worker thread by default. When {@link UnirateWaitScheduler} is
+ * given and the request supports async, the request is suspended and dispatched again after the waiting time,
+ * so that queuing requests do not hold worker threads. The dispatched request goes through the filters registered
+ * for {@link javax.servlet.DispatcherType#ASYNC} again, and this filter lets it pass without checking quota again.
  *
  * @author Haotian Zhang, lepdou, cheese8
  */
@@ -66,6 +76,12 @@ public class QuotaCheckServletFilter extends OncePerRequestFilter {
 	 * Default Filter Registration Bean Name Defined .
 	 */
 	public static final String QUOTA_FILTER_BEAN_NAME = "quotaFilterRegistrationBean";
+
+	/**
+	 * Attribute of request suspended for unirate quota, whose value is the metadata context to restore on resuming.
+	 */
+	static final String QUEUED_METADATA_CONTEXT_ATTRIBUTE = QuotaCheckServletFilter.class.getName() + ".QUEUED";
+
 	private static final Logger LOG = LoggerFactory.getLogger(QuotaCheckServletFilter.class);
 	private final LimitAPI limitAPI;
 
@@ -75,16 +91,40 @@ public class QuotaCheckServletFilter extends OncePerRequestFilter {
 
 	private final PolarisRateLimiterLimitedFallback polarisRateLimiterLimitedFallback;
 
+	private final PathTemplateResolver pathTemplateResolver;
+
+	private final UnirateWaitScheduler unirateWaitScheduler;
+
 	private String rejectTips;
 
 	public QuotaCheckServletFilter(LimitAPI limitAPI,
 			PolarisRateLimitProperties polarisRateLimitProperties,
 			RateLimitRuleArgumentServletResolver rateLimitRuleArgumentResolver,
 			@Nullable PolarisRateLimiterLimitedFallback polarisRateLimiterLimitedFallback) {
+		this(limitAPI, polarisRateLimitProperties, rateLimitRuleArgumentResolver, polarisRateLimiterLimitedFallback, null);
+	}
+
+	public QuotaCheckServletFilter(LimitAPI limitAPI,
+			PolarisRateLimitProperties polarisRateLimitProperties,
+			RateLimitRuleArgumentServletResolver rateLimitRuleArgumentResolver,
+			@Nullable PolarisRateLimiterLimitedFallback polarisRateLimiterLimitedFallback,
+			@Nullable PathTemplateResolver pathTemplateResolver) {
+		this(limitAPI, polarisRateLimitProperties, rateLimitRuleArgumentResolver, polarisRateLimiterLimitedFallback,
+				pathTemplateResolver, null);
+	}
+
+	public QuotaCheckServletFilter(LimitAPI limitAPI,
+			PolarisRateLimitProperties polarisRateLimitProperties,
+			RateLimitRuleArgumentServletResolver rateLimitRuleArgumentResolver,
+			@Nullable PolarisRateLimiterLimitedFallback polarisRateLimiterLimitedFallback,
+			@Nullable PathTemplateResolver pathTemplateResolver,
+			@Nullable UnirateWaitScheduler unirateWaitScheduler) {
 		this.limitAPI = limitAPI;
 		this.polarisRateLimitProperties = polarisRateLimitProperties;
 		this.rateLimitRuleArgumentResolver = rateLimitRuleArgumentResolver;
 		this.polarisRateLimiterLimitedFallback = polarisRateLimiterLimitedFallback;
+		this.pathTemplateResolver = pathTemplateResolver;
+		this.unirateWaitScheduler = unirateWaitScheduler;
 	}
 
 	@PostConstruct
@@ -92,18 +132,39 @@ public class QuotaCheckServletFilter extends OncePerRequestFilter {
 		rejectTips = RateLimitUtils.getRejectTips(polarisRateLimitProperties);
 	}
 
+	@Override
+	protected boolean shouldNotFilterAsyncDispatch() {
+		// Requests suspended for unirate quota come back as async dispatch.
+		return unirateWaitScheduler == null;
+	}
+
 	@Override
 	protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
 			@NonNull FilterChain filterChain)
 			throws ServletException, IOException {
+		if (isAsyncDispatch(request)) {
+			resume(request, response, filterChain);
+			return;
+		}
+
 		String localNamespace = MetadataContext.LOCAL_NAMESPACE;
 		String localService = MetadataContext.LOCAL_SERVICE;
 
-		Set<Argument> arguments = rateLimitRuleArgumentResolver.getArguments(request, localNamespace, localService);
+		RateLimitArgumentPlan argumentPlan = rateLimitRuleArgumentResolver.getArgumentPlan(localNamespace, localService);
+		String path = request.getRequestURI();
+		if (pathTemplateResolver != null) {
+			path = pathTemplateResolver.collapse(path);
+		}
+		if (polarisRateLimitProperties.isPreFilter() && !argumentPlan.getPathIndex().matches(path)) {
+			// No rule covers the path.
+			filterChain.doFilter(request, response);
+			return;
+		}
+		Set<Argument> arguments = rateLimitRuleArgumentResolver.getArguments(request, argumentPlan);
 
 		try {
 			QuotaResponse quotaResponse = QuotaCheckUtils.getQuota(limitAPI,
-					localNamespace, localService, 1, arguments, request.getRequestURI());
+					localNamespace, localService, 1, arguments, path);
 
 			if (quotaResponse.getCode() == QuotaResultCode.QuotaResultLimited) {
 				if (!Objects.isNull(polarisRateLimiterLimitedFallback)) {
@@ -134,6 +195,10 @@ public class QuotaCheckServletFilter extends OncePerRequestFilter {
 			// Unirate
 			if (quotaResponse.getCode() == QuotaResultCode.QuotaResultOk && quotaResponse.getWaitMs() > 0) {
 				LOG.debug("The request of [{}] will waiting for {}ms.", request.getRequestURI(), quotaResponse.getWaitMs());
+				if (unirateWaitScheduler != null && request.isAsyncSupported() && !request.isAsyncStarted()) {
+					suspend(request, response, quotaResponse.getWaitMs());
+					return;
+				}
 				Thread.sleep(quotaResponse.getWaitMs());
 			}
 
@@ -147,4 +212,46 @@ public class QuotaCheckServletFilter extends OncePerRequestFilter {
 		filterChain.doFilter(request, response);
 	}
 
+	/**
+	 * Suspend request, and dispatch it again after waiting time.
+	 */
+	private void suspend(HttpServletRequest request, HttpServletResponse response, long waitMs) {
+		AsyncContext asyncContext = request.startAsync(request, response);
+		asyncContext.setTimeout(waitMs + polarisRateLimitProperties.getMaxQueuingTime());
+		request.setAttribute(QUEUED_METADATA_CONTEXT_ATTRIBUTE, MetadataContextHolder.get());
+		try {
+			unirateWaitScheduler.schedule(asyncContext::dispatch, waitMs);
+		}
+		catch (RejectedExecutionException e) {
+			// Scheduler is shut down, resume at once.
+			asyncContext.dispatch();
+		}
+	}
+
+	/**
+	 * Continue the chain of request dispatched again, with metadata context of the suspended request bound.
+	 */
+	private void resume(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		Object metadataContext = request.getAttribute(QUEUED_METADATA_CONTEXT_ATTRIBUTE);
+		if (!(metadataContext instanceof MetadataContext)) {
+			// Async dispatch of others, such as async controllers.
+			filterChain.doFilter(request, response);
+			return;
+		}
+		// Quota is already acquired before suspending.
+		request.removeAttribute(QUEUED_METADATA_CONTEXT_ATTRIBUTE);
+		try {
+			MetadataContextHolder.call((MetadataContext) metadataContext, () -> {
+				filterChain.doFilter(request, response);
+				return null;
+			});
+		}
+		catch (ServletException | IOException | RuntimeException e) {
+			throw e;
+		}
+		catch (Exception e) {
+			throw new ServletException(e);
+		}
+	}
 }
@@ -0,0 +1,343 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.polaris.ratelimit.filter;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.tencent.cloud.polaris.context.ServiceRuleManager;
+import com.tencent.cloud.polaris.ratelimit.utils.QuotaCheckUtils;
+import com.tencent.polaris.api.plugin.ratelimiter.QuotaResult;
+import com.tencent.polaris.ratelimit.api.core.LimitAPI;
+import com.tencent.polaris.ratelimit.api.rpc.Argument;
+import com.tencent.polaris.ratelimit.api.rpc.QuotaResponse;
+import com.tencent.polaris.ratelimit.api.rpc.QuotaResultCode;
+import com.tencent.polaris.specification.api.v1.traffic.manage.RateLimitProto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Acquirer of quota for reactive filter, which does not call {@link LimitAPI} on the event loop.
+ * <p>
+ * Quota is pre-fetched in batches from {@link LimitAPI} into a local bucket per method and arguments, and the bucket
+ * is refilled asynchronously when running low. When the bucket is empty, quota is acquired one by one on the given
+ * scheduler. Pre-fetched quota expires after a while so that it is not carried across limit windows, and prefetching
+ * is disabled for a bucket whose rule is unirate. Buckets which are idle and hold no valid quota are evicted when the
+ * count of buckets reaches the limit.
+ * <p>
+ * Pre-fetched quota which expires unused has already been counted by the limit server. For a service with a cluster
+ * rule, quota is pre-fetched with a separate batch size, which is 1 by default, so that the quota of the whole
+ * cluster is not wasted by prefetching of each instance.
+ *
+ * @author Haotian Zhang
+ */
+public class ReactiveQuotaAcquirer {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ReactiveQuotaAcquirer.class);
+
+	/**
+	 * Response of a request which takes pre-fetched quota.
+	 */
+	static final QuotaResponse PREFETCHED_RESPONSE =
+			new QuotaResponse(new QuotaResult(QuotaResult.Code.QuotaResultOk, 0, "prefetched quota"));
+
+	private final LimitAPI limitAPI;
+
+	private final int batchSize;
+
+	private final int clusterBatchSize;
+
+	private final long expireNanos;
+
+	private final int maxBuckets;
+
+	private final Scheduler scheduler;
+
+	private final ServiceRuleManager serviceRuleManager;
+
+	private final Map<Key, Bucket> buckets = new ConcurrentHashMap<>();
+
+	private final AtomicLong lastEvictAt = new AtomicLong(System.nanoTime());
+
+	public ReactiveQuotaAcquirer(LimitAPI limitAPI, int batchSize, long expireMs, int maxBuckets) {
+		this(limitAPI, batchSize, expireMs, maxBuckets, Schedulers.boundedElastic());
+	}
+
+	public ReactiveQuotaAcquirer(LimitAPI limitAPI, int batchSize, long expireMs, int maxBuckets, Scheduler scheduler) {
+		this(limitAPI, batchSize, batchSize, expireMs, maxBuckets, null, scheduler);
+	}
+
+	public ReactiveQuotaAcquirer(LimitAPI limitAPI, int batchSize, int clusterBatchSize, long expireMs, int maxBuckets,
+			@Nullable ServiceRuleManager serviceRuleManager) {
+		this(limitAPI, batchSize, clusterBatchSize, expireMs, maxBuckets, serviceRuleManager,
+				Schedulers.boundedElastic());
+	}
+
+	public ReactiveQuotaAcquirer(LimitAPI limitAPI, int batchSize, int clusterBatchSize, long expireMs, int maxBuckets,
+			@Nullable ServiceRuleManager serviceRuleManager, Scheduler scheduler) {
+		this.limitAPI = limitAPI;
+		this.batchSize = Math.max(1, batchSize);
+		this.clusterBatchSize = Math.max(1, clusterBatchSize);
+		this.expireNanos = TimeUnit.MILLISECONDS.toNanos(expireMs);
+		this.maxBuckets = maxBuckets;
+		this.serviceRuleManager = serviceRuleManager;
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Take a pre-fetched quota without blocking, and trigger asynchronous refilling when the bucket runs low.
+	 * @param namespace namespace
+	 * @param service service
+	 * @param arguments arguments of rate limit rule
+	 * @param method method
+	 * @return response of pre-fetched quota, null if no quota is pre-fetched
+	 */
+	@Nullable
+	public QuotaResponse tryAcquire(String namespace, String service, Set<Argument> arguments, String method) {
+		long now = System.nanoTime();
+		Bucket bucket = getBucket(namespace, service, arguments, method, now);
+		if (bucket == null) {
+			return null;
+		}
+		int remaining = bucket.take(now);
+		if (remaining <= bucket.batchSize / 2) {
+			refill(bucket, now);
+		}
+		return remaining >= 0 ? PREFETCHED_RESPONSE : null;
+	}
+
+	/**
+	 * Acquire a quota. Pre-fetched quota is used when available, otherwise quota is acquired on the scheduler.
+	 * @param namespace namespace
+	 * @param service service
+	 * @param arguments arguments of rate limit rule
+	 * @param method method
+	 * @return quota response
+	 */
+	public Mono<QuotaResponse> acquire(String namespace, String service, Set<Argument> arguments, String method) {
+		QuotaResponse quotaResponse = tryAcquire(namespace, service, arguments, method);
+		if (quotaResponse != null) {
+			return Mono.just(quotaResponse);
+		}
+		return Mono.fromCallable(() -> QuotaCheckUtils.getQuota(limitAPI, namespace, service, 1, arguments, method))
+				.subscribeOn(scheduler);
+	}
+
+	public int getBucketCount() {
+		return buckets.size();
+	}
+
+	private Bucket getBucket(String namespace, String service, Set<Argument> arguments, String method, long now) {
+		Key key = new Key(namespace, service, arguments, method);
+		Bucket bucket = buckets.get(key);
+		if (bucket == null) {
+			if (buckets.size() >= maxBuckets) {
+				evictIdleBuckets(now);
+				if (buckets.size() >= maxBuckets) {
+					return null;
+				}
+			}
+			bucket = buckets.computeIfAbsent(key, k -> new Bucket(k, batchSize));
+		}
+		bucket.lastAccessAt = now;
+		return bucket;
+	}
+
+	/**
+	 * Evict buckets which are not accessed and hold no valid quota for a whole expiration, at most once per
+	 * expiration.
+	 */
+	private void evictIdleBuckets(long now) {
+		long last = lastEvictAt.get();
+		if (now - last < expireNanos || !lastEvictAt.compareAndSet(last, now)) {
+			return;
+		}
+		buckets.values().removeIf(bucket -> bucket.isIdle(now, expireNanos));
+	}
+
+	private void refill(Bucket bucket, long now) {
+		if (!bucket.prefetchable || now - bucket.nextRefillAt < 0 || !bucket.refilling.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			scheduler.schedule(() -> doRefill(bucket));
+		}
+		catch (RuntimeException e) {
+			bucket.refilling.set(false);
+			LOG.warn("Schedule refilling of quota failed. key=[{}].", bucket.key, e);
+		}
+	}
+
+	private void doRefill(Bucket bucket) {
+		try {
+			Key key = bucket.key;
+			int count = getBatchSize(key);
+			bucket.batchSize = count;
+			QuotaResponse quotaResponse = QuotaCheckUtils.getQuota(limitAPI, key.namespace, key.service, count,
+					key.arguments, key.method);
+			long now = System.nanoTime();
+			if (quotaResponse.getCode() != QuotaResultCode.QuotaResultOk) {
+				// Back off, requests acquire quota one by one until then.
+				bucket.nextRefillAt = now + expireNanos;
+			}
+			else if (quotaResponse.getWaitMs() > 0) {
+				// Unirate rule requires each request to wait, which can not be pre-fetched.
+				bucket.prefetchable = false;
+			}
+			else {
+				bucket.fill(count, now + expireNanos, now);
+			}
+		}
+		finally {
+			bucket.refilling.set(false);
+		}
+	}
+
+	private int getBatchSize(Key key) {
+		if (serviceRuleManager == null) {
+			return batchSize;
+		}
+		RateLimitProto.RateLimit rateLimit = serviceRuleManager.getServiceRateLimitRule(key.namespace, key.service);
+		if (rateLimit == null) {
+			return batchSize;
+		}
+		for (RateLimitProto.Rule rule : rateLimit.getRulesList()) {
+			if (rule.getType() == RateLimitProto.Rule.Type.GLOBAL && !rule.getDisable().getValue()) {
+				return Math.min(batchSize, clusterBatchSize);
+			}
+		}
+		return batchSize;
+	}
+
+	private static final class Key {
+
+		private final String namespace;
+
+		private final String service;
+
+		private final Set<Argument> arguments;
+
+		private final String method;
+
+		private final int hashCode;
+
+		private Key(String namespace, String service, Set<Argument> arguments, String method) {
+			this.namespace = namespace;
+			this.service = service;
+			this.arguments = arguments;
+			this.method = method;
+			this.hashCode = Objects.hash(namespace, service, arguments, method);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) o;
+			return Objects.equals(namespace, key.namespace) && Objects.equals(service, key.service)
+					&& Objects.equals(arguments, key.arguments) && Objects.equals(method, key.method);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public String toString() {
+			return namespace + "#" + service + "#" + method + "#" + arguments;
+		}
+	}
+
+	private static final class Bucket {
+
+		private final Key key;
+
+		private final AtomicInteger tokens = new AtomicInteger();
+
+		private final AtomicBoolean refilling = new AtomicBoolean();
+
+		private volatile long expireAt;
+
+		private volatile long nextRefillAt;
+
+		private volatile long lastAccessAt;
+
+		private volatile boolean prefetchable = true;
+
+		private volatile int batchSize;
+
+		private Bucket(Key key, int batchSize) {
+			this.key = key;
+			this.batchSize = batchSize;
+			long now = System.nanoTime();
+			this.expireAt = now;
+			this.nextRefillAt = now;
+			this.lastAccessAt = now;
+		}
+
+		private boolean isIdle(long now, long idleNanos) {
+			return now - lastAccessAt >= idleNanos && now - expireAt >= 0 && !refilling.get();
+		}
+
+		/**
+		 * Take a token.
+		 * @return remaining tokens, -1 if no token is taken
+		 */
+		private int take(long now) {
+			if (now - expireAt >= 0) {
+				return -1;
+			}
+			int current;
+			do {
+				current = tokens.get();
+				if (current <= 0) {
+					return -1;
+				}
+			}
+			while (!tokens.compareAndSet(current, current - 1));
+			return current - 1;
+		}
+
+		private void fill(int count, long newExpireAt, long now) {
+			if (now - expireAt >= 0) {
+				// Expired tokens are dropped.
+				tokens.set(count);
+			}
+			else {
+				tokens.addAndGet(count);
+			}
+			expireAt = newExpireAt;
+		}
+	}
+}
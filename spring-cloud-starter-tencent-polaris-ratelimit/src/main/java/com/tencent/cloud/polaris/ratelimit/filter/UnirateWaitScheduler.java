@@ -0,0 +1,110 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.polaris.ratelimit.filter;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.tencent.polaris.client.util.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Shared timer of servlet requests queuing for unirate quota. Requests are suspended asynchronously instead of
+ * sleeping on worker threads, and are resumed by this timer when their waiting time is over. Resuming only
+ * dispatches the request back to the container, so a single timer thread is enough.
+ * <p>
+ * Requests still waiting when the timer is destroyed are resumed at once rather than dropped.
+ *
+ * @author Haotian Zhang
+ */
+public class UnirateWaitScheduler implements DisposableBean {
+
+	private static final Logger LOG = LoggerFactory.getLogger(UnirateWaitScheduler.class);
+
+	private final ScheduledThreadPoolExecutor executor;
+
+	private final Set<ResumeTask> pendingTasks = ConcurrentHashMap.newKeySet();
+
+	public UnirateWaitScheduler() {
+		this.executor = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("polaris-ratelimit-unirate"));
+		this.executor.setRemoveOnCancelPolicy(true);
+	}
+
+	/**
+	 * Run task after waiting time.
+	 * @param task task to resume request
+	 * @param waitMs waiting time in milliseconds
+	 * @throws java.util.concurrent.RejectedExecutionException if the timer is destroyed
+	 */
+	public void schedule(Runnable task, long waitMs) {
+		ResumeTask resumeTask = new ResumeTask(task);
+		pendingTasks.add(resumeTask);
+		try {
+			executor.schedule(resumeTask, waitMs, TimeUnit.MILLISECONDS);
+		}
+		catch (RuntimeException e) {
+			pendingTasks.remove(resumeTask);
+			throw e;
+		}
+	}
+
+	/**
+	 * Get count of requests waiting to be resumed.
+	 * @return count of waiting requests
+	 */
+	public int getWaitingCount() {
+		return pendingTasks.size();
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+		// Resume waiting requests at once, or they would hang until the async timeout of the container.
+		for (ResumeTask resumeTask : pendingTasks) {
+			resumeTask.run();
+		}
+	}
+
+	private final class ResumeTask implements Runnable {
+
+		private final Runnable task;
+
+		private ResumeTask(Runnable task) {
+			this.task = task;
+		}
+
+		@Override
+		public void run() {
+			// Run once, either by the timer or on destroy.
+			if (!pendingTasks.remove(this)) {
+				return;
+			}
+			try {
+				task.run();
+			}
+			catch (Exception e) {
+				LOG.warn("Resume queuing request failed.", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,191 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.polaris.ratelimit.resolver;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import com.tencent.polaris.specification.api.v1.traffic.manage.RateLimitProto;
+import org.apache.commons.lang.StringUtils;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Plan of extracting rate limit arguments from request, compiled from rate limit rules of a service. Arguments of
+ * all rules are deduplicated, so that each header, query and custom label is read once per request. The plan also
+ * carries the {@link RateLimitPathIndex} of the rules.
+ * <p>
+ * A plan is bound to the rule it is compiled from by identity, as the rule is replaced by a new one on every
+ * revision.
+ *
+ * @author Haotian Zhang
+ */
+public final class RateLimitArgumentPlan {
+
+	private static final String[] EMPTY_KEYS = new String[0];
+
+	private static final RateLimitArgumentPlan EMPTY = new RateLimitArgumentPlan(null, RateLimitPathIndex.NONE,
+			false, false, false, EMPTY_KEYS, EMPTY_KEYS, EMPTY_KEYS);
+
+	private final RateLimitProto.RateLimit rateLimit;
+
+	private final RateLimitPathIndex pathIndex;
+
+	private final boolean method;
+
+	private final boolean callerService;
+
+	private final boolean callerIp;
+
+	private final String[] headerKeys;
+
+	private final String[] queryKeys;
+
+	private final String[] customKeys;
+
+	private final int argumentCount;
+
+	private RateLimitArgumentPlan(@Nullable RateLimitProto.RateLimit rateLimit, RateLimitPathIndex pathIndex,
+			boolean method, boolean callerService, boolean callerIp, String[] headerKeys, String[] queryKeys,
+			String[] customKeys) {
+		this.rateLimit = rateLimit;
+		this.pathIndex = pathIndex;
+		this.method = method;
+		this.callerService = callerService;
+		this.callerIp = callerIp;
+		this.headerKeys = headerKeys;
+		this.queryKeys = queryKeys;
+		this.customKeys = customKeys;
+		this.argumentCount = (method ? 1 : 0) + (callerService ? 1 : 0) + (callerIp ? 1 : 0)
+				+ headerKeys.length + queryKeys.length + customKeys.length;
+	}
+
+	/**
+	 * Compile plan from rate limit rules of a service.
+	 * @param rateLimit rate limit rules, may be null
+	 * @return plan
+	 */
+	public static RateLimitArgumentPlan compile(@Nullable RateLimitProto.RateLimit rateLimit) {
+		if (rateLimit == null || rateLimit.getRulesCount() == 0) {
+			return new RateLimitArgumentPlan(rateLimit, RateLimitPathIndex.NONE, false, false, false,
+					EMPTY_KEYS, EMPTY_KEYS, EMPTY_KEYS);
+		}
+		boolean method = false;
+		boolean callerService = false;
+		boolean callerIp = false;
+		Set<String> headerKeys = new LinkedHashSet<>();
+		Set<String> queryKeys = new LinkedHashSet<>();
+		Set<String> customKeys = new LinkedHashSet<>();
+		for (RateLimitProto.Rule rule : rateLimit.getRulesList()) {
+			for (RateLimitProto.MatchArgument matchArgument : rule.getArgumentsList()) {
+				String matchKey = matchArgument.getKey();
+				switch (matchArgument.getType()) {
+				case CUSTOM:
+					if (StringUtils.isNotBlank(matchKey)) {
+						customKeys.add(matchKey);
+					}
+					break;
+				case METHOD:
+					method = true;
+					break;
+				case HEADER:
+					if (StringUtils.isNotBlank(matchKey)) {
+						headerKeys.add(matchKey);
+					}
+					break;
+				case QUERY:
+					if (StringUtils.isNotBlank(matchKey)) {
+						queryKeys.add(matchKey);
+					}
+					break;
+				case CALLER_SERVICE:
+					callerService = true;
+					break;
+				case CALLER_IP:
+					callerIp = true;
+					break;
+				default:
+					break;
+				}
+			}
+		}
+		return new RateLimitArgumentPlan(rateLimit, RateLimitPathIndex.compile(rateLimit), method, callerService, callerIp,
+				headerKeys.toArray(EMPTY_KEYS), queryKeys.toArray(EMPTY_KEYS), customKeys.toArray(EMPTY_KEYS));
+	}
+
+	/**
+	 * Get plan of rules, reusing the current plan if it is compiled from the same rules.
+	 * @param current current plan, may be null
+	 * @param rateLimit rate limit rules, may be null
+	 * @return plan
+	 */
+	public static RateLimitArgumentPlan of(@Nullable RateLimitArgumentPlan current,
+			@Nullable RateLimitProto.RateLimit rateLimit) {
+		if (rateLimit == null) {
+			return EMPTY;
+		}
+		if (current != null && current.rateLimit == rateLimit) {
+			return current;
+		}
+		return compile(rateLimit);
+	}
+
+	/**
+	 * Get index of paths covered by the rules.
+	 * @return path index
+	 */
+	public RateLimitPathIndex getPathIndex() {
+		return pathIndex;
+	}
+
+	public boolean isEmpty() {
+		return argumentCount == 0;
+	}
+
+	public boolean isMethod() {
+		return method;
+	}
+
+	public boolean isCallerService() {
+		return callerService;
+	}
+
+	public boolean isCallerIp() {
+		return callerIp;
+	}
+
+	public String[] getHeaderKeys() {
+		return headerKeys;
+	}
+
+	public String[] getQueryKeys() {
+		return queryKeys;
+	}
+
+	public String[] getCustomKeys() {
+		return customKeys;
+	}
+
+	/**
+	 * Get max count of arguments extracted by the plan, for sizing the argument set.
+	 * @return max count of arguments
+	 */
+	public int getArgumentCount() {
+		return argumentCount;
+	}
+}
@@ -0,0 +1,217 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.polaris.ratelimit.resolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import com.tencent.polaris.specification.api.v1.model.ModelProto;
+import com.tencent.polaris.specification.api.v1.traffic.manage.RateLimitProto;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Index of request paths covered by rate limit rules of a service, so that requests no rule covers can skip quota
+ * checking. Exact and anchored literal prefix paths are kept in a trie, and other regular expressions are compiled
+ * and matched with {@link java.util.regex.Matcher#find()}.
+ * <p>
+ * The index never rejects a path that a rule may match: rules matching all paths, or matching with types other than
+ * exact, in and regex, make the index cover all paths.
+ *
+ * @author Haotian Zhang
+ */
+public final class RateLimitPathIndex {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RateLimitPathIndex.class);
+
+	private static final String MATCH_ALL = "*";
+
+	private static final String REGEX_META_CHARS = "\\.[]{}()*+?^$|";
+
+	/**
+	 * Index covering no path.
+	 */
+	static final RateLimitPathIndex NONE = new RateLimitPathIndex(false, new Node(), new Pattern[0]);
+
+	private final boolean matchAll;
+
+	private final Node root;
+
+	private final Pattern[] patterns;
+
+	private RateLimitPathIndex(boolean matchAll, Node root, Pattern[] patterns) {
+		this.matchAll = matchAll;
+		this.root = root;
+		this.patterns = patterns;
+	}
+
+	/**
+	 * Compile index from rate limit rules of a service.
+	 * @param rateLimit rate limit rules, may be null
+	 * @return index
+	 */
+	public static RateLimitPathIndex compile(@Nullable RateLimitProto.RateLimit rateLimit) {
+		if (rateLimit == null || rateLimit.getRulesCount() == 0) {
+			return NONE;
+		}
+		Node root = new Node();
+		List<Pattern> patterns = new ArrayList<>();
+		for (RateLimitProto.Rule rule : rateLimit.getRulesList()) {
+			if (!addRule(root, patterns, rule.getMethod())) {
+				return new RateLimitPathIndex(true, root, new Pattern[0]);
+			}
+		}
+		return new RateLimitPathIndex(false, root, patterns.toArray(new Pattern[0]));
+	}
+
+	/**
+	 * Add path matcher of a rule into index.
+	 * @return false if the rule may match all paths
+	 */
+	private static boolean addRule(Node root, List<Pattern> patterns, ModelProto.MatchString method) {
+		String value = method.getValue().getValue();
+		if (method.getValueType() != ModelProto.MatchString.ValueType.TEXT
+				|| StringUtils.isBlank(value) || MATCH_ALL.equals(value)) {
+			return false;
+		}
+		switch (method.getType()) {
+		case EXACT:
+			root.add(value).exact = true;
+			return true;
+		case IN:
+			for (String item : value.split(",")) {
+				root.add(item.trim()).exact = true;
+			}
+			return true;
+		case REGEX:
+			return addRegex(root, patterns, value);
+		default:
+			return false;
+		}
+	}
+
+	private static boolean addRegex(Node root, List<Pattern> patterns, String regex) {
+		if (regex.startsWith("^")) {
+			String body = regex.substring(1);
+			boolean prefix = true;
+			if (body.endsWith(".*$")) {
+				body = body.substring(0, body.length() - 3);
+			}
+			else if (body.endsWith(".*")) {
+				body = body.substring(0, body.length() - 2);
+			}
+			else if (body.endsWith("$") && !body.endsWith("\\$")) {
+				body = body.substring(0, body.length() - 1);
+				prefix = false;
+			}
+			if (StringUtils.containsNone(body, REGEX_META_CHARS)) {
+				Node node = root.add(body);
+				if (prefix) {
+					node.prefix = true;
+				}
+				else {
+					node.exact = true;
+				}
+				return true;
+			}
+		}
+		try {
+			patterns.add(Pattern.compile(regex));
+			return true;
+		}
+		catch (PatternSyntaxException e) {
+			LOG.warn("Invalid regex {} of rate limit rule, all paths are covered.", regex, e);
+			return false;
+		}
+	}
+
+	/**
+	 * Whether any rule may match requests of path.
+	 * @param path request path
+	 * @return false if no rule matches
+	 */
+	public boolean matches(@Nullable String path) {
+		if (matchAll) {
+			return true;
+		}
+		String actualPath = path == null ? StringUtils.EMPTY : path;
+		Node node = root;
+		for (int i = 0; node != null; i++) {
+			if (node.prefix || (node.exact && i == actualPath.length())) {
+				return true;
+			}
+			if (i == actualPath.length()) {
+				break;
+			}
+			node = node.child(actualPath.charAt(i));
+		}
+		for (Pattern pattern : patterns) {
+			if (pattern.matcher(actualPath).find()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public boolean isMatchAll() {
+		return matchAll;
+	}
+
+	private static final class Node {
+
+		private char[] keys = new char[0];
+
+		private Node[] children = new Node[0];
+
+		private boolean exact;
+
+		private boolean prefix;
+
+		private Node child(char key) {
+			for (int i = 0; i < keys.length; i++) {
+				if (keys[i] == key) {
+					return children[i];
+				}
+			}
+			return null;
+		}
+
+		private Node add(String path) {
+			Node node = this;
+			for (int i = 0; i < path.length(); i++) {
+				char key = path.charAt(i);
+				Node child = node.child(key);
+				if (child == null) {
+					child = new Node();
+					node.keys = Arrays.copyOf(node.keys, node.keys.length + 1);
+					node.children = Arrays.copyOf(node.children, node.children.length + 1);
+					node.keys[node.keys.length - 1] = key;
+					node.children[node.children.length - 1] = child;
+				}
+				node = child;
+			}
+			return node;
+		}
+	}
+}
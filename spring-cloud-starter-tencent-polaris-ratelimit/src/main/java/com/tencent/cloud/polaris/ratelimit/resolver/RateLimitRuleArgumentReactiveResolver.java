@@ -20,31 +20,29 @@ package com.tencent.cloud.polaris.ratelimit.resolver;
 
 import java.net.InetSocketAddress;
 import java.util.Collections;
-import java.util.List;
+import java.util.HashSet;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 
-import com.tencent.cloud.common.metadata.MetadataContextHolder;
+import com.tencent.cloud.common.metadata.MetadataContext;
+import com.tencent.cloud.common.metadata.ReactiveMetadataContextHolder;
 import com.tencent.cloud.polaris.context.ServiceRuleManager;
 import com.tencent.cloud.polaris.ratelimit.spi.PolarisRateLimiterLabelReactiveResolver;
 import com.tencent.polaris.ratelimit.api.rpc.Argument;
-import com.tencent.polaris.specification.api.v1.traffic.manage.RateLimitProto;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import org.springframework.util.CollectionUtils;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.server.ServerWebExchange;
 
 import static com.tencent.cloud.common.constant.MetadataConstant.DefaultMetadata.DEFAULT_METADATA_SOURCE_SERVICE_NAME;
 import static com.tencent.cloud.common.constant.MetadataConstant.DefaultMetadata.DEFAULT_METADATA_SOURCE_SERVICE_NAMESPACE;
+import static com.tencent.cloud.common.metadata.MetadataContext.FRAGMENT_UPSTREAM_DISPOSABLE;
 
 /**
- * resolve arguments from rate limit rule for Reactive.
+ * resolve arguments from rate limit rule for Reactive, with the {@link RateLimitArgumentPlan} compiled from rules.
  *
  * @author seansyyu 2023-03-09
  */
@@ -56,57 +54,71 @@ public class RateLimitRuleArgumentReactiveResolver {
 
 	private final PolarisRateLimiterLabelReactiveResolver labelResolver;
 
+	private volatile RateLimitArgumentPlan argumentPlan;
+
 	public RateLimitRuleArgumentReactiveResolver(ServiceRuleManager serviceRuleManager, PolarisRateLimiterLabelReactiveResolver labelResolver) {
 		this.serviceRuleManager = serviceRuleManager;
 		this.labelResolver = labelResolver;
 	}
 
 	public Set<Argument> getArguments(ServerWebExchange request, String namespace, String service) {
-		RateLimitProto.RateLimit rateLimitRule = serviceRuleManager.getServiceRateLimitRule(namespace, service);
-		if (rateLimitRule == null) {
+		return getArguments(request, getArgumentPlan(namespace, service));
+	}
+
+	/**
+	 * Get argument plan compiled from rate limit rules of service.
+	 * @param namespace namespace
+	 * @param service service
+	 * @return argument plan
+	 */
+	public RateLimitArgumentPlan getArgumentPlan(String namespace, String service) {
+		RateLimitArgumentPlan plan = RateLimitArgumentPlan.of(argumentPlan,
+				serviceRuleManager.getServiceRateLimitRule(namespace, service));
+		argumentPlan = plan;
+		return plan;
+	}
+
+	/**
+	 * Get arguments of request with argument plan.
+	 * @param request request
+	 * @param plan argument plan
+	 * @return arguments
+	 */
+	public Set<Argument> getArguments(ServerWebExchange request, RateLimitArgumentPlan plan) {
+		if (plan.isEmpty()) {
 			return Collections.emptySet();
 		}
-		List<RateLimitProto.Rule> rules = rateLimitRule.getRulesList();
-		if (CollectionUtils.isEmpty(rules)) {
-			return Collections.emptySet();
+		ServerHttpRequest httpRequest = request.getRequest();
+		Set<Argument> arguments = new HashSet<>(plan.getArgumentCount() * 2);
+		if (plan.isMethod()) {
+			arguments.add(Argument.buildMethod(httpRequest.getMethodValue()));
+		}
+		for (String headerKey : plan.getHeaderKeys()) {
+			arguments.add(Argument.buildHeader(headerKey, StringUtils.defaultString(httpRequest.getHeaders().getFirst(headerKey))));
+		}
+		for (String queryKey : plan.getQueryKeys()) {
+			arguments.add(Argument.buildQuery(queryKey, StringUtils.defaultString(httpRequest.getQueryParams().getFirst(queryKey))));
+		}
+		String[] customKeys = plan.getCustomKeys();
+		if (customKeys.length > 0) {
+			Map<String, String> customResolvedLabels = getCustomResolvedLabels(request);
+			for (String customKey : customKeys) {
+				arguments.add(Argument.buildCustom(customKey, StringUtils.defaultString(customResolvedLabels.get(customKey))));
+			}
+		}
+		if (plan.isCallerService()) {
+			MetadataContext metadataContext = ReactiveMetadataContextHolder.get(request);
+			String sourceServiceNamespace = metadataContext.getContext(FRAGMENT_UPSTREAM_DISPOSABLE, DEFAULT_METADATA_SOURCE_SERVICE_NAMESPACE);
+			String sourceServiceName = metadataContext.getContext(FRAGMENT_UPSTREAM_DISPOSABLE, DEFAULT_METADATA_SOURCE_SERVICE_NAME);
+			if (!StringUtils.isEmpty(sourceServiceNamespace) && !StringUtils.isEmpty(sourceServiceName)) {
+				arguments.add(Argument.buildCallerService(sourceServiceNamespace, sourceServiceName));
+			}
+		}
+		if (plan.isCallerIp()) {
+			InetSocketAddress remoteAddress = httpRequest.getRemoteAddress();
+			arguments.add(Argument.buildCallerIP(remoteAddress != null ? remoteAddress.getAddress().getHostAddress() : StringUtils.EMPTY));
 		}
-		return rules.stream()
-				.flatMap(rule -> rule.getArgumentsList().stream())
-				.map(matchArgument -> {
-					String matchKey = matchArgument.getKey();
-					Argument argument = null;
-					switch (matchArgument.getType()) {
-					case CUSTOM:
-						argument = StringUtils.isBlank(matchKey) ? null :
-								Argument.buildCustom(matchKey, Optional.ofNullable(getCustomResolvedLabels(request).get(matchKey)).orElse(StringUtils.EMPTY));
-						break;
-					case METHOD:
-						argument = Argument.buildMethod(request.getRequest().getMethodValue());
-						break;
-					case HEADER:
-						argument = StringUtils.isBlank(matchKey) ? null :
-								Argument.buildHeader(matchKey, Optional.ofNullable(request.getRequest().getHeaders().getFirst(matchKey)).orElse(StringUtils.EMPTY));
-						break;
-					case QUERY:
-						argument = StringUtils.isBlank(matchKey) ? null :
-								Argument.buildQuery(matchKey, Optional.ofNullable(request.getRequest().getQueryParams().getFirst(matchKey)).orElse(StringUtils.EMPTY));
-						break;
-					case CALLER_SERVICE:
-						String sourceServiceNamespace = MetadataContextHolder.getDisposableMetadata(DEFAULT_METADATA_SOURCE_SERVICE_NAMESPACE, true).orElse(StringUtils.EMPTY);
-						String sourceServiceName = MetadataContextHolder.getDisposableMetadata(DEFAULT_METADATA_SOURCE_SERVICE_NAME, true).orElse(StringUtils.EMPTY);
-						if (!StringUtils.isEmpty(sourceServiceNamespace) && !StringUtils.isEmpty(sourceServiceName)) {
-							argument = Argument.buildCallerService(sourceServiceNamespace, sourceServiceName);
-						}
-						break;
-					case CALLER_IP:
-						InetSocketAddress remoteAddress = request.getRequest().getRemoteAddress();
-						argument = Argument.buildCallerIP(remoteAddress != null ? remoteAddress.getAddress().getHostAddress() : StringUtils.EMPTY);
-						break;
-					default:
-						break;
-					}
-					return argument;
-				}).filter(Objects::nonNull).collect(Collectors.toSet());
+		return arguments;
 	}
 
 	private Map<String, String> getCustomResolvedLabels(ServerWebExchange request) {
@@ -19,32 +19,28 @@
 package com.tencent.cloud.polaris.ratelimit.resolver;
 
 import java.util.Collections;
-import java.util.List;
+import java.util.HashSet;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import javax.servlet.http.HttpServletRequest;
 
+import com.tencent.cloud.common.metadata.MetadataContext;
 import com.tencent.cloud.common.metadata.MetadataContextHolder;
 import com.tencent.cloud.polaris.context.ServiceRuleManager;
 import com.tencent.cloud.polaris.ratelimit.filter.QuotaCheckServletFilter;
 import com.tencent.cloud.polaris.ratelimit.spi.PolarisRateLimiterLabelServletResolver;
 import com.tencent.polaris.ratelimit.api.rpc.Argument;
-import com.tencent.polaris.specification.api.v1.traffic.manage.RateLimitProto;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import org.springframework.util.CollectionUtils;
-
 import static com.tencent.cloud.common.constant.MetadataConstant.DefaultMetadata.DEFAULT_METADATA_SOURCE_SERVICE_NAME;
 import static com.tencent.cloud.common.constant.MetadataConstant.DefaultMetadata.DEFAULT_METADATA_SOURCE_SERVICE_NAMESPACE;
+import static com.tencent.cloud.common.metadata.MetadataContext.FRAGMENT_UPSTREAM_DISPOSABLE;
 
 /**
- * resolve arguments from rate limit rule for Servlet.
+ * resolve arguments from rate limit rule for Servlet, with the {@link RateLimitArgumentPlan} compiled from rules.
  *
  * @author seansyyu 2023-03-09
  */
@@ -56,56 +52,69 @@ public class RateLimitRuleArgumentServletResolver {
 
 	private final PolarisRateLimiterLabelServletResolver labelResolver;
 
+	private volatile RateLimitArgumentPlan argumentPlan;
+
 	public RateLimitRuleArgumentServletResolver(ServiceRuleManager serviceRuleManager, PolarisRateLimiterLabelServletResolver labelResolver) {
 		this.serviceRuleManager = serviceRuleManager;
 		this.labelResolver = labelResolver;
 	}
 
 	public Set<Argument> getArguments(HttpServletRequest request, String namespace, String service) {
-		RateLimitProto.RateLimit rateLimitRule = serviceRuleManager.getServiceRateLimitRule(namespace, service);
-		if (rateLimitRule == null) {
+		return getArguments(request, getArgumentPlan(namespace, service));
+	}
+
+	/**
+	 * Get argument plan compiled from rate limit rules of service.
+	 * @param namespace namespace
+	 * @param service service
+	 * @return argument plan
+	 */
+	public RateLimitArgumentPlan getArgumentPlan(String namespace, String service) {
+		RateLimitArgumentPlan plan = RateLimitArgumentPlan.of(argumentPlan,
+				serviceRuleManager.getServiceRateLimitRule(namespace, service));
+		argumentPlan = plan;
+		return plan;
+	}
+
+	/**
+	 * Get arguments of request with argument plan.
+	 * @param request request
+	 * @param plan argument plan
+	 * @return arguments
+	 */
+	public Set<Argument> getArguments(HttpServletRequest request, RateLimitArgumentPlan plan) {
+		if (plan.isEmpty()) {
 			return Collections.emptySet();
 		}
-		List<RateLimitProto.Rule> rules = rateLimitRule.getRulesList();
-		if (CollectionUtils.isEmpty(rules)) {
-			return Collections.emptySet();
+		Set<Argument> arguments = new HashSet<>(plan.getArgumentCount() * 2);
+		if (plan.isMethod()) {
+			arguments.add(Argument.buildMethod(request.getMethod()));
+		}
+		for (String headerKey : plan.getHeaderKeys()) {
+			arguments.add(Argument.buildHeader(headerKey, StringUtils.defaultString(request.getHeader(headerKey))));
+		}
+		for (String queryKey : plan.getQueryKeys()) {
+			arguments.add(Argument.buildQuery(queryKey, StringUtils.defaultString(request.getParameter(queryKey))));
+		}
+		String[] customKeys = plan.getCustomKeys();
+		if (customKeys.length > 0) {
+			Map<String, String> customResolvedLabels = getCustomResolvedLabels(request);
+			for (String customKey : customKeys) {
+				arguments.add(Argument.buildCustom(customKey, StringUtils.defaultString(customResolvedLabels.get(customKey))));
+			}
+		}
+		if (plan.isCallerService()) {
+			MetadataContext metadataContext = MetadataContextHolder.get();
+			String sourceServiceNamespace = metadataContext.getContext(FRAGMENT_UPSTREAM_DISPOSABLE, DEFAULT_METADATA_SOURCE_SERVICE_NAMESPACE);
+			String sourceServiceName = metadataContext.getContext(FRAGMENT_UPSTREAM_DISPOSABLE, DEFAULT_METADATA_SOURCE_SERVICE_NAME);
+			if (!StringUtils.isEmpty(sourceServiceNamespace) && !StringUtils.isEmpty(sourceServiceName)) {
+				arguments.add(Argument.buildCallerService(sourceServiceNamespace, sourceServiceName));
+			}
+		}
+		if (plan.isCallerIp()) {
+			arguments.add(Argument.buildCallerIP(StringUtils.defaultString(request.getRemoteAddr())));
 		}
-		return rules.stream()
-				.flatMap(rule -> rule.getArgumentsList().stream())
-				.map(matchArgument -> {
-					String matchKey = matchArgument.getKey();
-					Argument argument = null;
-					switch (matchArgument.getType()) {
-						case CUSTOM:
-							argument = StringUtils.isBlank(matchKey) ? null :
-									Argument.buildCustom(matchKey, Optional.ofNullable(getCustomResolvedLabels(request).get(matchKey)).orElse(StringUtils.EMPTY));
-							break;
-						case METHOD:
-							argument = Argument.buildMethod(request.getMethod());
-							break;
-						case HEADER:
-							argument = StringUtils.isBlank(matchKey) ? null :
-									Argument.buildHeader(matchKey, Optional.ofNullable(request.getHeader(matchKey)).orElse(StringUtils.EMPTY));
-							break;
-						case QUERY:
-							argument = StringUtils.isBlank(matchKey) ? null :
-									Argument.buildQuery(matchKey, Optional.ofNullable(request.getParameter(matchKey)).orElse(StringUtils.EMPTY));
-							break;
-						case CALLER_SERVICE:
-							String sourceServiceNamespace = MetadataContextHolder.getDisposableMetadata(DEFAULT_METADATA_SOURCE_SERVICE_NAMESPACE, true).orElse(StringUtils.EMPTY);
-							String sourceServiceName = MetadataContextHolder.getDisposableMetadata(DEFAULT_METADATA_SOURCE_SERVICE_NAME, true).orElse(StringUtils.EMPTY);
-							if (!StringUtils.isEmpty(sourceServiceNamespace) && !StringUtils.isEmpty(sourceServiceName)) {
-								argument = Argument.buildCallerService(sourceServiceNamespace, sourceServiceName);
-							}
-							break;
-						case CALLER_IP:
-							argument = Argument.buildCallerIP(Optional.ofNullable(request.getRemoteAddr()).orElse(StringUtils.EMPTY));
-							break;
-						default:
-							break;
-					}
-					return argument;
-				}).filter(Objects::nonNull).collect(Collectors.toSet());
+		return arguments;
 	}
 
 	private Map<String, String> getCustomResolvedLabels(HttpServletRequest request) {
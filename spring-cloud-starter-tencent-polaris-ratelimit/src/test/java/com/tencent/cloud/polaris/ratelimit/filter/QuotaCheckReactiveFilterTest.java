@@ -24,12 +24,15 @@ import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.util.JsonFormat;
 import com.tencent.cloud.common.constant.OrderConstant;
 import com.tencent.cloud.common.metadata.MetadataContext;
+import com.tencent.cloud.common.metadata.MetadataContextHolder;
+import com.tencent.cloud.common.metadata.ReactiveMetadataContextHolder;
 import com.tencent.cloud.polaris.context.ServiceRuleManager;
 import com.tencent.cloud.polaris.ratelimit.config.PolarisRateLimitProperties;
 import com.tencent.cloud.polaris.ratelimit.resolver.RateLimitRuleArgumentReactiveResolver;
@@ -47,6 +50,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -76,6 +80,8 @@ import static org.mockito.Mockito.when;
 public class QuotaCheckReactiveFilterTest {
 	private final PolarisRateLimiterLabelReactiveResolver labelResolver =
 			exchange -> Collections.singletonMap("xxx", "xxx");
+	private LimitAPI limitAPI;
+	private RateLimitRuleArgumentReactiveResolver rateLimitRuleArgumentReactiveResolver;
 	private QuotaCheckReactiveFilter quotaCheckReactiveFilter;
 	private QuotaCheckReactiveFilter quotaCheckWithRateLimiterLimitedFallbackReactiveFilter;
 	private PolarisRateLimiterLimitedFallback polarisRateLimiterLimitedFallback;
@@ -84,7 +90,7 @@ public class QuotaCheckReactiveFilterTest {
 	void setUp() throws InvalidProtocolBufferException {
 		MetadataContext.LOCAL_NAMESPACE = "TEST";
 
-		LimitAPI limitAPI = mock(LimitAPI.class);
+		limitAPI = mock(LimitAPI.class);
 		when(limitAPI.getQuota(any(QuotaRequest.class))).thenAnswer(invocationOnMock -> {
 			String serviceName = ((QuotaRequest) invocationOnMock.getArgument(0)).getService();
 			if (serviceName.equals("TestApp1")) {
@@ -123,7 +129,7 @@ public class QuotaCheckReactiveFilterTest {
 		RateLimitProto.RateLimit rateLimit = RateLimitProto.RateLimit.newBuilder().addRules(rateLimitRule).build();
 		when(serviceRuleManager.getServiceRateLimitRule(anyString(), anyString())).thenReturn(rateLimit);
 
-		RateLimitRuleArgumentReactiveResolver rateLimitRuleArgumentReactiveResolver = new RateLimitRuleArgumentReactiveResolver(serviceRuleManager, labelResolver);
+		rateLimitRuleArgumentReactiveResolver = new RateLimitRuleArgumentReactiveResolver(serviceRuleManager, labelResolver);
 		this.quotaCheckReactiveFilter = new QuotaCheckReactiveFilter(limitAPI, polarisRateLimitProperties, rateLimitRuleArgumentReactiveResolver, null);
 		this.polarisRateLimiterLimitedFallback = new JsonPolarisRateLimiterLimitedFallback();
 		this.quotaCheckWithRateLimiterLimitedFallbackReactiveFilter = new QuotaCheckReactiveFilter(limitAPI, polarisRateLimitWithHtmlRejectTipsProperties, rateLimitRuleArgumentReactiveResolver, polarisRateLimiterLimitedFallback);
@@ -234,6 +240,34 @@ public class QuotaCheckReactiveFilterTest {
 		quotaCheckWithRateLimiterLimitedFallbackReactiveFilter.filter(exchange, webFilterChain);
 	}
 
+	@Test
+	public void testMetadataContextAfterAcquire() {
+		// No bucket is created, so quota is always acquired on bounded elastic scheduler.
+		ReactiveQuotaAcquirer reactiveQuotaAcquirer = new ReactiveQuotaAcquirer(limitAPI, 1, 1000, 0,
+				Schedulers.boundedElastic());
+		QuotaCheckReactiveFilter filter = new QuotaCheckReactiveFilter(limitAPI, new PolarisRateLimitProperties(),
+				rateLimitRuleArgumentReactiveResolver, null, null, reactiveQuotaAcquirer);
+		filter.init();
+
+		MetadataContext metadataContext = new MetadataContext();
+		AtomicReference<MetadataContext> chainMetadataContext = new AtomicReference<>();
+		AtomicReference<Thread> chainThread = new AtomicReference<>();
+		WebFilterChain webFilterChain = serverWebExchange -> {
+			chainThread.set(Thread.currentThread());
+			chainMetadataContext.set(MetadataContextHolder.get());
+			return Mono.empty();
+		};
+
+		// Pass
+		MetadataContext.LOCAL_SERVICE = "TestApp1";
+		ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("http://localhost:8080/test")
+				.build());
+		exchange.getAttributes().put(ReactiveMetadataContextHolder.METADATA_CONTEXT_KEY, metadataContext);
+		filter.filter(exchange, webFilterChain).block();
+		assertThat(chainThread.get()).isNotSameAs(Thread.currentThread());
+		assertThat(chainMetadataContext.get()).isSameAs(metadataContext);
+	}
+
 	@SpringBootApplication
 	protected static class TestApplication {
 	}
@@ -24,8 +24,15 @@ import java.io.InputStreamReader;
 import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 
@@ -49,6 +56,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -57,7 +65,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -79,12 +91,14 @@ public class QuotaCheckServletFilterTest {
 	private QuotaCheckServletFilter quotaCheckWithHtmlRejectTipsServletFilter;
 	private QuotaCheckServletFilter quotaCheckWithRateLimiterLimitedFallbackFilter;
 	private PolarisRateLimiterLimitedFallback polarisRateLimiterLimitedFallback;
+	private LimitAPI limitAPI;
+	private RateLimitRuleArgumentServletResolver rateLimitRuleArgumentServletResolver;
 
 	@BeforeEach
 	void setUp() throws InvalidProtocolBufferException {
 		MetadataContext.LOCAL_NAMESPACE = "TEST";
 
-		LimitAPI limitAPI = mock(LimitAPI.class);
+		limitAPI = mock(LimitAPI.class);
 		when(limitAPI.getQuota(any(QuotaRequest.class))).thenAnswer(invocationOnMock -> {
 			String serviceName = ((QuotaRequest) invocationOnMock.getArgument(0)).getService();
 			if (serviceName.equals("TestApp1")) {
@@ -98,6 +112,9 @@ public class QuotaCheckServletFilterTest {
 				response.setActiveRule(RateLimitProto.Rule.newBuilder().build());
 				return response;
 			}
+			else if (serviceName.equals("TestApp5")) {
+				return new QuotaResponse(new QuotaResult(QuotaResult.Code.QuotaResultOk, 100, "QuotaResultOk"));
+			}
 			else {
 				return new QuotaResponse(new QuotaResult(null, 0, null));
 			}
@@ -121,7 +138,7 @@ public class QuotaCheckServletFilterTest {
 		RateLimitProto.RateLimit rateLimit = RateLimitProto.RateLimit.newBuilder().addRules(rateLimitRule).build();
 		when(serviceRuleManager.getServiceRateLimitRule(anyString(), anyString())).thenReturn(rateLimit);
 
-		RateLimitRuleArgumentServletResolver rateLimitRuleArgumentServletResolver = new RateLimitRuleArgumentServletResolver(serviceRuleManager, labelResolver);
+		rateLimitRuleArgumentServletResolver = new RateLimitRuleArgumentServletResolver(serviceRuleManager, labelResolver);
 		this.quotaCheckServletFilter = new QuotaCheckServletFilter(limitAPI, polarisRateLimitProperties, rateLimitRuleArgumentServletResolver, null);
 		this.quotaCheckWithHtmlRejectTipsServletFilter = new QuotaCheckServletFilter(limitAPI, polarisRateLimitWithHtmlRejectTipsProperties, rateLimitRuleArgumentServletResolver, null);
 		this.polarisRateLimiterLimitedFallback = new JsonPolarisRateLimiterLimitedFallback();
@@ -240,6 +257,132 @@ public class QuotaCheckServletFilterTest {
 		}
 	}
 
+	@Test
+	public void testPreFilter() throws ServletException, IOException {
+		PolarisRateLimitProperties polarisRateLimitProperties = new PolarisRateLimitProperties();
+		polarisRateLimitProperties.setRejectHttpCode(419);
+		polarisRateLimitProperties.setPreFilter(true);
+		QuotaCheckServletFilter preFilter = new QuotaCheckServletFilter(limitAPI, polarisRateLimitProperties,
+				rateLimitRuleArgumentServletResolver, null);
+		preFilter.init();
+		FilterChain filterChain = (servletRequest, servletResponse) -> {
+		};
+		MetadataContext.LOCAL_SERVICE = "TestApp3";
+
+		// Rule covers /xxx only.
+		MockHttpServletResponse uncoveredResponse = new MockHttpServletResponse();
+		preFilter.doFilterInternal(new MockHttpServletRequest(null, "GET", "/yyy"), uncoveredResponse, filterChain);
+		assertThat(uncoveredResponse.getStatus()).isEqualTo(200);
+
+		MockHttpServletResponse coveredResponse = new MockHttpServletResponse();
+		preFilter.doFilterInternal(new MockHttpServletRequest(null, "GET", "/xxx"), coveredResponse, filterChain);
+		assertThat(coveredResponse.getStatus()).isEqualTo(419);
+	}
+
+	@Test
+	public void testAsyncQueuingBurst() throws InterruptedException {
+		// Burst of requests queuing 100ms each for unirate quota, served by 2 worker threads.
+		MetadataContext.LOCAL_SERVICE = "TestApp5";
+		int requestCount = 20;
+		int workerCount = 2;
+		long queuingMs = 100L;
+
+		quotaCheckServletFilter.init();
+		long blockingBusyMs = runBurst(quotaCheckServletFilter, requestCount, workerCount);
+		// Every queuing request holds a worker thread while sleeping.
+		assertThat(blockingBusyMs).isGreaterThanOrEqualTo(requestCount * queuingMs);
+
+		UnirateWaitScheduler unirateWaitScheduler = new UnirateWaitScheduler();
+		try {
+			QuotaCheckServletFilter asyncQueuingFilter = new QuotaCheckServletFilter(limitAPI,
+					new PolarisRateLimitProperties(), rateLimitRuleArgumentServletResolver, null, null,
+					unirateWaitScheduler);
+			asyncQueuingFilter.init();
+			clearInvocations(limitAPI);
+			long asyncBusyMs = runBurst(asyncQueuingFilter, requestCount, workerCount);
+			// Queuing requests hold no worker thread, which are only busy checking quota and resuming.
+			assertThat(asyncBusyMs).isLessThan(requestCount * queuingMs / 2);
+			assertThat(unirateWaitScheduler.getWaitingCount()).isZero();
+			// Resumed requests are not checked again.
+			verify(limitAPI, times(requestCount)).getQuota(any(QuotaRequest.class));
+		}
+		finally {
+			unirateWaitScheduler.destroy();
+		}
+	}
+
+	@Test
+	public void testPassOtherAsyncDispatch() throws ServletException, IOException {
+		MetadataContext.LOCAL_SERVICE = "TestApp5";
+		UnirateWaitScheduler unirateWaitScheduler = new UnirateWaitScheduler();
+		try {
+			QuotaCheckServletFilter filter = new QuotaCheckServletFilter(limitAPI, new PolarisRateLimitProperties(),
+					rateLimitRuleArgumentServletResolver, null, null, unirateWaitScheduler);
+			filter.init();
+			clearInvocations(limitAPI);
+
+			MockHttpServletRequest request = new MockHttpServletRequest();
+			request.setDispatcherType(DispatcherType.ASYNC);
+			AtomicInteger chainCount = new AtomicInteger();
+			filter.doFilter(request, new MockHttpServletResponse(), (servletRequest, servletResponse) -> chainCount.incrementAndGet());
+
+			// Async dispatch not suspended by this filter, such as of async controllers, passes through.
+			assertThat(chainCount.get()).isEqualTo(1);
+			verify(limitAPI, never()).getQuota(any(QuotaRequest.class));
+		}
+		finally {
+			unirateWaitScheduler.destroy();
+		}
+	}
+
+	/**
+	 * Serve a burst of requests with a worker pool like a servlet container does, and return total busy time of
+	 * workers in milliseconds.
+	 */
+	private long runBurst(QuotaCheckServletFilter filter, int requestCount, int workerCount)
+			throws InterruptedException {
+		ExecutorService workers = Executors.newFixedThreadPool(workerCount);
+		AtomicLong busyNanos = new AtomicLong();
+		CountDownLatch completed = new CountDownLatch(requestCount);
+		FilterChain filterChain = (servletRequest, servletResponse) -> completed.countDown();
+		try {
+			for (int i = 0; i < requestCount; i++) {
+				MockHttpServletRequest request = new MockHttpServletRequest();
+				request.setAsyncSupported(true);
+				MockHttpServletResponse response = new MockHttpServletResponse();
+				workers.execute(() -> {
+					serve(filter, request, response, filterChain, busyNanos);
+					if (request.isAsyncStarted()) {
+						// Container dispatches the resumed request to a worker again.
+						((MockAsyncContext) request.getAsyncContext()).addDispatchHandler(() -> workers.execute(() -> {
+							request.setDispatcherType(DispatcherType.ASYNC);
+							serve(filter, request, response, filterChain, busyNanos);
+						}));
+					}
+				});
+			}
+			assertThat(completed.await(10, TimeUnit.SECONDS)).isTrue();
+		}
+		finally {
+			workers.shutdownNow();
+		}
+		return TimeUnit.NANOSECONDS.toMillis(busyNanos.get());
+	}
+
+	private void serve(QuotaCheckServletFilter filter, MockHttpServletRequest request,
+			MockHttpServletResponse response, FilterChain filterChain, AtomicLong busyNanos) {
+		long start = System.nanoTime();
+		try {
+			filter.doFilter(request, response, filterChain);
+		}
+		catch (ServletException | IOException e) {
+			fail("Exception encountered.", e);
+		}
+		finally {
+			busyNanos.addAndGet(System.nanoTime() - start);
+		}
+	}
+
 	@SpringBootApplication
 	protected static class TestApplication {
 	}
@@ -0,0 +1,160 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.polaris.ratelimit.filter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.google.protobuf.BoolValue;
+import com.tencent.cloud.polaris.context.ServiceRuleManager;
+import com.tencent.polaris.api.plugin.ratelimiter.QuotaResult;
+import com.tencent.polaris.ratelimit.api.core.LimitAPI;
+import com.tencent.polaris.ratelimit.api.rpc.QuotaRequest;
+import com.tencent.polaris.ratelimit.api.rpc.QuotaResponse;
+import com.tencent.polaris.ratelimit.api.rpc.QuotaResultCode;
+import com.tencent.polaris.specification.api.v1.traffic.manage.RateLimitProto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Schedulers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test for {@link ReactiveQuotaAcquirer}.
+ *
+ * @author Haotian Zhang
+ */
+public class ReactiveQuotaAcquirerTest {
+
+	private final List<Integer> requestedCounts = new CopyOnWriteArrayList<>();
+
+	private LimitAPI limitAPI;
+
+	private ReactiveQuotaAcquirer reactiveQuotaAcquirer;
+
+	@BeforeEach
+	void setUp() {
+		limitAPI = mock(LimitAPI.class);
+		when(limitAPI.getQuota(any(QuotaRequest.class))).thenAnswer(invocationOnMock -> {
+			QuotaRequest quotaRequest = invocationOnMock.getArgument(0);
+			requestedCounts.add(quotaRequest.getCount());
+			if (quotaRequest.getService().equals("Limited")) {
+				return new QuotaResponse(new QuotaResult(QuotaResult.Code.QuotaResultLimited, 0, "QuotaResultLimited"));
+			}
+			if (quotaRequest.getService().equals("Unirate")) {
+				return new QuotaResponse(new QuotaResult(QuotaResult.Code.QuotaResultOk, 100, "QuotaResultOk"));
+			}
+			return new QuotaResponse(new QuotaResult(QuotaResult.Code.QuotaResultOk, 0, "QuotaResultOk"));
+		});
+		reactiveQuotaAcquirer = new ReactiveQuotaAcquirer(limitAPI, 4, 60_000L, 2, Schedulers.immediate());
+	}
+
+	@Test
+	public void testPrefetch() {
+		// The first request refills the bucket, and is acquired one by one.
+		assertThat(reactiveQuotaAcquirer.tryAcquire("ns", "Ok", Collections.emptySet(), "/echo")).isNull();
+		assertThat(requestedCounts).containsExactly(4);
+
+		// Pre-fetched quota is taken locally, and the bucket is refilled when half is left.
+		for (int i = 0; i < 4; i++) {
+			assertThat(reactiveQuotaAcquirer.tryAcquire("ns", "Ok", Collections.emptySet(), "/echo"))
+					.isSameAs(ReactiveQuotaAcquirer.PREFETCHED_RESPONSE);
+		}
+		assertThat(requestedCounts).containsExactly(4, 4);
+
+		QuotaResponse quotaResponse = reactiveQuotaAcquirer.acquire("ns", "Ok", Collections.emptySet(), "/echo").block();
+		assertThat(quotaResponse).isSameAs(ReactiveQuotaAcquirer.PREFETCHED_RESPONSE);
+	}
+
+	@Test
+	public void testLimited() {
+		assertThat(reactiveQuotaAcquirer.tryAcquire("ns", "Limited", Collections.emptySet(), "/echo")).isNull();
+		assertThat(requestedCounts).containsExactly(4);
+
+		// Refilling backs off, and quota is acquired one by one.
+		QuotaResponse quotaResponse = reactiveQuotaAcquirer.acquire("ns", "Limited", Collections.emptySet(), "/echo")
+				.block();
+		assertThat(quotaResponse.getCode()).isEqualTo(QuotaResultCode.QuotaResultLimited);
+		assertThat(requestedCounts).containsExactly(4, 1);
+	}
+
+	@Test
+	public void testUnirate() {
+		assertThat(reactiveQuotaAcquirer.tryAcquire("ns", "Unirate", Collections.emptySet(), "/echo")).isNull();
+		assertThat(reactiveQuotaAcquirer.tryAcquire("ns", "Unirate", Collections.emptySet(), "/echo")).isNull();
+		// Prefetching is disabled after the first batch.
+		assertThat(requestedCounts).containsExactly(4);
+
+		QuotaResponse quotaResponse = reactiveQuotaAcquirer.acquire("ns", "Unirate", Collections.emptySet(), "/echo")
+				.block();
+		assertThat(quotaResponse.getWaitMs()).isEqualTo(100);
+	}
+
+	@Test
+	public void testMaxBuckets() {
+		reactiveQuotaAcquirer.tryAcquire("ns", "Ok", Collections.emptySet(), "/a");
+		reactiveQuotaAcquirer.tryAcquire("ns", "Ok", Collections.emptySet(), "/b");
+		reactiveQuotaAcquirer.tryAcquire("ns", "Ok", Collections.emptySet(), "/c");
+
+		assertThat(reactiveQuotaAcquirer.getBucketCount()).isEqualTo(2);
+		assertThat(requestedCounts).containsExactly(4, 4);
+	}
+
+	@Test
+	public void testEvictIdleBuckets() throws InterruptedException {
+		reactiveQuotaAcquirer = new ReactiveQuotaAcquirer(limitAPI, 4, 100L, 1, Schedulers.immediate());
+		reactiveQuotaAcquirer.tryAcquire("ns", "Ok", Collections.emptySet(), "/a");
+		reactiveQuotaAcquirer.tryAcquire("ns", "Ok", Collections.emptySet(), "/b");
+		assertThat(requestedCounts).containsExactly(4);
+
+		// Bucket of /a is idle and its quota is expired.
+		Thread.sleep(200);
+		reactiveQuotaAcquirer.tryAcquire("ns", "Ok", Collections.emptySet(), "/b");
+		assertThat(reactiveQuotaAcquirer.getBucketCount()).isEqualTo(1);
+		assertThat(requestedCounts).containsExactly(4, 4);
+	}
+
+	@Test
+	public void testClusterBatchSize() {
+		RateLimitProto.RateLimit clusterRule = RateLimitProto.RateLimit.newBuilder()
+				.addRules(RateLimitProto.Rule.newBuilder().setType(RateLimitProto.Rule.Type.GLOBAL)).build();
+		RateLimitProto.RateLimit disabledClusterRule = RateLimitProto.RateLimit.newBuilder()
+				.addRules(RateLimitProto.Rule.newBuilder().setType(RateLimitProto.Rule.Type.GLOBAL)
+						.setDisable(BoolValue.of(true)))
+				.addRules(RateLimitProto.Rule.newBuilder().setType(RateLimitProto.Rule.Type.LOCAL)).build();
+		ServiceRuleManager serviceRuleManager = mock(ServiceRuleManager.class);
+		when(serviceRuleManager.getServiceRateLimitRule("ns", "Ok")).thenReturn(clusterRule);
+		when(serviceRuleManager.getServiceRateLimitRule("ns", "Local")).thenReturn(disabledClusterRule);
+		reactiveQuotaAcquirer = new ReactiveQuotaAcquirer(limitAPI, 4, 1, 60_000L, 2, serviceRuleManager,
+				Schedulers.immediate());
+
+		// Quota of cluster rule is pre-fetched one by one.
+		assertThat(reactiveQuotaAcquirer.tryAcquire("ns", "Ok", Collections.emptySet(), "/echo")).isNull();
+		assertThat(reactiveQuotaAcquirer.tryAcquire("ns", "Ok", Collections.emptySet(), "/echo"))
+				.isSameAs(ReactiveQuotaAcquirer.PREFETCHED_RESPONSE);
+		assertThat(requestedCounts).containsExactly(1, 1);
+
+		requestedCounts.clear();
+		assertThat(reactiveQuotaAcquirer.tryAcquire("ns", "Local", Collections.emptySet(), "/echo")).isNull();
+		assertThat(requestedCounts).containsExactly(4);
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.polaris.ratelimit.filter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for {@link UnirateWaitScheduler}.
+ *
+ * @author Haotian Zhang
+ */
+public class UnirateWaitSchedulerTest {
+
+	@Test
+	public void testSchedule() throws InterruptedException {
+		UnirateWaitScheduler scheduler = new UnirateWaitScheduler();
+		try {
+			CountDownLatch latch = new CountDownLatch(1);
+			long start = System.nanoTime();
+			scheduler.schedule(latch::countDown, 50);
+			assertThat(scheduler.getWaitingCount()).isEqualTo(1);
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(45);
+		}
+		finally {
+			scheduler.destroy();
+		}
+	}
+
+	@Test
+	public void testResumeOnDestroy() {
+		UnirateWaitScheduler scheduler = new UnirateWaitScheduler();
+		AtomicInteger resumed = new AtomicInteger();
+		scheduler.schedule(resumed::incrementAndGet, 60_000);
+		scheduler.schedule(resumed::incrementAndGet, 60_000);
+		assertThat(scheduler.getWaitingCount()).isEqualTo(2);
+
+		scheduler.destroy();
+		assertThat(resumed.get()).isEqualTo(2);
+		assertThatThrownBy(() -> scheduler.schedule(resumed::incrementAndGet, 10))
+				.isInstanceOf(RejectedExecutionException.class);
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.polaris.ratelimit.resolver;
+
+import com.tencent.polaris.specification.api.v1.traffic.manage.RateLimitProto;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for {@link RateLimitArgumentPlan}.
+ *
+ * @author Haotian Zhang
+ */
+public class RateLimitArgumentPlanTest {
+
+	@Test
+	public void testCompile() {
+		RateLimitProto.Rule rule1 = RateLimitProto.Rule.newBuilder()
+				.addArguments(argument(RateLimitProto.MatchArgument.Type.HEADER, "user"))
+				.addArguments(argument(RateLimitProto.MatchArgument.Type.QUERY, "page"))
+				.addArguments(argument(RateLimitProto.MatchArgument.Type.CUSTOM, "tenant"))
+				.addArguments(argument(RateLimitProto.MatchArgument.Type.METHOD, "$method"))
+				.build();
+		RateLimitProto.Rule rule2 = RateLimitProto.Rule.newBuilder()
+				.addArguments(argument(RateLimitProto.MatchArgument.Type.HEADER, "user"))
+				.addArguments(argument(RateLimitProto.MatchArgument.Type.HEADER, " "))
+				.addArguments(argument(RateLimitProto.MatchArgument.Type.CUSTOM, "tenant"))
+				.addArguments(argument(RateLimitProto.MatchArgument.Type.CALLER_SERVICE, "default"))
+				.addArguments(argument(RateLimitProto.MatchArgument.Type.CALLER_IP, "$caller_ip"))
+				.build();
+		RateLimitProto.RateLimit rateLimit = RateLimitProto.RateLimit.newBuilder()
+				.addRules(rule1).addRules(rule2).build();
+
+		RateLimitArgumentPlan plan = RateLimitArgumentPlan.compile(rateLimit);
+		assertThat(plan.getHeaderKeys()).containsExactly("user");
+		assertThat(plan.getQueryKeys()).containsExactly("page");
+		assertThat(plan.getCustomKeys()).containsExactly("tenant");
+		assertThat(plan.isMethod()).isTrue();
+		assertThat(plan.isCallerService()).isTrue();
+		assertThat(plan.isCallerIp()).isTrue();
+		assertThat(plan.getArgumentCount()).isEqualTo(6);
+		assertThat(plan.isEmpty()).isFalse();
+	}
+
+	@Test
+	public void testOf() {
+		RateLimitProto.RateLimit rateLimit = RateLimitProto.RateLimit.newBuilder()
+				.addRules(RateLimitProto.Rule.newBuilder()
+						.addArguments(argument(RateLimitProto.MatchArgument.Type.METHOD, "$method")))
+				.build();
+		RateLimitArgumentPlan plan = RateLimitArgumentPlan.of(null, rateLimit);
+		assertThat(RateLimitArgumentPlan.of(plan, rateLimit)).isSameAs(plan);
+
+		RateLimitProto.RateLimit newRateLimit = rateLimit.toBuilder().addRules(RateLimitProto.Rule.newBuilder()
+				.addArguments(argument(RateLimitProto.MatchArgument.Type.QUERY, "page"))).build();
+		RateLimitArgumentPlan newPlan = RateLimitArgumentPlan.of(plan, newRateLimit);
+		assertThat(newPlan).isNotSameAs(plan);
+		assertThat(newPlan.getQueryKeys()).containsExactly("page");
+
+		assertThat(RateLimitArgumentPlan.of(plan, null).isEmpty()).isTrue();
+		assertThat(RateLimitArgumentPlan.of(null, RateLimitProto.RateLimit.newBuilder().build()).isEmpty()).isTrue();
+	}
+
+	private static RateLimitProto.MatchArgument argument(RateLimitProto.MatchArgument.Type type, String key) {
+		return RateLimitProto.MatchArgument.newBuilder().setType(type).setKey(key).build();
+	}
+}
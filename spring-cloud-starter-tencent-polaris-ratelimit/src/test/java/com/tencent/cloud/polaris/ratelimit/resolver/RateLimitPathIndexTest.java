@@ -0,0 +1,86 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.polaris.ratelimit.resolver;
+
+import com.google.protobuf.StringValue;
+import com.tencent.polaris.specification.api.v1.model.ModelProto;
+import com.tencent.polaris.specification.api.v1.traffic.manage.RateLimitProto;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for {@link RateLimitPathIndex}.
+ *
+ * @author Haotian Zhang
+ */
+public class RateLimitPathIndexTest {
+
+	@Test
+	public void testMatches() {
+		RateLimitPathIndex index = RateLimitPathIndex.compile(RateLimitProto.RateLimit.newBuilder()
+				.addRules(rule(ModelProto.MatchString.MatchStringType.EXACT, "/users"))
+				.addRules(rule(ModelProto.MatchString.MatchStringType.IN, "/orders, /items"))
+				.addRules(rule(ModelProto.MatchString.MatchStringType.REGEX, "^/api/v1/.*"))
+				.addRules(rule(ModelProto.MatchString.MatchStringType.REGEX, "^/health$"))
+				.addRules(rule(ModelProto.MatchString.MatchStringType.REGEX, "/files/[0-9]+"))
+				.build());
+
+		assertThat(index.isMatchAll()).isFalse();
+		assertThat(index.matches("/users")).isTrue();
+		assertThat(index.matches("/users/1")).isFalse();
+		assertThat(index.matches("/user")).isFalse();
+		assertThat(index.matches("/orders")).isTrue();
+		assertThat(index.matches("/items")).isTrue();
+		assertThat(index.matches("/api/v1/echo")).isTrue();
+		assertThat(index.matches("/api/v2/echo")).isFalse();
+		assertThat(index.matches("/health")).isTrue();
+		assertThat(index.matches("/healthz")).isFalse();
+		assertThat(index.matches("/static/files/12")).isTrue();
+		assertThat(index.matches("/files/abc")).isFalse();
+		assertThat(index.matches(null)).isFalse();
+	}
+
+	@Test
+	public void testMatchAll() {
+		assertThat(RateLimitPathIndex.compile(RateLimitProto.RateLimit.newBuilder()
+				.addRules(rule(ModelProto.MatchString.MatchStringType.EXACT, "/users"))
+				.addRules(RateLimitProto.Rule.newBuilder())
+				.build()).matches("/any")).isTrue();
+		assertThat(RateLimitPathIndex.compile(RateLimitProto.RateLimit.newBuilder()
+				.addRules(rule(ModelProto.MatchString.MatchStringType.EXACT, "*"))
+				.build()).isMatchAll()).isTrue();
+		assertThat(RateLimitPathIndex.compile(RateLimitProto.RateLimit.newBuilder()
+				.addRules(rule(ModelProto.MatchString.MatchStringType.NOT_EQUALS, "/users"))
+				.build()).matches("/any")).isTrue();
+		assertThat(RateLimitPathIndex.compile(RateLimitProto.RateLimit.newBuilder()
+				.addRules(rule(ModelProto.MatchString.MatchStringType.REGEX, "/users(["))
+				.build()).matches("/any")).isTrue();
+	}
+
+	@Test
+	public void testNoRule() {
+		assertThat(RateLimitPathIndex.compile(null).matches("/any")).isFalse();
+		assertThat(RateLimitPathIndex.compile(RateLimitProto.RateLimit.newBuilder().build()).matches("/any")).isFalse();
+	}
+
+	private static RateLimitProto.Rule.Builder rule(ModelProto.MatchString.MatchStringType type, String value) {
+		return RateLimitProto.Rule.newBuilder().setMethod(ModelProto.MatchString.newBuilder()
+				.setType(type).setValue(StringValue.of(value)));
+	}
+}
@@ -19,7 +19,6 @@ package com.tencent.cloud.polaris.router;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -30,7 +29,7 @@ import java.util.Optional;
 import com.tencent.cloud.common.constant.RouterConstant;
 import com.tencent.cloud.common.metadata.MetadataContext;
 import com.tencent.cloud.common.metadata.MetadataContextHolder;
-import com.tencent.cloud.common.pojo.PolarisServiceInstance;
+import com.tencent.cloud.common.metadata.ReactiveMetadataContextHolder;
 import com.tencent.cloud.common.util.JacksonUtils;
 import com.tencent.cloud.polaris.router.resttemplate.PolarisLoadBalancerRequest;
 import com.tencent.cloud.polaris.router.spi.RouterRequestInterceptor;
@@ -38,7 +37,6 @@ import com.tencent.cloud.polaris.router.spi.RouterResponseInterceptor;
 import com.tencent.cloud.rpc.enhancement.transformer.InstanceTransformer;
 import com.tencent.polaris.api.exception.ErrorCode;
 import com.tencent.polaris.api.exception.PolarisException;
-import com.tencent.polaris.api.pojo.Instance;
 import com.tencent.polaris.api.pojo.ServiceInfo;
 import com.tencent.polaris.api.pojo.ServiceInstances;
 import com.tencent.polaris.router.api.core.RouterAPI;
@@ -49,6 +47,7 @@ import reactor.core.publisher.Flux;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.loadbalancer.DefaultRequestContext;
 import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
 import org.springframework.cloud.client.loadbalancer.RequestDataContext;
 import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
 import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
@@ -74,16 +73,28 @@ public class PolarisRouterServiceInstanceListSupplier extends DelegatingServiceI
 	private final RouterAPI routerAPI;
 	private final List<RouterRequestInterceptor> requestInterceptors;
 	private final List<RouterResponseInterceptor> responseInterceptors;
-	private final InstanceTransformer instanceTransformer;
+	private final ServiceInstancesCache serviceInstancesCache;
+	private final RouterResultCache routerResultCache;
+	private final boolean cacheable;
 
 	public PolarisRouterServiceInstanceListSupplier(ServiceInstanceListSupplier delegate,
 			RouterAPI routerAPI, List<RouterRequestInterceptor> requestInterceptors,
 			List<RouterResponseInterceptor> responseInterceptors, InstanceTransformer instanceTransformer) {
+		this(delegate, routerAPI, requestInterceptors, responseInterceptors, instanceTransformer, null);
+	}
+
+	public PolarisRouterServiceInstanceListSupplier(ServiceInstanceListSupplier delegate,
+			RouterAPI routerAPI, List<RouterRequestInterceptor> requestInterceptors,
+			List<RouterResponseInterceptor> responseInterceptors, InstanceTransformer instanceTransformer,
+			RouterResultCache routerResultCache) {
 		super(delegate);
 		this.routerAPI = routerAPI;
 		this.requestInterceptors = requestInterceptors;
 		this.responseInterceptors = responseInterceptors;
-		this.instanceTransformer = instanceTransformer;
+		this.serviceInstancesCache = new ServiceInstancesCache(instanceTransformer);
+		this.routerResultCache = routerResultCache;
+		// response interceptors have to see every routing.
+		this.cacheable = CollectionUtils.isEmpty(responseInterceptors);
 	}
 
 	@Override
@@ -97,28 +108,52 @@ public class PolarisRouterServiceInstanceListSupplier extends DelegatingServiceI
 		Flux<List<ServiceInstance>> allServers = getDelegate().get();
 
 		// 2. filter by router
-		PolarisRouterContext routerContext = null;
+		HttpHeaders headers = null;
 
 		DefaultRequestContext requestContext = (DefaultRequestContext) request.getContext();
 		if (requestContext != null) {
 			if (requestContext instanceof RequestDataContext) {
-				routerContext = buildRouterContext(((RequestDataContext) requestContext).getClientRequest().getHeaders());
+				RequestData clientRequest = ((RequestDataContext) requestContext).getClientRequest();
+				// router context passed in process, no need to decode router label header.
+				PolarisRouterContext routerContext = getRouterContext(clientRequest);
+				if (routerContext != null) {
+					return doRouter(allServers, routerContext);
+				}
+				headers = clientRequest.getHeaders();
 			}
 			else if (requestContext.getClientRequest() instanceof PolarisLoadBalancerRequest) {
-				routerContext = buildRouterContext(((PolarisLoadBalancerRequest<?>) requestContext.getClientRequest()).getRequest()
-						.getHeaders());
+				headers = ((PolarisLoadBalancerRequest<?>) requestContext.getClientRequest()).getRequest().getHeaders();
 			}
 		}
 
-		if (routerContext == null) {
-			// return all servers if router context is null.
+		if (headers == null || CollectionUtils.isEmpty(headers.get(RouterConstant.ROUTER_LABEL_HEADER))) {
+			// return all servers if there is no router label.
 			return allServers;
 		}
 
-		return doRouter(allServers, routerContext);
+		// Transitive labels are read from the subscriber context, so that they belong to the request even if
+		// the load balancer is subscribed on another thread.
+		HttpHeaders routerHeaders = headers;
+		return Flux.deferContextual(contextView -> doRouter(allServers,
+				buildRouterContext(routerHeaders, ReactiveMetadataContextHolder.get(contextView))));
+	}
+
+	private PolarisRouterContext getRouterContext(RequestData clientRequest) {
+		if (clientRequest == null || CollectionUtils.isEmpty(clientRequest.getAttributes())) {
+			return null;
+		}
+		Object routerContext = clientRequest.getAttributes().get(RouterConstant.ROUTER_CONTEXT_ATTRIBUTE);
+		if (routerContext instanceof PolarisRouterContext) {
+			return (PolarisRouterContext) routerContext;
+		}
+		return null;
 	}
 
 	PolarisRouterContext buildRouterContext(HttpHeaders headers) {
+		return buildRouterContext(headers, null);
+	}
+
+	PolarisRouterContext buildRouterContext(HttpHeaders headers, MetadataContext metadataContext) {
 		Collection<String> labelHeaderValues = headers.get(RouterConstant.ROUTER_LABEL_HEADER);
 
 		if (CollectionUtils.isEmpty(labelHeaderValues)) {
@@ -127,7 +162,10 @@ public class PolarisRouterServiceInstanceListSupplier extends DelegatingServiceI
 
 		PolarisRouterContext routerContext = new PolarisRouterContext();
 
-		routerContext.putLabels(RouterConstant.TRANSITIVE_LABELS, MetadataContextHolder.get().getTransitiveMetadata());
+		if (metadataContext == null) {
+			metadataContext = MetadataContextHolder.get();
+		}
+		routerContext.putLabels(RouterConstant.TRANSITIVE_LABELS, metadataContext.getTransitiveMetadata());
 
 		Map<String, String> labelHeaderValuesMap = new HashMap<>();
 		try {
@@ -146,29 +184,66 @@ public class PolarisRouterServiceInstanceListSupplier extends DelegatingServiceI
 	}
 
 	Flux<List<ServiceInstance>> doRouter(Flux<List<ServiceInstance>> allServers, PolarisRouterContext routerContext) {
-		ServiceInstances serviceInstances = RouterUtils.transferServersToServiceInstances(allServers, instanceTransformer);
+		// route every instance list lazily when it is emitted, instead of collecting it in advance.
+		return allServers.map(servers -> doRouter(servers, routerContext));
+	}
 
-		List<ServiceInstance> filteredInstances = new ArrayList<>();
-		if (serviceInstances.getInstances().size() > 0) {
-			// filter instance by routers
-			ProcessRoutersRequest processRoutersRequest = buildProcessRoutersRequest(serviceInstances, routerContext);
+	List<ServiceInstance> doRouter(List<ServiceInstance> servers, PolarisRouterContext routerContext) {
+		// instances are only transformed again when the instance list changes.
+		ServiceInstances serviceInstances = serviceInstancesCache.getServiceInstances(servers);
 
-			// process request interceptors
-			processRouterRequestInterceptors(processRoutersRequest, routerContext);
+		if (serviceInstances.getInstances().isEmpty()) {
+			return Collections.emptyList();
+		}
+		if (routerResultCache == null) {
+			return route(serviceInstances, routerContext);
+		}
 
-			// process router chain
-			ProcessRoutersResponse processRoutersResponse = routerAPI.processRouters(processRoutersRequest);
+		String dstService = getServiceId();
+		if (!isDeterministic() || dstService == null) {
+			routerResultCache.recordBypass();
+			return route(serviceInstances, routerContext);
+		}
 
-			// process response interceptors
-			processRouterResponseInterceptors(routerContext, processRoutersResponse);
+		Map<String, String> labels = new HashMap<>(routerContext.getLabels(RouterConstant.ROUTER_LABELS));
+		List<ServiceInstance> filteredInstances = routerResultCache.get(dstService, serviceInstances, labels);
+		if (filteredInstances == null) {
+			long ruleRevision = routerResultCache.getRuleRevision();
+			filteredInstances = route(serviceInstances, routerContext);
+			routerResultCache.put(dstService, serviceInstances, ruleRevision, labels, filteredInstances);
+		}
+		return filteredInstances;
+	}
 
-			// transfer polaris server to ServiceInstance
-			ServiceInstances filteredServiceInstances = processRoutersResponse.getServiceInstances();
-			for (Instance instance : filteredServiceInstances.getInstances()) {
-				filteredInstances.add(new PolarisServiceInstance(instance));
+	private boolean isDeterministic() {
+		// routing result can only be cached if it only depends on router labels.
+		if (!cacheable) {
+			return false;
+		}
+		for (RouterRequestInterceptor requestInterceptor : requestInterceptors) {
+			if (!requestInterceptor.isDeterministic()) {
+				return false;
 			}
 		}
-		return Flux.fromIterable(Collections.singletonList(filteredInstances));
+		return true;
+	}
+
+	private List<ServiceInstance> route(ServiceInstances serviceInstances, PolarisRouterContext routerContext) {
+		// filter instance by routers
+		ProcessRoutersRequest processRoutersRequest = buildProcessRoutersRequest(serviceInstances, routerContext);
+
+		// process request interceptors
+		processRouterRequestInterceptors(processRoutersRequest, routerContext);
+
+		// process router chain
+		ProcessRoutersResponse processRoutersResponse = routerAPI.processRouters(processRoutersRequest);
+
+		// process response interceptors
+		processRouterResponseInterceptors(routerContext, processRoutersResponse);
+
+		// transfer polaris server to ServiceInstance
+		ServiceInstances filteredServiceInstances = processRoutersResponse.getServiceInstances();
+		return serviceInstancesCache.getServers(serviceInstances, filteredServiceInstances.getInstances());
 	}
 
 	ProcessRoutersRequest buildProcessRoutersRequest(ServiceInstances serviceInstances, PolarisRouterContext key) {
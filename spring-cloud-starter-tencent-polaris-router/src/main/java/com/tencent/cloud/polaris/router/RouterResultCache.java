@@ -0,0 +1,183 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.polaris.router;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.tencent.polaris.api.pojo.ServiceInstances;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+/**
+ * Bounded cache of routing results, keyed by destination service, instance list revision, routing rule revision
+ * and router labels. Results of a destination are dropped as soon as its instance list changes, and all results are
+ * dropped when any routing rule changes.
+ *
+ * @author Haotian Zhang
+ */
+public class RouterResultCache {
+
+	private final int maxSize;
+
+	private final Map<String, DestinationCache> destinationCaches = new ConcurrentHashMap<>();
+
+	private final AtomicLong ruleRevision = new AtomicLong();
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder bypassCount = new LongAdder();
+
+	public RouterResultCache(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Get current revision of routing rules, which should be got before routing and passed to
+	 * {@link #put(String, ServiceInstances, long, Map, List)}.
+	 * @return routing rule revision
+	 */
+	public long getRuleRevision() {
+		return ruleRevision.get();
+	}
+
+	/**
+	 * Get cached routing result.
+	 * @param dstService destination service
+	 * @param serviceInstances instances of destination service, compared by identity as instance list revision
+	 * @param labels router labels
+	 * @return routing result, or null if not cached
+	 */
+	public List<ServiceInstance> get(String dstService, ServiceInstances serviceInstances, Map<String, String> labels) {
+		DestinationCache destinationCache = destinationCaches.get(dstService);
+		List<ServiceInstance> result = null;
+		if (destinationCache != null && destinationCache.matches(serviceInstances, ruleRevision.get())) {
+			result = destinationCache.get(labels);
+		}
+		if (result != null) {
+			hitCount.increment();
+		}
+		else {
+			missCount.increment();
+		}
+		return result;
+	}
+
+	/**
+	 * Put routing result into cache. Ignored if routing rules changed since the rule revision was got.
+	 * @param dstService destination service
+	 * @param serviceInstances instances of destination service
+	 * @param ruleRevision routing rule revision got before routing
+	 * @param labels router labels
+	 * @param result routing result
+	 */
+	public void put(String dstService, ServiceInstances serviceInstances, long ruleRevision,
+			Map<String, String> labels, List<ServiceInstance> result) {
+		if (ruleRevision != this.ruleRevision.get()) {
+			return;
+		}
+		DestinationCache destinationCache = destinationCaches.compute(dstService, (key, current) ->
+				current != null && current.matches(serviceInstances, ruleRevision)
+						? current : new DestinationCache(serviceInstances, ruleRevision, maxSize));
+		destinationCache.put(labels, Collections.unmodifiableList(result));
+	}
+
+	/**
+	 * Record a routing which bypasses the cache.
+	 */
+	public void recordBypass() {
+		bypassCount.increment();
+	}
+
+	/**
+	 * Invalidate all cached routing results, called when routing rules change.
+	 */
+	public void invalidateAll() {
+		ruleRevision.incrementAndGet();
+		destinationCaches.clear();
+	}
+
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	public long getBypassCount() {
+		return bypassCount.sum();
+	}
+
+	public double getHitRatio() {
+		long hit = getHitCount();
+		long total = hit + getMissCount();
+		return total == 0 ? 0 : (double) hit / total;
+	}
+
+	public int getSize() {
+		int size = 0;
+		for (DestinationCache destinationCache : destinationCaches.values()) {
+			size += destinationCache.size();
+		}
+		return size;
+	}
+
+	private static final class DestinationCache {
+
+		private final ServiceInstances serviceInstances;
+
+		private final long ruleRevision;
+
+		private final Map<Map<String, String>, List<ServiceInstance>> results;
+
+		private DestinationCache(ServiceInstances serviceInstances, long ruleRevision, int maxSize) {
+			this.serviceInstances = serviceInstances;
+			this.ruleRevision = ruleRevision;
+			this.results = new LinkedHashMap<Map<String, String>, List<ServiceInstance>>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Map<String, String>, List<ServiceInstance>> eldest) {
+					return size() > maxSize;
+				}
+			};
+		}
+
+		private boolean matches(ServiceInstances serviceInstances, long ruleRevision) {
+			return this.serviceInstances == serviceInstances && this.ruleRevision == ruleRevision;
+		}
+
+		private synchronized List<ServiceInstance> get(Map<String, String> labels) {
+			return results.get(labels);
+		}
+
+		private synchronized void put(Map<String, String> labels, List<ServiceInstance> result) {
+			results.put(labels, result);
+		}
+
+		private synchronized int size() {
+			return results.size();
+		}
+	}
+}
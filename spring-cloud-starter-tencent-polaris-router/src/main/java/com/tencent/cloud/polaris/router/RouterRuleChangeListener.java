@@ -0,0 +1,100 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ */
+
+package com.tencent.cloud.polaris.router;
+
+import com.tencent.cloud.polaris.context.listener.ServiceRuleChangeBus;
+import com.tencent.cloud.polaris.context.listener.ServiceRuleChangeEvent;
+import com.tencent.polaris.api.plugin.registry.AbstractResourceEventListener;
+import com.tencent.polaris.api.pojo.RegistryCacheValue;
+import com.tencent.polaris.api.pojo.ServiceEventKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Change listener of Polaris routing rules. Invalidates the label keys cached by {@link RouterRuleLabelResolver}
+ * and the routing results cached by {@link RouterResultCache} when the routing rule of a service is added, updated
+ * or deleted.
+ * <p>
+ * When {@link ServiceRuleChangeBus} is available, changes are received from the bus, so that a burst of changes is
+ * coalesced and the rules cached by {@link com.tencent.cloud.polaris.context.ServiceRuleManager} are already
+ * invalidated. Otherwise, it is registered to the local registry of SDK directly.
+ *
+ * @author Haotian Zhang
+ */
+public class RouterRuleChangeListener extends AbstractResourceEventListener {
+
+	private static final Logger LOG = LoggerFactory.getLogger(RouterRuleChangeListener.class);
+
+	private final RouterRuleLabelResolver routerRuleLabelResolver;
+
+	private final RouterResultCache routerResultCache;
+
+	public RouterRuleChangeListener(RouterRuleLabelResolver routerRuleLabelResolver) {
+		this(routerRuleLabelResolver, null);
+	}
+
+	public RouterRuleChangeListener(RouterRuleLabelResolver routerRuleLabelResolver,
+			RouterResultCache routerResultCache) {
+		this.routerRuleLabelResolver = routerRuleLabelResolver;
+		this.routerResultCache = routerResultCache;
+	}
+
+	@Override
+	public void onResourceAdd(ServiceEventKey svcEventKey, RegistryCacheValue newValue) {
+		invalidate(svcEventKey);
+	}
+
+	@Override
+	public void onResourceUpdated(ServiceEventKey svcEventKey, RegistryCacheValue oldValue,
+			RegistryCacheValue newValue) {
+		invalidate(svcEventKey);
+	}
+
+	@Override
+	public void onResourceDeleted(ServiceEventKey svcEventKey, RegistryCacheValue oldValue) {
+		invalidate(svcEventKey);
+	}
+
+	/**
+	 * Receive routing rule change event from {@link ServiceRuleChangeBus}.
+	 * @param event rule change event
+	 */
+	public void onRuleChanged(ServiceRuleChangeEvent event) {
+		if (event.getRuleType() != ServiceEventKey.EventType.ROUTING) {
+			return;
+		}
+		LOG.debug("receive router rule={} change event", event);
+		invalidate(event.getNamespace(), event.getService());
+	}
+
+	private void invalidate(ServiceEventKey svcEventKey) {
+		if (svcEventKey == null || svcEventKey.getEventType() != ServiceEventKey.EventType.ROUTING) {
+			return;
+		}
+		LOG.debug("receive router rule={} change event", svcEventKey);
+		invalidate(svcEventKey.getServiceKey().getNamespace(), svcEventKey.getServiceKey().getService());
+	}
+
+	private void invalidate(String namespace, String service) {
+		routerRuleLabelResolver.invalidate(namespace, service);
+		if (routerResultCache != null) {
+			routerResultCache.invalidateAll();
+		}
+	}
+}
@@ -22,8 +22,13 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+import com.tencent.cloud.common.util.expresstion.ExpressionLabelPlan;
 import com.tencent.cloud.common.util.expresstion.ExpressionLabelUtils;
 import com.tencent.cloud.polaris.context.ServiceRuleManager;
 import com.tencent.polaris.specification.api.v1.model.ModelProto;
@@ -32,18 +37,86 @@ import com.tencent.polaris.specification.api.v1.traffic.manage.RoutingProto;
 import org.springframework.util.CollectionUtils;
 
 /**
- * Resolve label expressions from routing rules.
+ * Resolve label expressions from routing rules. Resolved keys are compiled into {@link ExpressionLabelPlan} and cached
+ * per (namespace, source, destination) until the routing rule of the source or destination service changes.
  * @author lepdou 2022-05-19
  */
 public class RouterRuleLabelResolver {
 
 	private final ServiceRuleManager serviceRuleManager;
 
+	private final Map<LabelKeyCacheKey, ExpressionLabelPlan> labelKeyCache = new ConcurrentHashMap<>();
+
+	private final AtomicLong generation = new AtomicLong();
+
+	private final LongAdder cacheHitCount = new LongAdder();
+
+	private final LongAdder cacheMissCount = new LongAdder();
+
 	public RouterRuleLabelResolver(ServiceRuleManager serviceRuleManager) {
 		this.serviceRuleManager = serviceRuleManager;
 	}
 
 	public Set<String> getExpressionLabelKeys(String namespace, String sourceService, String dstService) {
+		return getExpressionLabelPlan(namespace, sourceService, dstService).getLabelKeys();
+	}
+
+	/**
+	 * Get the compiled extractor plan of the expression labels in routing rules.
+	 * @param namespace namespace
+	 * @param sourceService source service
+	 * @param dstService destination service
+	 * @return compiled plan
+	 */
+	public ExpressionLabelPlan getExpressionLabelPlan(String namespace, String sourceService, String dstService) {
+		LabelKeyCacheKey cacheKey = new LabelKeyCacheKey(namespace, sourceService, dstService);
+		ExpressionLabelPlan plan = labelKeyCache.get(cacheKey);
+		if (plan != null) {
+			cacheHitCount.increment();
+			return plan;
+		}
+		cacheMissCount.increment();
+		long current = generation.get();
+		plan = ExpressionLabelPlan.compile(resolveExpressionLabelKeys(namespace, sourceService, dstService));
+		labelKeyCache.put(cacheKey, plan);
+		// Invalidated while resolving, the resolved plan may be stale.
+		if (generation.get() != current) {
+			labelKeyCache.remove(cacheKey, plan);
+		}
+		return plan;
+	}
+
+	/**
+	 * Invalidate cached label keys resolved from the routing rule of the service, as source or destination.
+	 * @param namespace namespace of the service
+	 * @param service service whose routing rule changed
+	 */
+	public void invalidate(String namespace, String service) {
+		generation.incrementAndGet();
+		labelKeyCache.keySet().removeIf(cacheKey -> cacheKey.involves(namespace, service));
+	}
+
+	/**
+	 * Invalidate all cached label keys.
+	 */
+	public void invalidateAll() {
+		generation.incrementAndGet();
+		labelKeyCache.clear();
+	}
+
+	public long getCacheHitCount() {
+		return cacheHitCount.sum();
+	}
+
+	public long getCacheMissCount() {
+		return cacheMissCount.sum();
+	}
+
+	public int getCacheSize() {
+		return labelKeyCache.size();
+	}
+
+	private Set<String> resolveExpressionLabelKeys(String namespace, String sourceService, String dstService) {
 		List<RoutingProto.Route> rules = serviceRuleManager.getServiceRouterRule(namespace, sourceService, dstService);
 
 		if (CollectionUtils.isEmpty(rules)) {
@@ -72,4 +145,45 @@ public class RouterRuleLabelResolver {
 
 		return expressionLabels;
 	}
+
+	private static final class LabelKeyCacheKey {
+
+		private final String namespace;
+
+		private final String sourceService;
+
+		private final String dstService;
+
+		private final int hashCode;
+
+		private LabelKeyCacheKey(String namespace, String sourceService, String dstService) {
+			this.namespace = namespace;
+			this.sourceService = sourceService;
+			this.dstService = dstService;
+			this.hashCode = Objects.hash(namespace, sourceService, dstService);
+		}
+
+		private boolean involves(String namespace, String service) {
+			return Objects.equals(this.namespace, namespace)
+					&& (Objects.equals(sourceService, service) || Objects.equals(dstService, service));
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof LabelKeyCacheKey)) {
+				return false;
+			}
+			LabelKeyCacheKey that = (LabelKeyCacheKey) o;
+			return Objects.equals(namespace, that.namespace) && Objects.equals(sourceService, that.sourceService)
+					&& Objects.equals(dstService, that.dstService);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
 }
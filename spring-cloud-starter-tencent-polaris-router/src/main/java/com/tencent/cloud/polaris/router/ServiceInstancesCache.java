@@ -0,0 +1,146 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.polaris.router;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.tencent.cloud.common.metadata.MetadataContext;
+import com.tencent.cloud.common.pojo.PolarisServiceInstance;
+import com.tencent.cloud.rpc.enhancement.transformer.InstanceTransformer;
+import com.tencent.polaris.api.pojo.DefaultServiceInstances;
+import com.tencent.polaris.api.pojo.Instance;
+import com.tencent.polaris.api.pojo.ServiceInstances;
+import com.tencent.polaris.api.pojo.ServiceKey;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Cache of the Polaris instances transformed from the service instances of one service.
+ * <p>
+ * Instances are cached by identity of their source. The source of a {@link PolarisServiceInstance} is the Polaris
+ * instance it wraps, which the Polaris SDK only replaces when the instance list revision changes, so a new wrapper
+ * of the same instance still hits the cache. Only the latest revision is kept: the cache is rebuilt as soon as an
+ * instance of the list is unknown or the list size changes.
+ *
+ * @author Haotian Zhang
+ */
+public class ServiceInstancesCache {
+
+	private final InstanceTransformer instanceTransformer;
+
+	private volatile Revision revision;
+
+	public ServiceInstancesCache(InstanceTransformer instanceTransformer) {
+		this.instanceTransformer = instanceTransformer;
+	}
+
+	/**
+	 * Get the Polaris instances of servers, transform them only if the instance list changed.
+	 * @param servers service instances
+	 * @return Polaris service instances
+	 */
+	public ServiceInstances getServiceInstances(List<ServiceInstance> servers) {
+		return getRevision(servers).serviceInstances;
+	}
+
+	/**
+	 * Get service instances of the routed Polaris instances.
+	 * @param serviceInstances Polaris service instances returned by {@link #getServiceInstances(List)}
+	 * @param instances routed Polaris instances
+	 * @return service instances
+	 */
+	public List<ServiceInstance> getServers(ServiceInstances serviceInstances, List<Instance> instances) {
+		if (CollectionUtils.isEmpty(instances)) {
+			return Collections.emptyList();
+		}
+		Revision current = revision;
+		Map<Instance, ServiceInstance> servers = current != null && current.serviceInstances == serviceInstances
+				? current.servers : Collections.emptyMap();
+		List<ServiceInstance> result = new ArrayList<>(instances.size());
+		for (Instance instance : instances) {
+			ServiceInstance server = servers.get(instance);
+			result.add(server != null ? server : new PolarisServiceInstance(instance));
+		}
+		return result;
+	}
+
+	private Revision getRevision(List<ServiceInstance> servers) {
+		Revision current = revision;
+		if (current != null && current.matches(servers)) {
+			return current;
+		}
+		current = new Revision(servers, instanceTransformer);
+		revision = current;
+		return current;
+	}
+
+	private static Object getSource(ServiceInstance server) {
+		if (server instanceof PolarisServiceInstance) {
+			return ((PolarisServiceInstance) server).getPolarisInstance();
+		}
+		return server;
+	}
+
+	private static final class Revision {
+
+		private final Map<Object, Instance> instances;
+
+		private final Map<Instance, ServiceInstance> servers;
+
+		private final ServiceInstances serviceInstances;
+
+		private Revision(List<ServiceInstance> servers, InstanceTransformer instanceTransformer) {
+			int size = servers == null ? 0 : servers.size();
+			this.instances = new IdentityHashMap<>(size);
+			this.servers = new IdentityHashMap<>(size);
+			List<Instance> instanceList = new ArrayList<>(size);
+			if (size > 0) {
+				for (ServiceInstance server : servers) {
+					Instance instance = instanceTransformer.transform(server);
+					this.instances.put(getSource(server), instance);
+					this.servers.put(instance, server);
+					instanceList.add(instance);
+				}
+			}
+
+			String serviceName = instanceList.isEmpty() ? "" : instanceList.get(0).getService();
+			ServiceKey serviceKey = new ServiceKey(MetadataContext.LOCAL_NAMESPACE, serviceName);
+			this.serviceInstances = new DefaultServiceInstances(serviceKey, instanceList);
+		}
+
+		private boolean matches(List<ServiceInstance> servers) {
+			int size = servers == null ? 0 : servers.size();
+			if (size != serviceInstances.getInstances().size()) {
+				return false;
+			}
+			if (size > 0) {
+				for (ServiceInstance server : servers) {
+					if (!instances.containsKey(getSource(server))) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+	}
+}
@@ -22,10 +22,12 @@ import java.util.List;
 
 import com.tencent.cloud.polaris.context.PolarisSDKContextManager;
 import com.tencent.cloud.polaris.router.PolarisRouterServiceInstanceListSupplier;
+import com.tencent.cloud.polaris.router.RouterResultCache;
 import com.tencent.cloud.polaris.router.spi.RouterRequestInterceptor;
 import com.tencent.cloud.polaris.router.spi.RouterResponseInterceptor;
 import com.tencent.cloud.rpc.enhancement.transformer.InstanceTransformer;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.cloud.client.ConditionalOnBlockingDiscoveryEnabled;
 import org.springframework.cloud.client.ConditionalOnDiscoveryEnabled;
@@ -62,13 +64,15 @@ public class LoadBalancerConfiguration {
 		public ServiceInstanceListSupplier polarisRouterDiscoveryClientServiceInstanceListSupplier(
 				ConfigurableApplicationContext context,
 				PolarisSDKContextManager polarisSDKContextManager, List<RouterRequestInterceptor> requestInterceptors,
-				List<RouterResponseInterceptor> responseInterceptors, InstanceTransformer instanceTransformer) {
+				List<RouterResponseInterceptor> responseInterceptors, InstanceTransformer instanceTransformer,
+				ObjectProvider<RouterResultCache> routerResultCache) {
 			return new PolarisRouterServiceInstanceListSupplier(
 					ServiceInstanceListSupplier.builder().withDiscoveryClient().build(context),
 					polarisSDKContextManager.getRouterAPI(),
 					requestInterceptors,
 					responseInterceptors,
-					instanceTransformer);
+					instanceTransformer,
+					routerResultCache.getIfAvailable());
 		}
 
 	}
@@ -83,13 +87,15 @@ public class LoadBalancerConfiguration {
 		public ServiceInstanceListSupplier polarisRouterDiscoveryClientServiceInstanceListSupplier(
 				ConfigurableApplicationContext context,
 				PolarisSDKContextManager polarisSDKContextManager, List<RouterRequestInterceptor> requestInterceptors,
-				List<RouterResponseInterceptor> responseInterceptors, InstanceTransformer instanceTransformer) {
+				List<RouterResponseInterceptor> responseInterceptors, InstanceTransformer instanceTransformer,
+				ObjectProvider<RouterResultCache> routerResultCache) {
 			return new PolarisRouterServiceInstanceListSupplier(
 					ServiceInstanceListSupplier.builder().withBlockingDiscoveryClient().build(context),
 					polarisSDKContextManager.getRouterAPI(),
 					requestInterceptors,
 					responseInterceptors,
-					instanceTransformer);
+					instanceTransformer,
+					routerResultCache.getIfAvailable());
 		}
 	}
 }
@@ -23,12 +23,18 @@ import java.util.Collections;
 import java.util.List;
 
 import com.tencent.cloud.common.metadata.StaticMetadataManager;
+import com.tencent.cloud.polaris.context.PolarisSDKContextManager;
 import com.tencent.cloud.polaris.context.ServiceRuleManager;
 import com.tencent.cloud.polaris.context.config.PolarisContextProperties;
+import com.tencent.cloud.polaris.context.listener.ServiceRuleChangeBus;
+import com.tencent.cloud.polaris.router.RouterResultCache;
+import com.tencent.cloud.polaris.router.RouterResultCacheRefreshListener;
+import com.tencent.cloud.polaris.router.RouterRuleChangeListener;
 import com.tencent.cloud.polaris.router.RouterRuleLabelResolver;
 import com.tencent.cloud.polaris.router.beanprocessor.ReactiveLoadBalancerClientFilterBeanPostProcessor;
 import com.tencent.cloud.polaris.router.config.properties.PolarisMetadataRouterProperties;
 import com.tencent.cloud.polaris.router.config.properties.PolarisNearByRouterProperties;
+import com.tencent.cloud.polaris.router.config.properties.PolarisRouterResultCacheProperties;
 import com.tencent.cloud.polaris.router.config.properties.PolarisRuleBasedRouterProperties;
 import com.tencent.cloud.polaris.router.interceptor.MetadataRouterRequestInterceptor;
 import com.tencent.cloud.polaris.router.interceptor.NearbyRouterRequestInterceptor;
@@ -36,7 +42,9 @@ import com.tencent.cloud.polaris.router.interceptor.RuleBasedRouterRequestInterc
 import com.tencent.cloud.polaris.router.resttemplate.RouterLabelRestTemplateInterceptor;
 import com.tencent.cloud.polaris.router.spi.SpringWebRouterLabelResolver;
 import com.tencent.cloud.rpc.enhancement.resttemplate.EnhancedRestTemplateInterceptor;
+import com.tencent.polaris.api.pojo.ServiceEventKey;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -59,7 +67,8 @@ import static org.springframework.core.Ordered.HIGHEST_PRECEDENCE;
 @Configuration(proxyBeanMethods = false)
 @ConditionalOnPolarisRouterEnabled
 @LoadBalancerClients(defaultConfiguration = LoadBalancerConfiguration.class)
-@Import({PolarisNearByRouterProperties.class, PolarisMetadataRouterProperties.class, PolarisRuleBasedRouterProperties.class})
+@Import({PolarisNearByRouterProperties.class, PolarisMetadataRouterProperties.class, PolarisRuleBasedRouterProperties.class,
+		PolarisRouterResultCacheProperties.class})
 public class RouterAutoConfiguration {
 
 	@Bean
@@ -74,6 +83,39 @@ public class RouterAutoConfiguration {
 		return new RouterRuleLabelResolver(serviceRuleManager);
 	}
 
+	@Bean
+	@ConditionalOnProperty(value = "spring.cloud.polaris.router.result-cache.enabled", havingValue = "true")
+	public RouterResultCache routerResultCache(PolarisRouterResultCacheProperties polarisRouterResultCacheProperties) {
+		return new RouterResultCache(polarisRouterResultCacheProperties.getMaxSize());
+	}
+
+	@Bean
+	@ConditionalOnProperty(value = "spring.cloud.polaris.router.result-cache.enabled", havingValue = "true")
+	public RouterResultCacheRefreshListener routerResultCacheRefreshListener(RouterResultCache routerResultCache) {
+		return new RouterResultCacheRefreshListener(routerResultCache);
+	}
+
+	@Bean
+	public RouterRuleChangeListener routerRuleChangeListener(RouterRuleLabelResolver routerRuleLabelResolver,
+			ObjectProvider<RouterResultCache> routerResultCache) {
+		return new RouterRuleChangeListener(routerRuleLabelResolver, routerResultCache.getIfAvailable());
+	}
+
+	@Bean
+	public SmartInitializingSingleton registerRouterRuleChangeListener(RouterRuleChangeListener routerRuleChangeListener,
+			ObjectProvider<ServiceRuleChangeBus> serviceRuleChangeBus,
+			ObjectProvider<PolarisSDKContextManager> polarisSDKContextManager) {
+		return () -> {
+			ServiceRuleChangeBus bus = serviceRuleChangeBus.getIfAvailable();
+			if (bus != null) {
+				bus.subscribe(ServiceEventKey.EventType.ROUTING, routerRuleChangeListener::onRuleChanged);
+				return;
+			}
+			polarisSDKContextManager.ifAvailable(manager -> manager.getSDKContext().getExtensions()
+					.getLocalRegistry().registerResourceListener(routerRuleChangeListener));
+		};
+	}
+
 	@Bean
 	@ConditionalOnProperty(value = "spring.cloud.polaris.router.metadata-router.enabled", matchIfMissing = true)
 	public MetadataRouterRequestInterceptor metadataRouterRequestInterceptor(PolarisMetadataRouterProperties polarisMetadataRouterProperties) {
@@ -28,6 +28,8 @@ import com.google.protobuf.util.JsonFormat;
 import com.tencent.cloud.common.metadata.MetadataContext;
 import com.tencent.cloud.common.util.JacksonUtils;
 import com.tencent.cloud.polaris.context.ServiceRuleManager;
+import com.tencent.cloud.polaris.router.RouterResultCache;
+import com.tencent.cloud.polaris.router.RouterRuleLabelResolver;
 import com.tencent.polaris.specification.api.v1.traffic.manage.RoutingProto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,8 +51,45 @@ public class PolarisRouterEndpoint {
 
 	private final ServiceRuleManager serviceRuleManager;
 
+	private final RouterRuleLabelResolver routerRuleLabelResolver;
+
+	private final RouterResultCache routerResultCache;
+
 	public PolarisRouterEndpoint(ServiceRuleManager serviceRuleManager) {
+		this(serviceRuleManager, null);
+	}
+
+	public PolarisRouterEndpoint(ServiceRuleManager serviceRuleManager, RouterRuleLabelResolver routerRuleLabelResolver) {
+		this(serviceRuleManager, routerRuleLabelResolver, null);
+	}
+
+	public PolarisRouterEndpoint(ServiceRuleManager serviceRuleManager, RouterRuleLabelResolver routerRuleLabelResolver,
+			RouterResultCache routerResultCache) {
 		this.serviceRuleManager = serviceRuleManager;
+		this.routerRuleLabelResolver = routerRuleLabelResolver;
+		this.routerResultCache = routerResultCache;
+	}
+
+	@ReadOperation
+	public Map<String, Object> router() {
+		Map<String, Object> result = new HashMap<>();
+		if (routerRuleLabelResolver != null) {
+			Map<String, Object> labelKeyCache = new HashMap<>();
+			labelKeyCache.put("size", routerRuleLabelResolver.getCacheSize());
+			labelKeyCache.put("hitCount", routerRuleLabelResolver.getCacheHitCount());
+			labelKeyCache.put("missCount", routerRuleLabelResolver.getCacheMissCount());
+			result.put("labelKeyCache", labelKeyCache);
+		}
+		if (routerResultCache != null) {
+			Map<String, Object> resultCache = new HashMap<>();
+			resultCache.put("size", routerResultCache.getSize());
+			resultCache.put("hitCount", routerResultCache.getHitCount());
+			resultCache.put("missCount", routerResultCache.getMissCount());
+			resultCache.put("bypassCount", routerResultCache.getBypassCount());
+			resultCache.put("hitRatio", routerResultCache.getHitRatio());
+			result.put("resultCache", resultCache);
+		}
+		return result;
 	}
 
 	@ReadOperation
@@ -19,7 +19,10 @@ package com.tencent.cloud.polaris.router.endpoint;
 
 import com.tencent.cloud.polaris.context.ConditionalOnPolarisEnabled;
 import com.tencent.cloud.polaris.context.ServiceRuleManager;
+import com.tencent.cloud.polaris.router.RouterResultCache;
+import com.tencent.cloud.polaris.router.RouterRuleLabelResolver;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -40,7 +43,10 @@ public class PolarisRouterEndpointAutoConfiguration {
 	@Bean
 	@ConditionalOnMissingBean
 	@ConditionalOnAvailableEndpoint
-	public PolarisRouterEndpoint polarisRouterEndpoint(ServiceRuleManager serviceRuleManager) {
-		return new PolarisRouterEndpoint(serviceRuleManager);
+	public PolarisRouterEndpoint polarisRouterEndpoint(ServiceRuleManager serviceRuleManager,
+			ObjectProvider<RouterRuleLabelResolver> routerRuleLabelResolver,
+			ObjectProvider<RouterResultCache> routerResultCache) {
+		return new PolarisRouterEndpoint(serviceRuleManager, routerRuleLabelResolver.getIfAvailable(),
+				routerResultCache.getIfAvailable());
 	}
 }
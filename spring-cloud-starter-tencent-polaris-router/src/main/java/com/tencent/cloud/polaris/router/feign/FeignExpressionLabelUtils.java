@@ -22,13 +22,15 @@ import java.net.URI;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import com.tencent.cloud.common.util.expresstion.ExpressionLabelPlan;
 import com.tencent.cloud.common.util.expresstion.ExpressionLabelUtils;
 import feign.RequestTemplate;
-import org.apache.commons.lang.StringUtils;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.util.CollectionUtils;
 
 /**
@@ -45,37 +47,33 @@ public final class FeignExpressionLabelUtils {
 		if (CollectionUtils.isEmpty(labelKeys)) {
 			return Collections.emptyMap();
 		}
+		return resolve(request, ExpressionLabelPlan.compile(labelKeys));
+	}
+
+	public static Map<String, String> resolve(RequestTemplate request, ExpressionLabelPlan plan) {
+		if (plan == null || plan.isEmpty()) {
+			return Collections.emptyMap();
+		}
 
 		Map<String, String> labels = new HashMap<>();
 
-		for (String labelKey : labelKeys) {
-			if (ExpressionLabelUtils.isHeaderLabel(labelKey)) {
-				String headerKey = ExpressionLabelUtils.parseHeaderKey(labelKey);
-				if (StringUtils.isBlank(headerKey)) {
-					continue;
-				}
-				labels.put(labelKey, getHeaderValue(request, headerKey));
-			}
-			else if (ExpressionLabelUtils.isQueryLabel(labelKey)) {
-				String queryKey = ExpressionLabelUtils.parseQueryKey(labelKey);
-				if (StringUtils.isBlank(queryKey)) {
-					continue;
-				}
-				labels.put(labelKey, getQueryValue(request, queryKey));
-			}
-			else if (ExpressionLabelUtils.isCookieLabel(labelKey)) {
-				String cookieKey = ExpressionLabelUtils.parseCookieKey(labelKey);
-				if (StringUtils.isBlank(cookieKey)) {
-					continue;
-				}
-				labels.put(labelKey, getCookieValue(request, cookieKey));
-			}
-			else if (ExpressionLabelUtils.isMethodLabel(labelKey)) {
-				labels.put(labelKey, request.method());
-			}
-			else if (ExpressionLabelUtils.isUriLabel(labelKey)) {
-				URI uri = URI.create(request.request().url());
-				labels.put(labelKey, uri.getPath());
+		for (Map.Entry<String, String> headerLabel : plan.getHeaderLabels().entrySet()) {
+			labels.put(headerLabel.getKey(), getHeaderValue(request, headerLabel.getValue()));
+		}
+		for (Map.Entry<String, List<String>> queryLabel : plan.getQueryLabels().entrySet()) {
+			String value = getQueryValue(request, queryLabel.getKey());
+			queryLabel.getValue().forEach(labelKey -> labels.put(labelKey, value));
+		}
+		if (!plan.getCookieLabels().isEmpty()) {
+			plan.resolveCookieHeaders(request.headers().get(HttpHeaders.COOKIE), labels);
+		}
+		for (String labelKey : plan.getMethodLabels()) {
+			labels.put(labelKey, request.method());
+		}
+		if (!plan.getUriLabels().isEmpty()) {
+			String path = URI.create(request.request().url()).getPath();
+			for (String labelKey : plan.getUriLabels()) {
+				labels.put(labelKey, path);
 			}
 		}
 
@@ -33,7 +33,7 @@ import com.tencent.cloud.common.metadata.MetadataContext;
 import com.tencent.cloud.common.metadata.MetadataContextHolder;
 import com.tencent.cloud.common.metadata.StaticMetadataManager;
 import com.tencent.cloud.common.util.JacksonUtils;
-import com.tencent.cloud.common.util.expresstion.ExpressionLabelUtils;
+import com.tencent.cloud.common.util.expresstion.ExpressionLabelPlan;
 import com.tencent.cloud.polaris.context.config.PolarisContextProperties;
 import com.tencent.cloud.polaris.router.RouterRuleLabelResolver;
 import com.tencent.cloud.polaris.router.spi.FeignRouterLabelResolver;
@@ -88,10 +88,11 @@ public class RouterLabelFeignInterceptor implements RequestInterceptor, Ordered
 
 		// labels from rule expression
 		String peerServiceName = requestTemplate.feignTarget().name();
-		Set<String> expressionLabelKeys = routerRuleLabelResolver.getExpressionLabelKeys(MetadataContext.LOCAL_NAMESPACE,
+		ExpressionLabelPlan expressionLabelPlan = routerRuleLabelResolver.getExpressionLabelPlan(MetadataContext.LOCAL_NAMESPACE,
 				MetadataContext.LOCAL_SERVICE, peerServiceName);
+		Set<String> expressionLabelKeys = expressionLabelPlan.getLabelKeys();
 
-		Map<String, String> ruleExpressionLabels = getRuleExpressionLabels(requestTemplate, expressionLabelKeys);
+		Map<String, String> ruleExpressionLabels = getRuleExpressionLabels(requestTemplate, expressionLabelPlan);
 		labels.putAll(ruleExpressionLabels);
 
 		// labels from custom spi
@@ -124,20 +125,16 @@ public class RouterLabelFeignInterceptor implements RequestInterceptor, Ordered
 		requestTemplate.header(RouterConstant.ROUTER_LABEL_HEADER, encodedLabelsContent);
 	}
 
-	private Map<String, String> getRuleExpressionLabels(RequestTemplate requestTemplate, Set<String> labelKeys) {
-		if (CollectionUtils.isEmpty(labelKeys)) {
+	private Map<String, String> getRuleExpressionLabels(RequestTemplate requestTemplate, ExpressionLabelPlan plan) {
+		if (plan.isEmpty()) {
 			return Collections.emptyMap();
 		}
 
 		//enrich labels from request
-		Map<String, String> labels = FeignExpressionLabelUtils.resolve(requestTemplate, labelKeys);
+		Map<String, String> labels = FeignExpressionLabelUtils.resolve(requestTemplate, plan);
 
 		//enrich caller ip label
-		for (String labelKey : labelKeys) {
-			if (ExpressionLabelUtils.isCallerIPLabel(labelKey)) {
-				labels.put(labelKey, polarisContextProperties.getLocalIpAddress());
-			}
-		}
+		plan.resolveCallerIp(polarisContextProperties.getLocalIpAddress(), labels);
 
 		return labels;
 	}
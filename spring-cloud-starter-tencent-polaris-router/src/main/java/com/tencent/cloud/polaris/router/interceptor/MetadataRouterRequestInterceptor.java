@@ -65,4 +65,9 @@ public class MetadataRouterRequestInterceptor implements RouterRequestIntercepto
 		}
 		request.putRouterArgument(MetadataRouter.ROUTER_TYPE_METADATA, routeArguments);
 	}
+
+	@Override
+	public boolean isDeterministic() {
+		return true;
+	}
 }
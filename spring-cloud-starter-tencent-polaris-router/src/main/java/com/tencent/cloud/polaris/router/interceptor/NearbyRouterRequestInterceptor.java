@@ -51,4 +51,9 @@ public class NearbyRouterRequestInterceptor implements RouterRequestInterceptor
 
 		request.putRouterArgument(NearbyRouter.ROUTER_TYPE_NEAR_BY, routeArguments);
 	}
+
+	@Override
+	public boolean isDeterministic() {
+		return true;
+	}
 }
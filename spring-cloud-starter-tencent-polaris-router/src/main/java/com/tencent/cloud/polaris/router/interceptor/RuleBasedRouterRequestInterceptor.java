@@ -66,4 +66,11 @@ public class RuleBasedRouterRequestInterceptor implements RouterRequestIntercept
 
 		request.putRouterArgument(RuleBasedRouter.ROUTER_TYPE_RULE_BASED, routeArguments);
 	}
+
+	@Override
+	public boolean isDeterministic() {
+		// rule based router picks one of the weighted destination groups at random,
+		// so the routing result can not be reused while it is enabled.
+		return !polarisRuleBasedRouterProperties.isEnabled();
+	}
 }
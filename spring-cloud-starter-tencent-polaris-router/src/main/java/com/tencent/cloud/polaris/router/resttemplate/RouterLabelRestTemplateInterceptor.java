@@ -36,7 +36,7 @@ import com.tencent.cloud.common.metadata.MetadataContext;
 import com.tencent.cloud.common.metadata.MetadataContextHolder;
 import com.tencent.cloud.common.metadata.StaticMetadataManager;
 import com.tencent.cloud.common.util.JacksonUtils;
-import com.tencent.cloud.common.util.expresstion.ExpressionLabelUtils;
+import com.tencent.cloud.common.util.expresstion.ExpressionLabelPlan;
 import com.tencent.cloud.common.util.expresstion.SpringWebExpressionLabelUtils;
 import com.tencent.cloud.polaris.context.config.PolarisContextProperties;
 import com.tencent.cloud.polaris.router.RouterRuleLabelResolver;
@@ -116,10 +116,11 @@ public class RouterLabelRestTemplateInterceptor implements ClientHttpRequestInte
 		Map<String, String> labels = new HashMap<>(staticMetadataManager.getMergedStaticMetadata());
 
 		// labels from rule expression
-		Set<String> expressionLabelKeys = routerRuleLabelResolver.getExpressionLabelKeys(MetadataContext.LOCAL_NAMESPACE,
+		ExpressionLabelPlan expressionLabelPlan = routerRuleLabelResolver.getExpressionLabelPlan(MetadataContext.LOCAL_NAMESPACE,
 				MetadataContext.LOCAL_SERVICE, peerServiceName);
+		Set<String> expressionLabelKeys = expressionLabelPlan.getLabelKeys();
 
-		Map<String, String> ruleExpressionLabels = getExpressionLabels(request, expressionLabelKeys);
+		Map<String, String> ruleExpressionLabels = getExpressionLabels(request, expressionLabelPlan);
 		if (!CollectionUtils.isEmpty(ruleExpressionLabels)) {
 			labels.putAll(ruleExpressionLabels);
 		}
@@ -154,20 +155,16 @@ public class RouterLabelRestTemplateInterceptor implements ClientHttpRequestInte
 		request.getHeaders().set(RouterConstant.ROUTER_LABEL_HEADER, encodedLabelsContent);
 	}
 
-	private Map<String, String> getExpressionLabels(HttpRequest request, Set<String> labelKeys) {
-		if (CollectionUtils.isEmpty(labelKeys)) {
+	private Map<String, String> getExpressionLabels(HttpRequest request, ExpressionLabelPlan plan) {
+		if (plan.isEmpty()) {
 			return Collections.emptyMap();
 		}
 
 		//enrich labels from request
-		Map<String, String> labels = SpringWebExpressionLabelUtils.resolve(request, labelKeys);
+		Map<String, String> labels = SpringWebExpressionLabelUtils.resolve(request, plan);
 
 		//enrich caller ip label
-		for (String labelKey : labelKeys) {
-			if (ExpressionLabelUtils.isCallerIPLabel(labelKey)) {
-				labels.put(labelKey, polarisContextProperties.getLocalIpAddress());
-			}
-		}
+		plan.resolveCallerIp(polarisContextProperties.getLocalIpAddress(), labels);
 
 		return labels;
 	}
@@ -29,12 +29,13 @@ import java.util.Set;
 
 import com.tencent.cloud.common.constant.RouterConstant;
 import com.tencent.cloud.common.metadata.MetadataContext;
-import com.tencent.cloud.common.metadata.MetadataContextHolder;
+import com.tencent.cloud.common.metadata.ReactiveMetadataContextHolder;
 import com.tencent.cloud.common.metadata.StaticMetadataManager;
 import com.tencent.cloud.common.util.JacksonUtils;
-import com.tencent.cloud.common.util.expresstion.ExpressionLabelUtils;
+import com.tencent.cloud.common.util.expresstion.ExpressionLabelPlan;
 import com.tencent.cloud.common.util.expresstion.SpringWebExpressionLabelUtils;
 import com.tencent.cloud.polaris.context.config.PolarisContextProperties;
+import com.tencent.cloud.polaris.router.PolarisRouterContext;
 import com.tencent.cloud.polaris.router.PolarisRouterServiceInstanceListSupplier;
 import com.tencent.cloud.polaris.router.RouterRuleLabelResolver;
 import com.tencent.cloud.polaris.router.spi.SpringWebRouterLabelResolver;
@@ -76,7 +77,8 @@ import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.a
 /**
  * ReactiveLoadBalancerClientFilter does not have the ability to pass route labels, so it is replaced
  * with PolarisReactiveLoadBalancerClientFilter. The passed route labels are used in
- * {@link PolarisRouterServiceInstanceListSupplier}.
+ * {@link PolarisRouterServiceInstanceListSupplier}. They are passed by request attribute
+ * instead of http header, because they are consumed in the same process.
  *
  * @author lepdou, Hoatian Zhang
  */
@@ -129,12 +131,15 @@ public class PolarisReactiveLoadBalancerClientFilter extends ReactiveLoadBalance
 				.getSupportedLifecycleProcessors(clientFactory.getInstances(serviceId, LoadBalancerLifecycle.class),
 						RequestDataContext.class, ResponseData.class, ServiceInstance.class);
 
-		// Pass route tags through http headers
-		HttpHeaders routerHttpHeaders = genRouterHttpHeaders(exchange, serviceId);
+		// Pass router context through attributes of load balancer request,
+		// the router label header never goes on the wire here.
+		PolarisRouterContext routerContext = genRouterContext(exchange, serviceId);
+		Map<String, Object> attributes = new HashMap<>();
+		attributes.put(RouterConstant.ROUTER_CONTEXT_ATTRIBUTE, routerContext);
 
 		ServerHttpRequest request = exchange.getRequest();
-		RequestData requestData = new RequestData(request.getMethod(), request.getURI(), routerHttpHeaders,
-				new HttpHeaders(), new HashMap<>());
+		RequestData requestData = new RequestData(request.getMethod(), request.getURI(), new HttpHeaders(),
+				new HttpHeaders(), attributes);
 		DefaultRequest<RequestDataContext> lbRequest = new DefaultRequest<>(new RequestDataContext(
 				requestData, getHint(serviceId)));
 
@@ -206,8 +211,15 @@ public class PolarisReactiveLoadBalancerClientFilter extends ReactiveLoadBalance
 		return hintPropertyValue != null ? hintPropertyValue : defaultHint;
 	}
 
-	// In order to be consistent with feign and restTemplate,
-	// the router label is passed through the http header uniformly instead of the original hint mechanism.
+	PolarisRouterContext genRouterContext(ServerWebExchange exchange, String peerServiceName) {
+		PolarisRouterContext routerContext = new PolarisRouterContext();
+		routerContext.putLabels(RouterConstant.TRANSITIVE_LABELS,
+				ReactiveMetadataContextHolder.get(exchange).getTransitiveMetadata());
+		routerContext.putLabels(RouterConstant.ROUTER_LABELS, genRouterLabels(exchange, peerServiceName));
+		return routerContext;
+	}
+
+	// Only used when the router labels must be passed by http header, the same format as feign and restTemplate.
 	HttpHeaders genRouterHttpHeaders(ServerWebExchange exchange, String peerServiceName) {
 		HttpHeaders headers = new HttpHeaders();
 		headers.add(RouterConstant.ROUTER_LABEL_HEADER, genRouterHint(exchange, peerServiceName));
@@ -231,10 +243,11 @@ public class PolarisReactiveLoadBalancerClientFilter extends ReactiveLoadBalance
 		Map<String, String> labels = new HashMap<>(staticMetadataManager.getMergedStaticMetadata());
 
 		// labels from rule expression
-		Set<String> expressionLabelKeys = routerRuleLabelResolver.getExpressionLabelKeys(MetadataContext.LOCAL_NAMESPACE,
+		ExpressionLabelPlan expressionLabelPlan = routerRuleLabelResolver.getExpressionLabelPlan(MetadataContext.LOCAL_NAMESPACE,
 				MetadataContext.LOCAL_SERVICE, peerServiceName);
+		Set<String> expressionLabelKeys = expressionLabelPlan.getLabelKeys();
 
-		Map<String, String> ruleExpressionLabels = getExpressionLabels(exchange, expressionLabelKeys);
+		Map<String, String> ruleExpressionLabels = getExpressionLabels(exchange, expressionLabelPlan);
 		if (!CollectionUtils.isEmpty(ruleExpressionLabels)) {
 			labels.putAll(ruleExpressionLabels);
 		}
@@ -255,26 +268,22 @@ public class PolarisReactiveLoadBalancerClientFilter extends ReactiveLoadBalance
 		}
 
 		// labels from downstream
-		Map<String, String> transitiveLabels = MetadataContextHolder.get().getTransitiveMetadata();
+		Map<String, String> transitiveLabels = ReactiveMetadataContextHolder.get(exchange).getTransitiveMetadata();
 		labels.putAll(transitiveLabels);
 
 		return labels;
 	}
 
-	private Map<String, String> getExpressionLabels(ServerWebExchange exchange, Set<String> labelKeys) {
-		if (CollectionUtils.isEmpty(labelKeys)) {
+	private Map<String, String> getExpressionLabels(ServerWebExchange exchange, ExpressionLabelPlan plan) {
+		if (plan.isEmpty()) {
 			return Collections.emptyMap();
 		}
 
 		//enrich labels from request
-		Map<String, String> labels = SpringWebExpressionLabelUtils.resolve(exchange, labelKeys);
+		Map<String, String> labels = SpringWebExpressionLabelUtils.resolve(exchange, plan);
 
 		//enrich caller ip label
-		for (String labelKey : labelKeys) {
-			if (ExpressionLabelUtils.isCallerIPLabel(labelKey)) {
-				labels.put(labelKey, polarisContextProperties.getLocalIpAddress());
-			}
-		}
+		plan.resolveCallerIp(polarisContextProperties.getLocalIpAddress(), labels);
 
 		return labels;
 	}
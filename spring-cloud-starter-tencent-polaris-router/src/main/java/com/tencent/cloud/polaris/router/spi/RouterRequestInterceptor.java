@@ -34,4 +34,14 @@ public interface RouterRequestInterceptor {
 	 * @param routerContext the router context.
 	 */
 	void apply(ProcessRoutersRequest request, PolarisRouterContext routerContext);
+
+	/**
+	 * Whether the router request only depends on the router labels of the context, so that the routing result
+	 * can be cached by labels. Routing result cache is bypassed if any interceptor is not deterministic.
+	 * It is checked on every routing, so it may depend on refreshable switches.
+	 * @return if deterministic
+	 */
+	default boolean isDeterministic() {
+		return false;
+	}
 }
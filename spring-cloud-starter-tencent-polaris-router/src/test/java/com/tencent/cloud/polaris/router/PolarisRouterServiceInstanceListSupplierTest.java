@@ -18,6 +18,7 @@
 
 package com.tencent.cloud.polaris.router;
 
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -71,6 +72,7 @@ import org.springframework.cloud.client.loadbalancer.RequestData;
 import org.springframework.cloud.client.loadbalancer.RequestDataContext;
 import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -307,6 +309,73 @@ public class PolarisRouterServiceInstanceListSupplierTest {
 			assertThat(polarisSupplier.get(request).blockFirst().size()).isEqualTo(0);
 		}
 	}
+	@Test
+	public void testGetWithRouterContextAttribute() {
+		try (MockedStatic<ApplicationContextAwareUtils> mockedApplicationContextAwareUtils = Mockito.mockStatic(ApplicationContextAwareUtils.class)) {
+			mockedApplicationContextAwareUtils.when(() -> ApplicationContextAwareUtils.getProperties(anyString()))
+					.thenReturn(testCallerService);
+			mockedApplicationContextAwareUtils.when(() -> delegate.get())
+					.thenReturn(assembleServers());
+			mockedApplicationContextAwareUtils.when(() -> routerAPI.processRouters(any()))
+					.thenReturn(new ProcessRoutersResponse(new DefaultServiceInstances(null, new ArrayList<>())));
+
+			PolarisRouterServiceInstanceListSupplier polarisSupplier = new PolarisRouterServiceInstanceListSupplier(
+					delegate, routerAPI, requestInterceptors, null, new PolarisInstanceTransformer());
+
+			// no router label header, the router context is passed by request attribute.
+			Map<String, Object> attributes = new HashMap<>();
+			attributes.put(RouterConstant.ROUTER_CONTEXT_ATTRIBUTE, assembleRouterContext());
+			RequestData requestData = new RequestData(HttpMethod.GET,
+					URI.create("http://" + testCalleeService + "/users"), new HttpHeaders(),
+					new HttpHeaders(), attributes);
+			DefaultRequest request = new DefaultRequest(new RequestDataContext(requestData, "blue"));
+			assertThat(polarisSupplier.get(request).blockFirst().size()).isEqualTo(0);
+		}
+	}
+
+	@Test
+	public void testRouterResultCache() {
+		try (MockedStatic<ApplicationContextAwareUtils> mockedApplicationContextAwareUtils = Mockito.mockStatic(ApplicationContextAwareUtils.class)) {
+			mockedApplicationContextAwareUtils.when(() -> ApplicationContextAwareUtils.getProperties(anyString()))
+					.thenReturn(testCallerService);
+			when(delegate.getServiceId()).thenReturn(testCalleeService);
+			when(routerAPI.processRouters(any())).thenAnswer(invocation -> new ProcessRoutersResponse(
+					((ProcessRoutersRequest) invocation.getArgument(0)).getDstInstances()));
+
+			RouterResultCache routerResultCache = new RouterResultCache(16);
+			PolarisRouterServiceInstanceListSupplier polarisSupplier = new PolarisRouterServiceInstanceListSupplier(
+					delegate, routerAPI, requestInterceptors, null, new PolarisInstanceTransformer(), routerResultCache);
+
+			List<ServiceInstance> servers = assembleServers().blockFirst();
+			List<ServiceInstance> first = polarisSupplier.doRouter(servers, assembleRouterContext());
+			List<ServiceInstance> second = polarisSupplier.doRouter(servers, assembleRouterContext());
+			assertThat(second).isSameAs(first);
+			assertThat(first.size()).isEqualTo(servers.size());
+			assertThat(routerResultCache.getHitCount()).isEqualTo(1);
+			assertThat(routerResultCache.getMissCount()).isEqualTo(1);
+			Mockito.verify(routerAPI, Mockito.times(1)).processRouters(any());
+
+			// routing rule changed
+			routerResultCache.invalidateAll();
+			polarisSupplier.doRouter(servers, assembleRouterContext());
+			Mockito.verify(routerAPI, Mockito.times(2)).processRouters(any());
+
+			// non-deterministic router chain bypasses the cache
+			PolarisRouterServiceInstanceListSupplier bypassSupplier = new PolarisRouterServiceInstanceListSupplier(
+					delegate, routerAPI, requestInterceptors, Collections.singletonList(new TestRouterResponseInterceptor()),
+					new PolarisInstanceTransformer(), routerResultCache);
+			bypassSupplier.doRouter(servers, assembleRouterContext());
+			assertThat(routerResultCache.getBypassCount()).isEqualTo(1);
+
+			// rule based router picks weighted destination groups at random
+			when(polarisRuleBasedRouterProperties.isEnabled()).thenReturn(true);
+			polarisSupplier.doRouter(servers, assembleRouterContext());
+			polarisSupplier.doRouter(servers, assembleRouterContext());
+			assertThat(routerResultCache.getBypassCount()).isEqualTo(3);
+			Mockito.verify(routerAPI, Mockito.times(5)).processRouters(any());
+		}
+	}
+
 	private void setTransitiveMetadata() {
 		if (initTransitiveMetadata.compareAndSet(false, true)) {
 			// mock transitive metadata
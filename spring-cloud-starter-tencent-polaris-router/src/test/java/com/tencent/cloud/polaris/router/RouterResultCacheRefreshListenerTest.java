@@ -0,0 +1,52 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.polaris.router;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for {@link RouterResultCacheRefreshListener}.
+ *
+ * @author Haotian Zhang
+ */
+public class RouterResultCacheRefreshListenerTest {
+
+	@Test
+	public void testInvalidateOnRefresh() {
+		RouterResultCache routerResultCache = new RouterResultCache(16);
+		RouterResultCacheRefreshListener listener = new RouterResultCacheRefreshListener(routerResultCache);
+
+		assertThat(listener.supportsEventType(EnvironmentChangeEvent.class)).isTrue();
+		assertThat(listener.supportsEventType(RefreshScopeRefreshedEvent.class)).isTrue();
+		assertThat(listener.supportsEventType(ApplicationReadyEvent.class)).isFalse();
+
+		long ruleRevision = routerResultCache.getRuleRevision();
+		listener.onApplicationEvent(new EnvironmentChangeEvent(Collections.singleton("spring.cloud.polaris.router.rule-router.enabled")));
+		assertThat(routerResultCache.getRuleRevision()).isEqualTo(ruleRevision + 1);
+		listener.onApplicationEvent(new RefreshScopeRefreshedEvent());
+		assertThat(routerResultCache.getRuleRevision()).isEqualTo(ruleRevision + 2);
+	}
+}
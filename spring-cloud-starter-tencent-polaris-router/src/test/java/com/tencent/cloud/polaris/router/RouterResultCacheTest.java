@@ -0,0 +1,106 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.polaris.router;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.tencent.polaris.api.pojo.DefaultServiceInstances;
+import com.tencent.polaris.api.pojo.ServiceInstances;
+import com.tencent.polaris.api.pojo.ServiceKey;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for {@link RouterResultCache}.
+ *
+ * @author Haotian Zhang
+ */
+public class RouterResultCacheTest {
+
+	private static final String dstService = "dstService";
+
+	@Test
+	public void testGetAndPut() {
+		RouterResultCache cache = new RouterResultCache(16);
+		ServiceInstances serviceInstances = newServiceInstances();
+		Map<String, String> labels = Collections.singletonMap("k1", "v1");
+
+		assertThat(cache.get(dstService, serviceInstances, labels)).isNull();
+		cache.put(dstService, serviceInstances, cache.getRuleRevision(), labels, new ArrayList<>());
+		assertThat(cache.get(dstService, serviceInstances, labels)).isEmpty();
+		assertThat(cache.get(dstService, serviceInstances, Collections.singletonMap("k1", "v2"))).isNull();
+
+		assertThat(cache.getSize()).isEqualTo(1);
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(cache.getMissCount()).isEqualTo(2);
+		assertThat(cache.getHitRatio()).isEqualTo(1.0 / 3);
+	}
+
+	@Test
+	public void testInvalidateOnInstanceChange() {
+		RouterResultCache cache = new RouterResultCache(16);
+		ServiceInstances serviceInstances = newServiceInstances();
+		Map<String, String> labels = Collections.singletonMap("k1", "v1");
+		cache.put(dstService, serviceInstances, cache.getRuleRevision(), labels, new ArrayList<>());
+
+		ServiceInstances changedServiceInstances = newServiceInstances();
+		assertThat(cache.get(dstService, changedServiceInstances, labels)).isNull();
+		cache.put(dstService, changedServiceInstances, cache.getRuleRevision(), labels, new ArrayList<>());
+		assertThat(cache.get(dstService, serviceInstances, labels)).isNull();
+		assertThat(cache.getSize()).isEqualTo(1);
+	}
+
+	@Test
+	public void testInvalidateOnRuleChange() {
+		RouterResultCache cache = new RouterResultCache(16);
+		ServiceInstances serviceInstances = newServiceInstances();
+		Map<String, String> labels = Collections.singletonMap("k1", "v1");
+
+		long ruleRevision = cache.getRuleRevision();
+		cache.put(dstService, serviceInstances, ruleRevision, labels, new ArrayList<>());
+		cache.invalidateAll();
+		assertThat(cache.get(dstService, serviceInstances, labels)).isNull();
+
+		// result routed with outdated rules is not cached
+		cache.put(dstService, serviceInstances, ruleRevision, labels, new ArrayList<>());
+		assertThat(cache.get(dstService, serviceInstances, labels)).isNull();
+	}
+
+	@Test
+	public void testMaxSize() {
+		RouterResultCache cache = new RouterResultCache(2);
+		ServiceInstances serviceInstances = newServiceInstances();
+		for (int i = 0; i < 5; i++) {
+			List<ServiceInstance> result = new ArrayList<>();
+			cache.put(dstService, serviceInstances, cache.getRuleRevision(), Collections.singletonMap("k", "v" + i), result);
+		}
+		assertThat(cache.getSize()).isEqualTo(2);
+		assertThat(cache.get(dstService, serviceInstances, Collections.singletonMap("k", "v4"))).isNotNull();
+		assertThat(cache.get(dstService, serviceInstances, Collections.singletonMap("k", "v0"))).isNull();
+	}
+
+	private ServiceInstances newServiceInstances() {
+		return new DefaultServiceInstances(new ServiceKey("ns", dstService), new ArrayList<>());
+	}
+}
@@ -18,6 +18,7 @@
 
 package com.tencent.cloud.polaris.router;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -25,6 +26,9 @@ import java.util.Map;
 import java.util.Set;
 
 import com.tencent.cloud.polaris.context.ServiceRuleManager;
+import com.tencent.cloud.polaris.context.listener.ServiceRuleChangeEvent;
+import com.tencent.polaris.api.pojo.ServiceEventKey;
+import com.tencent.polaris.api.pojo.ServiceKey;
 import com.tencent.polaris.specification.api.v1.model.ModelProto;
 import com.tencent.polaris.specification.api.v1.traffic.manage.RoutingProto;
 import org.assertj.core.util.Lists;
@@ -34,6 +38,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -91,4 +97,77 @@ public class RouterRuleLabelResolverTest {
 		assertThat(resolvedExpressionLabelKeys).contains(validKey5);
 		assertThat(resolvedExpressionLabelKeys).contains(invalidKey);
 	}
+
+	@Test
+	public void testCache() {
+		RoutingProto.Source source = RoutingProto.Source.newBuilder()
+				.putMetadata("${http.header.uid}", ModelProto.MatchString.getDefaultInstance()).build();
+		List<RoutingProto.Route> routes = Lists.list(RoutingProto.Route.newBuilder().addSources(source).build());
+		when(serviceRuleManager.getServiceRouterRule(testNamespace, testSourceService, testDstService)).thenReturn(routes);
+
+		RouterRuleLabelResolver resolver = new RouterRuleLabelResolver(serviceRuleManager);
+		RouterRuleChangeListener listener = new RouterRuleChangeListener(resolver);
+
+		assertThat(resolver.getExpressionLabelKeys(testNamespace, testSourceService, testDstService))
+				.containsExactly("${http.header.uid}");
+		assertThat(resolver.getExpressionLabelKeys(testNamespace, testSourceService, testDstService))
+				.containsExactly("${http.header.uid}");
+		verify(serviceRuleManager, times(1)).getServiceRouterRule(testNamespace, testSourceService, testDstService);
+		assertThat(resolver.getCacheHitCount()).isEqualTo(1);
+		assertThat(resolver.getCacheMissCount()).isEqualTo(1);
+
+		// change of other rule type or other service does not invalidate the cache.
+		listener.onResourceUpdated(new ServiceEventKey(new ServiceKey(testNamespace, testDstService),
+				ServiceEventKey.EventType.RATE_LIMITING), null, null);
+		listener.onResourceUpdated(new ServiceEventKey(new ServiceKey(testNamespace, "otherService"),
+				ServiceEventKey.EventType.ROUTING), null, null);
+		assertThat(resolver.getCacheSize()).isEqualTo(1);
+
+		listener.onResourceUpdated(new ServiceEventKey(new ServiceKey(testNamespace, testDstService),
+				ServiceEventKey.EventType.ROUTING), null, null);
+		assertThat(resolver.getCacheSize()).isEqualTo(0);
+		resolver.getExpressionLabelKeys(testNamespace, testSourceService, testDstService);
+		verify(serviceRuleManager, times(2)).getServiceRouterRule(testNamespace, testSourceService, testDstService);
+		assertThat(resolver.getCacheMissCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void testInvalidateByRuleChangeEvent() {
+		when(serviceRuleManager.getServiceRouterRule(testNamespace, testSourceService, testDstService))
+				.thenReturn(Collections.emptyList());
+
+		RouterRuleLabelResolver resolver = new RouterRuleLabelResolver(serviceRuleManager);
+		RouterRuleChangeListener listener = new RouterRuleChangeListener(resolver);
+		resolver.getExpressionLabelKeys(testNamespace, testSourceService, testDstService);
+		assertThat(resolver.getCacheSize()).isEqualTo(1);
+
+		listener.onRuleChanged(new ServiceRuleChangeEvent(testNamespace, testDstService,
+				ServiceEventKey.EventType.CIRCUIT_BREAKING, "1"));
+		assertThat(resolver.getCacheSize()).isEqualTo(1);
+
+		listener.onRuleChanged(new ServiceRuleChangeEvent(testNamespace, testSourceService,
+				ServiceEventKey.EventType.ROUTING, "1"));
+		assertThat(resolver.getCacheSize()).isEqualTo(0);
+	}
+
+	@Test
+	public void testInvalidateWhileResolving() {
+		RoutingProto.Source source = RoutingProto.Source.newBuilder()
+				.putMetadata("${http.header.uid}", ModelProto.MatchString.getDefaultInstance()).build();
+		List<RoutingProto.Route> routes = Lists.list(RoutingProto.Route.newBuilder().addSources(source).build());
+		RouterRuleLabelResolver resolver = new RouterRuleLabelResolver(serviceRuleManager);
+		when(serviceRuleManager.getServiceRouterRule(testNamespace, testSourceService, testDstService))
+				.thenAnswer(invocation -> {
+					// routing rule changes while resolving.
+					resolver.invalidate(testNamespace, testDstService);
+					return Collections.emptyList();
+				})
+				.thenReturn(routes);
+
+		assertThat(resolver.getExpressionLabelKeys(testNamespace, testSourceService, testDstService)).isEmpty();
+		assertThat(resolver.getCacheSize()).isEqualTo(0);
+		assertThat(resolver.getExpressionLabelKeys(testNamespace, testSourceService, testDstService))
+				.containsExactly("${http.header.uid}");
+		assertThat(resolver.getCacheSize()).isEqualTo(1);
+	}
 }
@@ -0,0 +1,131 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.polaris.router;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.tencent.cloud.common.pojo.PolarisServiceInstance;
+import com.tencent.cloud.common.util.ApplicationContextAwareUtils;
+import com.tencent.cloud.rpc.enhancement.transformer.PolarisInstanceTransformer;
+import com.tencent.polaris.api.pojo.DefaultInstance;
+import com.tencent.polaris.api.pojo.Instance;
+import com.tencent.polaris.api.pojo.ServiceInstances;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Test for {@link ServiceInstancesCache}.
+ *
+ * @author Haotian Zhang
+ */
+public class ServiceInstancesCacheTest {
+
+	private static final String testService = "testService";
+
+	private static MockedStatic<ApplicationContextAwareUtils> mockedApplicationContextAwareUtils;
+
+	@BeforeAll
+	static void beforeAll() {
+		mockedApplicationContextAwareUtils = Mockito.mockStatic(ApplicationContextAwareUtils.class);
+		mockedApplicationContextAwareUtils.when(() -> ApplicationContextAwareUtils.getProperties(anyString()))
+				.thenReturn(testService);
+	}
+
+	@AfterAll
+	static void afterAll() {
+		mockedApplicationContextAwareUtils.close();
+	}
+
+	@Test
+	public void testEmptyServers() {
+		ServiceInstancesCache cache = new ServiceInstancesCache(new PolarisInstanceTransformer());
+
+		ServiceInstances serviceInstances = cache.getServiceInstances(Collections.emptyList());
+		assertThat(serviceInstances.getInstances()).isEmpty();
+		assertThat(cache.getServers(serviceInstances, serviceInstances.getInstances())).isEmpty();
+	}
+
+	@Test
+	public void testReuseTransformedInstances() {
+		ServiceInstancesCache cache = new ServiceInstancesCache(new PolarisInstanceTransformer());
+		List<Instance> polarisInstances = assembleInstances(3);
+
+		ServiceInstances serviceInstances = cache.getServiceInstances(wrap(polarisInstances));
+		assertThat(serviceInstances.getInstances()).hasSize(3);
+		assertThat(serviceInstances.getService()).isEqualTo(testService);
+
+		// new wrappers of the same polaris instances hit the cache
+		List<ServiceInstance> servers = wrap(polarisInstances);
+		assertThat(cache.getServiceInstances(servers)).isSameAs(serviceInstances);
+
+		// routed instances are mapped back to service instances
+		List<Instance> routed = Collections.singletonList(serviceInstances.getInstances().get(1));
+		List<ServiceInstance> routedServers = cache.getServers(serviceInstances, routed);
+		assertThat(routedServers).hasSize(1);
+		assertThat(routedServers.get(0).getInstanceId()).isEqualTo("ins1");
+	}
+
+	@Test
+	public void testRebuildWhenInstancesChanged() {
+		ServiceInstancesCache cache = new ServiceInstancesCache(new PolarisInstanceTransformer());
+
+		ServiceInstances serviceInstances = cache.getServiceInstances(wrap(assembleInstances(3)));
+		ServiceInstances changedServiceInstances = cache.getServiceInstances(wrap(assembleInstances(3)));
+		assertThat(changedServiceInstances).isNotSameAs(serviceInstances);
+
+		List<Instance> polarisInstances = assembleInstances(3);
+		ServiceInstances current = cache.getServiceInstances(wrap(polarisInstances));
+		assertThat(cache.getServiceInstances(wrap(polarisInstances.subList(0, 2)))).isNotSameAs(current);
+
+		// routed instances of an outdated revision are still converted
+		List<ServiceInstance> routedServers = cache.getServers(serviceInstances, serviceInstances.getInstances());
+		assertThat(routedServers).hasSize(3);
+		assertThat(routedServers.get(0).getServiceId()).isEqualTo(testService);
+	}
+
+	private List<Instance> assembleInstances(int size) {
+		List<Instance> instances = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			DefaultInstance instance = new DefaultInstance();
+			instance.setService(testService);
+			instance.setId("ins" + i);
+			instance.setHost("127.0.0." + i);
+			instance.setPort(8080);
+			instances.add(instance);
+		}
+		return instances;
+	}
+
+	private List<ServiceInstance> wrap(List<Instance> instances) {
+		List<ServiceInstance> servers = new ArrayList<>();
+		for (Instance instance : instances) {
+			servers.add(new PolarisServiceInstance(instance));
+		}
+		return servers;
+	}
+}
@@ -34,6 +34,7 @@ import com.tencent.cloud.common.metadata.MetadataContextHolder;
 import com.tencent.cloud.common.metadata.StaticMetadataManager;
 import com.tencent.cloud.common.util.ApplicationContextAwareUtils;
 import com.tencent.cloud.common.util.JacksonUtils;
+import com.tencent.cloud.common.util.expresstion.ExpressionLabelPlan;
 import com.tencent.cloud.polaris.context.config.PolarisContextProperties;
 import com.tencent.cloud.polaris.router.RouterRuleLabelResolver;
 import com.tencent.cloud.polaris.router.spi.FeignRouterLabelResolver;
@@ -105,8 +106,8 @@ public class RouterLabelFeignInterceptorTest {
 				Set<String> expressionKeys = new HashSet<>();
 				expressionKeys.add("${http.header.uid}");
 				expressionKeys.add("${http.header.name}");
-				when(routerRuleLabelResolver.getExpressionLabelKeys(MetadataContext.LOCAL_NAMESPACE,
-						MetadataContext.LOCAL_SERVICE, peerService)).thenReturn(expressionKeys);
+				when(routerRuleLabelResolver.getExpressionLabelPlan(MetadataContext.LOCAL_NAMESPACE,
+						MetadataContext.LOCAL_SERVICE, peerService)).thenReturn(ExpressionLabelPlan.compile(expressionKeys));
 
 				// mock custom resolved labels from request
 				Map<String, String> customResolvedLabels = new HashMap<>();
@@ -35,6 +35,7 @@ import com.tencent.cloud.common.metadata.MetadataContextHolder;
 import com.tencent.cloud.common.metadata.StaticMetadataManager;
 import com.tencent.cloud.common.util.ApplicationContextAwareUtils;
 import com.tencent.cloud.common.util.JacksonUtils;
+import com.tencent.cloud.common.util.expresstion.ExpressionLabelPlan;
 import com.tencent.cloud.common.util.expresstion.SpringWebExpressionLabelUtils;
 import com.tencent.cloud.polaris.context.config.PolarisContextProperties;
 import com.tencent.cloud.polaris.router.RouterRuleLabelResolver;
@@ -110,7 +111,8 @@ public class RouterLabelRestTemplateInterceptorTest {
 			Set<String> expressionKeys = new HashSet<>();
 			expressionKeys.add("${http.method}");
 			expressionKeys.add("${http.uri}");
-			when(routerRuleLabelResolver.getExpressionLabelKeys(testNamespaceAndService, testNamespaceAndService, calleeService)).thenReturn(expressionKeys);
+			when(routerRuleLabelResolver.getExpressionLabelPlan(testNamespaceAndService, testNamespaceAndService, calleeService))
+					.thenReturn(ExpressionLabelPlan.compile(expressionKeys));
 			routerLabels.putAll(SpringWebExpressionLabelUtils.resolve(request, expressionKeys));
 
 			// mock custom resolved from request
@@ -142,7 +144,7 @@ public class RouterLabelRestTemplateInterceptorTest {
 			routerLabelRestTemplateInterceptor.intercept(request, null, clientHttpRequestExecution);
 
 			verify(staticMetadataManager).getMergedStaticMetadata();
-			verify(routerRuleLabelResolver).getExpressionLabelKeys(testNamespaceAndService, testNamespaceAndService, calleeService);
+			verify(routerRuleLabelResolver).getExpressionLabelPlan(testNamespaceAndService, testNamespaceAndService, calleeService);
 			verify(routerLabelResolver).resolve(request, null, expressionKeys);
 
 
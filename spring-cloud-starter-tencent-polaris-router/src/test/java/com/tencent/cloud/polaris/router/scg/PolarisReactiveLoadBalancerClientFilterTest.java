@@ -33,26 +33,31 @@ import com.tencent.cloud.common.metadata.MetadataContextHolder;
 import com.tencent.cloud.common.metadata.StaticMetadataManager;
 import com.tencent.cloud.common.util.ApplicationContextAwareUtils;
 import com.tencent.cloud.common.util.JacksonUtils;
+import com.tencent.cloud.common.util.expresstion.ExpressionLabelPlan;
 import com.tencent.cloud.polaris.context.config.PolarisContextProperties;
+import com.tencent.cloud.polaris.router.PolarisRouterContext;
 import com.tencent.cloud.polaris.router.RouterRuleLabelResolver;
 import com.tencent.cloud.polaris.router.spi.SpringWebRouterLabelResolver;
 import org.assertj.core.util.Lists;
 import org.assertj.core.util.Sets;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
 import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
 import org.springframework.cloud.gateway.config.GatewayLoadBalancerProperties;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
-import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
 import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
-import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
 import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
-import org.springframework.cloud.loadbalancer.support.SimpleObjectProvider;
 import org.springframework.http.HttpHeaders;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
@@ -60,9 +65,11 @@ import org.springframework.web.server.ServerWebExchange;
 
 import static com.tencent.cloud.common.constant.ContextConstant.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
 import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_SCHEME_PREFIX_ATTR;
@@ -118,7 +125,8 @@ public class PolarisReactiveLoadBalancerClientFilterTest {
 			when(staticMetadataManager.getMergedStaticMetadata()).thenReturn(localMetadata);
 
 			Set<String> expressionLabelKeys = Sets.set("${http.header.k1}", "${http.query.userid}");
-			when(routerRuleLabelResolver.getExpressionLabelKeys(anyString(), anyString(), anyString())).thenReturn(expressionLabelKeys);
+			when(routerRuleLabelResolver.getExpressionLabelPlan(anyString(), anyString(), anyString()))
+					.thenReturn(ExpressionLabelPlan.compile(expressionLabelKeys));
 
 			MockServerHttpRequest request = MockServerHttpRequest.get("/" + calleeService + "/users")
 					.header("k1", "v1")
@@ -181,14 +189,26 @@ public class PolarisReactiveLoadBalancerClientFilterTest {
 			exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, new URI("https://" + calleeService + ":8091"));
 			exchange.getAttributes().put(GATEWAY_SCHEME_PREFIX_ATTR, "lb");
 
-			NoopServiceInstanceListSupplier serviceInstanceListSupplier = new NoopServiceInstanceListSupplier();
-			RoundRobinLoadBalancer roundRobinLoadBalancer = new RoundRobinLoadBalancer(new SimpleObjectProvider<>(serviceInstanceListSupplier), calleeService);
+			ReactorServiceInstanceLoadBalancer loadBalancer = mock(ReactorServiceInstanceLoadBalancer.class);
+			when(loadBalancer.choose(any(Request.class))).thenReturn(Mono.<Response<ServiceInstance>>just(new EmptyResponse()));
 
-			when(loadBalancerClientFactory.getInstance(calleeService, ReactorServiceInstanceLoadBalancer.class)).thenReturn(roundRobinLoadBalancer);
+			when(loadBalancerClientFactory.getInstance(calleeService, ReactorServiceInstanceLoadBalancer.class)).thenReturn(loadBalancer);
 			LoadBalancerProperties loadBalancerProperties = mock(LoadBalancerProperties.class);
 			when(loadBalancerProperties.getHint()).thenReturn(new HashMap<>());
 			when(loadBalancerClientFactory.getProperties(calleeService)).thenReturn(loadBalancerProperties);
+			when(routerRuleLabelResolver.getExpressionLabelPlan(anyString(), anyString(), anyString()))
+					.thenReturn(ExpressionLabelPlan.EMPTY);
 			filter.filter(exchange, chain);
+
+			// router context is passed by attribute of load balancer request instead of router label header
+			ArgumentCaptor<Request> lbRequest = ArgumentCaptor.forClass(Request.class);
+			verify(loadBalancer).choose(lbRequest.capture());
+			RequestDataContext requestDataContext = (RequestDataContext) lbRequest.getValue().getContext();
+			assertThat(requestDataContext.getClientRequest().getHeaders()).isEmpty();
+			Object routerContext = requestDataContext.getClientRequest().getAttributes()
+					.get(RouterConstant.ROUTER_CONTEXT_ATTRIBUTE);
+			assertThat(routerContext).isInstanceOf(PolarisRouterContext.class);
+			assertThat(((PolarisRouterContext) routerContext).getLabel("t1")).isEqualTo("v1");
 		}
 	}
 
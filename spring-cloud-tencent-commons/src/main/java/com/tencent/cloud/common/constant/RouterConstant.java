@@ -29,6 +29,10 @@ public final class RouterConstant {
 	 * the header of router label.
 	 */
 	public static final String ROUTER_LABEL_HEADER = "internal-router-label";
+	/**
+	 * the attribute of router context, used to pass router labels in process without header.
+	 */
+	public static final String ROUTER_CONTEXT_ATTRIBUTE = "internal-router-context";
 	/**
 	 * the labels for rule router, contain transitive metadata.
 	 */
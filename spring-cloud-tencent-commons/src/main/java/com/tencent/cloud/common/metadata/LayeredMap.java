@@ -0,0 +1,154 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.common.metadata;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Read-only view of an overlay map on top of a base map. Entries of the overlay hide the entries of the base with
+ * the same key. Neither map is copied, so layering request metadata on top of the static metadata only costs the
+ * entries the request actually adds.
+ *
+ * @param <K> type of key
+ * @param <V> type of value
+ * @author Haotian Zhang
+ */
+public final class LayeredMap<K, V> extends AbstractMap<K, V> {
+
+	private final Map<K, V> overlay;
+
+	private final Map<K, V> base;
+
+	private Set<Entry<K, V>> entrySet;
+
+	private LayeredMap(Map<K, V> overlay, Map<K, V> base) {
+		this.overlay = overlay;
+		this.base = base;
+	}
+
+	/**
+	 * Create a read-only view of overlay on top of base. If one of them is empty, the other one is returned as
+	 * an unmodifiable map directly.
+	 * @param overlay entries with higher priority
+	 * @param base entries with lower priority
+	 * @param <K> type of key
+	 * @param <V> type of value
+	 * @return read-only layered view
+	 */
+	public static <K, V> Map<K, V> of(Map<K, V> overlay, Map<K, V> base) {
+		if (CollectionUtils.isEmpty(overlay)) {
+			return CollectionUtils.isEmpty(base) ? Collections.emptyMap() : Collections.unmodifiableMap(base);
+		}
+		if (CollectionUtils.isEmpty(base)) {
+			return Collections.unmodifiableMap(overlay);
+		}
+		return new LayeredMap<>(overlay, base);
+	}
+
+	@Override
+	public V get(Object key) {
+		V value = overlay.get(key);
+		if (value != null || overlay.containsKey(key)) {
+			return value;
+		}
+		return base.get(key);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return overlay.containsKey(key) || base.containsKey(key);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return overlay.isEmpty() && base.isEmpty();
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new LayeredEntrySet();
+		}
+		return entrySet;
+	}
+
+	private final class LayeredEntrySet extends AbstractSet<Entry<K, V>> {
+
+		@Override
+		public Iterator<Entry<K, V>> iterator() {
+			return new LayeredIterator();
+		}
+
+		@Override
+		public int size() {
+			int size = overlay.size();
+			for (K key : base.keySet()) {
+				if (!overlay.containsKey(key)) {
+					size++;
+				}
+			}
+			return size;
+		}
+	}
+
+	private final class LayeredIterator implements Iterator<Entry<K, V>> {
+
+		private final Iterator<Entry<K, V>> overlayIterator = overlay.entrySet().iterator();
+
+		private final Iterator<Entry<K, V>> baseIterator = base.entrySet().iterator();
+
+		private Entry<K, V> next;
+
+		@Override
+		public boolean hasNext() {
+			if (next != null) {
+				return true;
+			}
+			if (overlayIterator.hasNext()) {
+				next = overlayIterator.next();
+				return true;
+			}
+			while (baseIterator.hasNext()) {
+				Entry<K, V> entry = baseIterator.next();
+				if (!overlay.containsKey(entry.getKey())) {
+					next = entry;
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public Entry<K, V> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Entry<K, V> entry = next;
+			next = null;
+			return new SimpleImmutableEntry<>(entry);
+		}
+	}
+}
@@ -108,14 +108,24 @@ public class MetadataContext {
 		LOCAL_SERVICE = serviceName;
 	}
 
-	private final Map<String, Map<String, String>> fragmentContexts;
+	/**
+	 * Immutable fragments shared with other contexts.
+	 */
+	private final MetadataContextTemplate template;
 
-	private final Map<String, Object> loadbalancerMetadata;
+	/**
+	 * Fragments written by this context, allocated on first write.
+	 */
+	private volatile Map<String, Map<String, String>> fragmentContexts;
 
+	private volatile Map<String, Object> loadbalancerMetadata;
 
 	public MetadataContext() {
-		this.fragmentContexts = new ConcurrentHashMap<>();
-		this.loadbalancerMetadata = new ConcurrentHashMap<>();
+		this(MetadataContextTemplate.EMPTY);
+	}
+
+	MetadataContext(MetadataContextTemplate template) {
+		this.template = template;
 	}
 
 	public Map<String, String> getDisposableMetadata() {
@@ -129,6 +139,9 @@ public class MetadataContext {
 	public Map<String, String> getCustomMetadata() {
 		Map<String, String> transitiveMetadata = this.getTransitiveMetadata();
 		Map<String, String> disposableMetadata = this.getDisposableMetadata();
+		if (disposableMetadata.isEmpty()) {
+			return transitiveMetadata;
+		}
 		Map<String, String> customMetadata = new HashMap<>();
 		// Clean up one-time metadata coming from upstream .
 		transitiveMetadata.forEach((key, value) -> {
@@ -148,7 +161,7 @@ public class MetadataContext {
 	}
 
 	public Map<String, Object> getLoadbalancerMetadata() {
-		return this.loadbalancerMetadata;
+		return loadbalancerMetadata();
 	}
 
 	public void setTransitiveMetadata(Map<String, String> transitiveMetadata) {
@@ -172,42 +185,79 @@ public class MetadataContext {
 	}
 
 	public void setLoadbalancer(String key, Object value) {
-		this.loadbalancerMetadata.put(key, value);
+		loadbalancerMetadata().put(key, value);
 	}
 
 	public Map<String, String> getFragmentContext(String fragment) {
-		Map<String, String> fragmentContext = fragmentContexts.get(fragment);
+		Map<String, Map<String, String>> fragmentContexts = this.fragmentContexts;
+		Map<String, String> fragmentContext = fragmentContexts == null ? null : fragmentContexts.get(fragment);
 		if (fragmentContext == null) {
-			return Collections.emptyMap();
+			// Template fragments are immutable already.
+			return template.getFragmentContext(fragment);
 		}
 		return Collections.unmodifiableMap(fragmentContext);
 	}
 
 	public String getContext(String fragment, String key) {
-		Map<String, String> fragmentContext = fragmentContexts.get(fragment);
+		Map<String, Map<String, String>> fragmentContexts = this.fragmentContexts;
+		Map<String, String> fragmentContext = fragmentContexts == null ? null : fragmentContexts.get(fragment);
 		if (fragmentContext == null) {
-			return null;
+			return template.getFragmentContext(fragment).get(key);
 		}
 		return fragmentContext.get(key);
 	}
 
 	public void putContext(String fragment, String key, String value) {
+		Map<String, Map<String, String>> fragmentContexts = fragmentContexts();
 		Map<String, String> fragmentContext = fragmentContexts.get(fragment);
 		if (fragmentContext == null) {
-			fragmentContext = new ConcurrentHashMap<>();
-			fragmentContexts.put(fragment, fragmentContext);
+			// Copy on first write, the template fragment is shared.
+			fragmentContext = fragmentContexts.computeIfAbsent(fragment,
+					f -> new ConcurrentHashMap<>(template.getFragmentContext(f)));
 		}
 		fragmentContext.put(key, value);
 	}
 
 	public void putFragmentContext(String fragment, Map<String, String> context) {
-		fragmentContexts.put(fragment, context);
+		fragmentContexts().put(fragment, context);
+	}
+
+	private Map<String, Map<String, String>> fragmentContexts() {
+		Map<String, Map<String, String>> result = fragmentContexts;
+		if (result == null) {
+			synchronized (this) {
+				result = fragmentContexts;
+				if (result == null) {
+					result = new ConcurrentHashMap<>(8);
+					fragmentContexts = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	private Map<String, Object> loadbalancerMetadata() {
+		Map<String, Object> result = loadbalancerMetadata;
+		if (result == null) {
+			synchronized (this) {
+				result = loadbalancerMetadata;
+				if (result == null) {
+					result = new ConcurrentHashMap<>(4);
+					loadbalancerMetadata = result;
+				}
+			}
+		}
+		return result;
 	}
 
 	@Override
 	public String toString() {
+		Map<String, Map<String, String>> allFragmentContexts = new HashMap<>(template.getFragmentContexts());
+		if (fragmentContexts != null) {
+			allFragmentContexts.putAll(fragmentContexts);
+		}
 		return "MetadataContext{" +
-				"fragmentContexts=" + JacksonUtils.serialize2Json(fragmentContexts) +
+				"fragmentContexts=" + JacksonUtils.serialize2Json(allFragmentContexts) +
 				'}';
 	}
 }
@@ -0,0 +1,54 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.common.metadata;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executor that runs tasks with the metadata context of the thread submitting them, for example
+ * {@code CompletableFuture.supplyAsync(supplier, MetadataContextExecutor.wrap(executor))}.
+ *
+ * @author Haotian Zhang
+ */
+public class MetadataContextExecutor implements Executor {
+
+	private static final MetadataContextTaskDecorator TASK_DECORATOR = new MetadataContextTaskDecorator();
+
+	private final Executor delegate;
+
+	public MetadataContextExecutor(Executor delegate) {
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Wrap executor to propagate metadata context.
+	 * @param executor executor
+	 * @return executor propagating metadata context
+	 */
+	public static Executor wrap(Executor executor) {
+		if (executor instanceof MetadataContextExecutor) {
+			return executor;
+		}
+		return new MetadataContextExecutor(executor);
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		delegate.execute(TASK_DECORATOR.decorate(command));
+	}
+}
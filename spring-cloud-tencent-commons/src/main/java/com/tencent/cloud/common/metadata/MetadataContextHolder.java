@@ -21,14 +21,15 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
 
 import com.tencent.cloud.common.metadata.config.MetadataLocalProperties;
 import com.tencent.cloud.common.util.ApplicationContextAwareUtils;
 
 import org.springframework.util.CollectionUtils;
-import org.springframework.util.StringUtils;
 
 import static com.tencent.cloud.common.metadata.MetadataContext.FRAGMENT_DISPOSABLE;
+import static com.tencent.cloud.common.metadata.MetadataContext.FRAGMENT_TRANSITIVE;
 import static com.tencent.cloud.common.metadata.MetadataContext.FRAGMENT_UPSTREAM_DISPOSABLE;
 
 /**
@@ -38,12 +39,14 @@ import static com.tencent.cloud.common.metadata.MetadataContext.FRAGMENT_UPSTREA
  */
 public final class MetadataContextHolder {
 
-	private static final ThreadLocal<MetadataContext> METADATA_CONTEXT = new InheritableThreadLocal<>();
+	private static volatile MetadataContextStorage storage = new ThreadLocalMetadataContextStorage(true);
 
 	private static MetadataLocalProperties metadataLocalProperties;
 
 	private static StaticMetadataManager staticMetadataManager;
 
+	private static volatile MetadataContextTemplate metadataContextTemplate;
+
 	private MetadataContextHolder() {
 	}
 
@@ -52,29 +55,64 @@ public final class MetadataContextHolder {
 	 * @return METADATA_CONTEXT
 	 */
 	public static MetadataContext get() {
-		if (METADATA_CONTEXT.get() != null) {
-			return METADATA_CONTEXT.get();
+		MetadataContextStorage currentStorage = storage;
+		MetadataContext current = currentStorage.get();
+		if (current != null) {
+			return current;
 		}
 
+		// init static transitive metadata
+		MetadataContext metadataContext = newMetadataContext();
+		currentStorage.set(metadataContext);
+
+		return metadataContext;
+	}
+
+	/**
+	 * Get metadata context bound to current thread without creating one.
+	 * @return metadata context, or null if not bound
+	 */
+	static MetadataContext peek() {
+		return storage.get();
+	}
+
+	/**
+	 * Get storage of metadata context.
+	 * @return storage of metadata context
+	 */
+	public static MetadataContextStorage getStorage() {
+		return storage;
+	}
+
+	/**
+	 * Set storage of metadata context. Metadata contexts bound in the previous storage are not moved.
+	 * @param metadataContextStorage storage of metadata context
+	 */
+	public static void setStorage(MetadataContextStorage metadataContextStorage) {
+		storage = metadataContextStorage;
+	}
+
+	private static MetadataContext newMetadataContext() {
+		return getMetadataContextTemplate().newContext();
+	}
+
+	/**
+	 * Get the template of static metadata, which is only rebuilt when static metadata changes.
+	 * @return template of static metadata
+	 */
+	public static MetadataContextTemplate getMetadataContextTemplate() {
 		if (metadataLocalProperties == null) {
 			metadataLocalProperties = ApplicationContextAwareUtils.getApplicationContext().getBean(MetadataLocalProperties.class);
 		}
 		if (staticMetadataManager == null) {
 			staticMetadataManager = ApplicationContextAwareUtils.getApplicationContext().getBean(StaticMetadataManager.class);
 		}
-
-		// init static transitive metadata
-		MetadataContext metadataContext = new MetadataContext();
-		metadataContext.setTransitiveMetadata(staticMetadataManager.getMergedStaticTransitiveMetadata());
-		metadataContext.setDisposableMetadata(staticMetadataManager.getMergedStaticDisposableMetadata());
-
-		if (StringUtils.hasText(staticMetadataManager.getTransHeader())) {
-			metadataContext.setTransHeaders(staticMetadataManager.getTransHeader(), "");
+		MetadataContextTemplate template = metadataContextTemplate;
+		if (template == null || !template.isBuiltFrom(staticMetadataManager)) {
+			template = MetadataContextTemplate.of(staticMetadataManager);
+			metadataContextTemplate = template;
 		}
-
-		METADATA_CONTEXT.set(metadataContext);
-
-		return METADATA_CONTEXT.get();
+		return template;
 	}
 
 	/**
@@ -115,7 +153,28 @@ public final class MetadataContextHolder {
 	 * @param metadataContext metadata context
 	 */
 	public static void set(MetadataContext metadataContext) {
-		METADATA_CONTEXT.set(metadataContext);
+		storage.set(metadataContext);
+	}
+
+	/**
+	 * Run task with metadata context bound to current thread, and restore the previous one afterwards.
+	 * @param metadataContext metadata context
+	 * @param task task
+	 */
+	public static void run(MetadataContext metadataContext, Runnable task) {
+		storage.run(metadataContext, task);
+	}
+
+	/**
+	 * Call task with metadata context bound to current thread, and restore the previous one afterwards.
+	 * @param metadataContext metadata context
+	 * @param task task
+	 * @param <T> type of result
+	 * @return result of task
+	 * @throws Exception exception thrown by task
+	 */
+	public static <T> T call(MetadataContext metadataContext, Callable<T> task) throws Exception {
+		return storage.call(metadataContext, task);
 	}
 
 	/**
@@ -124,31 +183,35 @@ public final class MetadataContextHolder {
 	 * @param dynamicDisposableMetadata custom disposable metadata connection
 	 */
 	public static void init(Map<String, String> dynamicTransitiveMetadata, Map<String, String> dynamicDisposableMetadata) {
-		// Init ThreadLocal.
-		MetadataContextHolder.remove();
-		MetadataContext metadataContext = MetadataContextHolder.get();
+		storage.set(create(dynamicTransitiveMetadata, dynamicDisposableMetadata));
+	}
+
+	/**
+	 * Create metadata context from static metadata and metadata of upstream, without binding it to current thread.
+	 * @param dynamicTransitiveMetadata custom metadata collection
+	 * @param dynamicDisposableMetadata custom disposable metadata connection
+	 * @return metadata context
+	 */
+	public static MetadataContext create(Map<String, String> dynamicTransitiveMetadata, Map<String, String> dynamicDisposableMetadata) {
+		MetadataContext metadataContext = newMetadataContext();
 
-		// Save transitive metadata to ThreadLocal.
+		// Dynamic metadata is layered on top of the static template without copying,
+		// the maps passed in are owned by the context from now on.
 		if (!CollectionUtils.isEmpty(dynamicTransitiveMetadata)) {
 			Map<String, String> staticTransitiveMetadata = metadataContext.getTransitiveMetadata();
-			Map<String, String> mergedTransitiveMetadata = new HashMap<>();
-			mergedTransitiveMetadata.putAll(staticTransitiveMetadata);
-			mergedTransitiveMetadata.putAll(dynamicTransitiveMetadata);
-			metadataContext.setTransitiveMetadata(Collections.unmodifiableMap(mergedTransitiveMetadata));
+			metadataContext.putFragmentContext(FRAGMENT_TRANSITIVE,
+					LayeredMap.of(dynamicTransitiveMetadata, staticTransitiveMetadata));
 		}
 		if (!CollectionUtils.isEmpty(dynamicDisposableMetadata)) {
-			Map<String, String> mergedUpstreamDisposableMetadata = new HashMap<>(dynamicDisposableMetadata);
-			metadataContext.setUpstreamDisposableMetadata(Collections.unmodifiableMap(mergedUpstreamDisposableMetadata));
+			metadataContext.setUpstreamDisposableMetadata(dynamicDisposableMetadata);
 		}
-		Map<String, String> staticDisposableMetadata = metadataContext.getDisposableMetadata();
-		metadataContext.setDisposableMetadata(Collections.unmodifiableMap(staticDisposableMetadata));
-		MetadataContextHolder.set(metadataContext);
+		return metadataContext;
 	}
 
 	/**
 	 * Remove metadata context.
 	 */
 	public static void remove() {
-		METADATA_CONTEXT.remove();
+		storage.remove();
 	}
 }
@@ -0,0 +1,160 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.common.metadata;
+
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Hooks;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
+import reactor.util.context.Context;
+
+/**
+ * Reactor hooks that bind the metadata context carried by Reactor {@link Context} to the thread-local of
+ * {@link MetadataContextHolder} while a signal is delivered, so that code calling
+ * {@link MetadataContextHolder#get()} inside operators still sees the metadata of its own request.
+ * <p>
+ * Only operators subscribed with a metadata context are decorated.
+ *
+ * @author Haotian Zhang
+ */
+public final class MetadataContextReactorHooks {
+
+	private static final String HOOK_KEY = MetadataContextReactorHooks.class.getName();
+
+	private MetadataContextReactorHooks() {
+	}
+
+	/**
+	 * Enable binding metadata context of Reactor context to the thread-local.
+	 */
+	public static void enableThreadLocalBridge() {
+		Hooks.onEachOperator(HOOK_KEY, Operators.lift((scannable, subscriber) -> {
+			MetadataContext metadataContext = subscriber.currentContext()
+					.getOrDefault(ReactiveMetadataContextHolder.METADATA_CONTEXT_KEY, null);
+			if (metadataContext == null) {
+				return subscriber;
+			}
+			return new ThreadLocalBindingSubscriber<>(subscriber, metadataContext);
+		}));
+	}
+
+	/**
+	 * Disable binding metadata context of Reactor context to the thread-local.
+	 */
+	public static void disableThreadLocalBridge() {
+		Hooks.resetOnEachOperator(HOOK_KEY);
+	}
+
+	/**
+	 * Bind metadata context to the thread-local while signals of the source are delivered downstream, so that
+	 * operators after the source switches thread still see the metadata of their own request.
+	 * @param source source which may emit on another thread
+	 * @param metadataContext metadata context of the request
+	 * @param <T> type of element
+	 * @return source binding metadata context
+	 */
+	public static <T> Mono<T> bindThreadLocal(Mono<T> source, MetadataContext metadataContext) {
+		if (metadataContext == null) {
+			return source;
+		}
+		return source.transform(Operators.<T, T>lift((scannable, subscriber) ->
+				new ThreadLocalBindingSubscriber<>(subscriber, metadataContext)));
+	}
+
+	static final class ThreadLocalBindingSubscriber<T> implements CoreSubscriber<T> {
+
+		private final CoreSubscriber<? super T> actual;
+
+		private final MetadataContext metadataContext;
+
+		ThreadLocalBindingSubscriber(CoreSubscriber<? super T> actual, MetadataContext metadataContext) {
+			this.actual = actual;
+			this.metadataContext = metadataContext;
+		}
+
+		@Override
+		public Context currentContext() {
+			return actual.currentContext();
+		}
+
+		@Override
+		public void onSubscribe(Subscription subscription) {
+			MetadataContext previous = bind();
+			try {
+				actual.onSubscribe(subscription);
+			}
+			finally {
+				restore(previous);
+			}
+		}
+
+		@Override
+		public void onNext(T t) {
+			MetadataContext previous = bind();
+			try {
+				actual.onNext(t);
+			}
+			finally {
+				restore(previous);
+			}
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			MetadataContext previous = bind();
+			try {
+				actual.onError(throwable);
+			}
+			finally {
+				restore(previous);
+			}
+		}
+
+		@Override
+		public void onComplete() {
+			MetadataContext previous = bind();
+			try {
+				actual.onComplete();
+			}
+			finally {
+				restore(previous);
+			}
+		}
+
+		private MetadataContext bind() {
+			MetadataContext previous = MetadataContextHolder.peek();
+			if (previous != metadataContext) {
+				MetadataContextHolder.set(metadataContext);
+			}
+			return previous;
+		}
+
+		private void restore(MetadataContext previous) {
+			if (previous == metadataContext) {
+				return;
+			}
+			if (previous == null) {
+				MetadataContextHolder.remove();
+			}
+			else {
+				MetadataContextHolder.set(previous);
+			}
+		}
+	}
+}
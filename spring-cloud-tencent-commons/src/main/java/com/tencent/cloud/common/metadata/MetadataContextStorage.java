@@ -0,0 +1,95 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.common.metadata;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Storage of the metadata context bound to current thread, used by {@link MetadataContextHolder}.
+ *
+ * @author Haotian Zhang
+ * @see ThreadLocalMetadataContextStorage
+ * @see ScopedValueMetadataContextStorage
+ */
+public interface MetadataContextStorage {
+
+	/**
+	 * Get metadata context bound to current thread.
+	 * @return metadata context, or null if not bound
+	 */
+	MetadataContext get();
+
+	/**
+	 * Bind metadata context to current thread until {@link #remove()} is called.
+	 * @param metadataContext metadata context
+	 */
+	void set(MetadataContext metadataContext);
+
+	/**
+	 * Unbind metadata context from current thread.
+	 */
+	void remove();
+
+	/**
+	 * Run task with metadata context bound, and restore the previous one afterwards.
+	 * @param metadataContext metadata context
+	 * @param task task
+	 */
+	default void run(MetadataContext metadataContext, Runnable task) {
+		MetadataContext previous = get();
+		set(metadataContext);
+		try {
+			task.run();
+		}
+		finally {
+			restore(previous);
+		}
+	}
+
+	/**
+	 * Call task with metadata context bound, and restore the previous one afterwards.
+	 * @param metadataContext metadata context
+	 * @param task task
+	 * @param <T> type of result
+	 * @return result of task
+	 * @throws Exception exception thrown by task
+	 */
+	default <T> T call(MetadataContext metadataContext, Callable<T> task) throws Exception {
+		MetadataContext previous = get();
+		set(metadataContext);
+		try {
+			return task.call();
+		}
+		finally {
+			restore(previous);
+		}
+	}
+
+	/**
+	 * Restore the metadata context bound before.
+	 * @param previous metadata context bound before, null if none
+	 */
+	default void restore(MetadataContext previous) {
+		if (previous == null) {
+			remove();
+		}
+		else {
+			set(previous);
+		}
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.common.metadata;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Task decorator that runs the task with the metadata context of the thread submitting it. The metadata context
+ * is shared by reference instead of copied, and is unbound from the worker thread as soon as the task ends.
+ *
+ * @author Haotian Zhang
+ */
+public class MetadataContextTaskDecorator implements TaskDecorator {
+
+	@Override
+	public Runnable decorate(Runnable runnable) {
+		MetadataContext metadataContext = MetadataContextHolder.peek();
+		if (metadataContext == null) {
+			return runnable;
+		}
+		return () -> MetadataContextHolder.run(metadataContext, runnable);
+	}
+}
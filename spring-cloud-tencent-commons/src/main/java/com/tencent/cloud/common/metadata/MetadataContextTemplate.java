@@ -0,0 +1,101 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.common.metadata;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import static com.tencent.cloud.common.metadata.MetadataContext.FRAGMENT_DISPOSABLE;
+import static com.tencent.cloud.common.metadata.MetadataContext.FRAGMENT_RAW_TRANSHEADERS;
+import static com.tencent.cloud.common.metadata.MetadataContext.FRAGMENT_TRANSITIVE;
+
+/**
+ * Immutable fragments pre-merged from {@link StaticMetadataManager}, shared by every {@link MetadataContext}
+ * until the request writes its own fragments.
+ *
+ * @author Haotian Zhang
+ */
+public final class MetadataContextTemplate {
+
+	/**
+	 * Template without any static metadata.
+	 */
+	public static final MetadataContextTemplate EMPTY = new MetadataContextTemplate(null, Collections.emptyMap());
+
+	private final StaticMetadataManager source;
+
+	private final Map<String, Map<String, String>> fragmentContexts;
+
+	private MetadataContextTemplate(StaticMetadataManager source, Map<String, Map<String, String>> fragmentContexts) {
+		this.source = source;
+		this.fragmentContexts = fragmentContexts;
+	}
+
+	/**
+	 * Build the template from static metadata.
+	 * @param staticMetadataManager static metadata manager
+	 * @return template
+	 */
+	public static MetadataContextTemplate of(StaticMetadataManager staticMetadataManager) {
+		Map<String, Map<String, String>> fragmentContexts = new HashMap<>();
+		fragmentContexts.put(FRAGMENT_TRANSITIVE, immutableCopy(staticMetadataManager.getMergedStaticTransitiveMetadata()));
+		fragmentContexts.put(FRAGMENT_DISPOSABLE, immutableCopy(staticMetadataManager.getMergedStaticDisposableMetadata()));
+		String transHeader = staticMetadataManager.getTransHeader();
+		if (StringUtils.hasText(transHeader)) {
+			fragmentContexts.put(FRAGMENT_RAW_TRANSHEADERS, Collections.singletonMap(transHeader, ""));
+		}
+		return new MetadataContextTemplate(staticMetadataManager, Collections.unmodifiableMap(fragmentContexts));
+	}
+
+	private static Map<String, String> immutableCopy(Map<String, String> metadata) {
+		if (CollectionUtils.isEmpty(metadata)) {
+			return Collections.emptyMap();
+		}
+		return Collections.unmodifiableMap(new HashMap<>(metadata));
+	}
+
+	/**
+	 * Whether this template was built from the given static metadata.
+	 * @param staticMetadataManager static metadata manager
+	 * @return true if built from it
+	 */
+	public boolean isBuiltFrom(StaticMetadataManager staticMetadataManager) {
+		return source == staticMetadataManager;
+	}
+
+	public Map<String, Map<String, String>> getFragmentContexts() {
+		return fragmentContexts;
+	}
+
+	public Map<String, String> getFragmentContext(String fragment) {
+		Map<String, String> fragmentContext = fragmentContexts.get(fragment);
+		return fragmentContext == null ? Collections.emptyMap() : fragmentContext;
+	}
+
+	/**
+	 * Create a new context on top of this template.
+	 * @return metadata context
+	 */
+	public MetadataContext newContext() {
+		return new MetadataContext(this);
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.common.metadata;
+
+import com.tencent.cloud.common.constant.MetadataConstant;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Metadata context holder for reactive applications. The metadata context is carried by Reactor {@link Context}
+ * and {@link ServerWebExchange} attributes, so it follows the request across thread hops. The thread-local of
+ * {@link MetadataContextHolder} is only used as fallback when neither of them carries a metadata context, for
+ * example when the load balancer is called by a blocking client.
+ *
+ * @author Haotian Zhang
+ */
+public final class ReactiveMetadataContextHolder {
+
+	/**
+	 * Key of metadata context in Reactor {@link Context} and {@link ServerWebExchange} attributes.
+	 */
+	public static final String METADATA_CONTEXT_KEY = MetadataConstant.HeaderName.METADATA_CONTEXT;
+
+	private ReactiveMetadataContextHolder() {
+	}
+
+	/**
+	 * Get metadata context from subscriber context.
+	 * @return metadata context
+	 */
+	public static Mono<MetadataContext> get() {
+		return Mono.deferContextual(contextView -> Mono.just(get(contextView)));
+	}
+
+	/**
+	 * Get metadata context from Reactor context, fallback to the one of current thread.
+	 * @param contextView Reactor context
+	 * @return metadata context
+	 */
+	public static MetadataContext get(ContextView contextView) {
+		MetadataContext metadataContext = contextView.getOrDefault(METADATA_CONTEXT_KEY, null);
+		return metadataContext != null ? metadataContext : MetadataContextHolder.get();
+	}
+
+	/**
+	 * Get metadata context from exchange attributes, fallback to the one of current thread.
+	 * @param exchange server web exchange
+	 * @return metadata context
+	 */
+	public static MetadataContext get(ServerWebExchange exchange) {
+		MetadataContext metadataContext = exchange.getAttribute(METADATA_CONTEXT_KEY);
+		return metadataContext != null ? metadataContext : MetadataContextHolder.get();
+	}
+
+	/**
+	 * Put metadata context into Reactor context.
+	 * @param context Reactor context
+	 * @param metadataContext metadata context
+	 * @return Reactor context with metadata context
+	 */
+	public static Context put(Context context, MetadataContext metadataContext) {
+		return context.put(METADATA_CONTEXT_KEY, metadataContext);
+	}
+}
@@ -0,0 +1,182 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.common.metadata;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Callable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Metadata context storage based on {@code java.lang.ScopedValue}. Metadata context bound by
+ * {@link #run(MetadataContext, Runnable)} is only visible within the task and is released as soon as the task
+ * returns, so virtual threads never hold it afterwards.
+ * <p>
+ * {@code ScopedValue} is accessed reflectively, since this project still targets Java 8. Metadata context bound
+ * by {@link #set(MetadataContext)} is kept in a non-inheritable thread-local, which also serves as the whole
+ * storage on runtimes without {@code ScopedValue}.
+ *
+ * @author Haotian Zhang
+ */
+public class ScopedValueMetadataContextStorage implements MetadataContextStorage {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ScopedValueMetadataContextStorage.class);
+
+	private static final Object SCOPED_VALUE;
+
+	private static final MethodHandle WHERE;
+
+	private static final MethodHandle RUN;
+
+	private static final MethodHandle IS_BOUND;
+
+	private static final MethodHandle GET;
+
+	static {
+		Object scopedValue = null;
+		MethodHandle where = null;
+		MethodHandle run = null;
+		MethodHandle isBound = null;
+		MethodHandle get = null;
+		try {
+			Class<?> scopedValueClass = Class.forName("java.lang.ScopedValue");
+			Class<?> carrierClass = Class.forName("java.lang.ScopedValue$Carrier");
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			scopedValue = lookup.findStatic(scopedValueClass, "newInstance", MethodType.methodType(scopedValueClass))
+					.invoke();
+			where = lookup.findStatic(scopedValueClass, "where", MethodType.methodType(carrierClass, scopedValueClass, Object.class))
+					.asType(MethodType.methodType(Object.class, Object.class, Object.class));
+			run = lookup.findVirtual(carrierClass, "run", MethodType.methodType(void.class, Runnable.class))
+					.asType(MethodType.methodType(void.class, Object.class, Runnable.class));
+			isBound = lookup.findVirtual(scopedValueClass, "isBound", MethodType.methodType(boolean.class))
+					.asType(MethodType.methodType(boolean.class, Object.class));
+			get = lookup.findVirtual(scopedValueClass, "get", MethodType.methodType(Object.class))
+					.asType(MethodType.methodType(Object.class, Object.class));
+			// Preview API may refuse to work, make sure it does before using it.
+			Object carrier = where.invokeExact(scopedValue, new Object());
+			run.invokeExact(carrier, (Runnable) () -> { });
+		}
+		catch (Throwable t) {
+			LOG.debug("[SCT] ScopedValue is not available, metadata context is stored in thread-local.", t);
+			scopedValue = null;
+		}
+		SCOPED_VALUE = scopedValue;
+		WHERE = where;
+		RUN = run;
+		IS_BOUND = isBound;
+		GET = get;
+	}
+
+	private final ThreadLocal<MetadataContext> metadataContext = new ThreadLocal<>();
+
+	/**
+	 * Whether {@code ScopedValue} is available in current runtime.
+	 * @return true if available
+	 */
+	public static boolean isSupported() {
+		return SCOPED_VALUE != null;
+	}
+
+	@Override
+	public MetadataContext get() {
+		MetadataContext current = metadataContext.get();
+		if (current != null || SCOPED_VALUE == null) {
+			return current;
+		}
+		try {
+			return (boolean) IS_BOUND.invokeExact(SCOPED_VALUE) ? (MetadataContext) (Object) GET.invokeExact(SCOPED_VALUE) : null;
+		}
+		catch (Throwable t) {
+			throw rethrow(t);
+		}
+	}
+
+	@Override
+	public void set(MetadataContext metadataContext) {
+		this.metadataContext.set(metadataContext);
+	}
+
+	@Override
+	public void remove() {
+		metadataContext.remove();
+	}
+
+	@Override
+	public void run(MetadataContext metadataContext, Runnable task) {
+		if (SCOPED_VALUE == null) {
+			MetadataContextStorage.super.run(metadataContext, task);
+			return;
+		}
+		// Metadata context set explicitly takes precedence, hide it while the scoped one is bound.
+		MetadataContext previous = this.metadataContext.get();
+		if (previous != null) {
+			this.metadataContext.remove();
+		}
+		try {
+			Object carrier = WHERE.invokeExact(SCOPED_VALUE, (Object) metadataContext);
+			RUN.invokeExact(carrier, task);
+		}
+		catch (Throwable t) {
+			throw rethrow(t);
+		}
+		finally {
+			if (previous != null) {
+				this.metadataContext.set(previous);
+			}
+			else {
+				this.metadataContext.remove();
+			}
+		}
+	}
+
+	@Override
+	public <T> T call(MetadataContext metadataContext, Callable<T> task) throws Exception {
+		if (SCOPED_VALUE == null) {
+			return MetadataContextStorage.super.call(metadataContext, task);
+		}
+		Object[] result = new Object[1];
+		Exception[] exception = new Exception[1];
+		run(metadataContext, () -> {
+			try {
+				result[0] = task.call();
+			}
+			catch (Exception e) {
+				exception[0] = e;
+			}
+		});
+		if (exception[0] != null) {
+			throw exception[0];
+		}
+		@SuppressWarnings("unchecked")
+		T value = (T) result[0];
+		return value;
+	}
+
+	private static RuntimeException rethrow(Throwable t) {
+		if (t instanceof RuntimeException) {
+			throw (RuntimeException) t;
+		}
+		if (t instanceof Error) {
+			throw (Error) t;
+		}
+		throw new IllegalStateException(t);
+	}
+}
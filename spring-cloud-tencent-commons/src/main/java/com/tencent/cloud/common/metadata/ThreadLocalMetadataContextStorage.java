@@ -0,0 +1,52 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.common.metadata;
+
+/**
+ * Metadata context storage based on thread-local.
+ * <p>
+ * The inheritable variant lets threads created by a request thread see its metadata context, which is the
+ * behaviour of earlier versions. The non-inheritable variant keeps no reference from child threads, which suits
+ * virtual threads; metadata context is handed over explicitly by {@link MetadataContextTaskDecorator} and
+ * {@link MetadataContextExecutor}.
+ *
+ * @author Haotian Zhang
+ */
+public class ThreadLocalMetadataContextStorage implements MetadataContextStorage {
+
+	private final ThreadLocal<MetadataContext> metadataContext;
+
+	public ThreadLocalMetadataContextStorage(boolean inheritable) {
+		this.metadataContext = inheritable ? new InheritableThreadLocal<>() : new ThreadLocal<>();
+	}
+
+	@Override
+	public MetadataContext get() {
+		return metadataContext.get();
+	}
+
+	@Override
+	public void set(MetadataContext metadataContext) {
+		this.metadataContext.set(metadataContext);
+	}
+
+	@Override
+	public void remove() {
+		metadataContext.remove();
+	}
+}
@@ -20,13 +20,25 @@ package com.tencent.cloud.common.metadata.config;
 
 import java.util.List;
 
+import com.tencent.cloud.common.metadata.MetadataContextHolder;
+import com.tencent.cloud.common.metadata.MetadataContextStorage;
+import com.tencent.cloud.common.metadata.MetadataContextTaskDecorator;
+import com.tencent.cloud.common.metadata.ScopedValueMetadataContextStorage;
 import com.tencent.cloud.common.metadata.StaticMetadataManager;
+import com.tencent.cloud.common.metadata.ThreadLocalMetadataContextStorage;
 import com.tencent.cloud.common.spi.InstanceMetadataProvider;
 import com.tencent.cloud.common.spi.impl.DefaultInstanceMetadataProvider;
 import com.tencent.cloud.common.util.ApplicationContextAwareUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.lang.Nullable;
 
 /**
@@ -37,6 +49,8 @@ import org.springframework.lang.Nullable;
 @Configuration(proxyBeanMethods = false)
 public class MetadataAutoConfiguration {
 
+	private static final Logger LOG = LoggerFactory.getLogger(MetadataAutoConfiguration.class);
+
 	/**
 	 * metadata properties.
 	 * @return metadata properties
@@ -57,4 +71,45 @@ public class MetadataAutoConfiguration {
 		return new StaticMetadataManager(metadataLocalProperties, instanceMetadataProviders);
 	}
 
+	/**
+	 * Storage of metadata context, one of inheritable-thread-local, thread-local and scoped-value.
+	 * @param contextStorage type of storage
+	 * @return storage of metadata context
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public MetadataContextStorage metadataContextStorage(
+			@Value("${spring.cloud.tencent.metadata.context-storage:inheritable-thread-local}") String contextStorage) {
+		switch (contextStorage) {
+		case "thread-local":
+			return new ThreadLocalMetadataContextStorage(false);
+		case "scoped-value":
+			if (!ScopedValueMetadataContextStorage.isSupported()) {
+				LOG.info("[SCT] ScopedValue is not supported by current runtime, metadata context is stored in non-inheritable thread-local.");
+			}
+			return new ScopedValueMetadataContextStorage();
+		case "inheritable-thread-local":
+			return new ThreadLocalMetadataContextStorage(true);
+		default:
+			throw new IllegalArgumentException("Unknown metadata context storage: " + contextStorage);
+		}
+	}
+
+	@Bean
+	public SmartInitializingSingleton metadataContextStorageInitializer(MetadataContextStorage metadataContextStorage) {
+		return () -> MetadataContextHolder.setStorage(metadataContextStorage);
+	}
+
+	/**
+	 * Propagate metadata context to tasks of the task executor built by Spring Boot, which runs {@code @Async}
+	 * methods. Disabled by default, as it replaces the task decorator picked by Spring Boot.
+	 * @return task decorator
+	 */
+	@Bean
+	@ConditionalOnMissingBean(TaskDecorator.class)
+	@ConditionalOnProperty(value = "spring.cloud.tencent.metadata.task-decorator.enabled", havingValue = "true")
+	public MetadataContextTaskDecorator metadataContextTaskDecorator() {
+		return new MetadataContextTaskDecorator();
+	}
+
 }
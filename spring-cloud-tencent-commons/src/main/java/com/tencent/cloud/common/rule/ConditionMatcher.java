@@ -0,0 +1,139 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.common.rule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang.StringUtils;
+
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Immutable matcher compiled from a list of conditions, which matches when all conditions match. Operation of each
+ * condition is resolved once, regex is compiled once and values of IN and NOT_IN are hashed once, so matchers are
+ * meant to be compiled when rules are loaded and cached together with them. Matching has the same result as
+ * {@link ConditionUtils#match(Map, List)}.
+ *
+ * @author Haotian Zhang
+ */
+public final class ConditionMatcher {
+
+	/**
+	 * Matcher without any condition, which always matches.
+	 */
+	public static final ConditionMatcher EMPTY = new ConditionMatcher(new CompiledCondition[0]);
+
+	private final CompiledCondition[] conditions;
+
+	private ConditionMatcher(CompiledCondition[] conditions) {
+		this.conditions = conditions;
+	}
+
+	/**
+	 * Compile conditions into matcher.
+	 * @param conditions conditions, may be null
+	 * @return compiled matcher
+	 * @throws RuntimeException if operation of any condition is unsupported
+	 */
+	public static ConditionMatcher compile(List<Condition> conditions) {
+		if (CollectionUtils.isEmpty(conditions)) {
+			return EMPTY;
+		}
+		CompiledCondition[] compiledConditions = new CompiledCondition[conditions.size()];
+		for (int i = 0; i < compiledConditions.length; i++) {
+			compiledConditions[i] = new CompiledCondition(conditions.get(i));
+		}
+		return new ConditionMatcher(compiledConditions);
+	}
+
+	/**
+	 * Whether all conditions match the actual values.
+	 * @param actualValues actual values by condition key
+	 * @return true if all conditions match
+	 */
+	public boolean match(Map<String, String> actualValues) {
+		for (CompiledCondition condition : conditions) {
+			if (!condition.match(actualValues.get(condition.key))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Get keys of conditions in order.
+	 * @return condition keys
+	 */
+	public List<String> getKeys() {
+		List<String> keys = new ArrayList<>(conditions.length);
+		for (CompiledCondition condition : conditions) {
+			keys.add(condition.key);
+		}
+		return keys;
+	}
+
+	private static final class CompiledCondition {
+
+		private final String key;
+
+		private final Operation operation;
+
+		private final String firstExpectedValue;
+
+		private final Set<String> expectedValues;
+
+		private final Pattern pattern;
+
+		private CompiledCondition(Condition condition) {
+			List<String> values = condition.getValues();
+			this.key = condition.getKey();
+			this.operation = Operation.getOperation(condition.getOperation());
+			this.firstExpectedValue = CollectionUtils.isEmpty(values) ? null : values.get(0);
+			this.expectedValues = CollectionUtils.isEmpty(values) ? Collections.emptySet() : new HashSet<>(values);
+			this.pattern = operation == Operation.REGEX && firstExpectedValue != null
+					? Pattern.compile(firstExpectedValue) : null;
+		}
+
+		private boolean match(String actualValue) {
+			switch (operation) {
+			case EQUALS:
+				return firstExpectedValue != null && StringUtils.equals(actualValue, firstExpectedValue);
+			case NOT_EQUALS:
+				return firstExpectedValue == null || !StringUtils.equals(actualValue, firstExpectedValue);
+			case BLANK:
+				return StringUtils.isBlank(actualValue);
+			case NOT_BLANK:
+				return !StringUtils.isBlank(actualValue);
+			case IN:
+				return expectedValues.contains(actualValue);
+			case NOT_IN:
+				return !expectedValues.contains(actualValue);
+			case REGEX:
+				return pattern != null && actualValue != null && pattern.matcher(actualValue).matches();
+			default:
+				return false;
+			}
+		}
+	}
+}
@@ -0,0 +1,286 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ */
+
+package com.tencent.cloud.common.util.expresstion;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang.StringUtils;
+
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Immutable extractor plan compiled from a set of expression label keys. Every key is classified once, so resolving
+ * labels of a request only does the header lookups and parses the query string and the cookie header in one pass
+ * each. Plans are meant to be cached together with the rule they are compiled from.
+ *
+ * @author Haotian Zhang
+ */
+public final class ExpressionLabelPlan {
+
+	/**
+	 * Plan without any label key.
+	 */
+	public static final ExpressionLabelPlan EMPTY = new ExpressionLabelPlan(Collections.emptySet(),
+			Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(), Collections.emptyList(),
+			Collections.emptyList(), Collections.emptyList());
+
+	private final Set<String> labelKeys;
+
+	private final Map<String, String> headerLabels;
+
+	private final Map<String, List<String>> queryLabels;
+
+	private final Map<String, List<String>> cookieLabels;
+
+	private final List<String> methodLabels;
+
+	private final List<String> uriLabels;
+
+	private final List<String> callerIpLabels;
+
+	private ExpressionLabelPlan(Set<String> labelKeys, Map<String, String> headerLabels,
+			Map<String, List<String>> queryLabels, Map<String, List<String>> cookieLabels, List<String> methodLabels,
+			List<String> uriLabels, List<String> callerIpLabels) {
+		this.labelKeys = labelKeys;
+		this.headerLabels = headerLabels;
+		this.queryLabels = queryLabels;
+		this.cookieLabels = cookieLabels;
+		this.methodLabels = methodLabels;
+		this.uriLabels = uriLabels;
+		this.callerIpLabels = callerIpLabels;
+	}
+
+	/**
+	 * Compile label keys into an extractor plan. Keys which are not expression labels are kept in
+	 * {@link #getLabelKeys()} but never resolved.
+	 * @param labelKeys label keys
+	 * @return compiled plan
+	 */
+	public static ExpressionLabelPlan compile(Collection<String> labelKeys) {
+		if (CollectionUtils.isEmpty(labelKeys)) {
+			return EMPTY;
+		}
+		Map<String, String> headerLabels = new LinkedHashMap<>();
+		Map<String, List<String>> queryLabels = new LinkedHashMap<>();
+		Map<String, List<String>> cookieLabels = new LinkedHashMap<>();
+		List<String> methodLabels = new ArrayList<>();
+		List<String> uriLabels = new ArrayList<>();
+		List<String> callerIpLabels = new ArrayList<>();
+
+		for (String labelKey : labelKeys) {
+			if (!ExpressionLabelUtils.isExpressionLabel(labelKey)) {
+				continue;
+			}
+			if (ExpressionLabelUtils.isCallerIPLabel(labelKey)) {
+				callerIpLabels.add(labelKey);
+			}
+			if (ExpressionLabelUtils.isHeaderLabel(labelKey)) {
+				String headerKey = ExpressionLabelUtils.parseHeaderKey(labelKey);
+				if (StringUtils.isNotBlank(headerKey)) {
+					headerLabels.put(labelKey, headerKey);
+				}
+			}
+			else if (ExpressionLabelUtils.isQueryLabel(labelKey)) {
+				String queryKey = ExpressionLabelUtils.parseQueryKey(labelKey);
+				if (StringUtils.isNotBlank(queryKey)) {
+					queryLabels.computeIfAbsent(queryKey, k -> new ArrayList<>(1)).add(labelKey);
+				}
+			}
+			else if (ExpressionLabelUtils.isCookieLabel(labelKey)) {
+				String cookieKey = ExpressionLabelUtils.parseCookieKey(labelKey);
+				if (StringUtils.isNotBlank(cookieKey)) {
+					cookieLabels.computeIfAbsent(cookieKey, k -> new ArrayList<>(1)).add(labelKey);
+				}
+			}
+			else if (ExpressionLabelUtils.isMethodLabel(labelKey)) {
+				methodLabels.add(labelKey);
+			}
+			else if (ExpressionLabelUtils.isUriLabel(labelKey)) {
+				uriLabels.add(labelKey);
+			}
+		}
+
+		return new ExpressionLabelPlan(Collections.unmodifiableSet(new LinkedHashSet<>(labelKeys)),
+				Collections.unmodifiableMap(headerLabels), Collections.unmodifiableMap(queryLabels),
+				Collections.unmodifiableMap(cookieLabels), Collections.unmodifiableList(methodLabels),
+				Collections.unmodifiableList(uriLabels), Collections.unmodifiableList(callerIpLabels));
+	}
+
+	/**
+	 * All label keys the plan is compiled from.
+	 * @return label keys
+	 */
+	public Set<String> getLabelKeys() {
+		return labelKeys;
+	}
+
+	/**
+	 * Header labels, label key to header name.
+	 * @return header labels
+	 */
+	public Map<String, String> getHeaderLabels() {
+		return headerLabels;
+	}
+
+	/**
+	 * Query labels, query key to label keys.
+	 * @return query labels
+	 */
+	public Map<String, List<String>> getQueryLabels() {
+		return queryLabels;
+	}
+
+	/**
+	 * Cookie labels, cookie name to label keys.
+	 * @return cookie labels
+	 */
+	public Map<String, List<String>> getCookieLabels() {
+		return cookieLabels;
+	}
+
+	public List<String> getMethodLabels() {
+		return methodLabels;
+	}
+
+	public List<String> getUriLabels() {
+		return uriLabels;
+	}
+
+	public List<String> getCallerIpLabels() {
+		return callerIpLabels;
+	}
+
+	public boolean isEmpty() {
+		return labelKeys.isEmpty();
+	}
+
+	/**
+	 * Put values of all query labels parsed from the raw query string in one pass. Missing queries are resolved as
+	 * empty string.
+	 * @param queryString raw query string
+	 * @param labels resolved labels
+	 */
+	public void resolveQueryString(String queryString, Map<String, String> labels) {
+		if (queryLabels.isEmpty()) {
+			return;
+		}
+		resolvePairs(queryString, '&', false, queryLabels, labels);
+		putMissing(queryLabels, labels);
+	}
+
+	/**
+	 * Put values of all cookie labels parsed from the cookie header values in one pass. Missing cookies are resolved
+	 * as empty string.
+	 * @param cookieHeaders values of cookie header
+	 * @param labels resolved labels
+	 */
+	public void resolveCookieHeaders(Collection<String> cookieHeaders, Map<String, String> labels) {
+		if (cookieLabels.isEmpty()) {
+			return;
+		}
+		if (cookieHeaders != null) {
+			for (String cookieHeader : cookieHeaders) {
+				resolvePairs(cookieHeader, ';', true, cookieLabels, labels);
+			}
+		}
+		putMissing(cookieLabels, labels);
+	}
+
+	/**
+	 * Put values of all cookie labels parsed from the cookie header value in one pass.
+	 * @param cookieHeader value of cookie header
+	 * @param labels resolved labels
+	 */
+	public void resolveCookieHeader(String cookieHeader, Map<String, String> labels) {
+		resolveCookieHeaders(cookieHeader == null ? null : Collections.singletonList(cookieHeader), labels);
+	}
+
+	/**
+	 * Put caller ip to all caller ip labels.
+	 * @param callerIp caller ip
+	 * @param labels resolved labels
+	 */
+	public void resolveCallerIp(String callerIp, Map<String, String> labels) {
+		for (String labelKey : callerIpLabels) {
+			labels.put(labelKey, callerIp);
+		}
+	}
+
+	/**
+	 * Walk through 'k=v' pairs separated by the separator. As {@link StringUtils#split(String, String)} used to do,
+	 * empty tokens are skipped and pairs which do not consist of exactly one key and one value are ignored. The first
+	 * value of a key wins.
+	 */
+	private static void resolvePairs(String source, char separator, boolean trimKey,
+			Map<String, List<String>> index, Map<String, String> labels) {
+		if (StringUtils.isEmpty(source)) {
+			return;
+		}
+		int length = source.length();
+		int start = 0;
+		while (start < length) {
+			int end = source.indexOf(separator, start);
+			if (end < 0) {
+				end = length;
+			}
+			int keyStart = skip(source, '=', start, end);
+			int keyEnd = indexOf(source, '=', keyStart, end);
+			int valueStart = skip(source, '=', keyEnd, end);
+			int valueEnd = indexOf(source, '=', valueStart, end);
+			if (keyStart < keyEnd && valueStart < valueEnd && skip(source, '=', valueEnd, end) == end) {
+				String key = trimKey ? source.substring(keyStart, keyEnd).trim() : source.substring(keyStart, keyEnd);
+				List<String> labelKeys = index.get(key);
+				if (labelKeys != null) {
+					String value = source.substring(valueStart, valueEnd);
+					for (String labelKey : labelKeys) {
+						labels.putIfAbsent(labelKey, value);
+					}
+				}
+			}
+			start = end + 1;
+		}
+	}
+
+	private static int skip(String source, char c, int from, int to) {
+		while (from < to && source.charAt(from) == c) {
+			from++;
+		}
+		return from;
+	}
+
+	private static int indexOf(String source, char c, int from, int to) {
+		int index = source.indexOf(c, from);
+		return index < 0 || index > to ? to : index;
+	}
+
+	private static void putMissing(Map<String, List<String>> index, Map<String, String> labels) {
+		for (List<String> labelKeys : index.values()) {
+			for (String labelKey : labelKeys) {
+				labels.putIfAbsent(labelKey, StringUtils.EMPTY);
+			}
+		}
+	}
+}
@@ -20,6 +20,7 @@ package com.tencent.cloud.common.util.expresstion;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -43,41 +44,33 @@ public final class ServletExpressionLabelUtils {
 		if (CollectionUtils.isEmpty(labelKeys)) {
 			return Collections.emptyMap();
 		}
+		return resolve(request, ExpressionLabelPlan.compile(labelKeys));
+	}
+
+	public static Map<String, String> resolve(HttpServletRequest request, ExpressionLabelPlan plan) {
+		if (plan == null || plan.isEmpty()) {
+			return Collections.emptyMap();
+		}
 
 		Map<String, String> labels = new HashMap<>();
 
-		for (String labelKey : labelKeys) {
-			if (!ExpressionLabelUtils.isExpressionLabel(labelKey)) {
-				continue;
-			}
-			if (ExpressionLabelUtils.isHeaderLabel(labelKey)) {
-				String headerKey = ExpressionLabelUtils.parseHeaderKey(labelKey);
-				if (StringUtils.isBlank(headerKey)) {
-					continue;
-				}
-				labels.put(labelKey, request.getHeader(headerKey));
-			}
-			else if (ExpressionLabelUtils.isQueryLabel(labelKey)) {
-				String queryKey = ExpressionLabelUtils.parseQueryKey(labelKey);
-				if (StringUtils.isBlank(queryKey)) {
-					continue;
-				}
-				labels.put(labelKey, ExpressionLabelUtils.getQueryValue(request.getQueryString(), queryKey));
-			}
-			else if (ExpressionLabelUtils.isCookieLabel(labelKey)) {
-				String cookieKey = ExpressionLabelUtils.parseCookieKey(labelKey);
-				if (StringUtils.isBlank(cookieKey)) {
-					continue;
-				}
-				labels.put(labelKey, getCookieValue(request.getCookies(), cookieKey));
-			}
-			else if (ExpressionLabelUtils.isMethodLabel(labelKey)) {
-				labels.put(labelKey, request.getMethod());
-			}
-			else if (ExpressionLabelUtils.isUriLabel(labelKey)) {
-				labels.put(labelKey, request.getRequestURI());
+		for (Map.Entry<String, String> headerLabel : plan.getHeaderLabels().entrySet()) {
+			labels.put(headerLabel.getKey(), request.getHeader(headerLabel.getValue()));
+		}
+		plan.resolveQueryString(request.getQueryString(), labels);
+		if (!plan.getCookieLabels().isEmpty()) {
+			Cookie[] cookies = request.getCookies();
+			for (Map.Entry<String, List<String>> cookieLabel : plan.getCookieLabels().entrySet()) {
+				String value = getCookieValue(cookies, cookieLabel.getKey());
+				cookieLabel.getValue().forEach(labelKey -> labels.put(labelKey, value));
 			}
 		}
+		for (String labelKey : plan.getMethodLabels()) {
+			labels.put(labelKey, request.getMethod());
+		}
+		for (String labelKey : plan.getUriLabels()) {
+			labels.put(labelKey, request.getRequestURI());
+		}
 
 		return labels;
 	}
@@ -20,6 +20,7 @@ package com.tencent.cloud.common.util.expresstion;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -46,40 +47,33 @@ public final class SpringWebExpressionLabelUtils {
 		if (CollectionUtils.isEmpty(labelKeys)) {
 			return Collections.emptyMap();
 		}
+		return resolve(exchange, ExpressionLabelPlan.compile(labelKeys));
+	}
+
+	public static Map<String, String> resolve(ServerWebExchange exchange, ExpressionLabelPlan plan) {
+		if (plan == null || plan.isEmpty()) {
+			return Collections.emptyMap();
+		}
 
+		ServerHttpRequest request = exchange.getRequest();
 		Map<String, String> labels = new HashMap<>();
 
-		for (String labelKey : labelKeys) {
-			if (!ExpressionLabelUtils.isExpressionLabel(labelKey)) {
-				continue;
-			}
-			if (ExpressionLabelUtils.isHeaderLabel(labelKey)) {
-				String headerKey = ExpressionLabelUtils.parseHeaderKey(labelKey);
-				if (StringUtils.isBlank(headerKey)) {
-					continue;
-				}
-				labels.put(labelKey, getHeaderValue(exchange.getRequest(), headerKey));
-			}
-			else if (ExpressionLabelUtils.isQueryLabel(labelKey)) {
-				String queryKey = ExpressionLabelUtils.parseQueryKey(labelKey);
-				if (StringUtils.isBlank(queryKey)) {
-					continue;
-				}
-				labels.put(labelKey, getQueryValue(exchange.getRequest(), queryKey));
-			}
-			else if (ExpressionLabelUtils.isCookieLabel(labelKey)) {
-				String cookieKey = ExpressionLabelUtils.parseCookieKey(labelKey);
-				if (StringUtils.isBlank(cookieKey)) {
-					continue;
-				}
-				labels.put(labelKey, getCookieValue(exchange.getRequest(), cookieKey));
-			}
-			else if (ExpressionLabelUtils.isMethodLabel(labelKey)) {
-				labels.put(labelKey, exchange.getRequest().getMethodValue());
-			}
-			else if (ExpressionLabelUtils.isUriLabel(labelKey)) {
-				labels.put(labelKey, exchange.getRequest().getURI().getPath());
-			}
+		for (Map.Entry<String, String> headerLabel : plan.getHeaderLabels().entrySet()) {
+			labels.put(headerLabel.getKey(), getHeaderValue(request, headerLabel.getValue()));
+		}
+		for (Map.Entry<String, List<String>> queryLabel : plan.getQueryLabels().entrySet()) {
+			String value = getQueryValue(request, queryLabel.getKey());
+			queryLabel.getValue().forEach(labelKey -> labels.put(labelKey, value));
+		}
+		for (Map.Entry<String, List<String>> cookieLabel : plan.getCookieLabels().entrySet()) {
+			String value = getCookieValue(request, cookieLabel.getKey());
+			cookieLabel.getValue().forEach(labelKey -> labels.put(labelKey, value));
+		}
+		for (String labelKey : plan.getMethodLabels()) {
+			labels.put(labelKey, request.getMethodValue());
+		}
+		for (String labelKey : plan.getUriLabels()) {
+			labels.put(labelKey, request.getURI().getPath());
 		}
 
 		return labels;
@@ -89,40 +83,28 @@ public final class SpringWebExpressionLabelUtils {
 		if (CollectionUtils.isEmpty(labelKeys)) {
 			return Collections.emptyMap();
 		}
+		return resolve(request, ExpressionLabelPlan.compile(labelKeys));
+	}
+
+	public static Map<String, String> resolve(HttpRequest request, ExpressionLabelPlan plan) {
+		if (plan == null || plan.isEmpty()) {
+			return Collections.emptyMap();
+		}
 
 		Map<String, String> labels = new HashMap<>();
 
-		for (String labelKey : labelKeys) {
-			if (!ExpressionLabelUtils.isExpressionLabel(labelKey)) {
-				continue;
-			}
-			if (ExpressionLabelUtils.isHeaderLabel(labelKey)) {
-				String headerKey = ExpressionLabelUtils.parseHeaderKey(labelKey);
-				if (StringUtils.isBlank(headerKey)) {
-					continue;
-				}
-				labels.put(labelKey, getHeaderValue(request, headerKey));
-			}
-			else if (ExpressionLabelUtils.isQueryLabel(labelKey)) {
-				String queryKey = ExpressionLabelUtils.parseQueryKey(labelKey);
-				if (StringUtils.isBlank(queryKey)) {
-					continue;
-				}
-				labels.put(labelKey, getQueryValue(request, queryKey));
-			}
-			else if (ExpressionLabelUtils.isCookieLabel(labelKey)) {
-				String cookieKey = ExpressionLabelUtils.parseCookieKey(labelKey);
-				if (StringUtils.isBlank(cookieKey)) {
-					continue;
-				}
-				labels.put(labelKey, getCookieValue(request, cookieKey));
-			}
-			else if (ExpressionLabelUtils.isMethodLabel(labelKey)) {
-				labels.put(labelKey, request.getMethodValue());
-			}
-			else if (ExpressionLabelUtils.isUriLabel(labelKey)) {
-				labels.put(labelKey, request.getURI().getPath());
-			}
+		for (Map.Entry<String, String> headerLabel : plan.getHeaderLabels().entrySet()) {
+			labels.put(headerLabel.getKey(), getHeaderValue(request, headerLabel.getValue()));
+		}
+		plan.resolveQueryString(request.getURI().getQuery(), labels);
+		if (!plan.getCookieLabels().isEmpty()) {
+			plan.resolveCookieHeader(request.getHeaders().getFirst(HttpHeaders.COOKIE), labels);
+		}
+		for (String labelKey : plan.getMethodLabels()) {
+			labels.put(labelKey, request.getMethodValue());
+		}
+		for (String labelKey : plan.getUriLabels()) {
+			labels.put(labelKey, request.getURI().getPath());
 		}
 
 		return labels;
@@ -0,0 +1,66 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.common.metadata;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for {@link LayeredMap}.
+ *
+ * @author Haotian Zhang
+ */
+public class LayeredMapTest {
+
+	@Test
+	public void testOverlay() {
+		Map<String, String> base = new HashMap<>();
+		base.put("a", "1");
+		base.put("b", "2");
+		Map<String, String> overlay = new HashMap<>();
+		overlay.put("b", "22");
+		overlay.put("c", "3");
+
+		Map<String, String> layered = LayeredMap.of(overlay, base);
+		Map<String, String> expected = new HashMap<>();
+		expected.put("a", "1");
+		expected.put("b", "22");
+		expected.put("c", "3");
+		assertThat(layered).isEqualTo(expected);
+		assertThat(layered.size()).isEqualTo(3);
+		assertThat(layered.get("b")).isEqualTo("22");
+		assertThat(layered.containsKey("a")).isTrue();
+		assertThat(layered.get("d")).isNull();
+		assertThat(new HashMap<>(layered)).isEqualTo(expected);
+		assertThatThrownBy(() -> layered.put("d", "4")).isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	public void testEmptyLayer() {
+		Map<String, String> base = Collections.singletonMap("a", "1");
+		assertThat(LayeredMap.of(Collections.emptyMap(), base)).isEqualTo(base);
+		assertThat(LayeredMap.of(base, null)).isEqualTo(base);
+		assertThat(LayeredMap.of(null, null)).isEmpty();
+	}
+}
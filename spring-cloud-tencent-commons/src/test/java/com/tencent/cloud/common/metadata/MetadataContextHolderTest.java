@@ -75,6 +75,22 @@ public class MetadataContextHolderTest {
 		Assertions.assertThat(transHeaders.keySet().iterator().next()).isEqualTo("c,d");
 	}
 
+	@Test
+	public void testStaticTemplateShared() {
+		MetadataContextHolder.remove();
+		MetadataContext first = MetadataContextHolder.get();
+		MetadataContextHolder.remove();
+		MetadataContext second = MetadataContextHolder.get();
+		Assertions.assertThat(second).isNotSameAs(first);
+		Assertions.assertThat(second.getTransitiveMetadata()).isSameAs(first.getTransitiveMetadata());
+
+		// Writes are only visible in the context written.
+		second.setTransHeadersKV("c", "1");
+		Assertions.assertThat(second.getTransHeadersKV()).containsEntry("c", "1");
+		Assertions.assertThat(first.getTransHeadersKV()).isEmpty();
+		MetadataContextHolder.remove();
+	}
+
 	@Test
 	public void test2() {
 		Assertions.assertThat(MetadataContext.LOCAL_NAMESPACE).isEqualTo("default");
@@ -0,0 +1,112 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.common.metadata;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for {@link MetadataContextStorage}, {@link MetadataContextTaskDecorator} and {@link MetadataContextExecutor}.
+ *
+ * @author Haotian Zhang
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+		classes = MetadataContextHolderTest.TestApplication.class,
+		properties = {"spring.config.location = classpath:application-test.yml"})
+public class MetadataContextStorageTest {
+
+	@AfterEach
+	public void tearDown() {
+		MetadataContextHolder.remove();
+		MetadataContextHolder.setStorage(new ThreadLocalMetadataContextStorage(true));
+	}
+
+	@Test
+	public void testNonInheritableThreadLocal() throws Exception {
+		MetadataContextHolder.setStorage(new ThreadLocalMetadataContextStorage(false));
+		MetadataContext metadataContext = MetadataContextHolder.get();
+
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			// Child thread does not inherit metadata context.
+			assertThat(executorService.submit(MetadataContextHolder::peek).get()).isNull();
+
+			// Metadata context is handed over by executor wrapper, and unbound after the task.
+			MetadataContext result = CompletableFuture.supplyAsync(MetadataContextHolder::get,
+					MetadataContextExecutor.wrap(executorService)).get();
+			assertThat(result).isSameAs(metadataContext);
+			assertThat(executorService.submit(MetadataContextHolder::peek).get()).isNull();
+
+			MetadataContext[] decorated = new MetadataContext[1];
+			executorService.submit(new MetadataContextTaskDecorator().decorate(() -> decorated[0] = MetadataContextHolder.get())).get();
+			assertThat(decorated[0]).isSameAs(metadataContext);
+		}
+		finally {
+			executorService.shutdown();
+		}
+	}
+
+	@Test
+	public void testRestorePrevious() throws Exception {
+		MetadataContextHolder.setStorage(new ThreadLocalMetadataContextStorage(false));
+		MetadataContext previous = MetadataContextHolder.get();
+		MetadataContext metadataContext = new MetadataContext();
+
+		MetadataContext result = MetadataContextHolder.call(metadataContext, MetadataContextHolder::get);
+		assertThat(result).isSameAs(metadataContext);
+		assertThat(MetadataContextHolder.get()).isSameAs(previous);
+
+		MetadataContextHolder.remove();
+		MetadataContextHolder.run(metadataContext, () -> assertThat(MetadataContextHolder.peek()).isSameAs(metadataContext));
+		assertThat(MetadataContextHolder.peek()).isNull();
+	}
+
+	@Test
+	public void testScopedValue() throws Exception {
+		MetadataContextHolder.setStorage(new ScopedValueMetadataContextStorage());
+		MetadataContext metadataContext = new MetadataContext();
+
+		assertThat(MetadataContextHolder.peek()).isNull();
+		MetadataContext result = MetadataContextHolder.call(metadataContext, MetadataContextHolder::get);
+		assertThat(result).isSameAs(metadataContext);
+		assertThat(MetadataContextHolder.peek()).isNull();
+
+		assertThatThrownBy(() -> MetadataContextHolder.call(metadataContext, () -> {
+			throw new IllegalStateException("test");
+		})).isInstanceOf(IllegalStateException.class);
+		assertThat(MetadataContextHolder.peek()).isNull();
+
+		// Metadata context set explicitly is restored after scoped call.
+		MetadataContext explicit = new MetadataContext();
+		MetadataContextHolder.set(explicit);
+		MetadataContextHolder.run(metadataContext, () -> assertThat(MetadataContextHolder.get()).isSameAs(metadataContext));
+		assertThat(MetadataContextHolder.get()).isSameAs(explicit);
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.common.metadata;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for {@link ReactiveMetadataContextHolder} and {@link MetadataContextReactorHooks}.
+ *
+ * @author Haotian Zhang
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK,
+		classes = MetadataContextHolderTest.TestApplication.class,
+		properties = {"spring.config.location = classpath:application-test.yml"})
+public class ReactiveMetadataContextHolderTest {
+
+	@AfterEach
+	public void tearDown() {
+		MetadataContextReactorHooks.disableThreadLocalBridge();
+		MetadataContextHolder.remove();
+	}
+
+	@Test
+	public void testGetFromReactorContext() {
+		MetadataContext threadLocalContext = new MetadataContext();
+		MetadataContextHolder.set(threadLocalContext);
+		MetadataContext metadataContext = new MetadataContext();
+
+		MetadataContext result = ReactiveMetadataContextHolder.get()
+				.publishOn(Schedulers.boundedElastic())
+				.contextWrite(context -> ReactiveMetadataContextHolder.put(context, metadataContext))
+				.block();
+		assertThat(result).isSameAs(metadataContext);
+
+		assertThat(ReactiveMetadataContextHolder.get(Context.empty())).isSameAs(threadLocalContext);
+	}
+
+	@Test
+	public void testGetFromExchange() {
+		MetadataContext threadLocalContext = new MetadataContext();
+		MetadataContextHolder.set(threadLocalContext);
+		MetadataContext metadataContext = new MetadataContext();
+
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/test").build());
+		assertThat(ReactiveMetadataContextHolder.get(exchange)).isSameAs(threadLocalContext);
+
+		exchange.getAttributes().put(ReactiveMetadataContextHolder.METADATA_CONTEXT_KEY, metadataContext);
+		assertThat(ReactiveMetadataContextHolder.get(exchange)).isSameAs(metadataContext);
+	}
+
+	@Test
+	public void testThreadLocalBridge() {
+		MetadataContextReactorHooks.enableThreadLocalBridge();
+		MetadataContext metadataContext = new MetadataContext();
+
+		MetadataContext result = Mono.just("test")
+				.publishOn(Schedulers.boundedElastic())
+				.map(value -> MetadataContextHolder.peek())
+				.contextWrite(context -> ReactiveMetadataContextHolder.put(context, metadataContext))
+				.block();
+		assertThat(result).isSameAs(metadataContext);
+		// Thread-local of the subscribing thread is restored.
+		assertThat(MetadataContextHolder.peek()).isNull();
+
+		MetadataContextReactorHooks.disableThreadLocalBridge();
+		result = Mono.just("test")
+				.mapNotNull(value -> MetadataContextHolder.peek())
+				.contextWrite(context -> ReactiveMetadataContextHolder.put(context, metadataContext))
+				.block();
+		assertThat(result).isNull();
+	}
+
+	@Test
+	public void testBindThreadLocal() {
+		MetadataContext metadataContext = new MetadataContext();
+
+		Mono<String> source = Mono.just("test").publishOn(Schedulers.boundedElastic());
+		MetadataContext result = MetadataContextReactorHooks.bindThreadLocal(source, metadataContext)
+				.flatMap(value -> Mono.fromCallable(MetadataContextHolder::peek))
+				.block();
+		assertThat(result).isSameAs(metadataContext);
+		assertThat(MetadataContextHolder.peek()).isNull();
+	}
+}
@@ -19,6 +19,11 @@
 package com.tencent.cloud.common.metadata.config;
 
 
+import com.tencent.cloud.common.metadata.MetadataContextHolder;
+import com.tencent.cloud.common.metadata.MetadataContextStorage;
+import com.tencent.cloud.common.metadata.MetadataContextTaskDecorator;
+import com.tencent.cloud.common.metadata.ScopedValueMetadataContextStorage;
+import com.tencent.cloud.common.metadata.ThreadLocalMetadataContextStorage;
 import com.tencent.cloud.common.util.ApplicationContextAwareUtils;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -82,4 +87,33 @@ public class MetadataAutoConfigurationTest {
 					Assertions.assertThat(context).hasSingleBean(MetadataLocalProperties.class);
 				});
 	}
+
+	/**
+	 * storage of metadata context.
+	 */
+	@Test
+	public void testContextStorage() {
+		this.applicationContextRunner
+				.withConfiguration(AutoConfigurations.of(MetadataAutoConfiguration.class, ApplicationContextAwareUtils.class))
+				.run(context -> {
+					Assertions.assertThat(context).getBean(MetadataContextStorage.class)
+							.isInstanceOf(ThreadLocalMetadataContextStorage.class);
+					Assertions.assertThat(context).doesNotHaveBean(MetadataContextTaskDecorator.class);
+				});
+		this.applicationContextRunner
+				.withConfiguration(AutoConfigurations.of(MetadataAutoConfiguration.class, ApplicationContextAwareUtils.class))
+				.withPropertyValues("spring.cloud.tencent.metadata.context-storage=scoped-value",
+						"spring.cloud.tencent.metadata.task-decorator.enabled=true")
+				.run(context -> {
+					Assertions.assertThat(context).getBean(MetadataContextStorage.class)
+							.isInstanceOf(ScopedValueMetadataContextStorage.class);
+					Assertions.assertThat(MetadataContextHolder.getStorage()).isSameAs(context.getBean(MetadataContextStorage.class));
+					Assertions.assertThat(context).hasSingleBean(MetadataContextTaskDecorator.class);
+				});
+		this.applicationContextRunner
+				.withConfiguration(AutoConfigurations.of(MetadataAutoConfiguration.class, ApplicationContextAwareUtils.class))
+				.withPropertyValues("spring.cloud.tencent.metadata.context-storage=unknown")
+				.run(context -> Assertions.assertThat(context).hasFailed());
+		MetadataContextHolder.setStorage(new ThreadLocalMetadataContextStorage(true));
+	}
 }
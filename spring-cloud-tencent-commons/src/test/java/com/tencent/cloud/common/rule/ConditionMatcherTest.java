@@ -0,0 +1,98 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.common.rule;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for {@link ConditionMatcher}.
+ *
+ * @author Haotian Zhang
+ */
+public class ConditionMatcherTest {
+
+	@Test
+	public void testSameAsOperation() {
+		List<List<String>> expectedValuesList = Arrays.asList(null, Collections.emptyList(),
+				Collections.singletonList("v1"), Collections.singletonList(""), Arrays.asList("v1", "v2", "v3"),
+				Collections.singletonList("v[1~10]"));
+		List<String> actualValues = Arrays.asList(null, "", "v1", "v2", "v4", "v12");
+
+		for (Operation operation : Operation.values()) {
+			for (List<String> expectedValues : expectedValuesList) {
+				ConditionMatcher matcher = ConditionMatcher.compile(Collections.singletonList(
+						condition("k1", operation.getValue().toLowerCase(), expectedValues)));
+				for (String actualValue : actualValues) {
+					if (operation == Operation.REGEX && actualValue == null) {
+						continue;
+					}
+					assertThat(matcher.match(Collections.singletonMap("k1", actualValue)))
+							.as("%s %s %s", operation, expectedValues, actualValue)
+							.isEqualTo(Operation.match(expectedValues, actualValue, operation.getValue()));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testMatchAll() {
+		ConditionMatcher matcher = ConditionMatcher.compile(Arrays.asList(
+				condition("k1", Operation.EQUALS.getValue(), Collections.singletonList("v1")),
+				condition("k2", Operation.REGEX.getValue(), Collections.singletonList("v[0-9]+")),
+				condition("k3", Operation.NOT_IN.getValue(), Arrays.asList("v1", "v2"))));
+		assertThat(matcher.getKeys()).containsExactly("k1", "k2", "k3");
+
+		Map<String, String> actualValues = new HashMap<>();
+		actualValues.put("k1", "v1");
+		actualValues.put("k2", "v12");
+		actualValues.put("k3", "v3");
+		assertThat(matcher.match(actualValues)).isTrue();
+		assertThat(ConditionUtils.match(actualValues, Arrays.asList(
+				condition("k1", Operation.EQUALS.getValue(), Collections.singletonList("v1"))))).isTrue();
+
+		actualValues.put("k3", "v2");
+		assertThat(matcher.match(actualValues)).isFalse();
+		actualValues.remove("k2");
+		assertThat(matcher.match(actualValues)).isFalse();
+
+		assertThat(ConditionMatcher.compile(null).match(Collections.emptyMap())).isTrue();
+	}
+
+	@Test
+	public void testUnsupportedOperation() {
+		assertThatThrownBy(() -> ConditionMatcher.compile(Collections.singletonList(
+				condition("k1", "LIKE", Collections.singletonList("v1"))))).isInstanceOf(RuntimeException.class);
+	}
+
+	private static Condition condition(String key, String operation, List<String> values) {
+		Condition condition = new Condition();
+		condition.setKey(key);
+		condition.setOperation(operation);
+		condition.setValues(values);
+		return condition;
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ */
+
+package com.tencent.cloud.common.util;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.tencent.cloud.common.util.expresstion.ExpressionLabelPlan;
+import com.tencent.cloud.common.util.expresstion.SpringWebExpressionLabelUtils;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for {@link ExpressionLabelPlan}.
+ *
+ * @author Haotian Zhang
+ */
+public class ExpressionLabelPlanTest {
+
+	@Test
+	public void testCompile() {
+		ExpressionLabelPlan plan = ExpressionLabelPlan.compile(Arrays.asList("${http.header.uid}", "$header.name",
+				"${http.query.id}", "$query.id", "${http.cookie.token}", "${http.method}", "$path",
+				"$caller_ip", "${http.header.}", "plain"));
+
+		assertThat(plan.getLabelKeys()).hasSize(10);
+		assertThat(plan.getHeaderLabels()).containsEntry("${http.header.uid}", "uid")
+				.containsEntry("$header.name", "name").hasSize(2);
+		assertThat(plan.getQueryLabels()).containsOnlyKeys("id");
+		assertThat(plan.getQueryLabels().get("id")).containsExactly("${http.query.id}", "$query.id");
+		assertThat(plan.getCookieLabels()).containsOnlyKeys("token");
+		assertThat(plan.getMethodLabels()).containsExactly("${http.method}");
+		assertThat(plan.getUriLabels()).containsExactly("$path");
+		assertThat(plan.getCallerIpLabels()).containsExactly("$caller_ip");
+
+		assertThat(ExpressionLabelPlan.compile(null)).isSameAs(ExpressionLabelPlan.EMPTY);
+	}
+
+	@Test
+	public void testResolveQueryString() {
+		ExpressionLabelPlan plan = ExpressionLabelPlan.compile(Arrays.asList("$query.a", "$query.b", "$query.c",
+				"$query.d", "$query.e"));
+		Map<String, String> labels = new HashMap<>();
+
+		plan.resolveQueryString("a=1&&b=2&a=3&c==4&d=5=6&e", labels);
+
+		assertThat(labels).containsEntry("$query.a", "1").containsEntry("$query.b", "2")
+				.containsEntry("$query.c", "4").containsEntry("$query.d", "")
+				.containsEntry("$query.e", "").hasSize(5);
+	}
+
+	@Test
+	public void testResolveHttpRequest() {
+		ExpressionLabelPlan plan = ExpressionLabelPlan.compile(Arrays.asList("${http.header.uid}",
+				"${http.query.id}", "${http.cookie.token}", "${http.cookie.missing}", "${http.method}",
+				"${http.uri}"));
+		MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET,
+				URI.create("http://calleeService/user/get?id=7&name=x"));
+		request.getHeaders().set("uid", "1000");
+		request.getHeaders().set(HttpHeaders.COOKIE, "a=1; token=abc");
+
+		Map<String, String> labels = SpringWebExpressionLabelUtils.resolve(request, plan);
+
+		assertThat(labels).containsEntry("${http.header.uid}", "1000")
+				.containsEntry("${http.query.id}", "7")
+				.containsEntry("${http.cookie.token}", "abc")
+				.containsEntry("${http.cookie.missing}", "")
+				.containsEntry("${http.method}", "GET")
+				.containsEntry("${http.uri}", "/user/get");
+		assertThat(SpringWebExpressionLabelUtils.resolve(request, plan.getLabelKeys())).isEqualTo(labels);
+	}
+}
@@ -23,9 +23,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import com.tencent.cloud.common.constant.MetadataConstant;
+import com.tencent.cloud.common.metadata.LayeredMap;
 import com.tencent.cloud.common.metadata.MetadataContext;
-import com.tencent.cloud.common.metadata.MetadataContextHolder;
+import com.tencent.cloud.common.metadata.ReactiveMetadataContextHolder;
 import com.tencent.cloud.common.util.JacksonUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,7 +34,6 @@ import reactor.core.publisher.Mono;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
-import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -70,23 +69,13 @@ public class TrafficStainingGatewayFilter implements GlobalFilter, Ordered {
 			return chain.filter(exchange);
 		}
 
-		// 2. put stained labels to metadata context
-		ServerHttpRequest request = exchange.getRequest().mutate().headers((httpHeaders) -> {
-			MetadataContext metadataContext = exchange.getAttribute(MetadataConstant.HeaderName.METADATA_CONTEXT);
-			if (metadataContext == null) {
-				metadataContext = MetadataContextHolder.get();
-			}
-
-			Map<String, String> oldTransitiveMetadata = metadataContext.getTransitiveMetadata();
-
-			// append new transitive metadata
-			Map<String, String> newTransitiveMetadata = new HashMap<>(oldTransitiveMetadata);
-			newTransitiveMetadata.putAll(stainedLabels);
-
-			metadataContext.setTransitiveMetadata(newTransitiveMetadata);
-		}).build();
+		// 2. put stained labels to metadata context of the exchange, overlaying the transitive metadata
+		// instead of copying it, so that neither the request nor the exchange needs to be mutated.
+		MetadataContext metadataContext = ReactiveMetadataContextHolder.get(exchange);
+		metadataContext.putFragmentContext(MetadataContext.FRAGMENT_TRANSITIVE,
+				LayeredMap.of(stainedLabels, metadataContext.getTransitiveMetadata()));
 
-		return chain.filter(exchange.mutate().request(request).build());
+		return chain.filter(exchange);
 	}
 
 	Map<String, String> getStainedLabels(ServerWebExchange exchange) {
@@ -19,15 +19,9 @@
 package com.tencent.cloud.plugin.gateway.staining.rule;
 
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
-import com.tencent.cloud.common.rule.Condition;
-import com.tencent.cloud.common.rule.ConditionUtils;
-import com.tencent.cloud.common.rule.KVPairUtils;
 import com.tencent.cloud.common.util.expresstion.SpringWebExpressionLabelUtils;
 
 import org.springframework.util.CollectionUtils;
@@ -49,22 +43,9 @@ public class RuleStainingExecutor {
 			return Collections.emptyMap();
 		}
 
-		Map<String, String> parsedLabels = new HashMap<>();
-
-		for (StainingRule.Rule rule : rules) {
-			List<Condition> conditions = rule.getConditions();
-
-			Set<String> keys = new HashSet<>();
-			conditions.forEach(condition -> keys.add(condition.getKey()));
-			Map<String, String> actualValues = SpringWebExpressionLabelUtils.resolve(exchange, keys);
-
-			if (!ConditionUtils.match(actualValues, conditions)) {
-				continue;
-			}
-
-			parsedLabels.putAll(KVPairUtils.toMap(rule.getLabels()));
-		}
-
-		return parsedLabels;
+		// Labels of all rules are resolved in one pass, and only candidate rules of the index are evaluated.
+		StainingRuleIndex ruleIndex = stainingRule.getRuleIndex();
+		Map<String, String> actualValues = SpringWebExpressionLabelUtils.resolve(exchange, ruleIndex.getLabelPlan());
+		return ruleIndex.match(actualValues);
 	}
 }
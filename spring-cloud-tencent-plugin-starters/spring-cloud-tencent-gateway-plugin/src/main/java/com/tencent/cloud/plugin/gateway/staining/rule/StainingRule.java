@@ -20,7 +20,9 @@ package com.tencent.cloud.plugin.gateway.staining.rule;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.tencent.cloud.common.rule.Condition;
+import com.tencent.cloud.common.rule.ConditionMatcher;
 import com.tencent.cloud.common.rule.KVPair;
 
 /**
@@ -31,12 +33,29 @@ public class StainingRule {
 
 	private List<Rule> rules;
 
+	private volatile StainingRuleIndex ruleIndex;
+
 	public List<Rule> getRules() {
 		return rules;
 	}
 
 	public void setRules(List<Rule> rules) {
 		this.rules = rules;
+		this.ruleIndex = null;
+	}
+
+	/**
+	 * Index of the rules, compiled once per staining rule.
+	 * @return compiled index
+	 */
+	@JsonIgnore
+	public StainingRuleIndex getRuleIndex() {
+		StainingRuleIndex index = ruleIndex;
+		if (index == null) {
+			index = StainingRuleIndex.compile(rules);
+			ruleIndex = index;
+		}
+		return index;
 	}
 
 	@Override
@@ -50,12 +69,29 @@ public class StainingRule {
 		private List<Condition> conditions;
 		private List<KVPair> labels;
 
+		private volatile ConditionMatcher conditionMatcher;
+
 		public List<Condition> getConditions() {
 			return conditions;
 		}
 
 		public void setConditions(List<Condition> conditions) {
 			this.conditions = conditions;
+			this.conditionMatcher = null;
+		}
+
+		/**
+		 * Matcher of the conditions, compiled once per rule.
+		 * @return compiled matcher
+		 */
+		@JsonIgnore
+		public ConditionMatcher getConditionMatcher() {
+			ConditionMatcher matcher = conditionMatcher;
+			if (matcher == null) {
+				matcher = ConditionMatcher.compile(conditions);
+				conditionMatcher = matcher;
+			}
+			return matcher;
 		}
 
 		public List<KVPair> getLabels() {
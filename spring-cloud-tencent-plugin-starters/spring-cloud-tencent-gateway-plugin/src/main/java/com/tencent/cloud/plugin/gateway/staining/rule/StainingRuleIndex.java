@@ -0,0 +1,192 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.plugin.gateway.staining.rule;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.tencent.cloud.common.rule.Condition;
+import com.tencent.cloud.common.rule.ConditionMatcher;
+import com.tencent.cloud.common.rule.KVPairUtils;
+import com.tencent.cloud.common.rule.Operation;
+import com.tencent.cloud.common.util.expresstion.ExpressionLabelPlan;
+
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Index of staining rules, compiled once per {@link StainingRule}.
+ * <p>
+ * Condition keys of all rules are compiled into one {@link ExpressionLabelPlan}, so that labels of a request are
+ * resolved in a single pass. Each rule with an EQUALS condition is indexed by the expected value of the condition
+ * whose key has the most distinct EQUALS values among rules, and only rules indexed by the actual values of the
+ * request, or without any EQUALS condition, are evaluated. Matched rules are applied in their original order.
+ *
+ * @author Haotian Zhang
+ */
+public final class StainingRuleIndex {
+
+	/**
+	 * Index without any rule.
+	 */
+	public static final StainingRuleIndex EMPTY = new StainingRuleIndex(ExpressionLabelPlan.EMPTY,
+			new ConditionMatcher[0], Collections.emptyList(), new BitSet(), new String[0], Collections.emptyList());
+
+	private final ExpressionLabelPlan labelPlan;
+
+	private final ConditionMatcher[] matchers;
+
+	private final List<Map<String, String>> labels;
+
+	private final BitSet unindexedRules;
+
+	private final String[] indexKeys;
+
+	private final List<Map<String, BitSet>> indexes;
+
+	private StainingRuleIndex(ExpressionLabelPlan labelPlan, ConditionMatcher[] matchers,
+			List<Map<String, String>> labels, BitSet unindexedRules, String[] indexKeys,
+			List<Map<String, BitSet>> indexes) {
+		this.labelPlan = labelPlan;
+		this.matchers = matchers;
+		this.labels = labels;
+		this.unindexedRules = unindexedRules;
+		this.indexKeys = indexKeys;
+		this.indexes = indexes;
+	}
+
+	/**
+	 * Compile index of rules.
+	 * @param rules staining rules, may be null
+	 * @return compiled index
+	 * @throws RuntimeException if operation of any condition is unsupported
+	 */
+	public static StainingRuleIndex compile(List<StainingRule.Rule> rules) {
+		if (CollectionUtils.isEmpty(rules)) {
+			return EMPTY;
+		}
+		int ruleCount = rules.size();
+		ConditionMatcher[] matchers = new ConditionMatcher[ruleCount];
+		List<Map<String, String>> labels = new ArrayList<>(ruleCount);
+		Set<String> labelKeys = new LinkedHashSet<>();
+		Map<String, Set<String>> equalsValues = new HashMap<>();
+		for (int i = 0; i < ruleCount; i++) {
+			StainingRule.Rule rule = rules.get(i);
+			matchers[i] = rule.getConditionMatcher();
+			labels.add(Collections.unmodifiableMap(KVPairUtils.toMap(rule.getLabels())));
+			labelKeys.addAll(matchers[i].getKeys());
+			if (rule.getConditions() != null) {
+				for (Condition condition : rule.getConditions()) {
+					String expectedValue = getEqualsValue(condition);
+					if (expectedValue != null) {
+						equalsValues.computeIfAbsent(condition.getKey(), key -> new HashSet<>()).add(expectedValue);
+					}
+				}
+			}
+		}
+
+		// Index every rule by its EQUALS condition with the most discriminating key.
+		BitSet unindexedRules = new BitSet(ruleCount);
+		Map<String, Map<String, BitSet>> indexByKey = new HashMap<>();
+		for (int i = 0; i < ruleCount; i++) {
+			Condition indexCondition = null;
+			int maxDistinctValues = 0;
+			List<Condition> conditions = rules.get(i).getConditions();
+			if (conditions != null) {
+				for (Condition condition : conditions) {
+					if (getEqualsValue(condition) != null) {
+						int distinctValues = equalsValues.get(condition.getKey()).size();
+						if (distinctValues > maxDistinctValues) {
+							indexCondition = condition;
+							maxDistinctValues = distinctValues;
+						}
+					}
+				}
+			}
+			if (indexCondition == null) {
+				unindexedRules.set(i);
+			}
+			else {
+				indexByKey.computeIfAbsent(indexCondition.getKey(), key -> new HashMap<>())
+						.computeIfAbsent(getEqualsValue(indexCondition), value -> new BitSet(ruleCount)).set(i);
+			}
+		}
+		String[] indexKeys = indexByKey.keySet().toArray(new String[0]);
+		List<Map<String, BitSet>> indexes = new ArrayList<>(indexKeys.length);
+		for (String indexKey : indexKeys) {
+			indexes.add(indexByKey.get(indexKey));
+		}
+		return new StainingRuleIndex(ExpressionLabelPlan.compile(labelKeys), matchers, labels, unindexedRules,
+				indexKeys, indexes);
+	}
+
+	private static String getEqualsValue(Condition condition) {
+		if (condition.getKey() == null || CollectionUtils.isEmpty(condition.getValues())
+				|| Operation.getOperation(condition.getOperation()) != Operation.EQUALS) {
+			return null;
+		}
+		return condition.getValues().get(0);
+	}
+
+	/**
+	 * Get plan of resolving labels of all rules.
+	 * @return label plan
+	 */
+	public ExpressionLabelPlan getLabelPlan() {
+		return labelPlan;
+	}
+
+	/**
+	 * Get labels of rules matched by the actual values.
+	 * @param actualValues actual values resolved by {@link #getLabelPlan()}
+	 * @return labels of matched rules
+	 */
+	public Map<String, String> match(Map<String, String> actualValues) {
+		if (matchers.length == 0) {
+			return Collections.emptyMap();
+		}
+		BitSet candidates = (BitSet) unindexedRules.clone();
+		for (int i = 0; i < indexKeys.length; i++) {
+			BitSet indexedRules = indexes.get(i).get(actualValues.get(indexKeys[i]));
+			if (indexedRules != null) {
+				candidates.or(indexedRules);
+			}
+		}
+		Map<String, String> parsedLabels = new HashMap<>();
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+			if (matchers[i].match(actualValues)) {
+				parsedLabels.putAll(labels.get(i));
+			}
+		}
+		return parsedLabels;
+	}
+
+	/**
+	 * Get count of rules evaluated for every request as they have no EQUALS condition.
+	 * @return count of unindexed rules
+	 */
+	public int getUnindexedRuleCount() {
+		return unindexedRules.cardinality();
+	}
+}
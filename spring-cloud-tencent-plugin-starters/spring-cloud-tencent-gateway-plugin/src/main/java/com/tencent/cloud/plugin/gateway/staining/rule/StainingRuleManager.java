@@ -65,13 +65,31 @@ public class StainingRuleManager {
 			return;
 		}
 
+		StainingRule newStainingRule;
 		try {
-			stainingRule = JacksonUtils.deserialize(ruleJsonStr, StainingRule.class);
+			newStainingRule = JacksonUtils.deserialize(ruleJsonStr, StainingRule.class);
 		}
 		catch (Exception e) {
 			LOGGER.error("[SCT] deserialize staining rule error.", e);
 			throw e;
 		}
+		compile(newStainingRule);
+		stainingRule = newStainingRule;
+	}
+
+	/**
+	 * Compile rule index when rules are loaded, instead of on the first request.
+	 */
+	private void compile(StainingRule stainingRule) {
+		if (stainingRule == null) {
+			return;
+		}
+		try {
+			stainingRule.getRuleIndex();
+		}
+		catch (Exception e) {
+			LOGGER.error("[SCT] compile staining rule error. {}", stainingRule, e);
+		}
 	}
 
 	public StainingRule getStainingRule() {
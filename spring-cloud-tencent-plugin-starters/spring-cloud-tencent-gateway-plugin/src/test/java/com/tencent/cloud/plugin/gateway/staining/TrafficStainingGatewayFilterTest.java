@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.tencent.cloud.common.constant.MetadataConstant;
 import com.tencent.cloud.common.metadata.MetadataContext;
 import com.tencent.cloud.common.metadata.MetadataContextHolder;
 import com.tencent.cloud.common.util.ApplicationContextAwareUtils;
@@ -171,4 +172,30 @@ public class TrafficStainingGatewayFilterTest {
 		assertThat(map.size()).isEqualTo(1);
 		assertThat(map.get("env")).isEqualTo("blue");
 	}
+
+	@Test
+	public void testStainingWithoutMutation() {
+		MetadataContext metadataContext = new MetadataContext();
+		Map<String, String> oldTransitiveMetadata = new HashMap<>();
+		oldTransitiveMetadata.put("k1", "old");
+		oldTransitiveMetadata.put("k2", "v2");
+		metadataContext.setTransitiveMetadata(oldTransitiveMetadata);
+
+		TrafficStainer trafficStainer = Mockito.mock(TrafficStainer.class);
+		when(trafficStainer.apply(any())).thenReturn(Collections.singletonMap("k1", "v1"));
+		TrafficStainingGatewayFilter filter = new TrafficStainingGatewayFilter(Collections.singletonList(trafficStainer));
+
+		MockServerHttpRequest request = MockServerHttpRequest.get("/users").build();
+		MockServerWebExchange exchange = new MockServerWebExchange.Builder(request).build();
+		exchange.getAttributes().put(MetadataConstant.HeaderName.METADATA_CONTEXT, metadataContext);
+		when(chain.filter(exchange)).thenReturn(Mono.empty());
+
+		filter.filter(exchange, chain);
+
+		verify(chain).filter(exchange);
+		assertThat(exchange.getRequest()).isSameAs(request);
+		assertThat(metadataContext.getTransitiveMetadata()).hasSize(2)
+				.containsEntry("k1", "v1").containsEntry("k2", "v2");
+		assertThat(oldTransitiveMetadata).containsEntry("k1", "old");
+	}
 }
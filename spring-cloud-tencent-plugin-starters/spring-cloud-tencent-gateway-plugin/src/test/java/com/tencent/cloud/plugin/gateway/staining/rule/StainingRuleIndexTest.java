@@ -0,0 +1,110 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.plugin.gateway.staining.rule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.tencent.cloud.common.rule.Condition;
+import com.tencent.cloud.common.rule.KVPair;
+import com.tencent.cloud.common.rule.KVPairUtils;
+import com.tencent.cloud.common.rule.Operation;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for {@link StainingRuleIndex}.
+ *
+ * @author Haotian Zhang
+ */
+public class StainingRuleIndexTest {
+
+	@Test
+	public void testMatchSameAsEvaluatingAllRules() {
+		List<StainingRule.Rule> rules = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			rules.add(rule("env", "env" + i,
+					condition("${http.header.uid}", Operation.EQUALS, String.valueOf(i % 100)),
+					condition("${http.query.source}", Operation.EQUALS, i % 2 == 0 ? "wx" : "app")));
+		}
+		rules.add(rule("region", "sz", condition("${http.query.source}", Operation.IN, "wx", "app")));
+		rules.add(rule("env", "gray", condition("${http.header.uid}", Operation.REGEX, "1[0-9]")));
+
+		StainingRuleIndex index = StainingRuleIndex.compile(rules);
+		assertThat(index.getUnindexedRuleCount()).isEqualTo(2);
+		assertThat(index.getLabelPlan().getLabelKeys())
+				.containsExactlyInAnyOrder("${http.header.uid}", "${http.query.source}");
+
+		for (String uid : Arrays.asList("0", "12", "99", "100", null)) {
+			for (String source : Arrays.asList("wx", "app", "web", null)) {
+				Map<String, String> actualValues = new HashMap<>();
+				actualValues.put("${http.header.uid}", uid);
+				actualValues.put("${http.query.source}", source);
+				assertThat(index.match(actualValues)).as("uid=%s, source=%s", uid, source)
+						.isEqualTo(matchAll(rules, actualValues));
+			}
+		}
+	}
+
+	@Test
+	public void testMatchInOrder() {
+		List<StainingRule.Rule> rules = Arrays.asList(
+				rule("env", "blue", condition("${http.header.uid}", Operation.EQUALS, "1")),
+				rule("env", "gray", condition("${http.header.uid}", Operation.NOT_BLANK)),
+				rule("env", "green", condition("${http.header.uid}", Operation.EQUALS, "1")));
+		StainingRuleIndex index = StainingRuleIndex.compile(rules);
+
+		assertThat(index.match(Collections.singletonMap("${http.header.uid}", "1"))).containsEntry("env", "green");
+		assertThat(index.match(Collections.singletonMap("${http.header.uid}", "2"))).containsEntry("env", "gray");
+		assertThat(index.match(Collections.emptyMap())).isEmpty();
+		assertThat(StainingRuleIndex.compile(null).match(Collections.emptyMap())).isEmpty();
+	}
+
+	private static Map<String, String> matchAll(List<StainingRule.Rule> rules, Map<String, String> actualValues) {
+		Map<String, String> labels = new HashMap<>();
+		for (StainingRule.Rule rule : rules) {
+			if (rule.getConditionMatcher().match(actualValues)) {
+				labels.putAll(KVPairUtils.toMap(rule.getLabels()));
+			}
+		}
+		return labels;
+	}
+
+	private static StainingRule.Rule rule(String labelKey, String labelValue, Condition... conditions) {
+		KVPair label = new KVPair();
+		label.setKey(labelKey);
+		label.setValue(labelValue);
+		StainingRule.Rule rule = new StainingRule.Rule();
+		rule.setConditions(Arrays.asList(conditions));
+		rule.setLabels(Collections.singletonList(label));
+		return rule;
+	}
+
+	private static Condition condition(String key, Operation operation, String... values) {
+		Condition condition = new Condition();
+		condition.setKey(key);
+		condition.setOperation(operation.getValue());
+		condition.setValues(Arrays.asList(values));
+		return condition;
+	}
+}
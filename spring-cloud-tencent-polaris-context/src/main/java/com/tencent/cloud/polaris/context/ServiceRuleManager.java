@@ -19,8 +19,16 @@
 package com.tencent.cloud.polaris.context;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.tencent.cloud.polaris.context.listener.ServiceRuleChangeBus;
+import com.tencent.cloud.polaris.context.listener.ServiceRuleChangeEvent;
 import com.tencent.polaris.api.core.ConsumerAPI;
 import com.tencent.polaris.api.pojo.ServiceEventKey;
 import com.tencent.polaris.api.pojo.ServiceRule;
@@ -35,6 +43,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * the manager of service governance rules. for example: rate limit rule, router rules, circuit breaker rules.
+ * <p>
+ * Once {@link #subscribeRuleChanges(ServiceRuleChangeBus)} is called, the merged rule views are cached until the
+ * bus reports a change of the rules of the same type, and {@link #revision()} is increased on every change.
  *
  * @author lepdou 2022-05-13
  */
@@ -43,15 +54,77 @@ public class ServiceRuleManager {
 	private static final Logger LOG = LoggerFactory.getLogger(ServiceRuleManager.class);
 	private final SDKContext sdkContext;
 	private final ConsumerAPI consumerAPI;
+	private final AtomicLong revision = new AtomicLong();
+	private final Map<String, Optional<RateLimitProto.RateLimit>> rateLimitRules = new ConcurrentHashMap<>();
+	private final Map<String, List<RoutingProto.Route>> routerRules = new ConcurrentHashMap<>();
+	private final Map<String, List<CircuitBreakerProto.CircuitBreakerRule>> circuitBreakerRules = new ConcurrentHashMap<>();
+	private volatile boolean cacheEnabled;
 
 	public ServiceRuleManager(SDKContext sdkContext, ConsumerAPI consumerAPI) {
 		this.sdkContext = sdkContext;
 		this.consumerAPI = consumerAPI;
 	}
 
+	/**
+	 * Subscribe rule changes from the bus and enable the cache of rules. The caches are invalidated by the thread of
+	 * the local registry, before other subscribers of the bus are notified.
+	 * Without the subscription, rules are fetched from SDK on every call.
+	 * @param serviceRuleChangeBus bus of rule change events, registered to the local registry of SDK
+	 */
+	public void subscribeRuleChanges(ServiceRuleChangeBus serviceRuleChangeBus) {
+		serviceRuleChangeBus.subscribeImmediately(this::onRuleChanged);
+		cacheEnabled = true;
+	}
+
+	/**
+	 * Revision of rules, increased whenever a routing, rate limit or circuit breaker rule changes.
+	 * Callers can use it to key their own caches derived from rules.
+	 * @return revision of rules
+	 */
+	public long revision() {
+		return revision.get();
+	}
+
 	public RateLimitProto.RateLimit getServiceRateLimitRule(String namespace, String service) {
 		LOG.debug("Get service rate limit rules with namespace:{} and service:{}.", namespace, service);
 
+		return getCached(rateLimitRules, namespace + "#" + service,
+				() -> Optional.ofNullable(loadServiceRateLimitRule(namespace, service))).orElse(null);
+	}
+
+	public List<RoutingProto.Route> getServiceRouterRule(String namespace, String sourceService, String dstService) {
+		LOG.debug("Get service router rules with namespace:{} and sourceService:{} and dstService:{}.", namespace, sourceService, dstService);
+
+		return getCached(routerRules, namespace + "#" + sourceService + "#" + dstService,
+				() -> loadServiceRouterRule(namespace, sourceService, dstService));
+	}
+
+	public List<CircuitBreakerProto.CircuitBreakerRule> getServiceCircuitBreakerRule(String namespace, String sourceService, String dstService) {
+		LOG.debug("Get service circuit breaker rules with namespace:{} and sourceService:{} and dstService:{}.", namespace, sourceService, dstService);
+
+		return getCached(circuitBreakerRules, namespace + "#" + sourceService + "#" + dstService,
+				() -> loadServiceCircuitBreakerRule(namespace, sourceService, dstService));
+	}
+
+	private <T> T getCached(Map<String, T> cache, String key, Supplier<T> loader) {
+		if (!cacheEnabled) {
+			return loader.get();
+		}
+		T value = cache.get(key);
+		if (value != null) {
+			return value;
+		}
+		long current = revision.get();
+		value = loader.get();
+		cache.put(key, value);
+		// Rules changed while loading, the loaded value may be stale.
+		if (revision.get() != current) {
+			cache.remove(key, value);
+		}
+		return value;
+	}
+
+	private RateLimitProto.RateLimit loadServiceRateLimitRule(String namespace, String service) {
 		ServiceRule serviceRule = getServiceRule(namespace, service, ServiceEventKey.EventType.RATE_LIMITING);
 		if (serviceRule != null) {
 			Object rule = serviceRule.getRule();
@@ -63,9 +136,7 @@ public class ServiceRuleManager {
 		return null;
 	}
 
-	public List<RoutingProto.Route> getServiceRouterRule(String namespace, String sourceService, String dstService) {
-		LOG.debug("Get service router rules with namespace:{} and sourceService:{} and dstService:{}.", namespace, sourceService, dstService);
-
+	private List<RoutingProto.Route> loadServiceRouterRule(String namespace, String sourceService, String dstService) {
 		List<RoutingProto.Route> rules = new ArrayList<>();
 
 		//get source service outbound rules.
@@ -86,12 +157,10 @@ public class ServiceRuleManager {
 			}
 		}
 
-		return rules;
+		return Collections.unmodifiableList(rules);
 	}
 
-	public List<CircuitBreakerProto.CircuitBreakerRule> getServiceCircuitBreakerRule(String namespace, String sourceService, String dstService) {
-		LOG.debug("Get service circuit breaker rules with namespace:{} and sourceService:{} and dstService:{}.", namespace, sourceService, dstService);
-
+	private List<CircuitBreakerProto.CircuitBreakerRule> loadServiceCircuitBreakerRule(String namespace, String sourceService, String dstService) {
 		List<CircuitBreakerProto.CircuitBreakerRule> rules = new ArrayList<>();
 
 		// get source service circuit breaker rules.
@@ -112,7 +181,7 @@ public class ServiceRuleManager {
 			}
 		}
 
-		return rules;
+		return Collections.unmodifiableList(rules);
 	}
 
 	private ServiceRule getServiceRule(String namespace, String service, ServiceEventKey.EventType eventType) {
@@ -126,4 +195,25 @@ public class ServiceRuleManager {
 		return res.getServiceRule();
 	}
 
+	void onRuleChanged(ServiceRuleChangeEvent event) {
+		Map<String, ?> cache;
+		switch (event.getRuleType()) {
+		case ROUTING:
+			cache = routerRules;
+			break;
+		case RATE_LIMITING:
+			cache = rateLimitRules;
+			break;
+		case CIRCUIT_BREAKING:
+			cache = circuitBreakerRules;
+			break;
+		default:
+			return;
+		}
+		LOG.debug("receive service rule change event {}", event);
+		// Increase revision before clearing, so that values being loaded concurrently are not kept.
+		revision.incrementAndGet();
+		// Merged views of source and destination services are keyed by both, clear all of the same type.
+		cache.clear();
+	}
 }
@@ -26,9 +26,11 @@ import com.tencent.cloud.polaris.context.PolarisConfigModifier;
 import com.tencent.cloud.polaris.context.PolarisSDKContextManager;
 import com.tencent.cloud.polaris.context.ServiceRuleManager;
 import com.tencent.cloud.polaris.context.listener.PolarisContextApplicationEventListener;
+import com.tencent.cloud.polaris.context.listener.ServiceRuleChangeBus;
 import com.tencent.polaris.api.exception.PolarisException;
 import com.tencent.polaris.client.api.SDKContext;
 
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -60,6 +62,22 @@ public class PolarisContextAutoConfiguration {
 		return new ServiceRuleManager(polarisSDKContextManager.getSDKContext(), polarisSDKContextManager.getConsumerAPI());
 	}
 
+	@Bean
+	public ServiceRuleChangeBus serviceRuleChangeBus(PolarisContextProperties properties) {
+		return new ServiceRuleChangeBus(properties.getRuleChangeDebounceMs());
+	}
+
+	@Bean
+	public SmartInitializingSingleton registerServiceRuleChangeBus(ServiceRuleChangeBus serviceRuleChangeBus,
+			ServiceRuleManager serviceRuleManager, PolarisSDKContextManager polarisSDKContextManager) {
+		return () -> {
+			// The only rule listener of the local registry. Register it before rules are cached, so no change is missed.
+			polarisSDKContextManager.getSDKContext().getExtensions().getLocalRegistry()
+					.registerResourceListener(serviceRuleChangeBus);
+			serviceRuleManager.subscribeRuleChanges(serviceRuleChangeBus);
+		};
+	}
+
 	@Bean
 	public PolarisContextApplicationEventListener contextApplicationEventListener(PolarisSDKContextManager polarisSDKContextManager) {
 		return new PolarisContextApplicationEventListener(polarisSDKContextManager);
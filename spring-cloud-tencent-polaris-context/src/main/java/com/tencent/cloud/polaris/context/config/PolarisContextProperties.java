@@ -78,6 +78,11 @@ public class PolarisContextProperties {
 	 */
 	private String service;
 
+	/**
+	 * Window in milliseconds to coalesce bursts of rule change events before notifying subscribers.
+	 */
+	private long ruleChangeDebounceMs = 100;
+
 	public Configuration configuration(List<PolarisConfigModifier> modifierList, Supplier<String> ipAddressSupplier, Supplier<Integer> portSupplier) {
 		// 1. Read user-defined polaris.yml configuration
 		ConfigurationImpl configuration = (ConfigurationImpl) ConfigAPIFactory
@@ -156,6 +161,14 @@ public class PolarisContextProperties {
 		this.service = service;
 	}
 
+	public long getRuleChangeDebounceMs() {
+		return ruleChangeDebounceMs;
+	}
+
+	public void setRuleChangeDebounceMs(long ruleChangeDebounceMs) {
+		this.ruleChangeDebounceMs = ruleChangeDebounceMs;
+	}
+
 	@Override
 	public String toString() {
 		return "PolarisContextProperties{" +
@@ -0,0 +1,192 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.polaris.context.listener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import com.tencent.polaris.api.plugin.registry.AbstractResourceEventListener;
+import com.tencent.polaris.api.pojo.RegistryCacheValue;
+import com.tencent.polaris.api.pojo.ServiceEventKey;
+import com.tencent.polaris.api.pojo.ServiceRule;
+import com.tencent.polaris.client.util.NamedThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Bus of rule change events, registered once to the local registry of SDK and fanning out changes of routing,
+ * rate limit and circuit breaker rules to subscribers, so that they can rebuild caches derived from rules.
+ * <p>
+ * Events of the same service and rule type arriving within the debounce window are coalesced into the latest one,
+ * and delivered by a single thread after the window, so that a burst of updates only triggers one rebuild.
+ * <p>
+ * Subscribers added by {@link #subscribeImmediately(Consumer)}, such as the rule caches of
+ * {@link com.tencent.cloud.polaris.context.ServiceRuleManager}, are called by the thread of the local registry on
+ * every change before the event is queued or dispatched to other subscribers, so that other subscribers always load
+ * rules after those caches are invalidated, whatever the debounce window is.
+ *
+ * @author Haotian Zhang
+ */
+public class ServiceRuleChangeBus extends AbstractResourceEventListener implements DisposableBean {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ServiceRuleChangeBus.class);
+
+	private final long debounceMs;
+
+	private final List<Consumer<ServiceRuleChangeEvent>> immediateSubscribers = new CopyOnWriteArrayList<>();
+
+	private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+	private final Map<ServiceEventKey, ServiceRuleChangeEvent> pendingEvents = new ConcurrentHashMap<>();
+
+	private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+	private final ScheduledThreadPoolExecutor executor;
+
+	public ServiceRuleChangeBus(long debounceMs) {
+		this.debounceMs = debounceMs;
+		if (debounceMs > 0) {
+			this.executor = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("polaris-rule-change"));
+		}
+		else {
+			this.executor = null;
+		}
+	}
+
+	/**
+	 * Subscribe changes of rules of a type.
+	 * @param ruleType rule type, for example ROUTING, RATE_LIMITING or CIRCUIT_BREAKING
+	 * @param subscriber subscriber of change events
+	 */
+	public void subscribe(ServiceEventKey.EventType ruleType, Consumer<ServiceRuleChangeEvent> subscriber) {
+		subscriptions.add(new Subscription(ruleType, subscriber));
+	}
+
+	/**
+	 * Subscribe changes of rules of all types without debounce. The subscriber is called by the thread of the local
+	 * registry, before subscribers added by {@link #subscribe}, so it should return quickly.
+	 * @param subscriber subscriber of change events
+	 */
+	public void subscribeImmediately(Consumer<ServiceRuleChangeEvent> subscriber) {
+		immediateSubscribers.add(subscriber);
+	}
+
+	@Override
+	public void onResourceAdd(ServiceEventKey svcEventKey, RegistryCacheValue newValue) {
+		publish(svcEventKey, newValue);
+	}
+
+	@Override
+	public void onResourceUpdated(ServiceEventKey svcEventKey, RegistryCacheValue oldValue,
+			RegistryCacheValue newValue) {
+		publish(svcEventKey, newValue);
+	}
+
+	@Override
+	public void onResourceDeleted(ServiceEventKey svcEventKey, RegistryCacheValue oldValue) {
+		publish(svcEventKey, null);
+	}
+
+	private void publish(ServiceEventKey svcEventKey, RegistryCacheValue newValue) {
+		if (svcEventKey == null || !isRuleType(svcEventKey.getEventType())) {
+			return;
+		}
+		String revision = newValue instanceof ServiceRule ? ((ServiceRule) newValue).getRevision() : "";
+		ServiceRuleChangeEvent event = new ServiceRuleChangeEvent(svcEventKey.getServiceKey().getNamespace(),
+				svcEventKey.getServiceKey().getService(), svcEventKey.getEventType(), revision);
+		for (Consumer<ServiceRuleChangeEvent> subscriber : immediateSubscribers) {
+			notify(subscriber, event);
+		}
+		if (executor == null) {
+			dispatch(event);
+			return;
+		}
+		pendingEvents.put(svcEventKey, event);
+		if (flushScheduled.compareAndSet(false, true)) {
+			try {
+				executor.schedule(this::flush, debounceMs, TimeUnit.MILLISECONDS);
+			}
+			catch (RejectedExecutionException e) {
+				LOG.debug("rule change bus is destroyed, drop event {}", event);
+			}
+		}
+	}
+
+	void flush() {
+		// Reset the flag before draining, so that events arriving while draining schedule another flush.
+		flushScheduled.set(false);
+		for (ServiceEventKey key : pendingEvents.keySet()) {
+			ServiceRuleChangeEvent event = pendingEvents.remove(key);
+			if (event != null) {
+				dispatch(event);
+			}
+		}
+	}
+
+	private void dispatch(ServiceRuleChangeEvent event) {
+		LOG.debug("dispatch rule change event {}", event);
+		for (Subscription subscription : subscriptions) {
+			if (subscription.ruleType == event.getRuleType()) {
+				notify(subscription.subscriber, event);
+			}
+		}
+	}
+
+	private static void notify(Consumer<ServiceRuleChangeEvent> subscriber, ServiceRuleChangeEvent event) {
+		try {
+			subscriber.accept(event);
+		}
+		catch (Exception e) {
+			LOG.error("[SCT] rule change subscriber failed. event = {}", event, e);
+		}
+	}
+
+	private static boolean isRuleType(ServiceEventKey.EventType eventType) {
+		return eventType == ServiceEventKey.EventType.ROUTING
+				|| eventType == ServiceEventKey.EventType.RATE_LIMITING
+				|| eventType == ServiceEventKey.EventType.CIRCUIT_BREAKING;
+	}
+
+	@Override
+	public void destroy() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+
+	private static final class Subscription {
+
+		private final ServiceEventKey.EventType ruleType;
+
+		private final Consumer<ServiceRuleChangeEvent> subscriber;
+
+		private Subscription(ServiceEventKey.EventType ruleType, Consumer<ServiceRuleChangeEvent> subscriber) {
+			this.ruleType = ruleType;
+			this.subscriber = subscriber;
+		}
+	}
+}
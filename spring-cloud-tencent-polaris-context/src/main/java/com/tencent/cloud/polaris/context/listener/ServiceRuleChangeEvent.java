@@ -0,0 +1,73 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.polaris.context.listener;
+
+import com.tencent.polaris.api.pojo.ServiceEventKey;
+
+/**
+ * Change event of the rules of a service, published by {@link ServiceRuleChangeBus}.
+ *
+ * @author Haotian Zhang
+ */
+public final class ServiceRuleChangeEvent {
+
+	private final String namespace;
+
+	private final String service;
+
+	private final ServiceEventKey.EventType ruleType;
+
+	private final String revision;
+
+	public ServiceRuleChangeEvent(String namespace, String service, ServiceEventKey.EventType ruleType, String revision) {
+		this.namespace = namespace;
+		this.service = service;
+		this.ruleType = ruleType;
+		this.revision = revision;
+	}
+
+	public String getNamespace() {
+		return namespace;
+	}
+
+	public String getService() {
+		return service;
+	}
+
+	public ServiceEventKey.EventType getRuleType() {
+		return ruleType;
+	}
+
+	/**
+	 * Revision of the rule after change, empty if the rule is deleted.
+	 * @return revision of the rule
+	 */
+	public String getRevision() {
+		return revision;
+	}
+
+	@Override
+	public String toString() {
+		return "ServiceRuleChangeEvent{" +
+				"namespace='" + namespace + '\'' +
+				", service='" + service + '\'' +
+				", ruleType=" + ruleType +
+				", revision='" + revision + '\'' +
+				'}';
+	}
+}
@@ -19,8 +19,10 @@ package com.tencent.cloud.polaris.context;
 
 import java.util.List;
 
+import com.tencent.cloud.polaris.context.listener.ServiceRuleChangeBus;
 import com.tencent.polaris.api.core.ConsumerAPI;
 import com.tencent.polaris.api.pojo.ServiceEventKey;
+import com.tencent.polaris.api.pojo.ServiceKey;
 import com.tencent.polaris.api.pojo.ServiceRule;
 import com.tencent.polaris.api.rpc.ServiceRuleResponse;
 import com.tencent.polaris.client.api.SDKContext;
@@ -37,7 +39,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -166,4 +172,48 @@ public class ServiceRuleManagerTest {
 
 		assertThat(rateLimitRule).isNotNull();
 	}
+
+	@Test
+	public void testCacheUntilRuleChanged() {
+		final String testNamespace = "testNamespace";
+		final String testSourceService = "testSourceService";
+		final String testDstService = "testDstService";
+
+		RoutingProto.Routing routing = RoutingProto.Routing.newBuilder()
+				.addOutbounds(RoutingProto.Route.newBuilder().build())
+				.addInbounds(RoutingProto.Route.newBuilder().build())
+				.build();
+		when(consumerAPI.getServiceRule(any())).thenReturn(new ServiceRuleResponse(
+				new ServiceRuleByProto(routing, "111", false, ServiceEventKey.EventType.ROUTING)));
+
+		ServiceRuleManager serviceRuleManager = new ServiceRuleManager(sdkContext, consumerAPI);
+		// caches are invalidated before the debounced subscribers are notified.
+		ServiceRuleChangeBus bus = new ServiceRuleChangeBus(60_000);
+		serviceRuleManager.subscribeRuleChanges(bus);
+
+		List<RoutingProto.Route> rules = serviceRuleManager.getServiceRouterRule(testNamespace, testSourceService, testDstService);
+		assertThat(rules).hasSize(2);
+		assertThatThrownBy(() -> rules.add(RoutingProto.Route.getDefaultInstance()))
+				.isInstanceOf(UnsupportedOperationException.class);
+		assertThat(serviceRuleManager.getServiceRouterRule(testNamespace, testSourceService, testDstService)).isSameAs(rules);
+		assertThat(serviceRuleManager.getServiceRateLimitRule(testNamespace, testSourceService)).isNull();
+		assertThat(serviceRuleManager.getServiceRateLimitRule(testNamespace, testSourceService)).isNull();
+		verify(consumerAPI, times(3)).getServiceRule(any());
+		assertThat(serviceRuleManager.revision()).isEqualTo(0);
+
+		// change of other rule types keeps routing rules cached.
+		bus.onResourceUpdated(new ServiceEventKey(new ServiceKey(testNamespace, testDstService),
+				ServiceEventKey.EventType.RATE_LIMITING), null, null);
+		assertThat(serviceRuleManager.revision()).isEqualTo(1);
+		assertThat(serviceRuleManager.getServiceRouterRule(testNamespace, testSourceService, testDstService)).isSameAs(rules);
+		verify(consumerAPI, times(3)).getServiceRule(any());
+
+		bus.onResourceUpdated(new ServiceEventKey(new ServiceKey(testNamespace, testDstService),
+				ServiceEventKey.EventType.ROUTING), null, null);
+		assertThat(serviceRuleManager.revision()).isEqualTo(2);
+		assertThat(serviceRuleManager.getServiceRouterRule(testNamespace, testSourceService, testDstService))
+				.isNotSameAs(rules).hasSize(2);
+		verify(consumerAPI, times(5)).getServiceRule(any());
+		bus.destroy();
+	}
 }
@@ -0,0 +1,127 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.polaris.context.listener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.tencent.polaris.api.pojo.ServiceEventKey;
+import com.tencent.polaris.api.pojo.ServiceKey;
+import com.tencent.polaris.client.pojo.ServiceRuleByProto;
+import com.tencent.polaris.specification.api.v1.traffic.manage.RoutingProto;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for {@link ServiceRuleChangeBus}.
+ *
+ * @author Haotian Zhang
+ */
+public class ServiceRuleChangeBusTest {
+
+	private static final String NAMESPACE = "testNamespace";
+
+	@Test
+	public void testDispatchImmediately() {
+		ServiceRuleChangeBus bus = new ServiceRuleChangeBus(0);
+		List<ServiceRuleChangeEvent> routingEvents = new ArrayList<>();
+		List<ServiceRuleChangeEvent> rateLimitEvents = new ArrayList<>();
+		bus.subscribe(ServiceEventKey.EventType.ROUTING, routingEvents::add);
+		bus.subscribe(ServiceEventKey.EventType.RATE_LIMITING, rateLimitEvents::add);
+		bus.subscribe(ServiceEventKey.EventType.ROUTING, event -> {
+			throw new IllegalStateException("failed subscriber");
+		});
+
+		bus.onResourceAdd(routingKey("svc1"), routingRule("1"));
+		bus.onResourceUpdated(new ServiceEventKey(new ServiceKey(NAMESPACE, "svc1"), ServiceEventKey.EventType.INSTANCE),
+				null, null);
+		bus.onResourceDeleted(routingKey("svc2"), routingRule("2"));
+
+		assertThat(rateLimitEvents).isEmpty();
+		assertThat(routingEvents).hasSize(2);
+		assertThat(routingEvents.get(0).getNamespace()).isEqualTo(NAMESPACE);
+		assertThat(routingEvents.get(0).getService()).isEqualTo("svc1");
+		assertThat(routingEvents.get(0).getRuleType()).isEqualTo(ServiceEventKey.EventType.ROUTING);
+		assertThat(routingEvents.get(0).getRevision()).isEqualTo("1");
+		assertThat(routingEvents.get(1).getService()).isEqualTo("svc2");
+		assertThat(routingEvents.get(1).getRevision()).isEmpty();
+		bus.destroy();
+	}
+
+	@Test
+	public void testCoalesceBurst() {
+		ServiceRuleChangeBus bus = new ServiceRuleChangeBus(60_000);
+		List<ServiceRuleChangeEvent> events = new ArrayList<>();
+		bus.subscribe(ServiceEventKey.EventType.ROUTING, events::add);
+
+		for (int i = 0; i < 100; i++) {
+			bus.onResourceUpdated(routingKey("svc1"), null, routingRule(String.valueOf(i)));
+		}
+		bus.onResourceAdd(routingKey("svc2"), routingRule("a"));
+		assertThat(events).isEmpty();
+
+		bus.flush();
+		assertThat(events).hasSize(2);
+		assertThat(events).anySatisfy(event -> {
+			assertThat(event.getService()).isEqualTo("svc1");
+			assertThat(event.getRevision()).isEqualTo("99");
+		});
+		assertThat(events).anySatisfy(event -> assertThat(event.getService()).isEqualTo("svc2"));
+
+		bus.flush();
+		assertThat(events).hasSize(2);
+		bus.destroy();
+	}
+
+	@Test
+	public void testNotifyImmediateSubscribersFirst() {
+		List<String> calls = new ArrayList<>();
+		ServiceRuleChangeBus bus = new ServiceRuleChangeBus(0);
+		bus.subscribe(ServiceEventKey.EventType.ROUTING, event -> calls.add("debounced"));
+		bus.subscribeImmediately(event -> calls.add("immediate-" + event.getRuleType()));
+		bus.onResourceUpdated(routingKey("svc1"), null, routingRule("1"));
+		bus.onResourceUpdated(rateLimitKey("svc1"), null, null);
+		assertThat(calls).containsExactly("immediate-ROUTING", "debounced", "immediate-RATE_LIMITING");
+		bus.destroy();
+
+		calls.clear();
+		bus = new ServiceRuleChangeBus(60_000);
+		bus.subscribe(ServiceEventKey.EventType.ROUTING, event -> calls.add("debounced"));
+		bus.subscribeImmediately(event -> calls.add("immediate-" + event.getRuleType()));
+		bus.onResourceUpdated(routingKey("svc1"), null, routingRule("1"));
+		bus.onResourceUpdated(rateLimitKey("svc1"), null, null);
+		assertThat(calls).containsExactly("immediate-ROUTING", "immediate-RATE_LIMITING");
+		bus.flush();
+		assertThat(calls).containsExactly("immediate-ROUTING", "immediate-RATE_LIMITING", "debounced");
+		bus.destroy();
+	}
+
+	private static ServiceEventKey routingKey(String service) {
+		return new ServiceEventKey(new ServiceKey(NAMESPACE, service), ServiceEventKey.EventType.ROUTING);
+	}
+
+	private static ServiceEventKey rateLimitKey(String service) {
+		return new ServiceEventKey(new ServiceKey(NAMESPACE, service), ServiceEventKey.EventType.RATE_LIMITING);
+	}
+
+	private static ServiceRuleByProto routingRule(String revision) {
+		return new ServiceRuleByProto(RoutingProto.Routing.getDefaultInstance(), revision, false,
+				ServiceEventKey.EventType.ROUTING);
+	}
+}
@@ -30,6 +30,9 @@ import com.tencent.cloud.rpc.enhancement.filter.EnhancedServletFilter;
 import com.tencent.cloud.rpc.enhancement.plugin.DefaultEnhancedPluginRunner;
 import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPlugin;
 import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPluginRunner;
+import com.tencent.cloud.rpc.enhancement.plugin.FailureStatusClassifier;
+import com.tencent.cloud.rpc.enhancement.plugin.PathTemplateResolver;
+import com.tencent.cloud.rpc.enhancement.plugin.reporter.AsyncReportExecutor;
 import com.tencent.cloud.rpc.enhancement.plugin.reporter.ExceptionPolarisReporter;
 import com.tencent.cloud.rpc.enhancement.plugin.reporter.SuccessPolarisReporter;
 import com.tencent.cloud.rpc.enhancement.resttemplate.EnhancedRestTemplateInterceptor;
@@ -40,6 +43,7 @@ import com.tencent.cloud.rpc.enhancement.transformer.PolarisInstanceTransformer;
 import com.tencent.cloud.rpc.enhancement.webclient.EnhancedWebClientExchangeFilterFunction;
 import com.tencent.cloud.rpc.enhancement.webclient.PolarisLoadBalancerClientRequestTransformer;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.support.RootBeanDefinition;
@@ -76,7 +80,7 @@ import static javax.servlet.DispatcherType.REQUEST;
 @Configuration(proxyBeanMethods = false)
 @ConditionalOnPolarisEnabled
 @ConditionalOnProperty(value = "spring.cloud.tencent.rpc-enhancement.enabled", havingValue = "true", matchIfMissing = true)
-@EnableConfigurationProperties(RpcEnhancementReporterProperties.class)
+@EnableConfigurationProperties({RpcEnhancementReporterProperties.class, RpcEnhancementPathTemplateProperties.class})
 @AutoConfigureAfter(PolarisContextAutoConfiguration.class)
 public class RpcEnhancementAutoConfiguration {
 
@@ -96,16 +100,43 @@ public class RpcEnhancementAutoConfiguration {
 		return new DefaultEnhancedPluginRunner(enhancedPlugins, registration, polarisSDKContextManager.getSDKContext());
 	}
 
+	/**
+	 * Depends on {@link PolarisSDKContextManager} so that buffered reports are flushed before SDK context is destroyed.
+	 */
 	@Bean
-	public SuccessPolarisReporter successPolarisReporter(RpcEnhancementReporterProperties properties,
+	@ConditionalOnProperty(value = "spring.cloud.tencent.rpc-enhancement.reporter.async.enabled", havingValue = "true")
+	public AsyncReportExecutor asyncReportExecutor(RpcEnhancementReporterProperties properties,
 			PolarisSDKContextManager polarisSDKContextManager) {
-		return new SuccessPolarisReporter(properties, polarisSDKContextManager.getConsumerAPI());
+		RpcEnhancementReporterProperties.Async async = properties.getAsync();
+		return new AsyncReportExecutor(async.getBufferSize(), async.getBatchSize(), async.getDropPolicy());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public FailureStatusClassifier failureStatusClassifier(RpcEnhancementReporterProperties properties) {
+		return new FailureStatusClassifier(properties);
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public PathTemplateResolver pathTemplateResolver(RpcEnhancementPathTemplateProperties properties) {
+		return new PathTemplateResolver(properties);
+	}
+
+	@Bean
+	public SuccessPolarisReporter successPolarisReporter(RpcEnhancementReporterProperties properties,
+			PolarisSDKContextManager polarisSDKContextManager, FailureStatusClassifier failureStatusClassifier,
+			ObjectProvider<AsyncReportExecutor> asyncReportExecutor, PathTemplateResolver pathTemplateResolver) {
+		return new SuccessPolarisReporter(properties, polarisSDKContextManager.getConsumerAPI(),
+				failureStatusClassifier, asyncReportExecutor.getIfAvailable(), pathTemplateResolver);
 	}
 
 	@Bean
 	public ExceptionPolarisReporter exceptionPolarisReporter(RpcEnhancementReporterProperties properties,
-			PolarisSDKContextManager polarisSDKContextManager) {
-		return new ExceptionPolarisReporter(properties, polarisSDKContextManager.getConsumerAPI());
+			PolarisSDKContextManager polarisSDKContextManager, FailureStatusClassifier failureStatusClassifier,
+			ObjectProvider<AsyncReportExecutor> asyncReportExecutor, PathTemplateResolver pathTemplateResolver) {
+		return new ExceptionPolarisReporter(properties, polarisSDKContextManager.getConsumerAPI(),
+				failureStatusClassifier, asyncReportExecutor.getIfAvailable(), pathTemplateResolver);
 	}
 
 	@Configuration(proxyBeanMethods = false)
@@ -0,0 +1,99 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.rpc.enhancement.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Properties of path template, which is used as method of call result, circuit breaker and rate limit instead of
+ * request path, so that paths like /orders/1 and /orders/2 share the same statistics.
+ *
+ * @author Haotian Zhang
+ */
+@ConfigurationProperties("spring.cloud.tencent.rpc-enhancement.path-template")
+public class RpcEnhancementPathTemplateProperties {
+
+	/**
+	 * Whether use path template of Spring MVC/WebFlux handler or Feign method when available.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * Regex rules to collapse request path when path template is unavailable, applied in order.
+	 */
+	private List<Rule> rules = new ArrayList<>();
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public List<Rule> getRules() {
+		return rules;
+	}
+
+	public void setRules(List<Rule> rules) {
+		this.rules = rules;
+	}
+
+	/**
+	 * Rule to collapse request path.
+	 */
+	public static class Rule {
+
+		/**
+		 * Regex to match in request path, for example /\d+(?=/|$).
+		 */
+		private String regex;
+
+		/**
+		 * Replacement of matched part, for example /{id}. Group references like $1 are supported.
+		 */
+		private String replacement;
+
+		public Rule() {
+		}
+
+		public Rule(String regex, String replacement) {
+			this.regex = regex;
+			this.replacement = replacement;
+		}
+
+		public String getRegex() {
+			return regex;
+		}
+
+		public void setRegex(String regex) {
+			this.regex = regex;
+		}
+
+		public String getReplacement() {
+			return replacement;
+		}
+
+		public void setReplacement(String replacement) {
+			this.replacement = replacement;
+		}
+	}
+}
@@ -21,6 +21,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import com.tencent.cloud.rpc.enhancement.plugin.reporter.AsyncReportExecutor;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.http.HttpStatus;
 
@@ -53,6 +55,11 @@ public class RpcEnhancementReporterProperties {
 	 */
 	private boolean ignoreInternalServerError = true;
 
+	/**
+	 * Asynchronous reporting of call results.
+	 */
+	private Async async = new Async();
+
 	/**
 	 * Convert items to List.
 	 *
@@ -96,4 +103,70 @@ public class RpcEnhancementReporterProperties {
 	public void setIgnoreInternalServerError(boolean ignoreInternalServerError) {
 		this.ignoreInternalServerError = ignoreInternalServerError;
 	}
+
+	public Async getAsync() {
+		return async;
+	}
+
+	public void setAsync(Async async) {
+		this.async = async;
+	}
+
+	/**
+	 * Properties of asynchronous reporting.
+	 */
+	public static class Async {
+
+		/**
+		 * Whether report call result asynchronously by a drainer thread.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * Max count of buffered reports, rounded up to a power of two.
+		 */
+		private int bufferSize = 8192;
+
+		/**
+		 * Max count of reports run by the drainer thread in one batch.
+		 */
+		private int batchSize = 256;
+
+		/**
+		 * Policy of a report when the buffer is full.
+		 */
+		private AsyncReportExecutor.DropPolicy dropPolicy = AsyncReportExecutor.DropPolicy.DISCARD;
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getBufferSize() {
+			return bufferSize;
+		}
+
+		public void setBufferSize(int bufferSize) {
+			this.bufferSize = bufferSize;
+		}
+
+		public int getBatchSize() {
+			return batchSize;
+		}
+
+		public void setBatchSize(int batchSize) {
+			this.batchSize = batchSize;
+		}
+
+		public AsyncReportExecutor.DropPolicy getDropPolicy() {
+			return dropPolicy;
+		}
+
+		public void setDropPolicy(AsyncReportExecutor.DropPolicy dropPolicy) {
+			this.dropPolicy = dropPolicy;
+		}
+	}
 }
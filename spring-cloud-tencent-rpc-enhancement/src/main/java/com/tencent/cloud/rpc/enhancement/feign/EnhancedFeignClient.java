@@ -19,7 +19,6 @@ package com.tencent.cloud.rpc.enhancement.feign;
 
 import java.io.IOException;
 import java.net.URI;
-import java.util.ArrayList;
 
 import com.tencent.cloud.common.metadata.MetadataContextHolder;
 import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPluginContext;
@@ -27,14 +26,18 @@ import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPluginRunner;
 import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPluginType;
 import com.tencent.cloud.rpc.enhancement.plugin.EnhancedRequestContext;
 import com.tencent.cloud.rpc.enhancement.plugin.EnhancedResponseContext;
+import com.tencent.cloud.rpc.enhancement.plugin.LazyHttpHeaders;
 import feign.Client;
 import feign.Request;
 import feign.Request.Options;
+import feign.RequestTemplate;
 import feign.Response;
+import feign.Target;
 
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.util.StringUtils;
 
 import static com.tencent.cloud.rpc.enhancement.resttemplate.PolarisLoadBalancerRequestTransformer.LOAD_BALANCER_SERVICE_INSTANCE;
 import static feign.Util.checkNotNull;
@@ -57,16 +60,20 @@ public class EnhancedFeignClient implements Client {
 
 	@Override
 	public Response execute(Request request, Options options) throws IOException {
+		if (!pluginRunner.hasPlugins(EnhancedPluginType.Client.values())) {
+			return delegate.execute(request, options);
+		}
+
 		EnhancedPluginContext enhancedPluginContext = new EnhancedPluginContext();
 
-		HttpHeaders requestHeaders = new HttpHeaders();
-		request.headers().forEach((s, strings) -> requestHeaders.addAll(s, new ArrayList<>(strings)));
+		HttpHeaders requestHeaders = LazyHttpHeaders.of(request.headers());
 		URI url = URI.create(request.url());
 
 		EnhancedRequestContext enhancedRequestContext = EnhancedRequestContext.builder()
 				.httpHeaders(requestHeaders)
 				.httpMethod(HttpMethod.valueOf(request.httpMethod().name()))
 				.url(url)
+				.pathTemplate(getPathTemplate(request))
 				.build();
 		enhancedPluginContext.setRequest(enhancedRequestContext);
 
@@ -77,13 +84,12 @@ public class EnhancedFeignClient implements Client {
 		// Run pre enhanced plugins.
 		pluginRunner.run(EnhancedPluginType.Client.PRE, enhancedPluginContext);
 
-		long startMillis = System.currentTimeMillis();
+		long startNanos = System.nanoTime();
 		try {
 			Response response = delegate.execute(request, options);
-			enhancedPluginContext.setDelay(System.currentTimeMillis() - startMillis);
+			enhancedPluginContext.setDelayNanos(System.nanoTime() - startNanos);
 
-			HttpHeaders responseHeaders = new HttpHeaders();
-			response.headers().forEach((s, strings) -> responseHeaders.addAll(s, new ArrayList<>(strings)));
+			HttpHeaders responseHeaders = LazyHttpHeaders.of(response.headers());
 
 			EnhancedResponseContext enhancedResponseContext = EnhancedResponseContext.builder()
 					.httpStatus(response.status())
@@ -96,7 +102,7 @@ public class EnhancedFeignClient implements Client {
 			return response;
 		}
 		catch (IOException origin) {
-			enhancedPluginContext.setDelay(System.currentTimeMillis() - startMillis);
+			enhancedPluginContext.setDelayNanos(System.nanoTime() - startNanos);
 			enhancedPluginContext.setThrowable(origin);
 			// Run exception enhanced feign plugins.
 			pluginRunner.run(EnhancedPluginType.Client.EXCEPTION, enhancedPluginContext);
@@ -107,4 +113,36 @@ public class EnhancedFeignClient implements Client {
 			pluginRunner.run(EnhancedPluginType.Client.FINALLY, enhancedPluginContext);
 		}
 	}
+
+	/**
+	 * Get path template of Feign method with the base path of client, for example /api/orders/{id}, null if
+	 * unavailable. The path of @FeignClient and the path of its url are part of the url of target rather than the
+	 * method template.
+	 */
+	static String getPathTemplate(Request request) {
+		RequestTemplate requestTemplate = request.requestTemplate();
+		if (requestTemplate == null || requestTemplate.methodMetadata() == null
+				|| requestTemplate.methodMetadata().template() == null) {
+			return null;
+		}
+		String path = requestTemplate.methodMetadata().template().path();
+		Target<?> target = requestTemplate.feignTarget();
+		if (target == null || !StringUtils.hasText(target.url())) {
+			return path;
+		}
+		String basePath;
+		try {
+			basePath = URI.create(target.url()).getPath();
+		}
+		catch (IllegalArgumentException e) {
+			return path;
+		}
+		if (!StringUtils.hasText(basePath)) {
+			return path;
+		}
+		if (basePath.endsWith("/") && path.startsWith("/")) {
+			basePath = basePath.substring(0, basePath.length() - 1);
+		}
+		return basePath + path;
+	}
 }
@@ -26,6 +26,7 @@ import com.tencent.cloud.rpc.enhancement.plugin.EnhancedResponseContext;
 import reactor.core.publisher.Mono;
 
 import org.springframework.core.Ordered;
+import org.springframework.web.reactive.HandlerMapping;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
@@ -59,10 +60,11 @@ public class EnhancedReactiveFilter implements WebFilter, Ordered {
 		// Run pre enhanced plugins.
 		pluginRunner.run(EnhancedPluginType.Server.PRE, enhancedPluginContext);
 
-		long startMillis = System.currentTimeMillis();
+		long startNanos = System.nanoTime();
 		return chain.filter(exchange)
 				.doOnSuccess(v -> {
-					enhancedPluginContext.setDelay(System.currentTimeMillis() - startMillis);
+					enhancedPluginContext.setDelayNanos(System.nanoTime() - startNanos);
+					enhancedRequestContext.setPathTemplate(getPathTemplate(exchange));
 
 					EnhancedResponseContext enhancedResponseContext = EnhancedResponseContext.builder()
 							.httpStatus(exchange.getResponse().getRawStatusCode())
@@ -74,8 +76,9 @@ public class EnhancedReactiveFilter implements WebFilter, Ordered {
 					pluginRunner.run(EnhancedPluginType.Server.POST, enhancedPluginContext);
 				})
 				.doOnError(e -> {
-					enhancedPluginContext.setDelay(System.currentTimeMillis() - startMillis);
+					enhancedPluginContext.setDelayNanos(System.nanoTime() - startNanos);
 					enhancedPluginContext.setThrowable(e);
+					enhancedRequestContext.setPathTemplate(getPathTemplate(exchange));
 					// Run exception enhanced plugins.
 					pluginRunner.run(EnhancedPluginType.Server.EXCEPTION, enhancedPluginContext);
 				})
@@ -85,6 +88,11 @@ public class EnhancedReactiveFilter implements WebFilter, Ordered {
 				});
 	}
 
+	private static String getPathTemplate(ServerWebExchange exchange) {
+		Object pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		return pattern == null ? null : pattern.toString();
+	}
+
 	@Override
 	public int getOrder() {
 		return OrderConstant.Server.Reactive.ENHANCED_FILTER_ORDER;
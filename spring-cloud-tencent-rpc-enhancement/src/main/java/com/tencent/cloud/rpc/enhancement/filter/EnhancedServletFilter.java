@@ -19,10 +19,6 @@ package com.tencent.cloud.rpc.enhancement.filter;
 
 import java.io.IOException;
 import java.net.URI;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Enumeration;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -49,6 +45,11 @@ import org.springframework.web.filter.OncePerRequestFilter;
 @Order(OrderConstant.Server.Servlet.ENHANCED_FILTER_ORDER)
 public class EnhancedServletFilter extends OncePerRequestFilter {
 
+	/**
+	 * Same as HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE of Spring MVC, which may be absent in servlet application.
+	 */
+	static final String BEST_MATCHING_PATTERN_ATTRIBUTE = "org.springframework.web.servlet.HandlerMapping.bestMatchingPattern";
+
 	private final EnhancedPluginRunner pluginRunner;
 
 	public EnhancedServletFilter(EnhancedPluginRunner pluginRunner) {
@@ -57,16 +58,14 @@ public class EnhancedServletFilter extends OncePerRequestFilter {
 
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+		if (!pluginRunner.hasPlugins(EnhancedPluginType.Server.values())) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
 		EnhancedPluginContext enhancedPluginContext = new EnhancedPluginContext();
 
-		HttpHeaders requestHeaders = new HttpHeaders();
-		Enumeration<String> requestHeaderNames = request.getHeaderNames();
-		if (requestHeaderNames != null) {
-			while (requestHeaderNames.hasMoreElements()) {
-				String requestHeaderName = requestHeaderNames.nextElement();
-				requestHeaders.addAll(requestHeaderName, Collections.list(request.getHeaders(requestHeaderName)));
-			}
-		}
+		HttpHeaders requestHeaders = ServletLazyHttpHeaders.of(request);
 		EnhancedRequestContext enhancedRequestContext = EnhancedRequestContext.builder()
 				.httpHeaders(requestHeaders)
 				.httpMethod(HttpMethod.valueOf(request.getMethod()))
@@ -79,18 +78,13 @@ public class EnhancedServletFilter extends OncePerRequestFilter {
 		// Run pre enhanced plugins.
 		pluginRunner.run(EnhancedPluginType.Server.PRE, enhancedPluginContext);
 
-		long startMillis = System.currentTimeMillis();
+		long startNanos = System.nanoTime();
 		try {
 			filterChain.doFilter(request, response);
-			enhancedPluginContext.setDelay(System.currentTimeMillis() - startMillis);
-
-			HttpHeaders responseHeaders = new HttpHeaders();
-			Collection<String> responseHeaderNames = response.getHeaderNames();
-			if (responseHeaderNames != null) {
-				for (String responseHeaderName : responseHeaderNames) {
-					responseHeaders.addAll(responseHeaderName, new ArrayList<>(response.getHeaders(responseHeaderName)));
-				}
-			}
+			enhancedPluginContext.setDelayNanos(System.nanoTime() - startNanos);
+			enhancedRequestContext.setPathTemplate(getPathTemplate(request));
+
+			HttpHeaders responseHeaders = ServletLazyHttpHeaders.of(response);
 			EnhancedResponseContext enhancedResponseContext = EnhancedResponseContext.builder()
 					.httpStatus(response.getStatus())
 					.httpHeaders(responseHeaders)
@@ -101,8 +95,9 @@ public class EnhancedServletFilter extends OncePerRequestFilter {
 			pluginRunner.run(EnhancedPluginType.Server.POST, enhancedPluginContext);
 		}
 		catch (ServletException | IOException e) {
-			enhancedPluginContext.setDelay(System.currentTimeMillis() - startMillis);
+			enhancedPluginContext.setDelayNanos(System.nanoTime() - startNanos);
 			enhancedPluginContext.setThrowable(e);
+			enhancedRequestContext.setPathTemplate(getPathTemplate(request));
 			// Run exception enhanced plugins.
 			pluginRunner.run(EnhancedPluginType.Server.EXCEPTION, enhancedPluginContext);
 			throw e;
@@ -113,4 +108,9 @@ public class EnhancedServletFilter extends OncePerRequestFilter {
 		}
 	}
 
+	private static String getPathTemplate(HttpServletRequest request) {
+		Object pattern = request.getAttribute(BEST_MATCHING_PATTERN_ATTRIBUTE);
+		return pattern == null ? null : pattern.toString();
+	}
+
 }
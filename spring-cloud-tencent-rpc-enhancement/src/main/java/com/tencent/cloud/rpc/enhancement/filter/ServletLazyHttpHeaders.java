@@ -0,0 +1,98 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.rpc.enhancement.filter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import com.tencent.cloud.rpc.enhancement.plugin.LazyHttpHeaders;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Read-only header views over {@link HttpServletRequest} and {@link HttpServletResponse}.
+ *
+ * @author Haotian Zhang
+ */
+final class ServletLazyHttpHeaders {
+
+	private ServletLazyHttpHeaders() {
+	}
+
+	static HttpHeaders of(HttpServletRequest request) {
+		return LazyHttpHeaders.wrap(new RequestHeaders(request));
+	}
+
+	static HttpHeaders of(HttpServletResponse response) {
+		return LazyHttpHeaders.wrap(new ResponseHeaders(response));
+	}
+
+	private static final class RequestHeaders extends LazyHttpHeaders {
+
+		private final HttpServletRequest request;
+
+		private RequestHeaders(HttpServletRequest request) {
+			this.request = request;
+		}
+
+		@Override
+		protected List<String> lookup(String headerName) {
+			Enumeration<String> values = request.getHeaders(headerName);
+			if (values == null || !values.hasMoreElements()) {
+				return Collections.emptyList();
+			}
+			return Collections.unmodifiableList(Collections.list(values));
+		}
+
+		@Override
+		protected Collection<String> headerNames() {
+			Enumeration<String> headerNames = request.getHeaderNames();
+			return headerNames == null ? Collections.emptyList() : Collections.list(headerNames);
+		}
+	}
+
+	private static final class ResponseHeaders extends LazyHttpHeaders {
+
+		private final HttpServletResponse response;
+
+		private ResponseHeaders(HttpServletResponse response) {
+			this.response = response;
+		}
+
+		@Override
+		protected List<String> lookup(String headerName) {
+			Collection<String> values = response.getHeaders(headerName);
+			if (CollectionUtils.isEmpty(values)) {
+				return Collections.emptyList();
+			}
+			return Collections.unmodifiableList(new ArrayList<>(values));
+		}
+
+		@Override
+		protected Collection<String> headerNames() {
+			return response.getHeaderNames();
+		}
+	}
+}
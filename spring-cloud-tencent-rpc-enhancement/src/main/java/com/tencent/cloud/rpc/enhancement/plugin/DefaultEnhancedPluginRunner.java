@@ -81,6 +81,16 @@ public class DefaultEnhancedPluginRunner implements EnhancedPluginRunner {
 		}
 	}
 
+	@Override
+	public boolean hasPlugins(EnhancedPluginType... pluginTypes) {
+		for (EnhancedPluginType pluginType : pluginTypes) {
+			if (pluginMap.containsKey(pluginType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Override
 	public ServiceInstance getLocalServiceInstance() {
 		return this.localServiceInstance;
@@ -20,6 +20,7 @@ package com.tencent.cloud.rpc.enhancement.plugin;
 
 import java.net.URI;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +45,8 @@ public class EnhancedPluginContext {
 
 	private long delay;
 
+	private long delayNanos;
+
 	private ServiceInstance localServiceInstance;
 
 	/**
@@ -81,6 +84,24 @@ public class EnhancedPluginContext {
 
 	public void setDelay(long delay) {
 		this.delay = delay;
+		this.delayNanos = TimeUnit.MILLISECONDS.toNanos(delay);
+	}
+
+	/**
+	 * Get delay in nanoseconds, measured by a monotonic clock.
+	 * @return delay in nanoseconds
+	 */
+	public long getDelayNanos() {
+		return delayNanos;
+	}
+
+	/**
+	 * Set delay in nanoseconds, delay in milliseconds is set as well.
+	 * @param delayNanos delay in nanoseconds
+	 */
+	public void setDelayNanos(long delayNanos) {
+		this.delayNanos = delayNanos;
+		this.delay = TimeUnit.NANOSECONDS.toMillis(delayNanos);
 	}
 
 	public ServiceInstance getLocalServiceInstance() {
@@ -123,6 +144,7 @@ public class EnhancedPluginContext {
 				", response=" + response +
 				", throwable=" + throwable +
 				", delay=" + delay +
+				", delayNanos=" + delayNanos +
 				", localServiceInstance=" + localServiceInstance +
 				", targetServiceInstance=" + targetServiceInstance +
 				'}';
@@ -35,6 +35,16 @@ public interface EnhancedPluginRunner {
 	 */
 	void run(EnhancedPluginType pluginType, EnhancedPluginContext context);
 
+	/**
+	 * Whether there is any plugin of the plugin types. Callers can skip building plugin context if not.
+	 *
+	 * @param pluginTypes types of plugin
+	 * @return if there is any plugin
+	 */
+	default boolean hasPlugins(EnhancedPluginType... pluginTypes) {
+		return true;
+	}
+
 	ServiceInstance getLocalServiceInstance();
 
 }
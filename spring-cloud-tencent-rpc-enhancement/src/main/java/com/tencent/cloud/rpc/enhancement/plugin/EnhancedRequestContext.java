@@ -21,6 +21,7 @@ import java.net.URI;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
 
 /**
  * EnhancedRequestContext.
@@ -35,6 +36,8 @@ public class EnhancedRequestContext {
 
 	private URI url;
 
+	private String pathTemplate;
+
 	public HttpMethod getHttpMethod() {
 		return httpMethod;
 	}
@@ -59,6 +62,19 @@ public class EnhancedRequestContext {
 		this.url = url;
 	}
 
+	/**
+	 * Path template of request, for example /orders/{id}, null if unavailable.
+	 * @return path template
+	 */
+	@Nullable
+	public String getPathTemplate() {
+		return pathTemplate;
+	}
+
+	public void setPathTemplate(@Nullable String pathTemplate) {
+		this.pathTemplate = pathTemplate;
+	}
+
 	public static EnhancedContextRequestBuilder builder() {
 		return new EnhancedContextRequestBuilder();
 	}
@@ -69,6 +85,7 @@ public class EnhancedRequestContext {
 				"httpMethod=" + httpMethod +
 				", httpHeaders=" + httpHeaders +
 				", url=" + url +
+				", pathTemplate=" + pathTemplate +
 				'}';
 	}
 
@@ -76,6 +93,7 @@ public class EnhancedRequestContext {
 		private HttpMethod httpMethod;
 		private HttpHeaders httpHeaders;
 		private URI url;
+		private String pathTemplate;
 
 		private EnhancedContextRequestBuilder() {
 		}
@@ -95,11 +113,17 @@ public class EnhancedRequestContext {
 			return this;
 		}
 
+		public EnhancedContextRequestBuilder pathTemplate(String pathTemplate) {
+			this.pathTemplate = pathTemplate;
+			return this;
+		}
+
 		public EnhancedRequestContext build() {
 			EnhancedRequestContext enhancedRequestContext = new EnhancedRequestContext();
 			enhancedRequestContext.httpMethod = this.httpMethod;
 			enhancedRequestContext.url = this.url;
 			enhancedRequestContext.httpHeaders = this.httpHeaders;
+			enhancedRequestContext.pathTemplate = this.pathTemplate;
 			return enhancedRequestContext;
 		}
 	}
@@ -0,0 +1,139 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.rpc.enhancement.plugin;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import com.tencent.cloud.rpc.enhancement.config.RpcEnhancementReporterProperties;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+
+import static org.springframework.http.HttpStatus.BAD_GATEWAY;
+import static org.springframework.http.HttpStatus.BANDWIDTH_LIMIT_EXCEEDED;
+import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
+import static org.springframework.http.HttpStatus.HTTP_VERSION_NOT_SUPPORTED;
+import static org.springframework.http.HttpStatus.INSUFFICIENT_STORAGE;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.LOOP_DETECTED;
+import static org.springframework.http.HttpStatus.NETWORK_AUTHENTICATION_REQUIRED;
+import static org.springframework.http.HttpStatus.NOT_EXTENDED;
+import static org.springframework.http.HttpStatus.NOT_IMPLEMENTED;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.springframework.http.HttpStatus.VARIANT_ALSO_NEGOTIATES;
+
+/**
+ * Classifier of http status codes which should be reported as FAILED, compiled from
+ * {@link RpcEnhancementReporterProperties} into a table indexed by status code.
+ * <p>
+ * The table is rebuilt when the properties are rebound, which is detected by identity of the status and series
+ * lists, as the binder sets new lists on refresh.
+ *
+ * @author Haotian Zhang
+ */
+public class FailureStatusClassifier {
+
+	private static final int MAX_STATUS_CODE = 600;
+
+	private static final List<HttpStatus> HTTP_STATUSES = Arrays.asList(NOT_IMPLEMENTED, BAD_GATEWAY,
+			SERVICE_UNAVAILABLE, GATEWAY_TIMEOUT, HTTP_VERSION_NOT_SUPPORTED, VARIANT_ALSO_NEGOTIATES,
+			INSUFFICIENT_STORAGE, LOOP_DETECTED, BANDWIDTH_LIMIT_EXCEEDED, NOT_EXTENDED, NETWORK_AUTHENTICATION_REQUIRED);
+
+	private final RpcEnhancementReporterProperties reportProperties;
+
+	private volatile Table table;
+
+	public FailureStatusClassifier(RpcEnhancementReporterProperties reportProperties) {
+		this.reportProperties = reportProperties;
+	}
+
+	/**
+	 * Whether a status code should be reported as FAILED.
+	 * @param statusCode http status code
+	 * @return true if failed
+	 */
+	public boolean isFailure(int statusCode) {
+		if (statusCode < 0 || statusCode >= MAX_STATUS_CODE) {
+			return false;
+		}
+		return getTable().failures[statusCode];
+	}
+
+	private Table getTable() {
+		Table current = table;
+		if (current == null || !current.matches(reportProperties)) {
+			current = new Table(reportProperties);
+			table = current;
+		}
+		return current;
+	}
+
+	/**
+	 * Whether a http status should be reported as FAILED according to properties.
+	 * @param reportProperties reporter properties
+	 * @param httpStatus http status
+	 * @return true if failed
+	 */
+	static boolean isFailure(RpcEnhancementReporterProperties reportProperties, @Nullable HttpStatus httpStatus) {
+		if (Objects.isNull(httpStatus)) {
+			return false;
+		}
+		// statuses > series
+		List<HttpStatus> status = reportProperties.getStatuses();
+		if (status.isEmpty()) {
+			List<HttpStatus.Series> series = reportProperties.getSeries();
+			// Check INTERNAL_SERVER_ERROR (500) status.
+			if (reportProperties.isIgnoreInternalServerError() && Objects.equals(httpStatus, INTERNAL_SERVER_ERROR)) {
+				return false;
+			}
+			if (series.isEmpty()) {
+				return HTTP_STATUSES.contains(httpStatus);
+			}
+			return series.contains(httpStatus.series());
+		}
+		// Use the user-specified fuse status code.
+		return status.contains(httpStatus);
+	}
+
+	private static final class Table {
+
+		private final List<HttpStatus> statuses;
+
+		private final List<HttpStatus.Series> series;
+
+		private final boolean ignoreInternalServerError;
+
+		private final boolean[] failures = new boolean[MAX_STATUS_CODE];
+
+		private Table(RpcEnhancementReporterProperties reportProperties) {
+			this.statuses = reportProperties.getStatuses();
+			this.series = reportProperties.getSeries();
+			this.ignoreInternalServerError = reportProperties.isIgnoreInternalServerError();
+			for (int statusCode = 0; statusCode < MAX_STATUS_CODE; statusCode++) {
+				failures[statusCode] = isFailure(reportProperties, HttpStatus.resolve(statusCode));
+			}
+		}
+
+		private boolean matches(RpcEnhancementReporterProperties reportProperties) {
+			return statuses == reportProperties.getStatuses() && series == reportProperties.getSeries()
+					&& ignoreInternalServerError == reportProperties.isIgnoreInternalServerError();
+		}
+	}
+}
@@ -0,0 +1,258 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.rpc.enhancement.plugin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Read-only header view over the headers of a request or response. Single header lookups are delegated to the
+ * underlying request or response, all headers are only copied when they are iterated, and only once.
+ *
+ * @author Haotian Zhang
+ */
+public abstract class LazyHttpHeaders implements MultiValueMap<String, String> {
+
+	private volatile Map<String, List<String>> headers;
+
+	/**
+	 * Wrap header view as {@link HttpHeaders}. Modification of the returned headers is not supported.
+	 * @param lazyHttpHeaders header view
+	 * @return http headers
+	 */
+	public static HttpHeaders wrap(LazyHttpHeaders lazyHttpHeaders) {
+		return new HttpHeaders(lazyHttpHeaders);
+	}
+
+	/**
+	 * Create header view over a header map, for example headers of Feign request or response.
+	 * @param headers header map
+	 * @return http headers
+	 */
+	public static HttpHeaders of(Map<String, Collection<String>> headers) {
+		return wrap(new MapLazyHttpHeaders(headers));
+	}
+
+	/**
+	 * Look up values of a header from the underlying request or response.
+	 * @param headerName header name
+	 * @return header values, empty if absent
+	 */
+	protected abstract List<String> lookup(String headerName);
+
+	/**
+	 * Names of all headers of the underlying request or response.
+	 * @return header names
+	 */
+	protected abstract Collection<String> headerNames();
+
+	private Map<String, List<String>> headers() {
+		Map<String, List<String>> result = headers;
+		if (result == null) {
+			result = new LinkedCaseInsensitiveMap<>();
+			Collection<String> headerNames = headerNames();
+			if (headerNames != null) {
+				for (String headerName : headerNames) {
+					result.put(headerName, lookup(headerName));
+				}
+			}
+			result = Collections.unmodifiableMap(result);
+			headers = result;
+		}
+		return result;
+	}
+
+	@Override
+	public String getFirst(@NonNull String key) {
+		List<String> values = get(key);
+		return CollectionUtils.isEmpty(values) ? null : values.get(0);
+	}
+
+	@Override
+	public List<String> get(Object key) {
+		Map<String, List<String>> result = headers;
+		if (result != null) {
+			return result.get(key);
+		}
+		if (!(key instanceof String)) {
+			return null;
+		}
+		List<String> values = lookup((String) key);
+		return CollectionUtils.isEmpty(values) ? null : values;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return get(key) != null;
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		return headers().containsValue(value);
+	}
+
+	@Override
+	public int size() {
+		return headers().size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return headers().isEmpty();
+	}
+
+	@Override
+	@NonNull
+	public Set<String> keySet() {
+		return headers().keySet();
+	}
+
+	@Override
+	@NonNull
+	public Collection<List<String>> values() {
+		return headers().values();
+	}
+
+	@Override
+	@NonNull
+	public Set<Entry<String, List<String>>> entrySet() {
+		return headers().entrySet();
+	}
+
+	@Override
+	@NonNull
+	public Map<String, String> toSingleValueMap() {
+		Map<String, String> singleValueMap = new LinkedCaseInsensitiveMap<>();
+		headers().forEach((key, values) -> {
+			if (!CollectionUtils.isEmpty(values)) {
+				singleValueMap.put(key, values.get(0));
+			}
+		});
+		return singleValueMap;
+	}
+
+	@Override
+	public void add(@NonNull String key, String value) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void addAll(@NonNull String key, @NonNull List<? extends String> values) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void addAll(@NonNull MultiValueMap<String, String> values) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void set(@NonNull String key, String value) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void setAll(@NonNull Map<String, String> values) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public List<String> put(String key, List<String> value) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public List<String> remove(Object key) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void putAll(@NonNull Map<? extends String, ? extends List<String>> m) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void clear() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof Map)) {
+			return false;
+		}
+		return headers().equals(o);
+	}
+
+	@Override
+	public int hashCode() {
+		return headers().hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return headers().toString();
+	}
+
+	/**
+	 * Header view over a header map. Lookups fall back to a case-insensitive scan when the map is case-sensitive.
+	 */
+	private static class MapLazyHttpHeaders extends LazyHttpHeaders {
+
+		private final Map<String, Collection<String>> headerMap;
+
+		MapLazyHttpHeaders(Map<String, Collection<String>> headers) {
+			this.headerMap = headers == null ? Collections.emptyMap() : headers;
+		}
+
+		@Override
+		protected List<String> lookup(String headerName) {
+			Collection<String> values = headerMap.get(headerName);
+			if (values == null) {
+				for (Map.Entry<String, Collection<String>> entry : headerMap.entrySet()) {
+					if (headerName.equalsIgnoreCase(entry.getKey())) {
+						values = entry.getValue();
+						break;
+					}
+				}
+			}
+			if (CollectionUtils.isEmpty(values)) {
+				return Collections.emptyList();
+			}
+			return Collections.unmodifiableList(new ArrayList<>(values));
+		}
+
+		@Override
+		protected Collection<String> headerNames() {
+			return headerMap.keySet();
+		}
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.rpc.enhancement.plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.tencent.cloud.rpc.enhancement.config.RpcEnhancementPathTemplateProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+/**
+ * Resolver of path template, which is used as key of call result, circuit breaker and rate limit instead of request
+ * path. Path template of Spring MVC/WebFlux handler or Feign method is used when available, otherwise request path
+ * is collapsed by regex rules of {@link RpcEnhancementPathTemplateProperties}.
+ * <p>
+ * Rules are compiled once and recompiled when the properties are rebound, which is detected by identity of the rule
+ * list.
+ *
+ * @author Haotian Zhang
+ */
+public class PathTemplateResolver {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PathTemplateResolver.class);
+
+	private final RpcEnhancementPathTemplateProperties pathTemplateProperties;
+
+	private volatile CompiledRules compiledRules;
+
+	public PathTemplateResolver(RpcEnhancementPathTemplateProperties pathTemplateProperties) {
+		this.pathTemplateProperties = pathTemplateProperties;
+	}
+
+	/**
+	 * Resolve path template of request.
+	 * @param request request context
+	 * @return path template
+	 */
+	public String resolve(EnhancedRequestContext request) {
+		return resolve(request.getPathTemplate(), request.getUrl().getPath());
+	}
+
+	/**
+	 * Resolve path template.
+	 * @param pathTemplate path template of handler or Feign method, nullable
+	 * @param path request path
+	 * @return path template
+	 */
+	public String resolve(@Nullable String pathTemplate, String path) {
+		if (pathTemplateProperties.isEnabled() && StringUtils.hasText(pathTemplate)) {
+			return pathTemplate;
+		}
+		return collapse(path);
+	}
+
+	/**
+	 * Collapse request path by regex rules.
+	 * @param path request path
+	 * @return collapsed path
+	 */
+	public String collapse(String path) {
+		if (path == null) {
+			return null;
+		}
+		String result = path;
+		for (CompiledRule rule : getCompiledRules().rules) {
+			Matcher matcher = rule.pattern.matcher(result);
+			if (matcher.find()) {
+				result = matcher.replaceAll(rule.replacement);
+			}
+		}
+		return result;
+	}
+
+	private CompiledRules getCompiledRules() {
+		CompiledRules current = compiledRules;
+		if (current == null || current.source != pathTemplateProperties.getRules()) {
+			current = new CompiledRules(pathTemplateProperties.getRules());
+			compiledRules = current;
+		}
+		return current;
+	}
+
+	private static final class CompiledRules {
+
+		private final List<RpcEnhancementPathTemplateProperties.Rule> source;
+
+		private final List<CompiledRule> rules = new ArrayList<>();
+
+		private CompiledRules(List<RpcEnhancementPathTemplateProperties.Rule> source) {
+			this.source = source;
+			if (source == null) {
+				return;
+			}
+			for (RpcEnhancementPathTemplateProperties.Rule rule : source) {
+				if (rule == null || !StringUtils.hasText(rule.getRegex())) {
+					continue;
+				}
+				try {
+					rules.add(new CompiledRule(Pattern.compile(rule.getRegex()),
+							rule.getReplacement() == null ? "" : rule.getReplacement()));
+				}
+				catch (RuntimeException e) {
+					LOG.warn("Ignore invalid path template rule. regex=[{}].", rule.getRegex(), e);
+				}
+			}
+		}
+	}
+
+	private static final class CompiledRule {
+
+		private final Pattern pattern;
+
+		private final String replacement;
+
+		private CompiledRule(Pattern pattern, String replacement) {
+			this.pattern = pattern;
+			this.replacement = replacement;
+		}
+	}
+}
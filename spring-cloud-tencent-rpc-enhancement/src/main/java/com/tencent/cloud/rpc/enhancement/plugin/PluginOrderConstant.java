@@ -44,5 +44,11 @@ public class PluginOrderConstant {
 		 * {@link com.tencent.cloud.polaris.circuitbreaker.reporter.ExceptionCircuitBreakerReporter}.
 		 */
 		public static final int CIRCUIT_BREAKER_REPORTER_PLUGIN_ORDER = Ordered.HIGHEST_PRECEDENCE + 2;
+
+		/**
+		 * order for
+		 * {@link com.tencent.cloud.rpc.enhancement.stat.histogram.LatencyHistogramRecorder}.
+		 */
+		public static final int LATENCY_HISTOGRAM_PLUGIN_ORDER = Ordered.HIGHEST_PRECEDENCE + 3;
 	}
 }
@@ -21,8 +21,6 @@ import java.io.UnsupportedEncodingException;
 import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.net.URLDecoder;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -55,18 +53,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.lang.Nullable;
 
 import static com.tencent.cloud.common.constant.ContextConstant.UTF_8;
-import static org.springframework.http.HttpStatus.BAD_GATEWAY;
-import static org.springframework.http.HttpStatus.BANDWIDTH_LIMIT_EXCEEDED;
-import static org.springframework.http.HttpStatus.GATEWAY_TIMEOUT;
-import static org.springframework.http.HttpStatus.HTTP_VERSION_NOT_SUPPORTED;
-import static org.springframework.http.HttpStatus.INSUFFICIENT_STORAGE;
-import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
-import static org.springframework.http.HttpStatus.LOOP_DETECTED;
-import static org.springframework.http.HttpStatus.NETWORK_AUTHENTICATION_REQUIRED;
-import static org.springframework.http.HttpStatus.NOT_EXTENDED;
-import static org.springframework.http.HttpStatus.NOT_IMPLEMENTED;
-import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
-import static org.springframework.http.HttpStatus.VARIANT_ALSO_NEGOTIATES;
 
 /**
  * Abstract Polaris Plugin Adapter .
@@ -76,9 +62,6 @@ import static org.springframework.http.HttpStatus.VARIANT_ALSO_NEGOTIATES;
 public final class PolarisEnhancedPluginUtils {
 
 	private static final Logger LOG = LoggerFactory.getLogger(PolarisEnhancedPluginUtils.class);
-	private static final List<HttpStatus> HTTP_STATUSES = toList(NOT_IMPLEMENTED, BAD_GATEWAY,
-			SERVICE_UNAVAILABLE, GATEWAY_TIMEOUT, HTTP_VERSION_NOT_SUPPORTED, VARIANT_ALSO_NEGOTIATES,
-			INSUFFICIENT_STORAGE, LOOP_DETECTED, BANDWIDTH_LIMIT_EXCEEDED, NOT_EXTENDED, NETWORK_AUTHENTICATION_REQUIRED);
 
 	private PolarisEnhancedPluginUtils() {
 
@@ -102,6 +85,30 @@ public final class PolarisEnhancedPluginUtils {
 			@Nullable String calleeServiceName, @Nullable String calleeHost, @Nullable Integer calleePort,
 			URI uri, HttpHeaders requestHeaders, @Nullable HttpHeaders responseHeaders,
 			@Nullable Integer statusCode, long delay, @Nullable Throwable exception) {
+		return createServiceCallResult(callerHost, calleeServiceName, calleeHost, calleePort, uri, requestHeaders,
+				responseHeaders, statusCode, delay, exception, null);
+	}
+
+	/**
+	 * createServiceCallResult.
+	 * @param callerHost caller host ip
+	 * @param calleeServiceName will pick up url host when null
+	 * @param calleeHost will pick up url host when null
+	 * @param calleePort will pick up url port when null
+	 * @param uri request url
+	 * @param requestHeaders request header
+	 * @param responseHeaders response header
+	 * @param statusCode response status
+	 * @param delay delay
+	 * @param exception exception
+	 * @param failureStatusClassifier classifier of failure status, look up properties from context when null
+	 * @return ServiceCallResult
+	 */
+	public static ServiceCallResult createServiceCallResult(String callerHost,
+			@Nullable String calleeServiceName, @Nullable String calleeHost, @Nullable Integer calleePort,
+			URI uri, HttpHeaders requestHeaders, @Nullable HttpHeaders responseHeaders,
+			@Nullable Integer statusCode, long delay, @Nullable Throwable exception,
+			@Nullable FailureStatusClassifier failureStatusClassifier) {
 
 		ServiceCallResult resultRequest = new ServiceCallResult();
 		resultRequest.setNamespace(MetadataContext.LOCAL_NAMESPACE);
@@ -114,7 +121,8 @@ public final class PolarisEnhancedPluginUtils {
 		resultRequest.setHost(StringUtils.isBlank(calleeHost) ? uri.getHost() : calleeHost);
 		resultRequest.setPort(calleePort == null ? getPort(uri) : calleePort);
 		resultRequest.setLabels(getLabels(requestHeaders));
-		resultRequest.setRetStatus(getRetStatusFromRequest(responseHeaders, statusCode, exception));
+		resultRequest.setRetStatus(getRetStatusFromRequest(responseHeaders,
+				getDefaultRetStatus(statusCode, exception, failureStatusClassifier)));
 		resultRequest.setRuleName(getActiveRuleNameFromRequest(responseHeaders));
 		return resultRequest;
 	}
@@ -133,6 +141,26 @@ public final class PolarisEnhancedPluginUtils {
 	public static ResourceStat createInstanceResourceStat(
 			@Nullable String calleeServiceName, @Nullable String calleeHost, @Nullable Integer calleePort,
 			URI uri, @Nullable Integer statusCode, long delay, @Nullable Throwable exception) {
+		return createInstanceResourceStat(calleeServiceName, calleeHost, calleePort, uri, statusCode, delay,
+				exception, null);
+	}
+
+	/**
+	 * createInstanceResourceStat.
+	 * @param calleeServiceName will pick up url host when null
+	 * @param calleeHost will pick up url host when null
+	 * @param calleePort will pick up url port when null
+	 * @param uri request url
+	 * @param statusCode response status
+	 * @param delay delay
+	 * @param exception exception
+	 * @param failureStatusClassifier classifier of failure status, look up properties from context when null
+	 * @return ResourceStat
+	 */
+	public static ResourceStat createInstanceResourceStat(
+			@Nullable String calleeServiceName, @Nullable String calleeHost, @Nullable Integer calleePort,
+			URI uri, @Nullable Integer statusCode, long delay, @Nullable Throwable exception,
+			@Nullable FailureStatusClassifier failureStatusClassifier) {
 		ServiceKey calleeServiceKey = new ServiceKey(MetadataContext.LOCAL_NAMESPACE, StringUtils.isBlank(calleeServiceName) ? uri.getHost() : calleeServiceName);
 		ServiceKey callerServiceKey = new ServiceKey(MetadataContext.LOCAL_NAMESPACE, MetadataContext.LOCAL_SERVICE);
 		Resource resource = new InstanceResource(
@@ -141,24 +169,13 @@ public final class PolarisEnhancedPluginUtils {
 				calleePort == null ? getPort(uri) : calleePort,
 				callerServiceKey
 		);
-		return new ResourceStat(resource, statusCode == null ? -1 : statusCode, delay, getDefaultRetStatus(statusCode, exception));
-	}
-
-
-	/**
-	 * Convert items to List.
-	 *
-	 * @param items item arrays
-	 * @param <T>   Object Generics.
-	 * @return list
-	 */
-	@SafeVarargs
-	private static <T> List<T> toList(T... items) {
-		return new ArrayList<>(Arrays.asList(items));
+		return new ResourceStat(resource, statusCode == null ? -1 : statusCode, delay,
+				getDefaultRetStatus(statusCode, exception, failureStatusClassifier));
 	}
 
 	/**
 	 * Callback after completion of request processing, Check if business meltdown reporting is required.
+	 * Reporters should use {@link FailureStatusClassifier} instead, which does not look up the properties.
 	 *
 	 * @param httpStatus request http status code
 	 * @return true , otherwise return false .
@@ -176,25 +193,11 @@ public final class PolarisEnhancedPluginUtils {
 			LOG.error("get RpcEnhancementReporterProperties bean err", e);
 			reportProperties = new RpcEnhancementReporterProperties();
 		}
-		// statuses > series
-		List<HttpStatus> status = reportProperties.getStatuses();
-		if (status.isEmpty()) {
-			List<HttpStatus.Series> series = reportProperties.getSeries();
-			// Check INTERNAL_SERVER_ERROR (500) status.
-			if (reportProperties.isIgnoreInternalServerError() && Objects.equals(httpStatus, INTERNAL_SERVER_ERROR)) {
-				return false;
-			}
-			if (series.isEmpty()) {
-				return HTTP_STATUSES.contains(httpStatus);
-			}
-			return series.contains(httpStatus.series());
-		}
-		// Use the user-specified fuse status code.
-		return status.contains(httpStatus);
+		return FailureStatusClassifier.isFailure(reportProperties, httpStatus);
 	}
 
 	public static RetStatus getRetStatusFromRequest(HttpHeaders headers, Integer statusCode, Throwable exception) {
-		return getRetStatusFromRequest(headers, getDefaultRetStatus(statusCode, exception));
+		return getRetStatusFromRequest(headers, getDefaultRetStatus(statusCode, exception, null));
 	}
 
 	static RetStatus getRetStatusFromRequest(HttpHeaders headers, RetStatus defaultVal) {
@@ -219,7 +222,7 @@ public final class PolarisEnhancedPluginUtils {
 			if (CollectionUtils.isNotEmpty(values)) {
 				String decodedActiveRuleName = "";
 				try {
-					decodedActiveRuleName = URLDecoder.decode(new ArrayList<>(values).get(0), UTF_8);
+					decodedActiveRuleName = URLDecoder.decode(values.iterator().next(), UTF_8);
 				}
 				catch (UnsupportedEncodingException e) {
 					LOG.error("Cannot decode {} from header internal-callee-activerule.",
@@ -231,7 +234,8 @@ public final class PolarisEnhancedPluginUtils {
 		return "";
 	}
 
-	private static RetStatus getDefaultRetStatus(Integer statusCode, Throwable exception) {
+	private static RetStatus getDefaultRetStatus(Integer statusCode, Throwable exception,
+			FailureStatusClassifier failureStatusClassifier) {
 		RetStatus retStatus = RetStatus.RetSuccess;
 		if (exception != null) {
 			retStatus = RetStatus.RetFail;
@@ -239,7 +243,11 @@ public final class PolarisEnhancedPluginUtils {
 				retStatus = RetStatus.RetTimeout;
 			}
 		}
-		else if (statusCode == null || apply(HttpStatus.resolve(statusCode))) {
+		else if (statusCode == null) {
+			retStatus = RetStatus.RetFail;
+		}
+		else if (failureStatusClassifier != null ? failureStatusClassifier.isFailure(statusCode)
+				: apply(HttpStatus.resolve(statusCode))) {
 			retStatus = RetStatus.RetFail;
 		}
 		return retStatus;
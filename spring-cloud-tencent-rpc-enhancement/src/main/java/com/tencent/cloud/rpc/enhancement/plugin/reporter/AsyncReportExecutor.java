@@ -0,0 +1,219 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.rpc.enhancement.plugin.reporter;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Executor of call result reports, such as {@link com.tencent.polaris.api.core.ConsumerAPI#updateServiceCallResult}
+ * and circuit breaker resource stats. Reports are pushed onto a bounded lock-free ring buffer by the request threads
+ * and run by one drainer thread in batches, so that request threads, including event loop threads of WebFlux, are not
+ * blocked by the stat and circuit breaker bookkeeping of Polaris SDK. The drainer is started when the bean is
+ * initialized, parks while the buffer is empty and is woken up by the first report pushed afterwards.
+ * <p>
+ * When the buffer is full, reports are handled according to {@link DropPolicy}. Reports still buffered are flushed
+ * when the executor is destroyed.
+ *
+ * @author Haotian Zhang
+ */
+public class AsyncReportExecutor implements Executor, InitializingBean, DisposableBean {
+
+	private static final Logger LOG = LoggerFactory.getLogger(AsyncReportExecutor.class);
+
+	private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+	private final MpscRingBuffer<Runnable> buffer;
+
+	private final int batchSize;
+
+	private final DropPolicy dropPolicy;
+
+	private final Thread drainer;
+
+	private final LongAdder droppedCount = new LongAdder();
+
+	private final LongAdder callerRunsCount = new LongAdder();
+
+	private final LongAdder reportedCount = new LongAdder();
+
+	private final AtomicBoolean drainerParked = new AtomicBoolean();
+
+	private volatile boolean running = true;
+
+	private volatile boolean drainerStopped;
+
+	public AsyncReportExecutor(int bufferSize, int batchSize, DropPolicy dropPolicy) {
+		this.buffer = new MpscRingBuffer<>(bufferSize);
+		this.batchSize = Math.max(1, batchSize);
+		this.dropPolicy = dropPolicy == null ? DropPolicy.DISCARD : dropPolicy;
+		this.drainer = new Thread(this::drainLoop, "polaris-async-reporter");
+		this.drainer.setDaemon(true);
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		drainer.start();
+	}
+
+	@Override
+	public void execute(Runnable report) {
+		if (!running) {
+			// reports after shutdown are run directly, as if the executor is disabled.
+			runReport(report);
+			return;
+		}
+		if (buffer.offer(report)) {
+			if (drainerStopped) {
+				// offered while the executor is being destroyed, nobody else will poll it.
+				flushBuffer();
+			}
+			else {
+				wakeUpDrainer();
+			}
+			return;
+		}
+		if (dropPolicy == DropPolicy.CALLER_RUNS) {
+			callerRunsCount.increment();
+			runReport(report);
+		}
+		else {
+			droppedCount.increment();
+			LOG.debug("Report buffer is full, report is dropped.");
+		}
+	}
+
+	private void drainLoop() {
+		while (running) {
+			if (drainBatch() > 0) {
+				continue;
+			}
+			drainerParked.set(true);
+			// check again after the flag is set, a report pushed before it would not wake up the drainer.
+			if (running && buffer.isEmpty()) {
+				LockSupport.park(this);
+			}
+			drainerParked.set(false);
+		}
+	}
+
+	private void wakeUpDrainer() {
+		if (drainerParked.get() && drainerParked.compareAndSet(true, false)) {
+			LockSupport.unpark(drainer);
+		}
+	}
+
+	private synchronized void flushBuffer() {
+		int flushed = drainBatch();
+		while (flushed > 0) {
+			flushed = drainBatch();
+		}
+	}
+
+	private int drainBatch() {
+		int count = 0;
+		Runnable report;
+		while (count < batchSize && (report = buffer.poll()) != null) {
+			runReport(report);
+			count++;
+		}
+		return count;
+	}
+
+	private void runReport(Runnable report) {
+		try {
+			report.run();
+			reportedCount.increment();
+		}
+		catch (Throwable throwable) {
+			LOG.error("Run report failed.", throwable);
+		}
+	}
+
+	@Override
+	public void destroy() throws InterruptedException {
+		running = false;
+		LockSupport.unpark(drainer);
+		drainer.join(SHUTDOWN_TIMEOUT_MILLIS);
+		if (drainer.isAlive()) {
+			LOG.warn("Report drainer does not stop in {}ms, {} buffered reports are not flushed.",
+					SHUTDOWN_TIMEOUT_MILLIS, buffer.size());
+			return;
+		}
+		// drainer stopped, so the buffer can be polled by current thread. Reports pushed by the threads which saw
+		// running before it was cleared are flushed here, or by those threads once drainerStopped is set.
+		drainerStopped = true;
+		flushBuffer();
+	}
+
+	/**
+	 * Count of reports dropped because the buffer is full.
+	 * @return dropped count
+	 */
+	public long getDroppedCount() {
+		return droppedCount.sum();
+	}
+
+	/**
+	 * Count of reports run by the caller thread because the buffer is full.
+	 * @return caller runs count
+	 */
+	public long getCallerRunsCount() {
+		return callerRunsCount.sum();
+	}
+
+	/**
+	 * Count of reports which have been run.
+	 * @return reported count
+	 */
+	public long getReportedCount() {
+		return reportedCount.sum();
+	}
+
+	public int getPendingCount() {
+		return buffer.size();
+	}
+
+	public int getBufferSize() {
+		return buffer.capacity();
+	}
+
+	/**
+	 * Policy of a report when the buffer is full.
+	 */
+	public enum DropPolicy {
+
+		/**
+		 * Drop the report and count it.
+		 */
+		DISCARD,
+
+		/**
+		 * Run the report by the caller thread, as if the executor is disabled.
+		 */
+		CALLER_RUNS
+	}
+}
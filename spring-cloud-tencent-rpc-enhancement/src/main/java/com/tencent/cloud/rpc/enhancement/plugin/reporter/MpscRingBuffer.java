@@ -0,0 +1,115 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.rpc.enhancement.plugin.reporter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer single-consumer ring buffer. Each slot carries a sequence number telling whether
+ * it is free for the producer of a position or filled for the consumer of a position, so producers only contend on
+ * one CAS of the producer index and never block.
+ * <p>
+ * {@link #poll()} must only be called by one thread at a time.
+ *
+ * @param <E> element type
+ * @author Haotian Zhang
+ */
+final class MpscRingBuffer<E> {
+
+	private final int mask;
+
+	private final AtomicReferenceArray<E> elements;
+
+	private final AtomicLongArray sequences;
+
+	private final AtomicLong producerIndex = new AtomicLong();
+
+	private volatile long consumerIndex;
+
+	MpscRingBuffer(int capacity) {
+		int size = capacity < 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+		if (size <= 0) {
+			size = 1 << 30;
+		}
+		this.mask = size - 1;
+		this.elements = new AtomicReferenceArray<>(size);
+		this.sequences = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	/**
+	 * Add an element if the buffer is not full.
+	 * @param element element
+	 * @return false if the buffer is full
+	 */
+	boolean offer(E element) {
+		long position = producerIndex.get();
+		for (;;) {
+			int index = (int) position & mask;
+			long diff = sequences.get(index) - position;
+			if (diff == 0) {
+				if (producerIndex.compareAndSet(position, position + 1)) {
+					elements.lazySet(index, element);
+					sequences.set(index, position + 1);
+					return true;
+				}
+				position = producerIndex.get();
+			}
+			else if (diff < 0) {
+				return false;
+			}
+			else {
+				position = producerIndex.get();
+			}
+		}
+	}
+
+	/**
+	 * Remove the oldest element.
+	 * @return the oldest element, or null if the buffer is empty
+	 */
+	E poll() {
+		long position = consumerIndex;
+		int index = (int) position & mask;
+		if (sequences.get(index) != position + 1) {
+			return null;
+		}
+		E element = elements.get(index);
+		elements.lazySet(index, null);
+		sequences.set(index, position + mask + 1);
+		consumerIndex = position + 1;
+		return element;
+	}
+
+	int capacity() {
+		return mask + 1;
+	}
+
+	int size() {
+		long size = producerIndex.get() - consumerIndex;
+		return (int) Math.max(0, Math.min(size, capacity()));
+	}
+
+	boolean isEmpty() {
+		return size() == 0;
+	}
+}
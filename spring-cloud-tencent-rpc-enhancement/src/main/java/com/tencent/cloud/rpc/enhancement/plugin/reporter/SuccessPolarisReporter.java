@@ -18,6 +18,7 @@
 package com.tencent.cloud.rpc.enhancement.plugin.reporter;
 
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import com.tencent.cloud.rpc.enhancement.config.RpcEnhancementReporterProperties;
 import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPlugin;
@@ -25,6 +26,8 @@ import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPluginContext;
 import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPluginType;
 import com.tencent.cloud.rpc.enhancement.plugin.EnhancedRequestContext;
 import com.tencent.cloud.rpc.enhancement.plugin.EnhancedResponseContext;
+import com.tencent.cloud.rpc.enhancement.plugin.FailureStatusClassifier;
+import com.tencent.cloud.rpc.enhancement.plugin.PathTemplateResolver;
 import com.tencent.cloud.rpc.enhancement.plugin.PolarisEnhancedPluginUtils;
 import com.tencent.polaris.api.core.ConsumerAPI;
 import com.tencent.polaris.api.rpc.ServiceCallResult;
@@ -49,10 +52,25 @@ public class SuccessPolarisReporter implements EnhancedPlugin {
 
 	private final RpcEnhancementReporterProperties reportProperties;
 
+	private final FailureStatusClassifier failureStatusClassifier;
+
+	private final Executor reportExecutor;
+
+	private final PathTemplateResolver pathTemplateResolver;
+
 	public SuccessPolarisReporter(RpcEnhancementReporterProperties reportProperties,
 			ConsumerAPI consumerAPI) {
+		this(reportProperties, consumerAPI, new FailureStatusClassifier(reportProperties), null, null);
+	}
+
+	public SuccessPolarisReporter(RpcEnhancementReporterProperties reportProperties,
+			ConsumerAPI consumerAPI, FailureStatusClassifier failureStatusClassifier, Executor reportExecutor,
+			PathTemplateResolver pathTemplateResolver) {
 		this.reportProperties = reportProperties;
 		this.consumerAPI = consumerAPI;
+		this.failureStatusClassifier = failureStatusClassifier;
+		this.pathTemplateResolver = pathTemplateResolver;
+		this.reportExecutor = reportExecutor == null ? Runnable::run : reportExecutor;
 	}
 
 	@Override
@@ -86,13 +104,18 @@ public class SuccessPolarisReporter implements EnhancedPlugin {
 				response.getHttpHeaders(),
 				response.getHttpStatus(),
 				context.getDelay(),
-				null
+				null,
+				failureStatusClassifier
 		);
 
+		if (pathTemplateResolver != null) {
+			resultRequest.setMethod(pathTemplateResolver.resolve(request));
+		}
+
 		LOG.debug("Will report ServiceCallResult of {}. Request=[{} {}]. Response=[{}]. Delay=[{}]ms.",
 				resultRequest.getRetStatus().name(), request.getHttpMethod().name(), request.getUrl().getPath(), response.getHttpStatus(), context.getDelay());
 
-		consumerAPI.updateServiceCallResult(resultRequest);
+		reportExecutor.execute(() -> consumerAPI.updateServiceCallResult(resultRequest));
 
 	}
 
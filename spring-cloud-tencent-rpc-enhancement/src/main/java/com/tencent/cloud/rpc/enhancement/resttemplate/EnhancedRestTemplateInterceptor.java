@@ -66,10 +66,10 @@ public class EnhancedRestTemplateInterceptor implements ClientHttpRequestInterce
 		// Run pre enhanced plugins.
 		pluginRunner.run(EnhancedPluginType.Client.PRE, enhancedPluginContext);
 
-		long startMillis = System.currentTimeMillis();
+		long startNanos = System.nanoTime();
 		try {
 			ClientHttpResponse response = execution.execute(request, body);
-			enhancedPluginContext.setDelay(System.currentTimeMillis() - startMillis);
+			enhancedPluginContext.setDelayNanos(System.nanoTime() - startNanos);
 
 			EnhancedResponseContext enhancedResponseContext = EnhancedResponseContext.builder()
 					.httpStatus(response.getRawStatusCode())
@@ -82,7 +82,7 @@ public class EnhancedRestTemplateInterceptor implements ClientHttpRequestInterce
 			return response;
 		}
 		catch (IOException e) {
-			enhancedPluginContext.setDelay(System.currentTimeMillis() - startMillis);
+			enhancedPluginContext.setDelayNanos(System.nanoTime() - startNanos);
 			enhancedPluginContext.setThrowable(e);
 			// Run exception enhanced plugins.
 			pluginRunner.run(EnhancedPluginType.Client.EXCEPTION, enhancedPluginContext);
@@ -74,10 +74,10 @@ public class EnhancedGatewayGlobalFilter implements GlobalFilter, Ordered {
 		// Run pre enhanced plugins.
 		pluginRunner.run(EnhancedPluginType.Client.PRE, enhancedPluginContext);
 
-		long startTime = System.currentTimeMillis();
+		long startNanos = System.nanoTime();
 		return chain.filter(exchange)
 				.doOnSuccess(v -> {
-					enhancedPluginContext.setDelay(System.currentTimeMillis() - startTime);
+					enhancedPluginContext.setDelayNanos(System.nanoTime() - startNanos);
 					EnhancedResponseContext enhancedResponseContext = EnhancedResponseContext.builder()
 							.httpStatus(exchange.getResponse().getRawStatusCode())
 							.httpHeaders(exchange.getResponse().getHeaders())
@@ -88,7 +88,7 @@ public class EnhancedGatewayGlobalFilter implements GlobalFilter, Ordered {
 					pluginRunner.run(EnhancedPluginType.Client.POST, enhancedPluginContext);
 				})
 				.doOnError(t -> {
-					enhancedPluginContext.setDelay(System.currentTimeMillis() - startTime);
+					enhancedPluginContext.setDelayNanos(System.nanoTime() - startNanos);
 					enhancedPluginContext.setThrowable(t);
 
 					// Run exception enhanced plugins.
@@ -0,0 +1,62 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.rpc.enhancement.stat.config;
+
+import com.tencent.cloud.polaris.context.ConditionalOnPolarisEnabled;
+import com.tencent.cloud.rpc.enhancement.stat.histogram.LatencyHistogramCollector;
+import com.tencent.cloud.rpc.enhancement.stat.histogram.LatencyHistogramRecorder;
+import io.prometheus.client.CollectorRegistry;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Autoconfiguration of latency histogram of enhanced calls. Histograms are exported to the Prometheus registry of
+ * the application, such as the one scraped by actuator, or the default registry if there is none.
+ *
+ * @author Haotian Zhang
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnPolarisEnabled
+@ConditionalOnClass(name = "org.HdrHistogram.Recorder")
+@ConditionalOnProperty(value = "spring.cloud.polaris.stat.histogram.enabled", havingValue = "true")
+@AutoConfigureAfter(PolarisStatPropertiesAutoConfiguration.class)
+public class PolarisStatHistogramAutoConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean
+	public LatencyHistogramRecorder latencyHistogramRecorder(PolarisStatProperties polarisStatProperties) {
+		PolarisStatProperties.Histogram histogram = polarisStatProperties.getHistogram();
+		return new LatencyHistogramRecorder(histogram.getMaxKeys(), histogram.getSignificantDigits());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	@ConditionalOnProperty(value = "spring.cloud.polaris.stat.enabled", matchIfMissing = true)
+	public LatencyHistogramCollector latencyHistogramCollector(LatencyHistogramRecorder latencyHistogramRecorder,
+			PolarisStatProperties polarisStatProperties, ObjectProvider<CollectorRegistry> collectorRegistry) {
+		return new LatencyHistogramCollector(latencyHistogramRecorder,
+				polarisStatProperties.getHistogram().getQuantiles(),
+				collectorRegistry.getIfAvailable(() -> CollectorRegistry.defaultRegistry));
+	}
+}
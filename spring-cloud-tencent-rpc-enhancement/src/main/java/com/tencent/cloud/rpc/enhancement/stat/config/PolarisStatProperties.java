@@ -17,6 +17,10 @@
 
 package com.tencent.cloud.rpc.enhancement.stat.config;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -67,6 +71,11 @@ public class PolarisStatProperties {
 	@Value("${spring.cloud.polaris.stat.pushgateway.push-interval:#{30000}}")
 	private Long pushGatewayPushInterval = 30 * 1000L;
 
+	/**
+	 * Latency histogram of enhanced calls.
+	 */
+	private Histogram histogram = new Histogram();
+
 	public boolean isEnabled() {
 		return enabled;
 	}
@@ -122,4 +131,70 @@ public class PolarisStatProperties {
 	public void setPushGatewayPushInterval(Long pushGatewayPushInterval) {
 		this.pushGatewayPushInterval = pushGatewayPushInterval;
 	}
+
+	public Histogram getHistogram() {
+		return histogram;
+	}
+
+	public void setHistogram(Histogram histogram) {
+		this.histogram = histogram;
+	}
+
+	/**
+	 * Properties of latency histogram.
+	 */
+	public static class Histogram {
+
+		/**
+		 * If latency histogram of enhanced calls enabled.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * Max count of histograms, one for each callee service, http method and status class.
+		 */
+		private int maxKeys = 1024;
+
+		/**
+		 * Number of significant decimal digits of histogram values, from 0 to 5.
+		 */
+		private int significantDigits = 2;
+
+		/**
+		 * Quantiles to export.
+		 */
+		private List<Double> quantiles = new ArrayList<>(Arrays.asList(0.5, 0.9, 0.99, 0.999));
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getMaxKeys() {
+			return maxKeys;
+		}
+
+		public void setMaxKeys(int maxKeys) {
+			this.maxKeys = maxKeys;
+		}
+
+		public int getSignificantDigits() {
+			return significantDigits;
+		}
+
+		public void setSignificantDigits(int significantDigits) {
+			this.significantDigits = significantDigits;
+		}
+
+		public List<Double> getQuantiles() {
+			return quantiles;
+		}
+
+		public void setQuantiles(List<Double> quantiles) {
+			this.quantiles = quantiles;
+		}
+	}
 }
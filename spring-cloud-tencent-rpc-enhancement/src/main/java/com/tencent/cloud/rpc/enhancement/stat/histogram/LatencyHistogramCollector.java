@@ -0,0 +1,106 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.rpc.enhancement.stat.histogram;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.CollectorRegistry;
+import org.HdrHistogram.Histogram;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Prometheus collector of the histograms of {@link LatencyHistogramRecorder}, exported as a summary in seconds.
+ * Quantiles cover the calls since last collection, while count and sum are accumulated.
+ *
+ * @author Haotian Zhang
+ */
+public class LatencyHistogramCollector extends Collector implements InitializingBean, DisposableBean {
+
+	/**
+	 * Metric name.
+	 */
+	public static final String METRIC_NAME = "polaris_enhanced_call_latency_seconds";
+
+	private static final String HELP = "Latency of enhanced calls.";
+
+	private static final List<String> LABEL_NAMES = Arrays.asList("callee_service", "callee_method", "status_class");
+
+	private static final List<String> QUANTILE_LABEL_NAMES;
+
+	private static final double NANOS_PER_SECOND = 1e9;
+
+	static {
+		List<String> names = new ArrayList<>(LABEL_NAMES);
+		names.add("quantile");
+		QUANTILE_LABEL_NAMES = Collections.unmodifiableList(names);
+	}
+
+	private final LatencyHistogramRecorder recorder;
+
+	private final List<Double> quantiles;
+
+	private final CollectorRegistry registry;
+
+	public LatencyHistogramCollector(LatencyHistogramRecorder recorder, List<Double> quantiles,
+			CollectorRegistry registry) {
+		this.recorder = recorder;
+		this.quantiles = quantiles == null ? Collections.emptyList() : quantiles;
+		this.registry = registry;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		registry.register(this);
+	}
+
+	@Override
+	public List<MetricFamilySamples> collect() {
+		List<MetricFamilySamples.Sample> samples = new ArrayList<>();
+		for (Map.Entry<LatencyHistogramRecorder.Key, LatencyHistogramRecorder.Snapshot> entry
+				: recorder.snapshot().entrySet()) {
+			LatencyHistogramRecorder.Key key = entry.getKey();
+			LatencyHistogramRecorder.Snapshot snapshot = entry.getValue();
+			Histogram histogram = snapshot.getIntervalHistogram();
+			List<String> labelValues = Arrays.asList(key.getService(), key.getMethod(), key.getStatusClass());
+			for (Double quantile : quantiles) {
+				List<String> quantileLabelValues = new ArrayList<>(labelValues);
+				quantileLabelValues.add(Collector.doubleToGoString(quantile));
+				double value = histogram.getTotalCount() == 0 ? Double.NaN
+						: histogram.getValueAtPercentile(quantile * 100) / NANOS_PER_SECOND;
+				samples.add(new MetricFamilySamples.Sample(METRIC_NAME, QUANTILE_LABEL_NAMES, quantileLabelValues, value));
+			}
+			samples.add(new MetricFamilySamples.Sample(METRIC_NAME + "_count", LABEL_NAMES, labelValues,
+					snapshot.getTotalCount()));
+			samples.add(new MetricFamilySamples.Sample(METRIC_NAME + "_sum", LABEL_NAMES, labelValues,
+					snapshot.getTotalSum() / NANOS_PER_SECOND));
+		}
+		return Collections.singletonList(new MetricFamilySamples(METRIC_NAME, Type.SUMMARY, HELP, samples));
+	}
+
+	@Override
+	public void destroy() {
+		registry.unregister(this);
+	}
+}
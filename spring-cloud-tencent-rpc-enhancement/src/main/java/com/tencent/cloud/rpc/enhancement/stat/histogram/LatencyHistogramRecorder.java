@@ -0,0 +1,273 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.rpc.enhancement.stat.histogram;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPlugin;
+import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPluginContext;
+import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPluginType;
+import com.tencent.cloud.rpc.enhancement.plugin.EnhancedRequestContext;
+import com.tencent.cloud.rpc.enhancement.plugin.EnhancedResponseContext;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import static com.tencent.cloud.rpc.enhancement.plugin.PluginOrderConstant.ClientPluginOrder.LATENCY_HISTOGRAM_PLUGIN_ORDER;
+
+/**
+ * Records latency of enhanced calls in nanoseconds into HdrHistograms, one per callee service, http method and
+ * status class. Count of histograms is bounded, calls of new keys are not recorded once the bound is reached.
+ *
+ * @author Haotian Zhang
+ */
+public class LatencyHistogramRecorder implements EnhancedPlugin {
+
+	/**
+	 * Status class of calls failed without response.
+	 */
+	public static final String STATUS_CLASS_ERROR = "error";
+
+	private static final Logger LOG = LoggerFactory.getLogger(LatencyHistogramRecorder.class);
+
+	private static final String UNKNOWN = "unknown";
+
+	private final int maxKeys;
+
+	private final int significantDigits;
+
+	private final Map<Key, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+	private final LongAdder overflowCount = new LongAdder();
+
+	public LatencyHistogramRecorder(int maxKeys, int significantDigits) {
+		this.maxKeys = maxKeys;
+		this.significantDigits = significantDigits;
+	}
+
+	@Override
+	public String getName() {
+		return LatencyHistogramRecorder.class.getName();
+	}
+
+	@Override
+	public EnhancedPluginType getType() {
+		return EnhancedPluginType.Client.FINALLY;
+	}
+
+	@Override
+	public void run(EnhancedPluginContext context) {
+		ServiceInstance target = context.getTargetServiceInstance();
+		EnhancedRequestContext request = context.getRequest();
+		String service = target == null || target.getServiceId() == null ? UNKNOWN : target.getServiceId();
+		String method = request == null || request.getHttpMethod() == null ? UNKNOWN : request.getHttpMethod().name();
+		record(service, method, getStatusClass(context.getResponse()), context.getDelayNanos());
+	}
+
+	/**
+	 * Record latency of a call.
+	 * @param service callee service
+	 * @param method http method
+	 * @param statusClass status class, such as 2xx
+	 * @param delayNanos latency in nanoseconds
+	 */
+	public void record(String service, String method, String statusClass, long delayNanos) {
+		if (delayNanos < 0) {
+			return;
+		}
+		Key key = new Key(service, method, statusClass);
+		LatencyHistogram histogram = histograms.get(key);
+		if (histogram == null) {
+			if (histograms.size() >= maxKeys) {
+				overflowCount.increment();
+				return;
+			}
+			histogram = histograms.computeIfAbsent(key, k -> new LatencyHistogram(significantDigits));
+		}
+		histogram.recorder.recordValue(delayNanos);
+	}
+
+	/**
+	 * Take snapshots of all histograms. Histogram of a snapshot only holds values recorded since last snapshot, while
+	 * count and sum are accumulated since start.
+	 * @return snapshots of histograms, values are in nanoseconds
+	 */
+	public Map<Key, Snapshot> snapshot() {
+		Map<Key, Snapshot> snapshots = new HashMap<>(histograms.size());
+		histograms.forEach((key, histogram) -> snapshots.put(key, histogram.snapshot()));
+		return snapshots;
+	}
+
+	/**
+	 * Count of calls not recorded because count of histograms reached the bound.
+	 * @return overflow count
+	 */
+	public long getOverflowCount() {
+		return overflowCount.sum();
+	}
+
+	static String getStatusClass(EnhancedResponseContext response) {
+		if (response == null || response.getHttpStatus() == null) {
+			return STATUS_CLASS_ERROR;
+		}
+		int status = response.getHttpStatus();
+		if (status < 100 || status >= 600) {
+			return UNKNOWN;
+		}
+		return (status / 100) + "xx";
+	}
+
+	@Override
+	public void handlerThrowable(EnhancedPluginContext context, Throwable throwable) {
+		LOG.error("LatencyHistogramRecorder runs failed. context=[{}].", context, throwable);
+	}
+
+	@Override
+	public int getOrder() {
+		return LATENCY_HISTOGRAM_PLUGIN_ORDER;
+	}
+
+	private static final class LatencyHistogram {
+
+		private final Recorder recorder;
+
+		private Histogram interval;
+
+		private long totalCount;
+
+		private double totalSum;
+
+		private LatencyHistogram(int significantDigits) {
+			this.recorder = new Recorder(significantDigits);
+		}
+
+		private synchronized Snapshot snapshot() {
+			interval = recorder.getIntervalHistogram(interval);
+			long count = interval.getTotalCount();
+			totalCount += count;
+			totalSum += interval.getMean() * count;
+			return new Snapshot(interval.copy(), totalCount, totalSum);
+		}
+	}
+
+	/**
+	 * Snapshot of a histogram.
+	 */
+	public static final class Snapshot {
+
+		private final Histogram intervalHistogram;
+
+		private final long totalCount;
+
+		private final double totalSum;
+
+		public Snapshot(Histogram intervalHistogram, long totalCount, double totalSum) {
+			this.intervalHistogram = intervalHistogram;
+			this.totalCount = totalCount;
+			this.totalSum = totalSum;
+		}
+
+		/**
+		 * Histogram of values recorded since last snapshot.
+		 * @return interval histogram
+		 */
+		public Histogram getIntervalHistogram() {
+			return intervalHistogram;
+		}
+
+		/**
+		 * Count of values recorded since start.
+		 * @return total count
+		 */
+		public long getTotalCount() {
+			return totalCount;
+		}
+
+		/**
+		 * Sum of values recorded since start, in nanoseconds.
+		 * @return total sum
+		 */
+		public double getTotalSum() {
+			return totalSum;
+		}
+	}
+
+	/**
+	 * Key of a histogram.
+	 */
+	public static final class Key {
+
+		private final String service;
+
+		private final String method;
+
+		private final String statusClass;
+
+		public Key(String service, String method, String statusClass) {
+			this.service = service;
+			this.method = method;
+			this.statusClass = statusClass;
+		}
+
+		public String getService() {
+			return service;
+		}
+
+		public String getMethod() {
+			return method;
+		}
+
+		public String getStatusClass() {
+			return statusClass;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) o;
+			return Objects.equals(service, key.service) && Objects.equals(method, key.method)
+					&& Objects.equals(statusClass, key.statusClass);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(service, method, statusClass);
+		}
+
+		@Override
+		public String toString() {
+			return "Key{" +
+					"service='" + service + '\'' +
+					", method='" + method + '\'' +
+					", statusClass='" + statusClass + '\'' +
+					'}';
+		}
+	}
+}
@@ -57,16 +57,17 @@ public class EnhancedWebClientExchangeFilterFunction implements ExchangeFilterFu
 		enhancedPluginContext.setRequest(enhancedRequestContext);
 
 		enhancedPluginContext.setLocalServiceInstance(pluginRunner.getLocalServiceInstance());
-		enhancedPluginContext.setTargetServiceInstance((ServiceInstance) MetadataContextHolder.get()
-				.getLoadbalancerMetadata().get(LOAD_BALANCER_SERVICE_INSTANCE), request.url());
+		Object serviceInstance = request.attribute(LOAD_BALANCER_SERVICE_INSTANCE)
+				.orElseGet(() -> MetadataContextHolder.get().getLoadbalancerMetadata().get(LOAD_BALANCER_SERVICE_INSTANCE));
+		enhancedPluginContext.setTargetServiceInstance((ServiceInstance) serviceInstance, request.url());
 
 		// Run post enhanced plugins.
 		pluginRunner.run(EnhancedPluginType.Client.PRE, enhancedPluginContext);
 
-		long startTime = System.currentTimeMillis();
+		long startNanos = System.nanoTime();
 		return next.exchange(request)
 				.doOnSuccess(response -> {
-					enhancedPluginContext.setDelay(System.currentTimeMillis() - startTime);
+					enhancedPluginContext.setDelayNanos(System.nanoTime() - startNanos);
 
 					EnhancedResponseContext enhancedResponseContext = EnhancedResponseContext.builder()
 							.httpStatus(response.statusCode().value())
@@ -78,7 +79,7 @@ public class EnhancedWebClientExchangeFilterFunction implements ExchangeFilterFu
 					pluginRunner.run(EnhancedPluginType.Client.POST, enhancedPluginContext);
 				})
 				.doOnError(t -> {
-					enhancedPluginContext.setDelay(System.currentTimeMillis() - startTime);
+					enhancedPluginContext.setDelayNanos(System.nanoTime() - startNanos);
 					enhancedPluginContext.setThrowable(t);
 
 					// Run exception enhanced plugins.
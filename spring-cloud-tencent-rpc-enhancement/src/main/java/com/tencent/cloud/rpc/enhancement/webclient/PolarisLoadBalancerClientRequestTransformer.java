@@ -17,8 +17,6 @@
 
 package com.tencent.cloud.rpc.enhancement.webclient;
 
-import com.tencent.cloud.common.metadata.MetadataContextHolder;
-
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancerClientRequestTransformer;
 import org.springframework.web.reactive.function.client.ClientRequest;
@@ -33,7 +31,8 @@ import static com.tencent.cloud.rpc.enhancement.resttemplate.PolarisLoadBalancer
 public class PolarisLoadBalancerClientRequestTransformer implements LoadBalancerClientRequestTransformer {
 
 	/**
-	 * Transform Request, add Loadbalancer ServiceInstance to MetadataContext.
+	 * Transform Request, add Loadbalancer ServiceInstance to request attributes. The attribute travels with the
+	 * request, so it does not depend on the thread the request is executed on.
 	 * @param request request
 	 * @param instance instance
 	 * @return HttpRequest
@@ -41,7 +40,7 @@ public class PolarisLoadBalancerClientRequestTransformer implements LoadBalancer
 	@Override
 	public ClientRequest transformRequest(ClientRequest request, ServiceInstance instance) {
 		if (instance != null) {
-			MetadataContextHolder.get().setLoadbalancer(LOAD_BALANCER_SERVICE_INSTANCE, instance);
+			return ClientRequest.from(request).attribute(LOAD_BALANCER_SERVICE_INSTANCE, instance).build();
 		}
 		return request;
 	}
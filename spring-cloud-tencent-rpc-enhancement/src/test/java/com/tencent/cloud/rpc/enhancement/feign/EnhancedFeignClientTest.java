@@ -28,6 +28,7 @@ import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPlugin;
 import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPluginContext;
 import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPluginType;
 import feign.Client;
+import feign.MethodMetadata;
 import feign.Request;
 import feign.RequestTemplate;
 import feign.Response;
@@ -46,6 +47,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Test for {@link EnhancedFeignClient}.
@@ -230,6 +232,32 @@ public class EnhancedFeignClientTest {
 
 	}
 
+	@Test
+	public void testGetPathTemplate() {
+		RequestTemplate methodTemplate = new RequestTemplate();
+		methodTemplate.uri("/orders/{id}");
+		MethodMetadata methodMetadata = mock(MethodMetadata.class);
+		when(methodMetadata.template()).thenReturn(methodTemplate);
+
+		RequestTemplate requestTemplate = new RequestTemplate();
+		requestTemplate.methodMetadata(methodMetadata);
+		Request request = Request.create(Request.HttpMethod.GET, "http://callee/api/orders/1",
+				Collections.emptyMap(), Request.Body.empty(), requestTemplate);
+
+		// Without url of target.
+		assertThat(EnhancedFeignClient.getPathTemplate(request)).isEqualTo("/orders/{id}");
+
+		// Path of @FeignClient is in the url of target.
+		requestTemplate.feignTarget(new Target.HardCodedTarget<>(Object.class, "callee", "http://callee/api"));
+		assertThat(EnhancedFeignClient.getPathTemplate(request)).isEqualTo("/api/orders/{id}");
+
+		requestTemplate.feignTarget(new Target.HardCodedTarget<>(Object.class, "callee", "http://callee/api/"));
+		assertThat(EnhancedFeignClient.getPathTemplate(request)).isEqualTo("/api/orders/{id}");
+
+		requestTemplate.feignTarget(new Target.HardCodedTarget<>(Object.class, "callee", "http://callee"));
+		assertThat(EnhancedFeignClient.getPathTemplate(request)).isEqualTo("/orders/{id}");
+	}
+
 	@SpringBootApplication
 	protected static class TestApplication {
 
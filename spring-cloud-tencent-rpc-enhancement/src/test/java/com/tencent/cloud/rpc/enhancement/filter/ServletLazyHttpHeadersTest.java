@@ -0,0 +1,61 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.rpc.enhancement.filter;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for {@link ServletLazyHttpHeaders}.
+ *
+ * @author Haotian Zhang
+ */
+public class ServletLazyHttpHeadersTest {
+
+	@Test
+	public void testRequestHeaders() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader("k1", "v1");
+		request.addHeader("k1", "v2");
+		HttpHeaders headers = ServletLazyHttpHeaders.of(request);
+
+		assertThat(headers.getFirst("K1")).isEqualTo("v1");
+		assertThat(headers.get("k1")).containsExactly("v1", "v2");
+		assertThat(headers.get("k2")).isNull();
+
+		// headers are read from request until materialized
+		request.addHeader("k2", "v3");
+		assertThat(headers.getFirst("k2")).isEqualTo("v3");
+		assertThat(headers.keySet()).containsExactlyInAnyOrder("k1", "k2");
+	}
+
+	@Test
+	public void testResponseHeaders() {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.addHeader("k1", "v1");
+		HttpHeaders headers = ServletLazyHttpHeaders.of(response);
+
+		assertThat(headers.getFirst("k1")).isEqualTo("v1");
+		assertThat(headers.size()).isEqualTo(1);
+	}
+}
@@ -172,4 +172,16 @@ public class EnhancedPluginContextTest {
 		enhancedPluginContext.setTargetServiceInstance(null, null);
 		assertThat(enhancedPluginContext.getTargetServiceInstance().getPort()).isEqualTo(0);
 	}
+
+	@Test
+	public void testDelayNanos() {
+		EnhancedPluginContext enhancedPluginContext = new EnhancedPluginContext();
+
+		enhancedPluginContext.setDelayNanos(1_500_000L);
+		assertThat(enhancedPluginContext.getDelayNanos()).isEqualTo(1_500_000L);
+		assertThat(enhancedPluginContext.getDelay()).isEqualTo(1L);
+
+		enhancedPluginContext.setDelay(2L);
+		assertThat(enhancedPluginContext.getDelayNanos()).isEqualTo(2_000_000L);
+	}
 }
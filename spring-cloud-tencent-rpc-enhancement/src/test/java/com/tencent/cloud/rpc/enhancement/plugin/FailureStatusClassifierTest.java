@@ -0,0 +1,79 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.rpc.enhancement.plugin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import com.tencent.cloud.rpc.enhancement.config.RpcEnhancementReporterProperties;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for {@link FailureStatusClassifier}.
+ *
+ * @author Haotian Zhang
+ */
+public class FailureStatusClassifierTest {
+
+	@Test
+	public void testDefaultConfig() {
+		FailureStatusClassifier classifier = new FailureStatusClassifier(new RpcEnhancementReporterProperties());
+
+		assertThat(classifier.isFailure(200)).isFalse();
+		assertThat(classifier.isFailure(404)).isFalse();
+		assertThat(classifier.isFailure(500)).isFalse();
+		assertThat(classifier.isFailure(502)).isTrue();
+		assertThat(classifier.isFailure(-1)).isFalse();
+		assertThat(classifier.isFailure(599)).isFalse();
+		assertThat(classifier.isFailure(700)).isFalse();
+	}
+
+	@Test
+	public void testMatchesPropertiesRules() {
+		RpcEnhancementReporterProperties properties = new RpcEnhancementReporterProperties();
+		properties.setIgnoreInternalServerError(false);
+		properties.setSeries(new ArrayList<>(Collections.singletonList(HttpStatus.Series.CLIENT_ERROR)));
+		FailureStatusClassifier classifier = new FailureStatusClassifier(properties);
+
+		for (HttpStatus httpStatus : HttpStatus.values()) {
+			assertThat(classifier.isFailure(httpStatus.value()))
+					.isEqualTo(FailureStatusClassifier.isFailure(properties, HttpStatus.resolve(httpStatus.value())));
+		}
+	}
+
+	@Test
+	public void testRebuildOnRebind() {
+		RpcEnhancementReporterProperties properties = new RpcEnhancementReporterProperties();
+		FailureStatusClassifier classifier = new FailureStatusClassifier(properties);
+		assertThat(classifier.isFailure(403)).isFalse();
+		assertThat(classifier.isFailure(502)).isTrue();
+
+		properties.setStatuses(new ArrayList<>(Arrays.asList(HttpStatus.FORBIDDEN)));
+		assertThat(classifier.isFailure(403)).isTrue();
+		assertThat(classifier.isFailure(502)).isFalse();
+
+		properties.setStatuses(new ArrayList<>());
+		properties.setIgnoreInternalServerError(false);
+		assertThat(classifier.isFailure(500)).isTrue();
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.rpc.enhancement.plugin;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpHeaders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for {@link LazyHttpHeaders}.
+ *
+ * @author Haotian Zhang
+ */
+public class LazyHttpHeadersTest {
+
+	@Test
+	public void testLookup() {
+		Map<String, Collection<String>> headerMap = new HashMap<>();
+		headerMap.put("Content-Type", Collections.singletonList("application/json"));
+		headerMap.put("k1", Arrays.asList("v1", "v2"));
+		HttpHeaders headers = LazyHttpHeaders.of(headerMap);
+
+		assertThat(headers.getFirst("content-type")).isEqualTo("application/json");
+		assertThat(headers.get("K1")).containsExactly("v1", "v2");
+		assertThat(headers.get("k2")).isNull();
+		assertThat(headers.containsKey("k1")).isTrue();
+		assertThat(headers.containsKey("k2")).isFalse();
+	}
+
+	@Test
+	public void testMaterialize() {
+		Map<String, Collection<String>> headerMap = new HashMap<>();
+		headerMap.put("k1", Arrays.asList("v1", "v2"));
+		headerMap.put("k2", Collections.singletonList("v3"));
+		HttpHeaders headers = LazyHttpHeaders.of(headerMap);
+
+		assertThat(headers.size()).isEqualTo(2);
+		assertThat(headers.keySet()).containsExactlyInAnyOrder("k1", "k2");
+		assertThat(headers.get("K2")).containsExactly("v3");
+		assertThat(headers.toSingleValueMap().get("k1")).isEqualTo("v1");
+	}
+
+	@Test
+	public void testReadOnly() {
+		HttpHeaders headers = LazyHttpHeaders.of(Collections.emptyMap());
+
+		assertThat(headers.isEmpty()).isTrue();
+		assertThatThrownBy(() -> headers.add("k1", "v1")).isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> headers.set("k1", "v1")).isInstanceOf(UnsupportedOperationException.class);
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.rpc.enhancement.plugin;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import com.tencent.cloud.rpc.enhancement.config.RpcEnhancementPathTemplateProperties;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for {@link PathTemplateResolver}.
+ *
+ * @author Haotian Zhang
+ */
+public class PathTemplateResolverTest {
+
+	@Test
+	public void testResolve() {
+		RpcEnhancementPathTemplateProperties properties = new RpcEnhancementPathTemplateProperties();
+		assertThat(properties.isEnabled()).isFalse();
+		properties.setEnabled(true);
+		properties.setRules(new ArrayList<>(Collections.singletonList(
+				new RpcEnhancementPathTemplateProperties.Rule("/\\d+(?=/|$)", "/{id}"))));
+		PathTemplateResolver resolver = new PathTemplateResolver(properties);
+
+		EnhancedRequestContext request = EnhancedRequestContext.builder()
+				.httpMethod(HttpMethod.GET)
+				.url(URI.create("http://callee/orders/123/items/4"))
+				.pathTemplate("/orders/{orderId}/items/{itemId}")
+				.build();
+		assertThat(resolver.resolve(request)).isEqualTo("/orders/{orderId}/items/{itemId}");
+
+		request.setPathTemplate(null);
+		assertThat(resolver.resolve(request)).isEqualTo("/orders/{id}/items/{id}");
+
+		properties.setEnabled(false);
+		assertThat(resolver.resolve("/orders/{orderId}", "/orders/123")).isEqualTo("/orders/{id}");
+	}
+
+	@Test
+	public void testCollapse() {
+		RpcEnhancementPathTemplateProperties properties = new RpcEnhancementPathTemplateProperties();
+		PathTemplateResolver resolver = new PathTemplateResolver(properties);
+		assertThat(resolver.collapse("/orders/123")).isEqualTo("/orders/123");
+		assertThat(resolver.collapse(null)).isNull();
+
+		properties.setRules(new ArrayList<>(Arrays.asList(
+				new RpcEnhancementPathTemplateProperties.Rule("[", "/{invalid}"),
+				new RpcEnhancementPathTemplateProperties.Rule(
+						"/[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}", "/{uuid}"),
+				new RpcEnhancementPathTemplateProperties.Rule("(/users/)\\w+", "$1{name}"))));
+		assertThat(resolver.collapse("/orders/123e4567-e89b-12d3-a456-426614174000"))
+				.isEqualTo("/orders/{uuid}");
+		assertThat(resolver.collapse("/users/alice/profile")).isEqualTo("/users/{name}/profile");
+		assertThat(resolver.collapse("/orders/123")).isEqualTo("/orders/123");
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.rpc.enhancement.plugin.reporter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for {@link AsyncReportExecutor}.
+ *
+ * @author Haotian Zhang
+ */
+public class AsyncReportExecutorTest {
+
+	@Test
+	public void testReportByDrainer() throws Exception {
+		AsyncReportExecutor executor = new AsyncReportExecutor(16, 4, AsyncReportExecutor.DropPolicy.DISCARD);
+		executor.afterPropertiesSet();
+		CountDownLatch latch = new CountDownLatch(10);
+		AtomicReference<Thread> reportThread = new AtomicReference<>();
+		for (int i = 0; i < 10; i++) {
+			executor.execute(() -> {
+				reportThread.set(Thread.currentThread());
+				latch.countDown();
+			});
+		}
+		assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(reportThread.get()).isNotSameAs(Thread.currentThread());
+		assertThat(executor.getDroppedCount()).isZero();
+		executor.destroy();
+		assertThat(executor.getReportedCount()).isEqualTo(10);
+	}
+
+	@Test
+	public void testDropPolicy() throws Exception {
+		CountDownLatch blocked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger counter = new AtomicInteger();
+
+		AsyncReportExecutor discardExecutor = new AsyncReportExecutor(2, 1, AsyncReportExecutor.DropPolicy.DISCARD);
+		discardExecutor.afterPropertiesSet();
+		block(discardExecutor, blocked, release);
+		for (int i = 0; i < 3; i++) {
+			discardExecutor.execute(counter::incrementAndGet);
+		}
+		assertThat(discardExecutor.getDroppedCount()).isEqualTo(1);
+		assertThat(discardExecutor.getBufferSize()).isEqualTo(2);
+		release.countDown();
+		discardExecutor.destroy();
+		assertThat(counter.get()).isEqualTo(2);
+
+		CountDownLatch callerBlocked = new CountDownLatch(1);
+		CountDownLatch callerRelease = new CountDownLatch(1);
+		AtomicReference<Thread> reportThread = new AtomicReference<>();
+		AsyncReportExecutor callerRunsExecutor = new AsyncReportExecutor(2, 1, AsyncReportExecutor.DropPolicy.CALLER_RUNS);
+		callerRunsExecutor.afterPropertiesSet();
+		block(callerRunsExecutor, callerBlocked, callerRelease);
+		callerRunsExecutor.execute(() -> { });
+		callerRunsExecutor.execute(() -> { });
+		callerRunsExecutor.execute(() -> reportThread.set(Thread.currentThread()));
+		assertThat(callerRunsExecutor.getCallerRunsCount()).isEqualTo(1);
+		assertThat(reportThread.get()).isSameAs(Thread.currentThread());
+		callerRelease.countDown();
+		callerRunsExecutor.destroy();
+	}
+
+	@Test
+	public void testFlushOnDestroy() throws Exception {
+		CountDownLatch blocked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger counter = new AtomicInteger();
+		AsyncReportExecutor executor = new AsyncReportExecutor(64, 1, AsyncReportExecutor.DropPolicy.DISCARD);
+		executor.afterPropertiesSet();
+		block(executor, blocked, release);
+		for (int i = 0; i < 50; i++) {
+			executor.execute(counter::incrementAndGet);
+		}
+		assertThat(executor.getPendingCount()).isEqualTo(50);
+		release.countDown();
+		executor.destroy();
+		assertThat(counter.get()).isEqualTo(50);
+		assertThat(executor.getPendingCount()).isZero();
+
+		// reports after shutdown are run directly.
+		executor.execute(counter::incrementAndGet);
+		assertThat(counter.get()).isEqualTo(51);
+	}
+
+	@Test
+	public void testWakeUpIdleDrainer() throws Exception {
+		AsyncReportExecutor executor = new AsyncReportExecutor(16, 4, AsyncReportExecutor.DropPolicy.DISCARD);
+		executor.afterPropertiesSet();
+		for (int i = 0; i < 3; i++) {
+			// let the drainer park on the empty buffer.
+			Thread.sleep(20);
+			CountDownLatch latch = new CountDownLatch(1);
+			executor.execute(latch::countDown);
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		}
+		executor.destroy();
+		assertThat(executor.getReportedCount()).isEqualTo(3);
+	}
+
+	@Test
+	public void testFlushWithoutDrainer() throws Exception {
+		AtomicInteger counter = new AtomicInteger();
+		AsyncReportExecutor executor = new AsyncReportExecutor(16, 4, AsyncReportExecutor.DropPolicy.DISCARD);
+		for (int i = 0; i < 3; i++) {
+			executor.execute(counter::incrementAndGet);
+		}
+		assertThat(counter.get()).isZero();
+		executor.destroy();
+		assertThat(counter.get()).isEqualTo(3);
+		assertThat(executor.getPendingCount()).isZero();
+	}
+
+	@Test
+	public void testReportFailure() throws Exception {
+		AsyncReportExecutor executor = new AsyncReportExecutor(16, 4, AsyncReportExecutor.DropPolicy.DISCARD);
+		executor.afterPropertiesSet();
+		CountDownLatch latch = new CountDownLatch(1);
+		executor.execute(() -> {
+			throw new IllegalStateException("report failed");
+		});
+		executor.execute(latch::countDown);
+		assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		executor.destroy();
+	}
+
+	private void block(AsyncReportExecutor executor, CountDownLatch blocked, CountDownLatch release)
+			throws InterruptedException {
+		executor.execute(() -> {
+			blocked.countDown();
+			try {
+				release.await();
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+}
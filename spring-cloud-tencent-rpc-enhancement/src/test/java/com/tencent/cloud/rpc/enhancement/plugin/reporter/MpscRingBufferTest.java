@@ -0,0 +1,88 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.rpc.enhancement.plugin.reporter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for {@link MpscRingBuffer}.
+ *
+ * @author Haotian Zhang
+ */
+public class MpscRingBufferTest {
+
+	@Test
+	public void testOfferAndPoll() {
+		MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(3);
+		assertThat(buffer.capacity()).isEqualTo(4);
+		assertThat(buffer.poll()).isNull();
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(buffer.offer(i)).isTrue();
+		}
+		assertThat(buffer.offer(4)).isFalse();
+		assertThat(buffer.size()).isEqualTo(4);
+
+		assertThat(buffer.poll()).isEqualTo(0);
+		assertThat(buffer.offer(4)).isTrue();
+		for (int i = 1; i <= 4; i++) {
+			assertThat(buffer.poll()).isEqualTo(i);
+		}
+		assertThat(buffer.poll()).isNull();
+		assertThat(buffer.isEmpty()).isTrue();
+	}
+
+	@Test
+	public void testConcurrentProducers() throws InterruptedException {
+		MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(1024);
+		int producers = 4;
+		int perProducer = 10000;
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			int base = p * perProducer;
+			Thread thread = new Thread(() -> {
+				for (int i = 0; i < perProducer; i++) {
+					while (!buffer.offer(base + i)) {
+						Thread.yield();
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+
+		Set<Integer> received = new HashSet<>();
+		while (received.size() < producers * perProducer) {
+			Integer element = buffer.poll();
+			if (element != null) {
+				assertThat(received.add(element)).isTrue();
+			}
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertThat(buffer.poll()).isNull();
+	}
+}
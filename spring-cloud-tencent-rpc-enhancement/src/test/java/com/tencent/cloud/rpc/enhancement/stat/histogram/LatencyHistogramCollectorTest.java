@@ -0,0 +1,90 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.rpc.enhancement.stat.histogram;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.CollectorRegistry;
+import org.junit.jupiter.api.Test;
+
+import static com.tencent.cloud.rpc.enhancement.stat.histogram.LatencyHistogramCollector.METRIC_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Test for {@link LatencyHistogramCollector}.
+ *
+ * @author Haotian Zhang
+ */
+public class LatencyHistogramCollectorTest {
+
+	@Test
+	public void testCollect() {
+		CollectorRegistry registry = new CollectorRegistry();
+		LatencyHistogramRecorder recorder = new LatencyHistogramRecorder(16, 3);
+		LatencyHistogramCollector collector = new LatencyHistogramCollector(recorder, Arrays.asList(0.5, 0.99), registry);
+		collector.afterPropertiesSet();
+
+		for (int i = 1; i <= 100; i++) {
+			recorder.record("callee", "GET", "2xx", i * 1_000_000L);
+		}
+
+		List<Collector.MetricFamilySamples.Sample> samples = collect(registry);
+		assertThat(getSampleValue(samples, METRIC_NAME + "_count", null)).isEqualTo(100);
+		assertThat(getSampleValue(samples, METRIC_NAME + "_sum", null)).isCloseTo(5.05, within(0.01));
+		assertThat(getSampleValue(samples, METRIC_NAME, "0.99")).isCloseTo(0.099, within(0.001));
+
+		// quantiles only cover calls since last collection, count and sum are accumulated
+		recorder.record("callee", "GET", "2xx", 500_000_000L);
+		samples = collect(registry);
+		assertThat(getSampleValue(samples, METRIC_NAME + "_count", null)).isEqualTo(101);
+		assertThat(getSampleValue(samples, METRIC_NAME + "_sum", null)).isCloseTo(5.55, within(0.01));
+		assertThat(getSampleValue(samples, METRIC_NAME, "0.5")).isCloseTo(0.5, within(0.001));
+
+		samples = collect(registry);
+		assertThat(getSampleValue(samples, METRIC_NAME + "_count", null)).isEqualTo(101);
+		assertThat(getSampleValue(samples, METRIC_NAME, "0.5")).isNaN();
+
+		collector.destroy();
+		assertThat(collect(registry)).isEmpty();
+	}
+
+	private static List<Collector.MetricFamilySamples.Sample> collect(CollectorRegistry registry) {
+		return Collections.list(registry.metricFamilySamples()).stream()
+				.flatMap(familySamples -> familySamples.samples.stream())
+				.collect(Collectors.toList());
+	}
+
+	private static Double getSampleValue(List<Collector.MetricFamilySamples.Sample> samples, String name,
+			String quantile) {
+		List<String> labelValues = new ArrayList<>(Arrays.asList("callee", "GET", "2xx"));
+		if (quantile != null) {
+			labelValues.add(quantile);
+		}
+		return samples.stream()
+				.filter(sample -> sample.name.equals(name) && sample.labelValues.equals(labelValues))
+				.map(sample -> sample.value)
+				.findFirst()
+				.orElse(null);
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Tencent is pleased to support the open source community by making Spring Cloud Tencent available.
+ *
+ * Copyright (C) 2019 THL A29 Limited, a Tencent company. All rights reserved.
+ *
+ * Licensed under the BSD 3-Clause License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://opensource.org/licenses/BSD-3-Clause
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package com.tencent.cloud.rpc.enhancement.stat.histogram;
+
+import java.net.URI;
+import java.util.Map;
+
+import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPluginContext;
+import com.tencent.cloud.rpc.enhancement.plugin.EnhancedPluginType;
+import com.tencent.cloud.rpc.enhancement.plugin.EnhancedRequestContext;
+import com.tencent.cloud.rpc.enhancement.plugin.EnhancedResponseContext;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.http.HttpMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for {@link LatencyHistogramRecorder}.
+ *
+ * @author Haotian Zhang
+ */
+public class LatencyHistogramRecorderTest {
+
+	@Test
+	public void testRun() {
+		LatencyHistogramRecorder recorder = new LatencyHistogramRecorder(16, 2);
+		assertThat(recorder.getType()).isEqualTo(EnhancedPluginType.Client.FINALLY);
+
+		EnhancedPluginContext context = new EnhancedPluginContext();
+		context.setRequest(EnhancedRequestContext.builder()
+				.httpMethod(HttpMethod.GET)
+				.url(URI.create("http://callee/echo"))
+				.build());
+		context.setResponse(EnhancedResponseContext.builder().httpStatus(200).build());
+		context.setTargetServiceInstance(new DefaultServiceInstance("ins", "callee", "127.0.0.1", 8080, false), null);
+		context.setDelayNanos(300_000L);
+		recorder.run(context);
+
+		context.setResponse(null);
+		context.setDelayNanos(2_000_000L);
+		recorder.run(context);
+
+		Map<LatencyHistogramRecorder.Key, LatencyHistogramRecorder.Snapshot> snapshot = recorder.snapshot();
+		assertThat(snapshot).hasSize(2);
+		Histogram success = snapshot.get(new LatencyHistogramRecorder.Key("callee", "GET", "2xx"))
+				.getIntervalHistogram();
+		assertThat(success.getTotalCount()).isEqualTo(1);
+		assertThat(success.getMaxValue()).isBetween(297_000L, 303_000L);
+		LatencyHistogramRecorder.Snapshot error = snapshot.get(new LatencyHistogramRecorder.Key("callee", "GET",
+				LatencyHistogramRecorder.STATUS_CLASS_ERROR));
+		assertThat(error.getTotalCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testSnapshotInterval() {
+		LatencyHistogramRecorder recorder = new LatencyHistogramRecorder(16, 2);
+		LatencyHistogramRecorder.Key key = new LatencyHistogramRecorder.Key("callee", "POST", "5xx");
+
+		recorder.record("callee", "POST", "5xx", 1_000L);
+		LatencyHistogramRecorder.Snapshot snapshot = recorder.snapshot().get(key);
+		assertThat(snapshot.getIntervalHistogram().getTotalCount()).isEqualTo(1);
+		assertThat(snapshot.getTotalCount()).isEqualTo(1);
+
+		recorder.record("callee", "POST", "5xx", 2_000L);
+		recorder.record("callee", "POST", "5xx", -1L);
+		snapshot = recorder.snapshot().get(key);
+		assertThat(snapshot.getIntervalHistogram().getTotalCount()).isEqualTo(1);
+		assertThat(snapshot.getIntervalHistogram().getMaxValue()).isBetween(1_990L, 2_010L);
+		assertThat(snapshot.getTotalCount()).isEqualTo(2);
+		assertThat(snapshot.getTotalSum()).isBetween(2_980d, 3_020d);
+
+		snapshot = recorder.snapshot().get(key);
+		assertThat(snapshot.getIntervalHistogram().getTotalCount()).isZero();
+		assertThat(snapshot.getTotalCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void testMaxKeys() {
+		LatencyHistogramRecorder recorder = new LatencyHistogramRecorder(2, 2);
+		recorder.record("a", "GET", "2xx", 1_000L);
+		recorder.record("b", "GET", "2xx", 1_000L);
+		recorder.record("c", "GET", "2xx", 1_000L);
+		recorder.record("a", "GET", "2xx", 1_000L);
+
+		assertThat(recorder.snapshot()).hasSize(2);
+		assertThat(recorder.getOverflowCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testGetStatusClass() {
+		assertThat(LatencyHistogramRecorder.getStatusClass(null)).isEqualTo(LatencyHistogramRecorder.STATUS_CLASS_ERROR);
+		assertThat(LatencyHistogramRecorder.getStatusClass(EnhancedResponseContext.builder().httpStatus(404).build()))
+				.isEqualTo("4xx");
+		assertThat(LatencyHistogramRecorder.getStatusClass(EnhancedResponseContext.builder().httpStatus(999).build()))
+				.isEqualTo("unknown");
+	}
+}
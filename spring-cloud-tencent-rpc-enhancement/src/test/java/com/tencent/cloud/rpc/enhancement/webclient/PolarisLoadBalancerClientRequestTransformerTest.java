@@ -17,6 +17,8 @@
 
 package com.tencent.cloud.rpc.enhancement.webclient;
 
+import java.net.URI;
+
 import com.tencent.cloud.common.metadata.MetadataContext;
 import com.tencent.cloud.common.metadata.MetadataContextHolder;
 import com.tencent.cloud.common.metadata.StaticMetadataManager;
@@ -34,6 +36,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.ClientRequest;
 
 import static com.tencent.cloud.rpc.enhancement.resttemplate.PolarisLoadBalancerRequestTransformer.LOAD_BALANCER_SERVICE_INSTANCE;
@@ -51,9 +54,6 @@ public class PolarisLoadBalancerClientRequestTransformerTest {
 
 	private PolarisLoadBalancerClientRequestTransformer transformer = new PolarisLoadBalancerClientRequestTransformer();
 
-	@Mock
-	private ClientRequest clientRequest;
-
 	@Mock
 	private ServiceInstance serviceInstance;
 
@@ -83,7 +83,10 @@ public class PolarisLoadBalancerClientRequestTransformerTest {
 
 	@Test
 	public void test() throws Throwable {
-		transformer.transformRequest(clientRequest, serviceInstance);
-		assertThat(MetadataContextHolder.get().getLoadbalancerMetadata().get(LOAD_BALANCER_SERVICE_INSTANCE)).isEqualTo(serviceInstance);
+		ClientRequest clientRequest = ClientRequest.create(HttpMethod.GET, URI.create("http://0.0.0.0/")).build();
+		ClientRequest request = transformer.transformRequest(clientRequest, serviceInstance);
+		assertThat(request.attribute(LOAD_BALANCER_SERVICE_INSTANCE)).contains(serviceInstance);
+		assertThat(MetadataContextHolder.get().getLoadbalancerMetadata()).doesNotContainKey(LOAD_BALANCER_SERVICE_INSTANCE);
+		assertThat(transformer.transformRequest(clientRequest, null)).isSameAs(clientRequest);
 	}
 }